@@ -0,0 +1,53 @@
+package com.example.chatapp.config;
+
+import com.example.chatapp.infrastructure.id.SnowflakeIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.net.InetAddress;
+
+/**
+ * 시간 순서 ID 생성기 노드 ID 설정 컴포넌트
+ * 여러 인스턴스를 띄우는 환경에서는 인스턴스마다 서로 다른 chat.id.node-id(0~1023)를 지정해야 합니다.
+ * 지정하지 않으면 호스트명과 PID로 노드 ID를 추정하며, 이 경우 충돌 가능성이 있어 경고를 남깁니다.
+ * 추정한 값은 인스턴스끼리 겹칠 수 있으므로 chat.id.require-node-id=true(운영 프로필)이면 지정하지 않은 채 시작하지 않습니다.
+ */
+@Component
+@Slf4j
+public class IdGeneratorInitializer {
+
+    @Value("${chat.id.node-id:-1}")
+    private int nodeId;
+
+    @Value("${chat.id.require-node-id:false}")
+    private boolean requireNodeId;
+
+    @PostConstruct
+    public void configureNodeId() {
+        if (nodeId < 0 && requireNodeId) {
+            throw new IllegalStateException(
+                    "chat.id.node-id(CHAT_NODE_ID)가 설정되지 않았습니다. " +
+                    "ID 충돌을 막기 위해 인스턴스마다 고유한 값(0~" + SnowflakeIdGenerator.MAX_NODE_ID + ")을 지정해주세요.");
+        }
+        int resolved = nodeId >= 0 ? nodeId : deriveNodeId();
+        if (nodeId < 0) {
+            log.warn("chat.id.node-id가 설정되지 않아 호스트 정보로 노드 ID를 추정합니다: nodeId={}. " +
+                    "여러 인스턴스를 운영한다면 인스턴스마다 고유한 값을 지정하세요.", resolved);
+        }
+        SnowflakeIdGenerator.configureGlobal(resolved);
+        log.info("ID 생성기 노드 ID 설정 완료: nodeId={}", resolved);
+    }
+
+    private int deriveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        int hash = 31 * host.hashCode() + Long.hashCode(ProcessHandle.current().pid());
+        return (hash ^ (hash >>> 16)) & SnowflakeIdGenerator.MAX_NODE_ID;
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.chatapp.config;
 
+import com.example.chatapp.infrastructure.kafka.consumer.ParallelDeliveryConsumer;
 import com.example.chatapp.infrastructure.kafka.serialization.ChatEventDeserializer;
 import com.example.chatapp.infrastructure.kafka.serialization.ChatEventSerializer;
 import com.example.chatapp.infrastructure.message.ChatEvent;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,9 +22,14 @@ import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Configuration
@@ -33,18 +43,70 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id:chat-app}")
     private String groupId;
 
+    // 바이너리 와이어 포맷을 사용할 토픽 (비어 있으면 모든 토픽 JSON)
+    @Value("${chat.kafka.binary-topics:}")
+    private String[] binaryTopics;
+
+    // 프로듀서 버퍼가 가득 찼을 때 send가 블로킹되는 최대 시간 (in-flight 한도가 먼저 걸리도록 짧게 유지)
+    @Value("${chat.kafka.producer.max-block-ms:1000}")
+    private long maxBlockMs;
+
+    // 배치 리스너 폴링 창: 데이터가 적으면 최대 이 시간만큼 모아서 한 번에 가져옴
+    @Value("${chat.kafka.delivery.flush-interval-ms:20}")
+    private int batchFlushIntervalMs;
+
+    @Value("${chat.kafka.delivery.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
+    // 병렬 전달 모드에서 새 레코드가 없을 때 완료 지점을 커밋하는 간격
+    @Value("${chat.kafka.delivery.parallel.idle-commit-interval-ms:1000}")
+    private long parallelIdleCommitIntervalMs;
+
+    // 채팅방 상태 토픽을 다 읽었다고 판단하는 유휴 시간
+    @Value("${chat.room-state.idle-event-interval-ms:1000}")
+    private long roomStateIdleEventIntervalMs;
+
+    // 시간 구간 재처리 한 번의 poll 최대 레코드 수
+    @Value("${chat.kafka.replay.batch-size:200}")
+    private int replayBatchSize;
+
+    // 리스너 컨테이너 시작 동시성 (chat.kafka.autoscale이 켜져 있으면 실행 중 lag에 따라 조정)
+    @Value("${chat.kafka.listener.concurrency:3}")
+    private int listenerConcurrency;
+
     // 토픽 설정
     public static final String CHAT_MESSAGES_TOPIC = "chat-messages-v2";  // 새로운 토픽명
     public static final String CHAT_EVENTS_TOPIC = "chat-events-v2";
     public static final String CHAT_NOTIFICATIONS_TOPIC = "chat-notifications-v2";
+    // 채팅방별 최신 상태 스냅샷 (압축 토픽, 키 = 채팅방 키)
+    public static final String ROOM_STATE_TOPIC = "chat-room-state";
+
+    // 재시도 토픽/DLT 발행용 템플릿 (ChatEvent와 역직렬화 실패한 원본 바이트를 모두 보냄)
+    public static final String RETRY_KAFKA_TEMPLATE = "retryKafkaTemplate";
+    // 채팅방 상태 스냅샷 발행용 템플릿 (값은 JSON 바이트, 삭제는 null 톰스톤)
+    public static final String ROOM_STATE_KAFKA_TEMPLATE = "roomStateKafkaTemplate";
+    // 원본 토픽별 DLT 이름 접미사 (@RetryableTopic 기본값과 같음, 전달 그룹과 배치 리스너가 사용)
+    public static final String DLT_SUFFIX = "-dlt";
+    // 분석 그룹 재시도 토픽/DLT 접미사
+    // 같은 원본 토픽을 읽는 그룹끼리 재시도 토픽을 공유하면 한 그룹의 실패 레코드를 다른 그룹도 다시 처리하므로 그룹마다 따로 둔다
+    public static final String ANALYTICS_RETRY_SUFFIX = "-analytics-retry";
+    public static final String ANALYTICS_DLT_SUFFIX = "-analytics-dlt";
+    // 알림 그룹 재시도 토픽/DLT 접미사
+    public static final String NOTIFICATION_RETRY_SUFFIX = "-notification-retry";
+    public static final String NOTIFICATION_DLT_SUFFIX = "-notification-dlt";
 
     // Producer 설정
     @Bean
     public ProducerFactory<String, ChatEvent> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerProps());
+    }
+
+    private Map<String, Object> producerProps() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ChatEventSerializer.class);
+        configProps.put(ChatEventSerializer.BINARY_TOPICS_CONFIG, String.join(",", binaryTopics));
 
         // 신뢰성 설정
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
@@ -55,11 +117,12 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
         configProps.put(ProducerConfig.LINGER_MS_CONFIG, 10);
         configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
 
         // 압축 사용 (snappy는 속도와 압축률의 좋은 균형을 제공)
         configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "snappy");
 
-        return new DefaultKafkaProducerFactory<>(configProps);
+        return configProps;
     }
 
     @Bean
@@ -68,9 +131,93 @@ public class KafkaConfig {
         return template;
     }
 
+    /**
+     * 재시도 토픽/DLT 발행 및 DLT 재주입용 템플릿
+     * 역직렬화에 실패한 레코드는 원본 바이트(byte[]) 그대로, 나머지는 ChatEvent로 직렬화한다.
+     */
+    @Bean(RETRY_KAFKA_TEMPLATE)
+    public KafkaTemplate<String, Object> retryKafkaTemplate() {
+        Map<Class<?>, Serializer<?>> delegates = new LinkedHashMap<>();
+        delegates.put(byte[].class, new ByteArraySerializer());
+        delegates.put(ChatEvent.class, new ChatEventSerializer());
+
+        ProducerFactory<String, Object> factory = new DefaultKafkaProducerFactory<>(
+                producerProps(), new StringSerializer(), new DelegatingByTypeSerializer(delegates));
+        return new KafkaTemplate<>(factory);
+    }
+
+    @Bean(ROOM_STATE_KAFKA_TEMPLATE)
+    public KafkaTemplate<String, byte[]> roomStateKafkaTemplate() {
+        ProducerFactory<String, byte[]> factory = new DefaultKafkaProducerFactory<>(
+                producerProps(), new StringSerializer(), new ByteArraySerializer());
+        return new KafkaTemplate<>(factory);
+    }
+
     // Consumer 설정
     @Bean
     public ConsumerFactory<String, ChatEvent> consumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(consumerProps());
+    }
+
+    /**
+     * 배치 리스너용 Consumer 설정
+     * fetch.min.bytes를 키우고 fetch.max.wait.ms를 flush 간격으로 두어
+     * 버스트 구간의 레코드를 한 번의 poll로 모은다 (조용할 때는 flush 간격 후 반환).
+     */
+    @Bean
+    public ConsumerFactory<String, ChatEvent> batchConsumerFactory() {
+        Map<String, Object> props = consumerProps();
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 64 * 1024);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, batchFlushIntervalMs);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    /**
+     * DLT 재주입용 Consumer 설정 (값을 역직렬화하지 않고 원본 바이트 그대로 읽음)
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> deadLetterConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "chat-dlt-replay");
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        // 재주입하지 않은 DLT 레코드는 처음부터 읽고, 재주입한 위치까지만 커밋
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    /**
+     * 시간 구간 재처리용 Consumer 설정 (그룹 없이 파티션을 직접 할당하고 커밋하지 않음)
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> replayConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, replayBatchSize);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    /**
+     * 채팅방 상태 토픽용 Consumer 설정 (노드마다 처음부터 읽고 커밋하지 않음)
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> roomStateConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    private Map<String, Object> consumerProps() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
@@ -86,7 +233,7 @@ public class KafkaConfig {
         props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 1024);
         props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 500);
 
-        return new DefaultKafkaConsumerFactory<>(props);
+        return props;
     }
 
     @Bean
@@ -98,8 +245,11 @@ public class KafkaConfig {
         // 수동 커밋 설정
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
 
-        // 동시 처리 설정
-        factory.setConcurrency(3);
+        // 리스너 필터(skippedEventFilter)가 버린 레코드는 컨테이너가 ack (조용한 그룹도 오프셋이 앞으로 감)
+        factory.setAckDiscarded(true);
+
+        // 동시 처리 설정 (ListenerConcurrencyController가 파티션 수 이하에서 조정)
+        factory.setConcurrency(listenerConcurrency);
 
         return factory;
     }
@@ -108,7 +258,7 @@ public class KafkaConfig {
     public ConcurrentKafkaListenerContainerFactory<String, ChatEvent> batchKafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, ChatEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+        factory.setConsumerFactory(batchConsumerFactory());
 
         // 배치 모드 활성화
         factory.setBatchListener(true);
@@ -116,15 +266,65 @@ public class KafkaConfig {
         // 수동 커밋 설정
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
 
-        // 배치 에러 핸들러 설정
-//        factory.setCommonErrorHandler(new BatchErrorHandler());
+        // 배치 에러 핸들러 설정: BatchListenerFailedException으로 지목된 레코드(예: 역직렬화 실패)는
+        // 제자리 재시도 없이 원본 토픽의 DLT로 보내고, 그 앞 레코드는 커밋, 뒤 레코드는 다시 받는다
+        factory.setCommonErrorHandler(new DefaultErrorHandler(deadLetterPublishingRecoverer(), new FixedBackOff(0L, 0L)));
+
+        // 동시 처리 설정 (ListenerConcurrencyController가 파티션 수 이하에서 조정)
+        factory.setConcurrency(listenerConcurrency);
+
+        return factory;
+    }
+
+    /**
+     * 병렬 전달 모드용 리스너 컨테이너 (chat.kafka.delivery.mode=parallel)
+     * 레코드를 작업자에 넘긴 뒤 바로 다음 poll로 넘어가므로 컨테이너는 커밋하지 않고(ack하지 않는 MANUAL),
+     * 리스너가 완료된 지점까지 직접 커밋한다. 리밸런스 때는 리스너가 진행 중인 레코드를 마무리하고 커밋한다.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ChatEvent> parallelKafkaListenerContainerFactory(
+            ParallelDeliveryConsumer parallelDeliveryConsumer) {
+        ConcurrentKafkaListenerContainerFactory<String, ChatEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory());
+        factory.setBatchListener(true);
+
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setConsumerRebalanceListener(parallelDeliveryConsumer);
+        factory.getContainerProperties().setIdleEventInterval(parallelIdleCommitIntervalMs);
 
-        // 동시 처리 설정
-        factory.setConcurrency(3);
+        factory.setConcurrency(listenerConcurrency);
 
         return factory;
     }
 
+    /**
+     * 채팅방 상태 토픽 리스너 컨테이너
+     * ack하지 않으므로(MANUAL) 커밋하지 않고, 유휴 이벤트로 시작 시 따라잡기가 끝났음을 알린다.
+     * 단일 스레드라 유휴 이벤트가 나면 모든 파티션을 끝까지 읽은 것이다.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> roomStateKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(roomStateConsumerFactory());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        // 그룹 없이 직접 할당하므로 할당 시 오프셋도 커밋하지 않음
+        factory.getContainerProperties().setAssignmentCommitOption(ContainerProperties.AssignmentCommitOption.NEVER);
+        factory.getContainerProperties().setIdleEventInterval(roomStateIdleEventIntervalMs);
+        factory.setConcurrency(1);
+        return factory;
+    }
+
+    /**
+     * 원본 토픽의 DLT로 보내는 복구기 (역직렬화 실패 레코드는 원본 바이트 그대로)
+     */
+    @Bean
+    public DeadLetterPublishingRecoverer deadLetterPublishingRecoverer() {
+        return new DeadLetterPublishingRecoverer(retryKafkaTemplate(),
+                (record, e) -> new TopicPartition(record.topic() + DLT_SUFFIX, -1));
+    }
+
     // 토픽 생성
     @Bean
     public NewTopic chatMessagesTopic() {
@@ -142,6 +342,15 @@ public class KafkaConfig {
                 .build();
     }
 
+    @Bean
+    public NewTopic roomStateTopic() {
+        return TopicBuilder.name(ROOM_STATE_TOPIC)
+                .partitions(3)
+                .replicas(1)
+                .compact()
+                .build();
+    }
+
     @Bean
     public NewTopic chatNotificationsTopic() {
         return TopicBuilder.name(CHAT_NOTIFICATIONS_TOPIC)
@@ -0,0 +1,32 @@
+package com.example.chatapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * 스케줄링 설정
+ * 주기 작업(@Scheduled)을 활성화하고 공용 스케줄러 스레드 풀을 둔다.
+ *
+ * 기본 스케줄러는 스레드가 하나라 알림 flush, 분석 롤업 기록, 아웃박스 정리, 메트릭 갱신이 서로를 기다린다.
+ * 오래 걸리거나 블로킹될 수 있는 작업(아웃박스 릴레이, 리스너 동시성 자동 조정)은 이 풀을 쓰지 않고 전용 스레드에서 돈다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * @Scheduled 공용 스케줄러 (이름이 taskScheduler여야 STOMP 브로커 스케줄러 대신 선택됨)
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${chat.scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("chat-scheduler-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        return scheduler;
+    }
+}
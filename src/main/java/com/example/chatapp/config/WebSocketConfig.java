@@ -1,6 +1,7 @@
 package com.example.chatapp.config;
 
 import com.example.chatapp.infrastructure.websocket.WebSocketAuthInterceptor;
+import com.example.chatapp.infrastructure.websocket.WebSocketSessionRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
@@ -13,6 +14,7 @@ import org.springframework.web.socket.config.annotation.*;
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final WebSocketAuthInterceptor webSocketAuthInterceptor;
+    private final WebSocketSessionRegistry webSocketSessionRegistry;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
@@ -40,8 +42,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
         // 메시지 버퍼 크기 최적화
         registration.setMessageSizeLimit(128 * 1024); // 기본값 64K에서 증가
-        registration.setSendBufferSizeLimit(512 * 1024); // 버퍼 크기 조정
-
+        // 송신 버퍼 한도 대신 세션별 송신 대기열(chat.websocket.outbound.*)로 느린 클라이언트를 다룸
+        // 채팅방 브로드캐스트가 인코딩된 프레임을 세션 대기열에 바로 넣을 수 있도록 세션 등록
+        registration.addDecoratorFactory(webSocketSessionRegistry);
     }
 
     @Override
@@ -56,11 +59,12 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureClientOutboundChannel(ChannelRegistration registration) {
-        // 클라이언트로 메시지를 보내는 스레드 풀 최적화
+        // 클라이언트로 메시지를 보내는 스레드 풀
+        // 소켓 쓰기는 세션별 가상 스레드가 맡고 이 풀은 세션 대기열에 넣기만 하므로 느린 클라이언트에 붙잡히지 않음
         registration.taskExecutor()
-                .corePoolSize(16)       // 증가
-                .maxPoolSize(32)        // 증가
-                .queueCapacity(200)     // 증가
+                .corePoolSize(4)
+                .maxPoolSize(8)
+                .queueCapacity(1000)
                 .keepAliveSeconds(60);
     }
 }
@@ -0,0 +1,187 @@
+package com.example.chatapp.controller;
+
+import com.example.chatapp.dto.ErrorResponse;
+import com.example.chatapp.dto.response.ActiveUserCountResponse;
+import com.example.chatapp.dto.response.ActivityRollupResponse;
+import com.example.chatapp.dto.response.TrendingTermResponse;
+import com.example.chatapp.infrastructure.analytics.RollupGranularity;
+import com.example.chatapp.infrastructure.auth.AuthContext;
+import com.example.chatapp.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/analytics")
+@Slf4j
+@Tag(name = "활동 통계", description = "채팅방/사용자 활동 롤업 조회 API")
+public class AnalyticsController {
+    private final AnalyticsService analyticsService;
+    private final AuthContext authContext;
+
+    /**
+     * 채팅방 활동 통계 조회
+     */
+    @GetMapping("/rooms/{roomId}")
+    @Operation(summary = "채팅방 활동 통계 조회",
+            description = "채팅방의 분/시간 단위 메시지 수, 평균 길이, 입장/퇴장 수, 평균 체류 시간을 조회합니다. " +
+                    "기간을 생략하면 최근 1시간(MINUTE) 또는 24시간(HOUR)을 조회합니다")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "활동 통계 조회 성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 조회 기간 또는 채팅방 참여자가 아님",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "errorCode": "CHATROOM_NOT_PARTICIPANT",
+                      "status": "BAD_REQUEST",
+                      "message": "채팅방 참여자가 아닙니다",
+                      "timestamp": "2024-12-27T10:00:00"
+                    }
+                    """
+                )))
+    })
+    @SecurityRequirement(name = "JWT 쿠키 인증")
+    public ResponseEntity<List<ActivityRollupResponse>> findRoomActivity(
+            @Parameter(description = "채팅방 ID") @PathVariable Long roomId,
+            @Parameter(description = "집계 단위") @RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+            @Parameter(description = "조회 시작 시각") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "조회 종료 시각 (제외)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        Long userId = authContext.getCurrentUserId();
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : defaultFrom(granularity, end);
+        log.debug("채팅방 활동 통계 조회: roomId={}, granularity={}, from={}, to={}", roomId, granularity, start, end);
+        return ResponseEntity.ok(analyticsService.findRoomActivity(roomId, userId, granularity, start, end));
+    }
+
+    /**
+     * 내 활동 통계 조회
+     */
+    @GetMapping("/me")
+    @Operation(summary = "내 활동 통계 조회",
+            description = "현재 사용자의 분/시간 단위 메시지 수, 평균 길이, 입장/퇴장 수, 평균 체류 시간을 조회합니다")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "활동 통계 조회 성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 조회 기간",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @SecurityRequirement(name = "JWT 쿠키 인증")
+    public ResponseEntity<List<ActivityRollupResponse>> findMyActivity(
+            @Parameter(description = "집계 단위") @RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+            @Parameter(description = "조회 시작 시각") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "조회 종료 시각 (제외)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        Long userId = authContext.getCurrentUserId();
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : defaultFrom(granularity, end);
+        log.debug("사용자 활동 통계 조회: userId={}, granularity={}, from={}, to={}", userId, granularity, start, end);
+        return ResponseEntity.ok(analyticsService.findUserActivity(userId, granularity, start, end));
+    }
+
+    /**
+     * 채팅방 고유 활성 사용자 수 조회
+     */
+    @GetMapping("/rooms/{roomId}/active-users")
+    @Operation(summary = "채팅방 고유 활성 사용자 수 조회",
+            description = "기간 내 채팅방에서 메시지를 보낸 고유 사용자 수를 추정합니다 (최대 31일, 기본 최근 7일). " +
+                    "시간 단위 창이 닫힌 뒤 반영되므로 진행 중인 시간은 포함되지 않습니다")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "고유 활성 사용자 수 조회 성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 조회 기간 또는 채팅방 참여자가 아님",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @SecurityRequirement(name = "JWT 쿠키 인증")
+    public ResponseEntity<ActiveUserCountResponse> countRoomActiveUsers(
+            @Parameter(description = "채팅방 ID") @PathVariable Long roomId,
+            @Parameter(description = "조회 시작 시각") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "조회 종료 시각 (제외)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        Long userId = authContext.getCurrentUserId();
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        log.debug("채팅방 고유 활성 사용자 수 조회: roomId={}, from={}, to={}", roomId, start, end);
+        return ResponseEntity.ok(analyticsService.countRoomActiveUsers(roomId, userId, start, end));
+    }
+
+    /**
+     * 전체 고유 활성 사용자 수 조회 (DAU/MAU)
+     */
+    @GetMapping("/active-users")
+    @Operation(summary = "전체 고유 활성 사용자 수 조회",
+            description = "기간 내 메시지를 보낸 고유 사용자 수를 추정합니다 (최대 31일, 기본 최근 1일)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "고유 활성 사용자 수 조회 성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 조회 기간",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @SecurityRequirement(name = "JWT 쿠키 인증")
+    public ResponseEntity<ActiveUserCountResponse> countActiveUsers(
+            @Parameter(description = "조회 시작 시각") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "조회 종료 시각 (제외)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(1);
+        log.debug("전체 고유 활성 사용자 수 조회: from={}, to={}", start, end);
+        return ResponseEntity.ok(analyticsService.countActiveUsers(start, end));
+    }
+
+    /**
+     * 채팅방 급상승 키워드 조회
+     */
+    @GetMapping("/rooms/{roomId}/trending-terms")
+    @Operation(summary = "채팅방 급상승 키워드 조회",
+            description = "최근 몇 분 동안 채팅방에서 평소보다 많이 쓰인 키워드를 점수 순으로 조회합니다 (최대 50개)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "급상승 키워드 조회 성공"),
+        @ApiResponse(responseCode = "400", description = "채팅방 참여자가 아님",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @SecurityRequirement(name = "JWT 쿠키 인증")
+    public ResponseEntity<List<TrendingTermResponse>> findRoomTrendingTerms(
+            @Parameter(description = "채팅방 ID") @PathVariable Long roomId,
+            @Parameter(description = "조회 개수") @RequestParam(defaultValue = "10") int limit) {
+        Long userId = authContext.getCurrentUserId();
+        log.debug("채팅방 급상승 키워드 조회: roomId={}, limit={}", roomId, limit);
+        return ResponseEntity.ok(analyticsService.findRoomTrendingTerms(roomId, userId, limit));
+    }
+
+    /**
+     * 전체 급상승 키워드 조회
+     */
+    @GetMapping("/trending-terms")
+    @Operation(summary = "전체 급상승 키워드 조회",
+            description = "최근 몇 분 동안 서비스 전체에서 평소보다 많이 쓰인 키워드를 점수 순으로 조회합니다 (최대 50개)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "급상승 키워드 조회 성공")
+    })
+    @SecurityRequirement(name = "JWT 쿠키 인증")
+    public ResponseEntity<List<TrendingTermResponse>> findTrendingTerms(
+            @Parameter(description = "조회 개수") @RequestParam(defaultValue = "10") int limit) {
+        log.debug("전체 급상승 키워드 조회: limit={}", limit);
+        return ResponseEntity.ok(analyticsService.findTrendingTerms(limit));
+    }
+
+    private LocalDateTime defaultFrom(RollupGranularity granularity, LocalDateTime to) {
+        return granularity == RollupGranularity.MINUTE ? to.minusHours(1) : to.minusDays(1);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.chatapp.controller;
+
+import com.example.chatapp.dto.response.DeadLetterReplayResponse;
+import com.example.chatapp.infrastructure.auth.AuthContext;
+import com.example.chatapp.infrastructure.auth.OperatorAuthorizer;
+import com.example.chatapp.infrastructure.kafka.DeadLetterReplayService;
+import com.example.chatapp.infrastructure.kafka.DeadLetterReplayService.DeadLetterGroup;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * DLT 운영 API (chat.kafka.dlt.replay-enabled=true일 때만 등록, chat.admin.operator-ids의 운영자만 호출 가능)
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/dlt")
+@ConditionalOnExpression("${spring.kafka.enabled:true} and ${chat.kafka.dlt.replay-enabled:false}")
+@Slf4j
+@Tag(name = "DLT 운영", description = "처리에 실패한 Kafka 레코드 재주입 API")
+public class DeadLetterController {
+    private final DeadLetterReplayService deadLetterReplayService;
+    private final AuthContext authContext;
+    private final OperatorAuthorizer operatorAuthorizer;
+
+    /**
+     * 컨슈머 그룹의 DLT 레코드를 재주입 (전달 그룹은 원본 토픽, 그 밖의 그룹은 그 그룹의 재시도 토픽으로)
+     */
+    @PostMapping("/{topic}/replay")
+    @Operation(summary = "DLT 재주입", description = "컨슈머 그룹별 DLT에 쌓인 레코드를 최대 maxRecords개까지 다시 발행합니다 (전달 그룹은 원본 토픽, 분석/알림 그룹은 그 그룹의 재시도 토픽으로). " +
+                    "전달 그룹 재주입은 원본 토픽을 읽는 다른 그룹(분석, 알림 등)에도 다시 전달됩니다")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "재주입 성공"),
+        @ApiResponse(responseCode = "400", description = "재주입할 수 없는 토픽/그룹 또는 잘못된 개수"),
+        @ApiResponse(responseCode = "401", description = "인증 실패 - JWT 토큰이 없거나 유효하지 않음"),
+        @ApiResponse(responseCode = "403", description = "운영자 권한 없음")
+    })
+    @SecurityRequirement(name = "JWT 쿠키 인증")
+    public ResponseEntity<DeadLetterReplayResponse> replay(
+            @Parameter(description = "원본 토픽 이름", example = "chat-messages-v2") @PathVariable String topic,
+            @Parameter(description = "DLT를 가진 컨슈머 그룹 (delivery, analytics, notification)", example = "delivery") @RequestParam(defaultValue = "delivery") String group,
+            @Parameter(description = "최대 재주입 레코드 수", example = "100") @RequestParam(defaultValue = "100") int maxRecords) {
+        Long userId = authContext.getCurrentUserId();
+        operatorAuthorizer.requireOperator(userId);
+        log.info("DLT 재주입 API 요청: userId={}, topic={}, group={}, maxRecords={}", userId, topic, group, maxRecords);
+        DeadLetterGroup deadLetterGroup = DeadLetterGroup.from(group);
+        int replayed = deadLetterReplayService.replay(topic, deadLetterGroup, maxRecords);
+        return ResponseEntity.ok(DeadLetterReplayResponse.builder()
+                .topic(deadLetterGroup.replayTopic(topic))
+                .deadLetterTopic(deadLetterGroup.deadLetterTopic(topic))
+                .replayed(replayed)
+                .build());
+    }
+}
@@ -2,7 +2,11 @@ package com.example.chatapp.controller;
 
 import com.example.chatapp.dto.request.MessageStatusUpdateRequest;
 import com.example.chatapp.dto.response.MessageResponse;
+import com.example.chatapp.dto.response.MissedMessagesResponse;
 import com.example.chatapp.dto.ErrorResponse;
+import com.example.chatapp.exception.MessageException;
+import com.example.chatapp.infrastructure.auth.AuthContext;
+import com.example.chatapp.infrastructure.websocket.ResumeTokens;
 import com.example.chatapp.service.MessageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -23,6 +27,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequiredArgsConstructor
@@ -31,6 +36,8 @@ import java.util.List;
 @Tag(name = "메시지", description = "메시지 관리 API")
 public class MessageController {
     private final MessageService messageService;
+    private final ResumeTokens resumeTokens;
+    private final AuthContext authContext;
 
     /**
      * 채팅방 메시지 조회 (페이지네이션)
@@ -174,4 +181,85 @@ public class MessageController {
         MessageResponse updated = messageService.updateMessageStatus(id, request.getUserId(), request.getStatus());
         return ResponseEntity.ok(updated);
     }
+
+    /**
+     * 채팅방에서 특정 순번 이후 메시지 조회
+     */
+    @GetMapping("/room/{roomId}/after/{seq}")
+    @Operation(summary = "이후 메시지 조회",
+            description = "채팅방 순번이 seq보다 큰 메시지를 순번 순서로 조회합니다 (참여자만, 최대 500개)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "이후 메시지 조회 성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 조회 개수 또는 채팅방 참여자가 아님",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "errorCode": "CHATROOM_NOT_PARTICIPANT",
+                      "status": "BAD_REQUEST",
+                      "message": "채팅방 참여자가 아닙니다",
+                      "timestamp": "2024-12-27T10:00:00"
+                    }
+                    """
+                ))),
+        @ApiResponse(responseCode = "404", description = "채팅방을 찾을 수 없음",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "errorCode": "CHATROOM_NOT_FOUND",
+                      "status": "NOT_FOUND",
+                      "message": "채팅방을 찾을 수 없습니다",
+                      "timestamp": "2024-12-27T10:00:00"
+                    }
+                    """
+                )))
+    })
+    @SecurityRequirement(name = "JWT 쿠키 인증")
+    public ResponseEntity<List<MessageResponse>> findRoomMessagesAfter(
+            @Parameter(description = "채팅방 ID") @PathVariable Long roomId,
+            @Parameter(description = "마지막으로 받은 채팅방 순번") @PathVariable Long seq,
+            @Parameter(description = "조회할 메시지 개수 (1~500)") @RequestParam(defaultValue = "200") int limit) {
+        Long userId = authContext.getCurrentUserId();
+        log.debug("이후 메시지 조회: roomId={}, afterSeq={}, limit={}, userId={}", roomId, seq, limit, userId);
+        return ResponseEntity.ok(messageService.findChatRoomMessagesAfter(roomId, userId, seq, limit));
+    }
+
+    /**
+     * 이어받기 토큰으로 받지 못한 메시지 조회
+     * 송신 대기열이 밀려 끊긴 WebSocket 세션은 종료 사유("SLOW_CONSUMER resume={토큰}")로 토큰을 받는다.
+     * 토큰은 발급받은 사용자만 쓸 수 있고, 지금 참여 중인 채팅방만 돌려준다.
+     */
+    @GetMapping("/resume/{token}")
+    @Operation(summary = "받지 못한 메시지 조회",
+            description = "느린 연결로 끊긴 WebSocket 세션이 받은 이어받기 토큰으로 채팅방별 받지 못한 메시지를 조회합니다. " +
+                    "토큰을 발급받은 사용자만 조회할 수 있습니다")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "받지 못한 메시지 조회 성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 조회 개수"),
+        @ApiResponse(responseCode = "404", description = "토큰이 없거나 만료되었거나 다른 사용자의 토큰",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "errorCode": "MESSAGE_RESUME_TOKEN_NOT_FOUND",
+                      "status": "NOT_FOUND",
+                      "message": "이어받기 토큰이 없거나 만료되었습니다",
+                      "timestamp": "2024-12-27T10:00:00"
+                    }
+                    """
+                )))
+    })
+    @SecurityRequirement(name = "JWT 쿠키 인증")
+    public ResponseEntity<List<MissedMessagesResponse>> findMissedMessages(
+            @Parameter(description = "이어받기 토큰") @PathVariable String token,
+            @Parameter(description = "채팅방별 조회할 메시지 개수 (1~500)") @RequestParam(defaultValue = "200") int limit) {
+        Long userId = authContext.getCurrentUserId();
+        Map<Long, Long> resumePoints = resumeTokens.find(token, userId);
+        if (resumePoints == null) {
+            throw MessageException.resumeTokenNotFound();
+        }
+        log.debug("받지 못한 메시지 조회: rooms={}, limit={}, userId={}", resumePoints.size(), limit, userId);
+        return ResponseEntity.ok(messageService.findMissedMessages(userId, resumePoints, limit));
+    }
 }
@@ -0,0 +1,135 @@
+package com.example.chatapp.controller;
+
+import com.example.chatapp.dto.response.ReplayJobResponse;
+import com.example.chatapp.infrastructure.auth.AuthContext;
+import com.example.chatapp.infrastructure.auth.OperatorAuthorizer;
+import com.example.chatapp.infrastructure.kafka.replay.EventReplayService;
+import com.example.chatapp.infrastructure.kafka.replay.ReplayJob;
+import com.example.chatapp.infrastructure.kafka.replay.ReplayTarget;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시간 구간 재처리 운영 API (chat.kafka.replay.enabled=true일 때만 등록, chat.admin.operator-ids의 운영자만 호출 가능)
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/replay")
+@ConditionalOnExpression("${spring.kafka.enabled:true} and ${chat.kafka.replay.enabled:false}")
+@Slf4j
+@Tag(name = "재처리 운영", description = "시간 구간 Kafka 재처리와 DB 보충 API")
+public class ReplayController {
+    private final EventReplayService eventReplayService;
+    private final AuthContext authContext;
+    private final OperatorAuthorizer operatorAuthorizer;
+
+    /**
+     * 재처리 작업 시작
+     */
+    @PostMapping
+    @Operation(summary = "재처리 시작",
+            description = "토픽의 [from, to) 구간 레코드를 대상 그룹의 처리 로직으로 다시 처리합니다. " +
+                    "Kafka 보존 기간이 지난 메시지 구간은 대상이 지원하면(ANALYTICS) DB에서 보충합니다. " +
+                    "ANALYTICS는 메시지 토픽의 정시 단위 구간만 가능하며, 구간 롤업의 메시지 집계를 비운 뒤 다시 계산합니다. " +
+                    "DELIVERY는 요청을 받은 노드에 접속한 세션에만 재전송합니다")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "재처리 작업 시작"),
+        @ApiResponse(responseCode = "400", description = "재처리할 수 없는 토픽/대상 또는 잘못된 구간"),
+        @ApiResponse(responseCode = "401", description = "인증 실패 - JWT 토큰이 없거나 유효하지 않음"),
+        @ApiResponse(responseCode = "403", description = "운영자 권한 없음"),
+        @ApiResponse(responseCode = "409", description = "이미 실행 중인 재처리 작업이 있음")
+    })
+    @SecurityRequirement(name = "JWT 쿠키 인증")
+    public ResponseEntity<ReplayJobResponse> start(
+            @Parameter(description = "재처리 대상 그룹", example = "ANALYTICS") @RequestParam ReplayTarget target,
+            @Parameter(description = "재처리 토픽", example = "chat-messages-v2") @RequestParam String topic,
+            @Parameter(description = "구간 시작 시각") @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "구간 종료 시각 (제외)") @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        requireOperator();
+        log.info("재처리 API 요청: target={}, topic={}, from={}, to={}", target, topic, from, to);
+        try {
+            ReplayJob job = eventReplayService.start(target, topic, from, to);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toResponse(job));
+        } catch (IllegalStateException e) {
+            // 실행 중인 작업이 그 사이 끝났으면 본문 없이 응답
+            return eventReplayService.current()
+                    .map(running -> ResponseEntity.status(HttpStatus.CONFLICT).body(toResponse(running)))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+        }
+    }
+
+    /**
+     * 재처리 작업 진행 상황 조회
+     */
+    @GetMapping("/{jobId}")
+    @Operation(summary = "재처리 상태 조회", description = "최근 재처리 작업의 진행률과 처리 건수를 조회합니다")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "조회 성공"),
+        @ApiResponse(responseCode = "403", description = "운영자 권한 없음"),
+        @ApiResponse(responseCode = "404", description = "작업을 찾을 수 없음")
+    })
+    @SecurityRequirement(name = "JWT 쿠키 인증")
+    public ResponseEntity<ReplayJobResponse> find(@Parameter(description = "작업 ID") @PathVariable String jobId) {
+        requireOperator();
+        return eventReplayService.find(jobId)
+                .map(job -> ResponseEntity.ok(toResponse(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 재처리 작업 중단 (처리 중인 배치를 끝내고 멈춤)
+     */
+    @DeleteMapping("/{jobId}")
+    @Operation(summary = "재처리 중단", description = "실행 중인 재처리 작업을 중단합니다. 이미 처리한 구간은 되돌리지 않습니다")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "중단 요청 성공"),
+        @ApiResponse(responseCode = "403", description = "운영자 권한 없음"),
+        @ApiResponse(responseCode = "404", description = "작업을 찾을 수 없음")
+    })
+    @SecurityRequirement(name = "JWT 쿠키 인증")
+    public ResponseEntity<ReplayJobResponse> cancel(@Parameter(description = "작업 ID") @PathVariable String jobId) {
+        requireOperator();
+        log.info("재처리 중단 API 요청: jobId={}", jobId);
+        return eventReplayService.cancel(jobId)
+                .map(job -> ResponseEntity.ok(toResponse(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private void requireOperator() {
+        operatorAuthorizer.requireOperator(authContext.getCurrentUserId());
+    }
+
+    private ReplayJobResponse toResponse(ReplayJob job) {
+        return ReplayJobResponse.builder()
+                .jobId(job.getId())
+                .target(job.getTarget().name())
+                .topic(job.getTopic())
+                .from(job.getFrom())
+                .to(job.getTo())
+                .state(job.getState().name())
+                .progress(job.getProgress())
+                .replayed(job.getReplayed())
+                .backfilled(job.getBackfilled())
+                .skipped(job.getSkipped())
+                .retentionGapUntil(job.getRetentionGapUntil())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .error(job.getError())
+                .build();
+    }
+}
@@ -3,9 +3,11 @@ package com.example.chatapp.controller;
 import com.example.chatapp.dto.request.MessageCreateRequest;
 import com.example.chatapp.dto.request.RoomEnterRequest;
 import com.example.chatapp.dto.request.RoomLeaveRequest;
+import com.example.chatapp.dto.request.RoomResumeRequest;
 import com.example.chatapp.exception.ChatRoomException;
 import com.example.chatapp.exception.MessageException;
 import com.example.chatapp.exception.UserException;
+import com.example.chatapp.infrastructure.websocket.RoomResumeService;
 import com.example.chatapp.service.ChatRoomService;
 import com.example.chatapp.service.MessageService;
 import com.example.chatapp.dto.ErrorResponse;
@@ -18,6 +20,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
@@ -36,6 +39,11 @@ import java.util.Map;
 public class WebSocketController {
     private final MessageService messageService;
     private final ChatRoomService chatRoomService;
+    private final RoomResumeService roomResumeService;
+
+    // 비동기 저장 모드: DB 저장 없이 Kafka 발행만 하고 MessagePersistenceConsumer가 저장 (Kafka 비활성화 시 사용 불가)
+    @Value("#{'${chat.message.persistence.mode:sync}' == 'async' && '${spring.kafka.enabled:true}' == 'true'}")
+    private boolean asyncPersistence;
 
     /**
      * 메시지 전송
@@ -56,7 +64,11 @@ public class WebSocketController {
         log.debug("WebSocket 메시지 전송 요청: senderId={}, roomId={}",
                 senderId, request.getChatRoomId());
 
-        messageService.sendMessage(request, senderId);
+        if (asyncPersistence) {
+            messageService.publishMessage(request, senderId);
+        } else {
+            messageService.sendMessage(request, senderId);
+        }
 
         log.debug("메시지 전송 요청 처리 완료");
     }
@@ -118,6 +130,30 @@ public class WebSocketController {
         // TODO: 다른 사용자들에게 임시 오프라인 상태 알림
     }
 
+    /**
+     * 재연결 이어받기
+     * - 채팅방을 다시 구독한 뒤, 채팅방마다 마지막으로 받은 순번을 보내면 빠진 메시지만 그 구독으로 받음
+     * - 응답은 type이 RESUME인 프레임 (hasMore면 받은 마지막 순번으로 다시 요청, 순번 빈틈은 다시 요청하지 않음)
+     * - 참여자 확인만 여기서 하고, 조회와 전송은 RoomResumeService 작업 스레드에서 이어진다
+     */
+    @MessageMapping("/room.resume")
+    @Operation(summary = "재연결 이어받기", description = "채팅방별 마지막으로 받은 순번 다음 메시지를 채팅방 구독으로 다시 받습니다")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "빠진 메시지 전송"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터 또는 참여하지 않은 채팅방",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "인증되지 않음 - 웹소켓으로 인증되지 않은 사용자",
+                content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @SecurityRequirement(name = "JWT 쿠키 인증")
+    public void resumeRooms(@Payload @Valid RoomResumeRequest request, SimpMessageHeaderAccessor headerAccessor) {
+        Long userId = getUserIdFromSession(headerAccessor);
+
+        roomResumeService.resume(headerAccessor.getSessionId(), userId, request.getLastSeqs());
+
+        log.debug("재연결 이어받기 요청: userId={}, rooms={}", userId, request.getLastSeqs().size());
+    }
+
     /**
      * WebSocket 예외 처리
      */
@@ -31,6 +31,14 @@ public class ChatRoom {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // 마지막으로 발급한 메시지 순번 (ChatRoomRepository.nextMessageSeq의 UPDATE로만 증가, 엔티티 변경으로는 덮어쓰지 않음)
+    @Column(name = "last_message_seq", nullable = false, updatable = false)
+    private long lastMessageSeq;
+
+    // 참여자 구성 버전 (ChatRoomRepository.incrementStateVersion의 UPDATE로만 증가, 채팅방 상태 스냅샷의 버전)
+    @Column(name = "state_version", nullable = false, updatable = false)
+    private long stateVersion;
+
     @OneToMany(mappedBy = "chatRoom", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<ChatRoomParticipant> participants = new HashSet<>();
 
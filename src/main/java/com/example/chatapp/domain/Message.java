@@ -1,5 +1,6 @@
 package com.example.chatapp.domain;
 
+import com.example.chatapp.infrastructure.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -17,13 +18,28 @@ import java.util.Objects;
                 @Index(name = "idx_sender_timestamp", columnList = "sender_id,timestamp"),
                 @Index(name = "idx_timestamp", columnList = "timestamp"),
                 @Index(name = "idx_status", columnList = "status")
+        },
+        uniqueConstraints = {
+                // 비동기 저장 모드에서 같은 이벤트를 다시 기록해도 한 행만 남도록 (동기 저장 메시지는 NULL)
+                @UniqueConstraint(name = "uk_messages_event_id", columnNames = "event_id"),
+                // 채팅방 순번은 채팅방 안에서 한 번만 쓰임 (순번 도입 전 메시지는 NULL)
+                @UniqueConstraint(name = "uk_messages_room_seq", columnNames = {"chat_room_id", "room_seq"})
         }
 )
 public class Message {
+    // 시간 순서 ID (INSERT 전에 발급되어 JDBC 배치 INSERT 가능, ID 순서 = 작성 순서)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
+    // 메시지를 기록한 채팅 이벤트 ID (비동기 저장 모드에서 멱등 INSERT 키)
+    @Column(name = "event_id", length = 32)
+    private String eventId;
+
+    // 채팅방 안의 메시지 순번 (전송 시 ChatRoomRepository.nextMessageSeq로 발급)
+    @Column(name = "room_seq")
+    private Long seq;
+
     @Column(nullable = false, length = 1000)
     private String content;
 
@@ -95,6 +111,19 @@ public class Message {
         }
     }
 
+    /**
+     * 채팅방 순번 부여 (저장 전 한 번만)
+     */
+    public void assignSeq(long seq) {
+        if (seq < 1) {
+            throw new IllegalArgumentException("채팅방 순번은 1 이상이어야 합니다");
+        }
+        if (this.seq != null) {
+            throw new IllegalStateException("이미 채팅방 순번이 부여된 메시지입니다");
+        }
+        this.seq = seq;
+    }
+
     /**
      * 메시지 상태 변경
      */
@@ -21,7 +21,7 @@ public class ErrorResponse {
     @Schema(description = "에러 코드", allowableValues = {
             "VALIDATION_ERROR", "INTERNAL_SERVER_ERROR",
             "AUTH_ERROR", "INVALID_CREDENTIALS", "JWT_TOKEN_INVALID", "JWT_TOKEN_EXPIRED",
-            "USER_NOT_FOUND", "USER_CONFLICT", "USER_FORBIDDEN",
+            "USER_NOT_FOUND", "USER_CONFLICT", "USER_FORBIDDEN", "OPERATOR_REQUIRED",
             "CHATROOM_NOT_FOUND", "CHATROOM_FORBIDDEN", "CHATROOM_ALREADY_JOINED", 
             "CHATROOM_NOT_PARTICIPANT", "CHATROOM_ADMIN_REQUIRED",
             "MESSAGE_NOT_FOUND", "MESSAGE_FORBIDDEN", "MESSAGE_SEND_FAILED", "MESSAGE_INVALID_STATUS",
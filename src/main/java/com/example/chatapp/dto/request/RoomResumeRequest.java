@@ -0,0 +1,23 @@
+package com.example.chatapp.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomResumeRequest {
+
+    // 채팅방 ID -> 마지막으로 받은 메시지 순번 (받은 적 없으면 0)
+    @NotEmpty(message = "이어받을 채팅방은 하나 이상이어야 합니다.")
+    @Size(max = 100, message = "한 번에 이어받을 수 있는 채팅방은 100개 이하입니다.")
+    Map<Long, Long> lastSeqs;
+
+}
@@ -0,0 +1,27 @@
+package com.example.chatapp.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 고유 활성 사용자 수 응답 DTO
+ */
+@Schema(description = "기간 내 메시지를 보낸 고유 사용자 수 추정값을 담는 DTO")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActiveUserCountResponse {
+
+    @Schema(description = "집계 시작 시각 (시간 단위로 내림)", example = "2024-12-20T00:00:00")
+    private LocalDateTime from;
+    @Schema(description = "집계 종료 시각 (제외)", example = "2024-12-27T00:00:00")
+    private LocalDateTime to;
+    @Schema(description = "고유 활성 사용자 수 추정값 (채팅방 약 3%, 전체 약 1.6% 오차)", example = "1532")
+    private long activeUsers;
+}
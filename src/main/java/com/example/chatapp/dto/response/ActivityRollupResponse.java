@@ -0,0 +1,33 @@
+package com.example.chatapp.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 활동 롤업 응답 DTO (집계 창 하나)
+ */
+@Schema(description = "채팅방/사용자 활동 집계 창 하나의 통계를 담는 DTO")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityRollupResponse {
+
+    @Schema(description = "집계 창 시작 시각", example = "2024-12-27T10:00:00")
+    private LocalDateTime windowStart;
+    @Schema(description = "메시지 수", example = "120")
+    private long messageCount;
+    @Schema(description = "평균 메시지 길이 (글자 수)", example = "23.5")
+    private double averageMessageLength;
+    @Schema(description = "입장 수", example = "4")
+    private long joinCount;
+    @Schema(description = "퇴장 수", example = "3")
+    private long leaveCount;
+    @Schema(description = "이 창에서 퇴장한 사용자의 평균 체류 시간 (밀리초)", example = "1800000")
+    private long averageDwellMs;
+}
@@ -0,0 +1,25 @@
+package com.example.chatapp.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DLT 재주입 결과 응답 DTO
+ */
+@Schema(description = "DLT 재주입 결과를 담는 DTO")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterReplayResponse {
+
+    @Schema(description = "재주입한 토픽 (전달 그룹은 원본 토픽, 그 밖의 그룹은 그 그룹의 첫 재시도 토픽)", example = "chat-messages-v2")
+    private String topic;
+    @Schema(description = "읽어 온 DLT 토픽", example = "chat-messages-v2-dlt")
+    private String deadLetterTopic;
+    @Schema(description = "다시 발행한 레코드 수", example = "42")
+    private int replayed;
+}
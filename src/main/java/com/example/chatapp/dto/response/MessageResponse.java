@@ -1,6 +1,8 @@
 package com.example.chatapp.dto.response;
 
 import com.example.chatapp.domain.MessageStatus;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,7 +17,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class MessageResponse {
-    @Schema(description = "메시지 ID", example = "123")
+    // Snowflake ID는 2^53을 넘어 JS number로 받으면 정밀도가 깨지므로 문자열로 보낸다
+    @Schema(description = "메시지 ID (Snowflake, 문자열)", type = "string", example = "7285931028144128")
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
     @Schema(description = "메시지 내용", example = "안녕하세요! 회의 시작하겠습니다.")
     private String content;
@@ -23,6 +27,8 @@ public class MessageResponse {
     private UserResponse sender;
     @Schema(description = "채팅방 ID", example = "1")
     private Long chatRoomId;
+    @Schema(description = "채팅방 안의 메시지 순번 (재연결 시 lastSeq로 사용, 순번 도입 전 메시지는 null)", example = "42")
+    private Long seq;
     @Schema(description = "메시지 상태", example = "SENT")
     private MessageStatus status;
     @Schema(description = "메시지 전송 시간", example = "2024-01-01T10:00:00")
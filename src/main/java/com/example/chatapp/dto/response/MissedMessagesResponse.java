@@ -0,0 +1,29 @@
+package com.example.chatapp.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 끊긴 연결에서 받지 못한 채팅방 메시지 응답 DTO
+ */
+@Schema(description = "이어받기 토큰으로 조회한 채팅방별 받지 못한 메시지")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MissedMessagesResponse {
+
+    @Schema(description = "채팅방 ID", example = "1")
+    private Long roomId;
+    @Schema(description = "마지막으로 받은 채팅방 순번 (이 순번 다음부터 조회)", example = "42")
+    private Long afterSeq;
+    @Schema(description = "받지 못한 메시지 (오래된 순서)")
+    private List<MessageResponse> messages;
+    @Schema(description = "더 있는지 여부 (마지막 메시지 순번으로 이어서 조회)", example = "false")
+    private boolean hasMore;
+}
@@ -0,0 +1,49 @@
+package com.example.chatapp.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시간 구간 재처리 작업 상태 응답 DTO
+ */
+@Schema(description = "시간 구간 재처리 작업의 설정과 진행 상황을 담는 DTO")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayJobResponse {
+
+    @Schema(description = "작업 ID", example = "190834827619123200")
+    private String jobId;
+    @Schema(description = "재처리 대상", example = "ANALYTICS")
+    private String target;
+    @Schema(description = "재처리 토픽", example = "chat-messages-v2")
+    private String topic;
+    @Schema(description = "구간 시작 시각", example = "2024-12-27T09:00:00")
+    private LocalDateTime from;
+    @Schema(description = "구간 종료 시각 (제외)", example = "2024-12-27T10:00:00")
+    private LocalDateTime to;
+    @Schema(description = "작업 상태 (RUNNING, COMPLETED, CANCELLED, FAILED)", example = "RUNNING")
+    private String state;
+    @Schema(description = "Kafka 구간 진행률 (0~1)", example = "0.42")
+    private double progress;
+    @Schema(description = "Kafka에서 다시 처리한 이벤트 수", example = "12000")
+    private long replayed;
+    @Schema(description = "DB에서 보충한 메시지 수", example = "3000")
+    private long backfilled;
+    @Schema(description = "건너뛴 레코드/이벤트 수 (읽을 수 없음, 대상이 다루지 않는 타입, 이미 처리함)", example = "150")
+    private long skipped;
+    @Schema(description = "Kafka 보존 기간이 지나 남아 있지 않은 구간의 끝 (없으면 null)", example = "2024-12-27T09:20:00")
+    private LocalDateTime retentionGapUntil;
+    @Schema(description = "작업 시작 시각", example = "2024-12-27T10:05:00")
+    private LocalDateTime startedAt;
+    @Schema(description = "작업 종료 시각", example = "2024-12-27T10:09:30")
+    private LocalDateTime finishedAt;
+    @Schema(description = "실패 사유", example = "null")
+    private String error;
+}
@@ -0,0 +1,27 @@
+package com.example.chatapp.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 급상승 키워드 응답 DTO
+ */
+@Schema(description = "최근 구간에 평소보다 많이 쓰인 키워드를 담는 DTO")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingTermResponse {
+
+    @Schema(description = "키워드 (영문은 소문자)", example = "배포")
+    private String term;
+    @Schema(description = "최근 구간에서 키워드가 나온 메시지 수 (추정값)", example = "42")
+    private long count;
+    @Schema(description = "평소 빈도로 본 같은 구간의 기대 메시지 수", example = "3.5")
+    private double expectedCount;
+    @Schema(description = "급상승 점수 (count / (expectedCount + 1))", example = "9.33")
+    private double score;
+}
@@ -31,7 +31,8 @@ public class ChatEventListener {
             // 실시간 알림 전송
             Map<String, Object> notification = new HashMap<>();
             notification.put("type", "NEW_MESSAGE");
-            notification.put("messageId", event.getMessageId());
+            // Snowflake 메시지 ID는 JS number 정밀도를 넘으므로 문자열로 보낸다
+            notification.put("messageId", String.valueOf(event.getMessageId()));
             notification.put("chatRoomId", event.getChatRoomId());
             notification.put("senderId", event.getSenderId());
             notification.put("timestamp", event.getTimestamp().toString());
@@ -25,6 +25,7 @@ public enum ErrorCode {
     USER_NOT_FOUND("USER_NOT_FOUND", HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다"),
     USER_ALREADY_EXISTS("USER_CONFLICT", HttpStatus.CONFLICT, "이미 존재하는 사용자입니다"),
     USER_ACCESS_DENIED("USER_FORBIDDEN", HttpStatus.FORBIDDEN, "사용자 접근 권한이 없습니다"),
+    OPERATOR_REQUIRED("OPERATOR_REQUIRED", HttpStatus.FORBIDDEN, "운영자 권한이 필요합니다"),
     
     // 채팅방 관련 에러
     CHATROOM_NOT_FOUND("CHATROOM_NOT_FOUND", HttpStatus.NOT_FOUND, "채팅방을 찾을 수 없습니다"),
@@ -39,6 +40,7 @@ public enum ErrorCode {
     MESSAGE_ACCESS_DENIED("MESSAGE_FORBIDDEN", HttpStatus.FORBIDDEN, "메시지 접근 권한이 없습니다"),
     MESSAGE_SEND_FAILED("MESSAGE_SEND_FAILED", HttpStatus.BAD_REQUEST, "메시지 전송에 실패했습니다"),
     MESSAGE_INVALID_STATUS("MESSAGE_INVALID_STATUS", HttpStatus.BAD_REQUEST, "유효하지 않은 메시지 상태입니다"),
+    MESSAGE_RESUME_TOKEN_NOT_FOUND("MESSAGE_RESUME_TOKEN_NOT_FOUND", HttpStatus.NOT_FOUND, "이어받기 토큰이 없거나 만료되었습니다"),
     
     // 도메인 규칙 위반
     DOMAIN_RULE_VIOLATION("DOMAIN_ERROR", HttpStatus.BAD_REQUEST, "비즈니스 규칙을 위반했습니다");
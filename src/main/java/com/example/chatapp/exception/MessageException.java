@@ -36,4 +36,8 @@ public class MessageException extends BaseException {
         return new MessageException(ErrorCode.MESSAGE_INVALID_STATUS, 
             String.format("유효하지 않은 메시지 상태: %s", status));
     }
+    
+    public static MessageException resumeTokenNotFound() {
+        return new MessageException(ErrorCode.MESSAGE_RESUME_TOKEN_NOT_FOUND);
+    }
 }
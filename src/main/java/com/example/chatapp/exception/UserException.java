@@ -36,4 +36,8 @@ public class UserException extends BaseException {
     public static UserException accessDenied() {
         return new UserException(ErrorCode.USER_ACCESS_DENIED);
     }
+
+    public static UserException operatorRequired() {
+        return new UserException(ErrorCode.OPERATOR_REQUIRED);
+    }
 }
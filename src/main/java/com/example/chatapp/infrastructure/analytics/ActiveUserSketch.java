@@ -0,0 +1,43 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시간 단위 창 하나에서 메시지를 보낸 고유 사용자 HyperLogLog 스케치 (채팅방별 / 전체)
+ *
+ * 레지스터를 SQL로 병합할 수 없으므로 갱신하지 않고 기록할 때마다 행을 추가한다.
+ * 같은 창에 행이 여러 개일 수 있으며(컨슈머 인스턴스별, 늦게 도착한 이벤트로 다시 닫힌 창) 조회 시 모두 병합한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "activity_user_sketches",
+        indexes = {
+                @Index(name = "idx_user_sketch_window", columnList = "scope,subject_id,window_start")
+        }
+)
+public class ActiveUserSketch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupScope scope;
+
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+
+    @Column(name = "window_start", nullable = false)
+    private LocalDateTime windowStart;
+
+    // HyperLogLog.toBytes() 결과
+    @Lob
+    @Column(nullable = false)
+    private byte[] registers;
+}
@@ -0,0 +1,70 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 닫힌 집계 창 하나의 채팅방/사용자 활동 롤업
+ * ActivityWindowAggregator가 창이 닫힐 때 ActivityRollupWriter로 누적 기록하며, 엔티티는 조회와 스키마 생성에만 쓴다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "activity_rollups",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_activity_rollup_window",
+                        columnNames = {"scope", "granularity", "subject_id", "window_start"})
+        }
+)
+public class ActivityRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupScope scope;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    // 채팅방 ID 또는 사용자 ID (scope에 따름)
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+
+    @Column(name = "window_start", nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(name = "message_count", nullable = false)
+    private long messageCount;
+
+    // 메시지 본문 글자 수 합 (평균 길이 = contentChars / messageCount)
+    @Column(name = "content_chars", nullable = false)
+    private long contentChars;
+
+    @Column(name = "join_count", nullable = false)
+    private long joinCount;
+
+    @Column(name = "leave_count", nullable = false)
+    private long leaveCount;
+
+    // 이 창에서 퇴장한 사용자들의 체류 시간 합과 표본 수 (입장을 보지 못한 퇴장은 제외)
+    @Column(name = "dwell_ms", nullable = false)
+    private long dwellMs;
+
+    @Column(name = "dwell_samples", nullable = false)
+    private long dwellSamples;
+
+    public double getAverageMessageLength() {
+        return messageCount > 0 ? (double) contentChars / messageCount : 0;
+    }
+
+    public long getAverageDwellMs() {
+        return dwellSamples > 0 ? dwellMs / dwellSamples : 0;
+    }
+}
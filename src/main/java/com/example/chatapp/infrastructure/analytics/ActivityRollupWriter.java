@@ -0,0 +1,107 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 닫힌 집계 창을 activity_rollups 테이블에 배치로 누적 기록
+ * 늦게 도착한 이벤트로 같은 창이 다시 닫혀도 기존 행에 더하므로 값이 덮어써지지 않는다.
+ * 고유 사용자 스케치는 activity_user_sketches에 행을 추가하며, 실패 시 되돌려 재시도할 수 있도록 한 트랜잭션으로 기록한다.
+ * 누적 기록이므로 구간을 재처리하기 전에는 resetMessageCounts로 그 구간의 메시지 집계를 먼저 비워야 두 번 더해지지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActivityRollupWriter {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO activity_rollups (scope, granularity, subject_id, window_start, message_count, content_chars, " +
+            "join_count, leave_count, dwell_ms, dwell_samples) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE message_count = message_count + VALUES(message_count), " +
+            "content_chars = content_chars + VALUES(content_chars), join_count = join_count + VALUES(join_count), " +
+            "leave_count = leave_count + VALUES(leave_count), dwell_ms = dwell_ms + VALUES(dwell_ms), " +
+            "dwell_samples = dwell_samples + VALUES(dwell_samples)";
+    private static final String SKETCH_INSERT_SQL =
+            "INSERT INTO activity_user_sketches (scope, subject_id, window_start, registers) VALUES (?, ?, ?, ?)";
+    private static final String RESET_MESSAGES_SQL =
+            "UPDATE activity_rollups SET message_count = 0, content_chars = 0 WHERE window_start >= ? AND window_start < ?";
+    private static final String SKETCH_DELETE_SQL =
+            "DELETE FROM activity_user_sketches WHERE window_start >= ? AND window_start < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${chat.analytics.write-batch-size:500}")
+    private int batchSize;
+
+    @Transactional
+    public void write(List<ActivityWindowAggregator.RollupRow> rows) {
+        writeRollups(rows);
+        writeSketches(rows);
+    }
+
+    /**
+     * 시작 시각이 [from, to)인 창의 메시지 수/글자 수를 0으로 되돌리고 고유 사용자 스케치를 지움 (재처리 전 호출)
+     * 입장/퇴장/체류 값은 재처리하지 않으므로 그대로 둔다. 시간 단위 창까지 구간 안에 들어가도록 from, to는 정시여야 한다.
+     *
+     * @return 메시지 집계를 비운 롤업 행 수
+     */
+    @Transactional
+    public int resetMessageCounts(LocalDateTime from, LocalDateTime to) {
+        Timestamp start = Timestamp.valueOf(from);
+        Timestamp end = Timestamp.valueOf(to);
+        jdbcTemplate.update(SKETCH_DELETE_SQL, start, end);
+        return jdbcTemplate.update(RESET_MESSAGES_SQL, start, end);
+    }
+
+    private void writeRollups(List<ActivityWindowAggregator.RollupRow> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<ActivityWindowAggregator.RollupRow> chunk = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            List<Object[]> args = new ArrayList<>(chunk.size());
+            for (ActivityWindowAggregator.RollupRow row : chunk) {
+                long[] counters = row.getCounters();
+                args.add(new Object[]{
+                        row.getScope().name(),
+                        row.getGranularity().name(),
+                        row.getSubjectId(),
+                        Timestamp.valueOf(row.getWindowStart()),
+                        counters[ActivityWindowAggregator.MESSAGES],
+                        counters[ActivityWindowAggregator.CONTENT_CHARS],
+                        counters[ActivityWindowAggregator.JOINS],
+                        counters[ActivityWindowAggregator.LEAVES],
+                        counters[ActivityWindowAggregator.DWELL_MS],
+                        counters[ActivityWindowAggregator.DWELL_SAMPLES]
+                });
+            }
+            jdbcTemplate.batchUpdate(UPSERT_SQL, args);
+        }
+    }
+
+    private void writeSketches(List<ActivityWindowAggregator.RollupRow> rows) {
+        List<Object[]> args = new ArrayList<>();
+        for (ActivityWindowAggregator.RollupRow row : rows) {
+            if (row.getActiveUsers() == null) {
+                continue;
+            }
+            args.add(new Object[]{
+                    row.getScope().name(),
+                    row.getSubjectId(),
+                    Timestamp.valueOf(row.getWindowStart()),
+                    row.getActiveUsers().toBytes()
+            });
+            if (args.size() == batchSize) {
+                jdbcTemplate.batchUpdate(SKETCH_INSERT_SQL, args);
+                args.clear();
+            }
+        }
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(SKETCH_INSERT_SQL, args);
+        }
+    }
+}
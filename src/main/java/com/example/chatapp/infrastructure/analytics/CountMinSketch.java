@@ -0,0 +1,94 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import java.util.Arrays;
+
+/**
+ * long 키 빈도 추정용 Count-Min Sketch (호출자가 동기화)
+ *
+ * - depth개 행마다 서로 다른 해시로 width개 카운터 중 하나를 고르고, 추정값은 행들의 최솟값이다.
+ * - 보수적 갱신(conservative update): 최솟값보다 큰 카운터는 올리지 않아 과대 추정을 줄인다.
+ * - 추정값은 실제 빈도 이상이며, 오차는 확률 1 - (1/2)^depth로 총 빈도 * e / width 이하이다.
+ */
+final class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final int mask;
+    private final long[] counters;
+
+    CountMinSketch(int width, int depth) {
+        if (width < 2 || Integer.bitCount(width) != 1 || depth < 1) {
+            throw new IllegalArgumentException("width는 2의 거듭제곱, depth는 1 이상이어야 합니다");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.mask = width - 1;
+        this.counters = new long[width * depth];
+    }
+
+    /**
+     * 키 빈도를 delta만큼 올리고 갱신 후 추정값 반환
+     */
+    long add(long key, long delta) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[index(key, row)]);
+        }
+        long updated = estimate + delta;
+        for (int row = 0; row < depth; row++) {
+            int index = index(key, row);
+            if (counters[index] < updated) {
+                counters[index] = updated;
+            }
+        }
+        return updated;
+    }
+
+    long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[index(key, row)]);
+        }
+        return estimate;
+    }
+
+    void clear() {
+        Arrays.fill(counters, 0L);
+    }
+
+    /**
+     * 같은 크기의 감쇠 기준선 배열에 이 스케치를 더함 (baseline = baseline * decay + counters)
+     * Count-Min Sketch는 선형이므로 기준선도 같은 해시로 조회하면 감쇠 누적 빈도의 추정값이 된다.
+     */
+    void foldInto(double[] baseline, double decay) {
+        for (int i = 0; i < counters.length; i++) {
+            baseline[i] = baseline[i] * decay + counters[i];
+        }
+    }
+
+    /**
+     * foldInto로 만든 기준선 배열에서 키 추정값
+     */
+    double estimate(double[] baseline, long key) {
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, baseline[index(key, row)]);
+        }
+        return estimate;
+    }
+
+    int size() {
+        return counters.length;
+    }
+
+    private int index(long key, int row) {
+        // 행마다 다른 상수를 섞은 뒤 murmur3 fmix64로 비트 확산
+        long h = key + (row + 1) * 0x9e3779b97f4a7c15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return row * width + ((int) h & mask);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 구간 내 상위 빈도 대상 (채팅방 ID 또는 사용자 ID)과 추정 메시지 수
+ * 추정값은 Count-Min Sketch 특성상 실제보다 약간 클 수 있다.
+ */
+@Getter
+@AllArgsConstructor
+public class HeavyHitter {
+    private final long id;
+    private final long estimatedCount;
+    // 구간 전체 메시지 중 비율 (0~1)
+    private final double share;
+}
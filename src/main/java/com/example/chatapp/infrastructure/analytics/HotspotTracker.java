@@ -0,0 +1,70 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.message.ChatEventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 메시지가 몰리는 채팅방/발신자 추적기 (DB 조회 없이 고정 메모리)
+ *
+ * 채팅방별 정확한 카운터는 채팅방 수에 비례해 커지므로, 구간마다 SlidingHeavyHitters로 상위 후보만 유지한다.
+ * 핫 채팅방은 chat-messages-v2 파티션 쏠림과 WebSocket 송신 부하의 원인이므로 운영 중 확인용으로 쓴다.
+ * 기본 설정(width 2048, depth 4)에서 메모리는 대상(채팅방/사용자)마다 구간 버킷 수 * 64KB, 합계 약 4MB이다.
+ */
+@Component
+public class HotspotTracker {
+
+    private final LongSupplier clock;
+    private final Map<HotspotWindow, SlidingHeavyHitters> rooms = new EnumMap<>(HotspotWindow.class);
+    private final Map<HotspotWindow, SlidingHeavyHitters> users = new EnumMap<>(HotspotWindow.class);
+
+    @Autowired
+    public HotspotTracker(
+            @Value("${chat.analytics.hotspots.sketch-width:2048}") int width,
+            @Value("${chat.analytics.hotspots.sketch-depth:4}") int depth,
+            @Value("${chat.analytics.hotspots.capacity:64}") int capacity) {
+        this(width, depth, capacity, System::currentTimeMillis);
+    }
+
+    HotspotTracker(int width, int depth, int capacity, LongSupplier clock) {
+        this.clock = clock;
+        for (HotspotWindow window : HotspotWindow.values()) {
+            long bucketMillis = window.getBucket().toMillis();
+            rooms.put(window, new SlidingHeavyHitters(bucketMillis, window.getBuckets(), width, depth, capacity));
+            users.put(window, new SlidingHeavyHitters(bucketMillis, window.getBuckets(), width, depth, capacity));
+        }
+    }
+
+    /**
+     * 메시지 이벤트 반영 (수신 시각 기준, 봉투가 아닌 개별 이벤트)
+     */
+    public void record(ChatEvent event) {
+        if (event.getEventType() != ChatEventType.MESSAGE_SENT || event.getChatRoomId() == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        for (SlidingHeavyHitters tracker : rooms.values()) {
+            tracker.add(event.getChatRoomId(), now);
+        }
+        if (event.getUserId() != null) {
+            for (SlidingHeavyHitters tracker : users.values()) {
+                tracker.add(event.getUserId(), now);
+            }
+        }
+    }
+
+    public List<HeavyHitter> topRooms(HotspotWindow window, int limit) {
+        return rooms.get(window).top(limit, clock.getAsLong());
+    }
+
+    public List<HeavyHitter> topSenders(HotspotWindow window, int limit) {
+        return users.get(window).top(limit, clock.getAsLong());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import java.time.Duration;
+
+/**
+ * 핫스팟 조회 구간과 버킷 구성 (버킷 하나 길이만큼 구간 경계가 부정확함)
+ */
+public enum HotspotWindow {
+    ONE_MINUTE("1m", Duration.ofSeconds(10), 6),
+    FIFTEEN_MINUTES("15m", Duration.ofMinutes(1), 15),
+    ONE_HOUR("1h", Duration.ofMinutes(5), 12);
+
+    private final String label;
+    private final Duration bucket;
+    private final int buckets;
+
+    HotspotWindow(String label, Duration bucket, int buckets) {
+        this.label = label;
+        this.bucket = bucket;
+        this.buckets = buckets;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    Duration getBucket() {
+        return bucket;
+    }
+
+    int getBuckets() {
+        return buckets;
+    }
+
+    public static HotspotWindow fromLabel(String label) {
+        for (HotspotWindow window : values()) {
+            if (window.label.equals(label)) {
+                return window;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 구간입니다: " + label + " (1m, 15m, 1h)");
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 핫 채팅방/발신자 조회 actuator 엔드포인트 (/actuator/hotspots?window=1m&limit=10)
+ * window를 생략하면 모든 구간을 돌려준다.
+ */
+@Component
+@Endpoint(id = "hotspots")
+@RequiredArgsConstructor
+public class HotspotsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final HotspotTracker hotspotTracker;
+
+    @ReadOperation
+    public Map<String, Map<String, List<HeavyHitter>>> hotspots(@Nullable String window, @Nullable Integer limit) {
+        int size = limit != null ? limit : DEFAULT_LIMIT;
+        if (size < 1) {
+            throw new InvalidEndpointRequestException("limit은 1 이상이어야 합니다", "invalid limit");
+        }
+
+        HotspotWindow[] windows;
+        try {
+            windows = window != null ? new HotspotWindow[]{HotspotWindow.fromLabel(window)} : HotspotWindow.values();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), "invalid window");
+        }
+
+        Map<String, Map<String, List<HeavyHitter>>> result = new LinkedHashMap<>();
+        for (HotspotWindow hotspotWindow : windows) {
+            Map<String, List<HeavyHitter>> hitters = new LinkedHashMap<>();
+            hitters.put("rooms", hotspotTracker.topRooms(hotspotWindow, size));
+            hitters.put("senders", hotspotTracker.topSenders(hotspotWindow, size));
+            result.put(hotspotWindow.getLabel(), hitters);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import java.util.Arrays;
+
+/**
+ * 메시지 본문 키워드 토크나이저 (한글/영문, 외부 형태소 분석기 없음)
+ *
+ * 본문을 한 번 훑으며 한글 음절 연속 구간과 영문/숫자 연속 구간을 토큰으로 보고,
+ * 부분 문자열을 만들지 않고 (시작, 끝) 범위와 64비트 해시만 넘긴다. 문자열은 호출자가 필요할 때만 term()으로 만든다.
+ * - 한글: 흔한 조사 하나를 떼어낸다 (남는 길이가 2자 이상일 때만, 단어 끝과 겹치기 쉬운 이/도/만은 제외).
+ * - 영문: 대소문자를 구분하지 않으며 숫자로만 된 토큰은 버린다.
+ * - 2자 미만, MAX_TOKEN_LENGTH 초과 토큰과 불용어는 버린다.
+ */
+final class KeywordTokenizer {
+
+    static final int MAX_TOKEN_LENGTH = 32;
+
+    private static final int OTHER = 0;
+    private static final int HANGUL = 1;
+    private static final int LATIN = 2;
+
+    // 긴 것부터 검사
+    private static final String[] JOSA = {
+            "에서는", "으로는", "에게서", "이라고",
+            "에서", "에게", "한테", "으로", "까지", "부터", "처럼", "보다", "라고", "이랑",
+            "은", "는", "을", "를", "의", "에", "가", "와", "과", "로", "랑"
+    };
+
+    private static final long[] STOPWORDS = hashes(
+            "그리고", "그런데", "그래서", "근데", "그냥", "진짜", "정말", "너무", "아니", "이거", "저거", "그거",
+            "우리", "저희", "제가", "내가", "오늘", "지금", "혹시", "다들", "여기", "거기", "이제", "많이",
+            "the", "and", "for", "you", "are", "but", "not", "with", "this", "that", "have", "was", "its",
+            "just", "what", "your", "can", "all", "get", "like", "lol", "yes", "from", "they", "will", "there",
+            "about", "would", "been", "one", "out", "too", "how", "why", "who", "when", "then", "than", "them");
+
+    /**
+     * 토큰 수신자 (text의 [start, end) 범위, 소문자 기준 해시)
+     */
+    interface TokenSink {
+        void accept(CharSequence text, int start, int end, long hash);
+    }
+
+    private KeywordTokenizer() {
+    }
+
+    static void tokenize(CharSequence text, TokenSink sink) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int type = type(text.charAt(i));
+            if (type == OTHER) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length && type(text.charAt(i)) == type) {
+                i++;
+            }
+            int end = type == HANGUL ? stripJosa(text, start, i) : i;
+            emit(text, start, end, type, sink);
+        }
+    }
+
+    /**
+     * 토큰 범위를 보고용 문자열로 만듦 (영문은 소문자)
+     */
+    static String term(CharSequence text, int start, int end) {
+        StringBuilder term = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            term.append(lower(text.charAt(i)));
+        }
+        return term.toString();
+    }
+
+    /**
+     * 범위의 64비트 해시 (영문 소문자 기준, FNV-1a 후 murmur3 fmix64, 0은 빈 칸 표시로 쓰므로 피함)
+     */
+    static long hash(CharSequence text, int start, int end) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            h ^= lower(text.charAt(i));
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h != 0 ? h : 1;
+    }
+
+    private static void emit(CharSequence text, int start, int end, int type, TokenSink sink) {
+        int length = end - start;
+        if (length < 2 || length > MAX_TOKEN_LENGTH) {
+            return;
+        }
+        if (type == LATIN && isDigits(text, start, end)) {
+            return;
+        }
+        long hash = hash(text, start, end);
+        if (Arrays.binarySearch(STOPWORDS, hash) >= 0) {
+            return;
+        }
+        sink.accept(text, start, end, hash);
+    }
+
+    private static int stripJosa(CharSequence text, int start, int end) {
+        for (String josa : JOSA) {
+            int suffixStart = end - josa.length();
+            if (suffixStart - start < 2) {
+                continue;
+            }
+            if (regionMatches(text, suffixStart, josa)) {
+                return suffixStart;
+            }
+        }
+        return end;
+    }
+
+    private static boolean regionMatches(CharSequence text, int offset, String suffix) {
+        for (int i = 0; i < suffix.length(); i++) {
+            if (text.charAt(offset + i) != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigits(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int type(char c) {
+        if (c >= '가' && c <= '힣') {
+            return HANGUL;
+        }
+        if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+            return LATIN;
+        }
+        return OTHER;
+    }
+
+    private static char lower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static long[] hashes(String... words) {
+        long[] hashes = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            hashes[i] = hash(words[i], 0, words[i].length());
+        }
+        Arrays.sort(hashes);
+        return hashes;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 활동 집계 창 크기 (텀블링 윈도우)
+ */
+public enum RollupGranularity {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * 시각이 속한 창의 시작 시각
+     */
+    public LocalDateTime windowStart(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    public LocalDateTime windowEnd(LocalDateTime windowStart) {
+        return windowStart.plus(1, unit);
+    }
+
+    public Duration length() {
+        return unit.getDuration();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.chatapp.infrastructure.analytics;
+
+/**
+ * 활동 집계 대상 (채팅방별 / 사용자별 / 전체)
+ */
+public enum RollupScope {
+    ROOM,
+    USER,
+    // 서비스 전체 (subject_id = GLOBAL_SUBJECT_ID)
+    GLOBAL;
+
+    public static final long GLOBAL_SUBJECT_ID = 0L;
+}
@@ -0,0 +1,138 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 슬라이딩 구간 상위 K 추적기 (Count-Min Sketch + Space-Saving)
+ *
+ * 구간을 bucketMillis 크기 버킷 bucketCount개의 링으로 나누고, 버킷마다
+ * - 모든 키의 빈도를 추정하는 Count-Min Sketch와
+ * - 추정 빈도가 가장 큰 capacity개 키만 남기는 Space-Saving 후보 집합을 둔다.
+ * 조회 시에는 살아 있는 버킷들의 후보를 합쳐 버킷별 추정값을 더한 뒤 상위 limit개를 고른다.
+ * 메모리는 키 수와 상관없이 bucketCount * (width * depth + capacity)로 고정된다.
+ */
+final class SlidingHeavyHitters {
+
+    private final long bucketMillis;
+    private final Bucket[] buckets;
+
+    SlidingHeavyHitters(long bucketMillis, int bucketCount, int width, int depth, int capacity) {
+        this.bucketMillis = bucketMillis;
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket(width, depth, capacity);
+        }
+    }
+
+    synchronized void add(long key, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        Bucket bucket = buckets[(int) (epoch % buckets.length)];
+        if (bucket.epoch != epoch) {
+            bucket.reset(epoch);
+        }
+        bucket.add(key);
+    }
+
+    /**
+     * 최근 bucketCount개 버킷(현재 버킷 포함) 기준 상위 limit개
+     */
+    synchronized List<HeavyHitter> top(int limit, long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        List<Bucket> live = new ArrayList<>(buckets.length);
+        long total = 0;
+        for (Bucket bucket : buckets) {
+            if (bucket.epoch > current - buckets.length && bucket.epoch <= current) {
+                live.add(bucket);
+                total += bucket.total;
+            }
+        }
+
+        Set<Long> candidates = new HashSet<>();
+        for (Bucket bucket : live) {
+            candidates.addAll(bucket.candidates.keySet());
+        }
+
+        List<HeavyHitter> hitters = new ArrayList<>(candidates.size());
+        for (Long key : candidates) {
+            long estimate = 0;
+            for (Bucket bucket : live) {
+                estimate += bucket.sketch.estimate(key);
+            }
+            hitters.add(new HeavyHitter(key, estimate, total > 0 ? (double) estimate / total : 0));
+        }
+        hitters.sort((a, b) -> Long.compare(b.getEstimatedCount(), a.getEstimatedCount()));
+        return hitters.size() > limit ? new ArrayList<>(hitters.subList(0, limit)) : hitters;
+    }
+
+    private static final class Bucket {
+
+        private final CountMinSketch sketch;
+        private final int capacity;
+        // Space-Saving 후보: 키 -> 추정 빈도 (최대 capacity개)
+        private final Map<Long, Long> candidates;
+        private long epoch = Long.MIN_VALUE;
+        private long total;
+        private long minKey;
+        private long minCount;
+        private boolean minStale;
+
+        private Bucket(int width, int depth, int capacity) {
+            this.sketch = new CountMinSketch(width, depth);
+            this.capacity = capacity;
+            this.candidates = new HashMap<>(capacity * 2);
+        }
+
+        private void reset(long epoch) {
+            this.epoch = epoch;
+            sketch.clear();
+            candidates.clear();
+            total = 0;
+            minStale = false;
+        }
+
+        private void add(long key) {
+            total++;
+            long estimate = sketch.add(key, 1);
+
+            if (candidates.containsKey(key)) {
+                candidates.put(key, estimate);
+                // 빈도는 늘기만 하므로 최솟값 키가 갱신될 때만 최솟값이 바뀔 수 있음
+                minStale |= key == minKey;
+                return;
+            }
+            if (candidates.size() < capacity) {
+                if (candidates.isEmpty() || (!minStale && estimate < minCount)) {
+                    minKey = key;
+                    minCount = estimate;
+                }
+                candidates.put(key, estimate);
+                return;
+            }
+            if (minStale) {
+                recomputeMin();
+            }
+            // 가장 작은 후보보다 자주 나온 키만 후보로 올림
+            if (estimate > minCount) {
+                candidates.remove(minKey);
+                candidates.put(key, estimate);
+                minStale = true;
+            }
+        }
+
+        private void recomputeMin() {
+            minCount = Long.MAX_VALUE;
+            for (Map.Entry<Long, Long> entry : candidates.entrySet()) {
+                if (entry.getValue() < minCount) {
+                    minCount = entry.getValue();
+                    minKey = entry.getKey();
+                }
+            }
+            minStale = false;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 최근 구간에 기준선보다 눈에 띄게 많이 쓰인 키워드
+ * 빈도는 Count-Min Sketch 추정값이라 실제보다 약간 클 수 있다.
+ */
+@Getter
+@AllArgsConstructor
+public class TrendingTerm {
+    private final String term;
+    // 최근 구간(window-buckets개 버킷) 등장 메시지 수
+    private final long count;
+    // 감쇠 기준선으로 본 같은 구간의 기대 등장 수
+    private final double expected;
+    // count / (expected + 1)
+    private final double score;
+}
@@ -0,0 +1,388 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.message.ChatEventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 급상승 키워드 추적기 (채팅방별, 전체)
+ *
+ * 메시지 본문을 KeywordTokenizer로 나눠 키워드 해시 단위로 센다. 문자열은 후보에 처음 오를 때만 만든다.
+ * - 최근 구간: bucket-ms 크기 버킷 window-buckets개의 Count-Min Sketch 링 (메시지당 같은 키워드는 한 번만)
+ * - 기준선: 끝난 버킷을 baseline-decay로 감쇠 누적한 같은 크기의 배열 (버킷당 평균 = 기준선 * (1 - decay))
+ * - 점수: 최근 구간 빈도 / (기준선으로 본 기대 빈도 + 1), min-count와 min-ratio를 모두 넘으면 급상승
+ * - 후보: 한 버킷에서 min-count / window-buckets번 이상 나온 키워드만 전체 global-capacity개,
+ *   채팅방마다 room-capacity개까지 기억하고, 구간 동안 다시 나오지 않으면 잊는다.
+ *   후보를 가진 채팅방은 최근에 활동한 max-rooms개까지만 유지한다.
+ *
+ * 채팅방 빈도는 (채팅방 ID, 키워드 해시)를 섞은 키로 전체와 별도의 스케치 하나를 같이 쓴다.
+ * 기동 직후에는 기준선이 비어 있어 자주 쓰이는 단어도 급상승으로 보일 수 있다.
+ * 인스턴스마다 자기 파티션의 메시지만 보므로 채팅방 결과는 정확하고 전체 결과는 해당 인스턴스 기준이다.
+ */
+@Component
+public class TrendingTermTracker {
+
+    // 메시지 하나에서 중복 제거할 최대 키워드 수 (넘는 키워드는 중복 제거 없이 셈)
+    private static final int MAX_TERMS_PER_MESSAGE = 64;
+
+    private final long bucketMillis;
+    private final int windowBuckets;
+    private final double decay;
+    private final long minCount;
+    private final double minRatio;
+    private final long admitCount;
+    private final int roomCapacity;
+    private final LongSupplier clock;
+
+    private final TermCounts globalCounts;
+    private final TermCounts roomCounts;
+    private final CandidateSet globalCandidates;
+    private final LinkedHashMap<Long, CandidateSet> roomCandidates;
+    private final MessageSink sink = new MessageSink();
+    private long epoch = Long.MIN_VALUE;
+
+    @Autowired
+    public TrendingTermTracker(
+            @Value("${chat.analytics.trending.bucket-ms:60000}") long bucketMillis,
+            @Value("${chat.analytics.trending.window-buckets:5}") int windowBuckets,
+            @Value("${chat.analytics.trending.baseline-decay:0.98}") double decay,
+            @Value("${chat.analytics.trending.min-count:5}") long minCount,
+            @Value("${chat.analytics.trending.min-ratio:3.0}") double minRatio,
+            @Value("${chat.analytics.trending.sketch-width:4096}") int width,
+            @Value("${chat.analytics.trending.sketch-depth:4}") int depth,
+            @Value("${chat.analytics.trending.global-capacity:256}") int globalCapacity,
+            @Value("${chat.analytics.trending.room-capacity:16}") int roomCapacity,
+            @Value("${chat.analytics.trending.max-rooms:10000}") int maxRooms) {
+        this(bucketMillis, windowBuckets, decay, minCount, minRatio, width, depth,
+                globalCapacity, roomCapacity, maxRooms, System::currentTimeMillis);
+    }
+
+    TrendingTermTracker(long bucketMillis, int windowBuckets, double decay, long minCount, double minRatio,
+                        int width, int depth, int globalCapacity, int roomCapacity, int maxRooms,
+                        LongSupplier clock) {
+        if (bucketMillis < 1 || windowBuckets < 1 || decay <= 0 || decay >= 1
+                || globalCapacity < 1 || roomCapacity < 1 || maxRooms < 1) {
+            throw new IllegalArgumentException("급상승 키워드 설정이 올바르지 않습니다");
+        }
+        this.bucketMillis = bucketMillis;
+        this.windowBuckets = windowBuckets;
+        this.decay = decay;
+        this.minCount = minCount;
+        this.minRatio = minRatio;
+        this.admitCount = Math.max(1, minCount / windowBuckets);
+        this.roomCapacity = roomCapacity;
+        this.clock = clock;
+        this.globalCounts = new TermCounts(width, depth);
+        this.roomCounts = new TermCounts(width, depth);
+        this.globalCandidates = new CandidateSet(globalCapacity);
+        this.roomCandidates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CandidateSet> eldest) {
+                return size() > maxRooms;
+            }
+        };
+    }
+
+    /**
+     * 메시지 이벤트 본문 반영 (수신 시각 기준, 봉투가 아닌 개별 이벤트)
+     */
+    public void record(ChatEvent event) {
+        if (event.getEventType() != ChatEventType.MESSAGE_SENT || event.getChatRoomId() == null) {
+            return;
+        }
+        String content = event.getMessageContent();
+        if (content == null || content.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            advance(clock.getAsLong() / bucketMillis);
+            sink.begin(event.getChatRoomId());
+            KeywordTokenizer.tokenize(content, sink);
+        }
+    }
+
+    public synchronized List<TrendingTerm> trending(int limit) {
+        advance(clock.getAsLong() / bucketMillis);
+        return rank(globalCandidates, globalCounts, null, limit);
+    }
+
+    public synchronized List<TrendingTerm> trendingInRoom(long roomId, int limit) {
+        advance(clock.getAsLong() / bucketMillis);
+        CandidateSet candidates = roomCandidates.get(roomId);
+        return candidates != null ? rank(candidates, roomCounts, roomId, limit) : List.of();
+    }
+
+    private List<TrendingTerm> rank(CandidateSet candidates, TermCounts counts, Long roomId, int limit) {
+        List<TrendingTerm> terms = new ArrayList<>();
+        for (int slot = 0; slot < candidates.hashes.length; slot++) {
+            long hash = candidates.hashes[slot];
+            if (hash == 0) {
+                continue;
+            }
+            long key = roomId == null ? hash : roomKey(roomId, hash);
+            long count = counts.windowCount(key);
+            double expected = counts.baselineRate(key) * windowBuckets;
+            double score = count / (expected + 1);
+            if (count >= minCount && score >= minRatio) {
+                terms.add(new TrendingTerm(candidates.terms[slot], count, expected, score));
+            }
+        }
+        terms.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+        return terms.size() > limit ? new ArrayList<>(terms.subList(0, limit)) : terms;
+    }
+
+    /**
+     * 버킷이 바뀌면 끝난 버킷을 기준선에 접어 넣고, 구간 동안 다시 나오지 않은 후보를 잊음
+     */
+    private void advance(long now) {
+        if (epoch == Long.MIN_VALUE) {
+            epoch = now;
+            return;
+        }
+        if (now <= epoch) {
+            return;
+        }
+        globalCounts.advance(epoch, now);
+        roomCounts.advance(epoch, now);
+        epoch = now;
+
+        long expiredBefore = now - windowBuckets + 1;
+        globalCandidates.expire(expiredBefore);
+        Iterator<CandidateSet> rooms = roomCandidates.values().iterator();
+        while (rooms.hasNext()) {
+            CandidateSet candidates = rooms.next();
+            candidates.expire(expiredBefore);
+            if (candidates.size == 0) {
+                rooms.remove();
+            }
+        }
+    }
+
+    private static long roomKey(long roomId, long hash) {
+        return hash ^ (roomId * 0x9e3779b97f4a7c15L);
+    }
+
+    /**
+     * 토크나이저가 넘긴 키워드 범위를 채팅방/전체 빈도와 후보에 반영 (잠금 안에서만 호출)
+     */
+    private final class MessageSink implements KeywordTokenizer.TokenSink {
+
+        private final long[] seen = new long[MAX_TERMS_PER_MESSAGE];
+        private int seenCount;
+        private long roomId;
+        // 이 메시지의 채팅방 후보 (처음 필요할 때 한 번만 조회)
+        private CandidateSet room;
+        private boolean roomLoaded;
+
+        private void begin(long roomId) {
+            this.roomId = roomId;
+            this.room = null;
+            this.roomLoaded = false;
+            this.seenCount = 0;
+        }
+
+        @Override
+        public void accept(CharSequence text, int start, int end, long hash) {
+            if (!firstInMessage(hash)) {
+                return;
+            }
+            int slot = (int) (epoch % windowBuckets);
+            String term = null;
+
+            long globalCount = globalCounts.ring[slot].add(hash, 1);
+            if (!globalCandidates.touch(hash, globalCount, epoch) && globalCount >= admitCount
+                    && globalCandidates.admits(globalCount, epoch)) {
+                term = KeywordTokenizer.term(text, start, end);
+                globalCandidates.admit(hash, term, globalCount, epoch);
+            }
+
+            long roomCount = roomCounts.ring[slot].add(roomKey(roomId, hash), 1);
+            if (!roomLoaded) {
+                room = roomCandidates.get(roomId);
+                roomLoaded = true;
+            }
+            if ((room == null || !room.touch(hash, roomCount, epoch)) && roomCount >= admitCount
+                    && (room == null || room.admits(roomCount, epoch))) {
+                if (room == null) {
+                    room = new CandidateSet(roomCapacity);
+                    roomCandidates.put(roomId, room);
+                }
+                room.admit(hash, term != null ? term : KeywordTokenizer.term(text, start, end), roomCount, epoch);
+            }
+        }
+
+        private boolean firstInMessage(long hash) {
+            for (int i = 0; i < seenCount; i++) {
+                if (seen[i] == hash) {
+                    return false;
+                }
+            }
+            if (seenCount < seen.length) {
+                seen[seenCount++] = hash;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 최근 구간 버킷 링과 감쇠 기준선 (잠금 안에서만 호출)
+     */
+    private final class TermCounts {
+
+        private final CountMinSketch[] ring;
+        private final double[] baseline;
+
+        private TermCounts(int width, int depth) {
+            this.ring = new CountMinSketch[windowBuckets];
+            for (int i = 0; i < windowBuckets; i++) {
+                ring[i] = new CountMinSketch(width, depth);
+            }
+            this.baseline = new double[ring[0].size()];
+        }
+
+        private long windowCount(long key) {
+            long count = 0;
+            for (CountMinSketch bucket : ring) {
+                count += bucket.estimate(key);
+            }
+            return count;
+        }
+
+        // 버킷 하나당 기대 빈도
+        private double baselineRate(long key) {
+            return ring[0].estimate(baseline, key) * (1 - decay);
+        }
+
+        private void advance(long from, long to) {
+            long steps = to - from;
+            long folded = Math.min(steps, windowBuckets);
+            for (long e = from; e < from + folded; e++) {
+                ring[(int) (e % windowBuckets)].foldInto(baseline, decay);
+                ring[(int) ((e + 1) % windowBuckets)].clear();
+            }
+            if (steps > folded) {
+                // 메시지가 없던 버킷은 감쇠만
+                double idle = Math.pow(decay, steps - folded);
+                for (int i = 0; i < baseline.length; i++) {
+                    baseline[i] *= idle;
+                }
+            }
+        }
+    }
+
+    /**
+     * 키워드 후보 (해시 -> 문자열, 마지막 등장 버킷과 그 버킷 빈도) 개방 주소법 테이블
+     * 가득 차면 Space-Saving처럼 가장 약한 후보(오래전에 나왔고 빈도가 낮은)와 비교해,
+     * 새 키워드가 더 강할 때만 그 후보를 밀어내고 테이블을 다시 채운다.
+     */
+    private static final class CandidateSet {
+
+        private final int capacity;
+        private final int mask;
+        private long[] hashes;
+        private String[] terms;
+        private long[] lastSeen;
+        private long[] counts;
+        private int size;
+
+        private CandidateSet(int capacity) {
+            // 적재율 50% 이하 유지
+            int tableSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+            this.capacity = capacity;
+            this.mask = tableSize - 1;
+            this.hashes = new long[tableSize];
+            this.terms = new String[tableSize];
+            this.lastSeen = new long[tableSize];
+            this.counts = new long[tableSize];
+        }
+
+        private boolean touch(long hash, long count, long epoch) {
+            int slot = (int) hash & mask;
+            long value;
+            while ((value = hashes[slot]) != 0) {
+                if (value == hash) {
+                    lastSeen[slot] = epoch;
+                    counts[slot] = count;
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+        // 이번 버킷에서 count번 나온 새 키워드가 후보에 들어갈 수 있는지
+        private boolean admits(long count, long epoch) {
+            if (size < capacity) {
+                return true;
+            }
+            int weakest = weakest();
+            return lastSeen[weakest] < epoch || counts[weakest] < count;
+        }
+
+        private void admit(long hash, String term, long count, long epoch) {
+            if (size >= capacity) {
+                rebuild(Long.MIN_VALUE, weakest());
+            }
+            insert(hash, term, count, epoch);
+        }
+
+        private int weakest() {
+            int weakest = -1;
+            for (int slot = 0; slot < hashes.length; slot++) {
+                if (hashes[slot] != 0 && (weakest < 0 || lastSeen[slot] < lastSeen[weakest]
+                        || (lastSeen[slot] == lastSeen[weakest] && counts[slot] < counts[weakest]))) {
+                    weakest = slot;
+                }
+            }
+            return weakest;
+        }
+
+        private void expire(long before) {
+            for (int slot = 0; slot < hashes.length; slot++) {
+                if (hashes[slot] != 0 && lastSeen[slot] < before) {
+                    rebuild(before, -1);
+                    return;
+                }
+            }
+        }
+
+        // lastSeen이 before 이상인 후보만 남기고 다시 채움 (skip 칸은 무조건 제외)
+        private void rebuild(long before, int skip) {
+            long[] oldHashes = hashes;
+            String[] oldTerms = terms;
+            long[] oldLastSeen = lastSeen;
+            long[] oldCounts = counts;
+            hashes = new long[oldHashes.length];
+            terms = new String[oldHashes.length];
+            lastSeen = new long[oldHashes.length];
+            counts = new long[oldHashes.length];
+            size = 0;
+            for (int slot = 0; slot < oldHashes.length; slot++) {
+                if (oldHashes[slot] != 0 && slot != skip && oldLastSeen[slot] >= before) {
+                    insert(oldHashes[slot], oldTerms[slot], oldCounts[slot], oldLastSeen[slot]);
+                }
+            }
+        }
+
+        private void insert(long hash, String term, long count, long epoch) {
+            int slot = (int) hash & mask;
+            while (hashes[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = hash;
+            terms[slot] = term;
+            lastSeen[slot] = epoch;
+            counts[slot] = count;
+            size++;
+        }
+    }
+}
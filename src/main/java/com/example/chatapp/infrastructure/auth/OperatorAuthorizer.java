@@ -0,0 +1,36 @@
+package com.example.chatapp.infrastructure.auth;
+
+import com.example.chatapp.exception.UserException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 운영 API(/api/admin/**) 권한 확인
+ * 채팅방 관리자(ParticipantRole.ADMIN)와 별개로 chat.admin.operator-ids에 등록된 사용자만 운영자로 본다.
+ * 목록이 비어 있으면 아무도 운영 API를 호출할 수 없다.
+ */
+@Component
+@Slf4j
+public class OperatorAuthorizer {
+
+    private final Set<Long> operatorIds;
+
+    public OperatorAuthorizer(@Value("${chat.admin.operator-ids:}") Long[] operatorIds) {
+        this.operatorIds = Arrays.stream(operatorIds).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * 운영자가 아니면 403 (UserException.operatorRequired)
+     */
+    public void requireOperator(Long userId) {
+        if (userId == null || !operatorIds.contains(userId)) {
+            log.warn("운영 API 권한 없음: userId={}", userId);
+            throw UserException.operatorRequired();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.chatapp.infrastructure.bus;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 채팅 이벤트 버스
+ * spring.kafka.enabled에 따라 Kafka 구현(ChatEventProducer) 또는
+ * 단일 노드용 인메모리 구현(RingBufferChatEventBus)이 등록된다.
+ */
+public interface ChatEventBus {
+
+    /**
+     * 채팅 메시지 이벤트 발행
+     */
+    void sendMessageEvent(ChatEvent event);
+
+    /**
+     * 채팅방 이벤트 발행 (입장/퇴장/생성 등)
+     */
+    void sendChatRoomEvent(ChatEvent event);
+
+    /**
+     * 알림 이벤트 발행
+     */
+    void sendNotificationEvent(ChatEvent event);
+
+    /**
+     * 메시지 이벤트 배치 발행
+     */
+    void sendMessageEventsBatch(List<ChatEvent> events);
+
+    /**
+     * 토픽과 키를 지정한 이벤트 발행 (발행 결과가 필요한 호출자용, 예: 아웃박스 릴레이)
+     */
+    CompletableFuture<?> sendRecord(String topic, String key, ChatEvent event);
+
+    /**
+     * 채팅방별 봉투(EVENT_BATCH) 레코드 사용 여부
+     */
+    default boolean isEnvelopeEnabled() {
+        return false;
+    }
+
+    /**
+     * 봉투 하나에 담을 최대 이벤트 수
+     */
+    default int getEnvelopeMaxEvents() {
+        return 1;
+    }
+
+    /**
+     * 채팅방 키 생성 (같은 채팅방 이벤트는 같은 파티션/같은 순서로)
+     */
+    static String roomKey(Long chatRoomId) {
+        return "room-" + chatRoomId;
+    }
+}
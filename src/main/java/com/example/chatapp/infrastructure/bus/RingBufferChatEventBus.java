@@ -0,0 +1,303 @@
+package com.example.chatapp.infrastructure.bus;
+
+import com.example.chatapp.config.KafkaConfig;
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.notification.NotificationFanout;
+import com.example.chatapp.infrastructure.websocket.RoomEventDelivery;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 단일 노드용 인메모리 이벤트 버스 (spring.kafka.enabled=false)
+ * 브로커 없이 Kafka 컨슈머와 같은 처리 로직(RoomEventDelivery, NotificationFanout)을 직접 호출한다.
+ * 알림 팬아웃은 NotificationConsumer와 마찬가지로 chat.notification.enabled일 때만 돈다.
+ *
+ * 미리 할당한 슬롯 배열 하나를 링 버퍼로 쓰고, 토픽마다 전용 소비 스레드가 자기 시퀀스를 가진다.
+ * - 발행: CAS로 시퀀스를 확보한 뒤 슬롯을 채우고 슬롯별 회차(round)를 release로 기록 (락 없음)
+ * - 소비: 연속으로 발행된 구간을 한 번에 읽어 자기 토픽 이벤트만 처리하고 시퀀스를 한 번만 전진
+ * - 가장 느린 소비 시퀀스보다 한 바퀴 이상 앞설 수 없으므로, 링이 가득 차면 발행자는
+ *   publish-timeout-ms까지 기다린 뒤 실패한 future를 돌려준다.
+ *
+ * 토픽마다 소비 스레드가 하나이므로 같은 토픽 안의 발행 순서가 그대로 유지된다.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "false")
+public class RingBufferChatEventBus implements ChatEventBus {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final RoomEventDelivery roomEventDelivery;
+    private final NotificationFanout notificationFanout;
+    private final boolean notificationEnabled;
+    private final int capacity;
+    private final int mask;
+    private final int indexShift;
+    private final long publishTimeoutNanos;
+
+    private final Slot[] slots;
+    // 슬롯별로 마지막으로 발행된 회차 (sequence >>> indexShift)
+    private final AtomicIntegerArray published;
+    // 마지막으로 확보된 시퀀스
+    private final AtomicLong cursor = new AtomicLong(-1);
+    // 가장 느린 소비 시퀀스 캐시 (발행자가 매번 모든 소비자를 읽지 않도록)
+    private final AtomicLong gatingCache = new AtomicLong(-1);
+
+    private volatile TopicConsumer[] consumers = new TopicConsumer[0];
+    private volatile boolean running;
+
+    public RingBufferChatEventBus(
+            RoomEventDelivery roomEventDelivery,
+            NotificationFanout notificationFanout,
+            @Value("${chat.notification.enabled:false}") boolean notificationEnabled,
+            @Value("${chat.event-bus.ring-size:16384}") int ringSize,
+            @Value("${chat.event-bus.publish-timeout-ms:100}") long publishTimeoutMs) {
+        if (ringSize < 2 || Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("ring-size는 2 이상의 2의 거듭제곱이어야 합니다: " + ringSize);
+        }
+        this.roomEventDelivery = roomEventDelivery;
+        this.notificationFanout = notificationFanout;
+        this.notificationEnabled = notificationEnabled;
+        this.capacity = ringSize;
+        this.mask = ringSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(ringSize);
+        this.publishTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(publishTimeoutMs);
+
+        this.slots = new Slot[ringSize];
+        for (int i = 0; i < ringSize; i++) {
+            slots[i] = new Slot();
+        }
+        this.published = new AtomicIntegerArray(ringSize);
+        for (int i = 0; i < ringSize; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        List<TopicConsumer> started = new ArrayList<>(List.of(
+                new TopicConsumer(KafkaConfig.CHAT_MESSAGES_TOPIC, roomEventDelivery::deliverMessage),
+                new TopicConsumer(KafkaConfig.CHAT_EVENTS_TOPIC, roomEventDelivery::deliverRoomEvent)));
+        if (notificationEnabled) {
+            // 알림 팬아웃은 전달과 별도 스레드에서 (수신자 조회가 WebSocket 전달을 늦추지 않도록)
+            started.add(new TopicConsumer(KafkaConfig.CHAT_NOTIFICATIONS_TOPIC, this::fanOut));
+            started.add(new TopicConsumer(KafkaConfig.CHAT_MESSAGES_TOPIC, this::fanOut));
+            started.add(new TopicConsumer(KafkaConfig.CHAT_EVENTS_TOPIC, this::fanOut));
+        }
+        consumers = started.toArray(new TopicConsumer[0]);
+        running = true;
+        for (TopicConsumer consumer : consumers) {
+            consumer.thread.start();
+        }
+        log.info("인메모리 이벤트 버스 시작: ringSize={}, topics={}", capacity, consumers.length);
+    }
+
+    /**
+     * 소비 스레드 종료 (이미 발행된 이벤트는 모두 처리한 뒤 종료)
+     */
+    @PreDestroy
+    void stop() {
+        running = false;
+        for (TopicConsumer consumer : consumers) {
+            LockSupport.unpark(consumer.thread);
+            try {
+                consumer.thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 알림 팬아웃 (봉투 레코드는 담긴 이벤트를 순서대로, 실패는 소비 스레드가 로그로 남김)
+     */
+    private void fanOut(ChatEvent event) {
+        for (ChatEvent notification : event.unpack()) {
+            notificationFanout.fanOut(notification);
+        }
+    }
+
+    @Override
+    public void sendMessageEvent(ChatEvent event) {
+        publish(KafkaConfig.CHAT_MESSAGES_TOPIC, ChatEventBus.roomKey(event.getChatRoomId()), event);
+    }
+
+    @Override
+    public void sendChatRoomEvent(ChatEvent event) {
+        publish(KafkaConfig.CHAT_EVENTS_TOPIC, ChatEventBus.roomKey(event.getChatRoomId()), event);
+    }
+
+    @Override
+    public void sendNotificationEvent(ChatEvent event) {
+        publish(KafkaConfig.CHAT_NOTIFICATIONS_TOPIC, "user-" + event.getUserId(), event);
+    }
+
+    @Override
+    public void sendMessageEventsBatch(List<ChatEvent> events) {
+        for (ChatEvent event : events) {
+            sendMessageEvent(event);
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> sendRecord(String topic, String key, ChatEvent event) {
+        return publish(topic, key, event);
+    }
+
+    /**
+     * 이벤트 발행 (링에 적재되면 완료된 future 반환)
+     */
+    CompletableFuture<Void> publish(String topic, String key, ChatEvent event) {
+        long sequence = claim();
+        if (sequence < 0) {
+            log.warn("인메모리 이벤트 버스 포화로 발행 실패: topic={}, key={}, eventType={}",
+                    topic, key, event.getEventType());
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("이벤트 버스가 가득 찼습니다: topic=" + topic));
+        }
+
+        int index = (int) (sequence & mask);
+        Slot slot = slots[index];
+        slot.topic = topic;
+        slot.event = event;
+        // 슬롯 기록이 회차 기록보다 먼저 보이도록 release로 발행
+        published.setRelease(index, (int) (sequence >>> indexShift));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * 다음 시퀀스 확보 (링이 가득 차면 publish-timeout-ms까지 대기, 실패 시 -1)
+     */
+    private long claim() {
+        long deadline = 0;
+        while (true) {
+            long current = cursor.get();
+            long next = current + 1;
+            long wrapPoint = next - capacity;
+
+            if (wrapPoint > gatingCache.get()) {
+                long minSequence = minConsumerSequence(current);
+                gatingCache.set(minSequence);
+                if (wrapPoint > minSequence) {
+                    if (deadline == 0) {
+                        deadline = System.nanoTime() + publishTimeoutNanos;
+                    } else if (System.nanoTime() - deadline > 0) {
+                        return -1;
+                    }
+                    LockSupport.parkNanos(1_000);
+                    continue;
+                }
+            }
+
+            if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private long minConsumerSequence(long defaultValue) {
+        long min = defaultValue;
+        for (TopicConsumer consumer : consumers) {
+            min = Math.min(min, consumer.sequence.get());
+        }
+        return min;
+    }
+
+    /**
+     * from부터 연속으로 발행된 마지막 시퀀스 (발행 순서와 확보 순서가 다를 수 있어 회차로 확인)
+     */
+    private long highestPublished(long from, long available) {
+        for (long sequence = from; sequence <= available; sequence++) {
+            int index = (int) (sequence & mask);
+            if (published.getAcquire(index) != (int) (sequence >>> indexShift)) {
+                return sequence - 1;
+            }
+        }
+        return available;
+    }
+
+    private static final class Slot {
+        private String topic;
+        private ChatEvent event;
+    }
+
+    private final class TopicConsumer implements Runnable {
+
+        private final String topic;
+        private final Consumer<ChatEvent> handler;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final Thread thread;
+
+        private TopicConsumer(String topic, Consumer<ChatEvent> handler) {
+            this.topic = topic;
+            this.handler = handler;
+            this.thread = new Thread(this, "event-bus-" + topic);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int idle = 0;
+            while (true) {
+                long available = highestPublished(next, cursor.get());
+                if (available < next) {
+                    if (!running) {
+                        return;
+                    }
+                    idle = backOff(idle);
+                    continue;
+                }
+
+                // 연속 구간을 한 번에 처리한 뒤 시퀀스를 한 번만 전진
+                for (long current = next; current <= available; current++) {
+                    Slot slot = slots[(int) (current & mask)];
+                    if (topic.equals(slot.topic)) {
+                        dispatch(slot.event);
+                    }
+                }
+                sequence.setRelease(available);
+                next = available + 1;
+                idle = 0;
+            }
+        }
+
+        private void dispatch(ChatEvent event) {
+            try {
+                handler.accept(event);
+            } catch (Exception e) {
+                log.error("인메모리 이벤트 처리 실패: topic={}, eventType={}, error={}",
+                        topic, event.getEventType(), e.getMessage(), e);
+            }
+        }
+
+        // 바쁜 대기 → yield → 짧은 park 순으로 물러나 유휴 시 CPU 사용을 줄임
+        private int backOff(int idle) {
+            if (idle < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (idle < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                return idle;
+            }
+            return idle + 1;
+        }
+    }
+}
@@ -1,32 +1,50 @@
 package com.example.chatapp.infrastructure.event;
 
+import com.example.chatapp.config.KafkaConfig;
 import com.example.chatapp.domain.ChatRoom;
 import com.example.chatapp.domain.Message;
 import com.example.chatapp.domain.User;
 import com.example.chatapp.event.MessageCreatedEvent;
-import com.example.chatapp.infrastructure.kafka.ChatEventProducer;
+import com.example.chatapp.exception.MessageException;
+import com.example.chatapp.infrastructure.bus.ChatEventBus;
 import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.outbox.EventOutbox;
+import com.example.chatapp.infrastructure.roomstate.RoomStateProducer;
+import com.example.chatapp.repository.ChatRoomRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * 채팅 관련 이벤트 발행을 담당하는 서비스
  * 비즈니스 로직과 인프라 로직(이벤트 발행)을 분리하기 위한 클래스
  *
  * 두 가지 이벤트 발행 메커니즘을 지원:
- * 1. Kafka를 통한 외부 이벤트 발행 (ChatEventProducer 사용)
+ * 1. 이벤트 버스를 통한 외부 이벤트 발행 (Kafka 또는 단일 노드 링 버퍼, 메시지 이벤트는 아웃박스 경유)
  * 2. Spring ApplicationEventPublisher를 통한 내부 이벤트 발행
+ * 채팅방 상태 스냅샷은 커밋 후 채팅방 상태 토픽(압축)에 발행한다 (Kafka를 쓰지 않으면 발행하지 않음).
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ChatEventPublisherService {
 
-    private final ChatEventProducer chatEventProducer;
+    private final ChatEventBus chatEventBus;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final EventOutbox eventOutbox;
+    private final ObjectProvider<RoomStateProducer> roomStateProducer;
+    private final ChatRoomRepository chatRoomRepository;
+
+    @Value("${chat.message.persistence.send-timeout-ms:3000}")
+    private long unsavedSendTimeoutMs;
 
     /**
      * 채팅방 생성 이벤트 발행
@@ -42,8 +60,8 @@ public class ChatEventPublisherService {
                 creator.getUsername()
             );
 
-            chatEventProducer.sendChatRoomEvent(roomCreatedEvent);
-            chatEventProducer.sendNotificationEvent(roomCreatedEvent);
+            chatEventBus.sendChatRoomEvent(roomCreatedEvent);
+            chatEventBus.sendNotificationEvent(roomCreatedEvent);
 
             // 2. 내부 이벤트는 필요 시 여기에 추가 가능
 
@@ -68,9 +86,9 @@ public class ChatEventPublisherService {
                 user.getUsername()
             );
 
-            chatEventProducer.sendChatRoomEvent(userJoinEvent);
+            chatEventBus.sendChatRoomEvent(userJoinEvent);
             // 주석 처리된 코드는 의도적인 것으로 보이므로 그대로 유지
-            // chatEventProducer.sendNotificationEvent(userJoinEvent);
+            // chatEventBus.sendNotificationEvent(userJoinEvent);
 
             // 2. 내부 이벤트는 필요 시 여기에 추가 가능
 
@@ -95,7 +113,7 @@ public class ChatEventPublisherService {
                 user.getUsername()
             );
 
-            chatEventProducer.sendChatRoomEvent(userLeaveEvent);
+            chatEventBus.sendChatRoomEvent(userLeaveEvent);
 
             // 2. 내부 이벤트는 필요 시 여기에 추가 가능
 
@@ -108,24 +126,81 @@ public class ChatEventPublisherService {
     }
 
     /**
-     * 메시지 전송 이벤트 발행
-     * Kafka 이벤트와 Spring 내부 이벤트 모두 발행
+     * 채팅방 삭제 이벤트 발행
      */
     @Async
-    public void publishMessageEvent(Message message, User sender) {
+    public void publishRoomDeletedEvent(Long chatRoomId, Long userId) {
         try {
-            // 1. Kafka 이벤트 발행
-            ChatEvent messageEvent = ChatEvent.messageEvent(
-                message.getId(),
-                message.getContent(),
-                message.getChatRoom().getId(),
-                sender.getId(),
-                sender.getUsername()
-            );
+            ChatEvent roomDeletedEvent = ChatEvent.roomDeletedEvent(chatRoomId, userId);
+            chatEventBus.sendChatRoomEvent(roomDeletedEvent);
+
+            log.debug("채팅방 삭제 이벤트 발행 완료: roomId={}, userId={}", chatRoomId, userId);
+        } catch (Exception e) {
+            log.error("채팅방 삭제 이벤트 발행 실패: roomId={}, userId={}, error={}",
+                    chatRoomId, userId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 채팅방 상태 스냅샷 발행 (참여자 구성을 바꾸는 트랜잭션 안에서 호출)
+     * 지금 트랜잭션에서 채팅방의 구성 버전을 올리고, 커밋된 뒤 채팅방을 다시 읽어 그 버전으로 발행한다 (롤백되면 발행하지 않음).
+     */
+    public void publishRoomState(Long chatRoomId) {
+        RoomStateProducer producer = roomStateProducer.getIfAvailable();
+        if (producer == null) {
+            return;
+        }
+        chatRoomRepository.incrementStateVersion(chatRoomId);
+        afterCommit(() -> producer.publishCurrent(chatRoomId));
+    }
+
+    /**
+     * 채팅방 상태 삭제(톰스톤) 발행 (커밋 후)
+     */
+    public void publishRoomStateDeleted(Long chatRoomId) {
+        RoomStateProducer producer = roomStateProducer.getIfAvailable();
+        if (producer == null) {
+            return;
+        }
+        afterCommit(() -> producer.publishDeleted(chatRoomId));
+    }
 
-            chatEventProducer.sendMessageEvent(messageEvent);
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
 
-            // 2. Spring 내부 이벤트 발행 (MessageCreatedEvent)
+    /**
+     * 메시지 전송 이벤트 발행
+     * Kafka 이벤트는 메시지와 같은 트랜잭션에서 아웃박스에 기록하고 OutboxRelay가 발송한다.
+     * 따라서 롤백된 메시지의 이벤트는 발행되지 않으며, 요청 스레드가 Kafka 지연을 기다리지 않는다.
+     *
+     * @throws org.springframework.transaction.IllegalTransactionStateException 트랜잭션 밖에서 호출한 경우
+     */
+    public void publishMessageEvent(Message message, User sender) {
+        // 1. Kafka 이벤트를 아웃박스에 기록 (실패하면 메시지 저장도 함께 롤백)
+        ChatEvent messageEvent = ChatEvent.messageEvent(
+            message.getId(),
+            message.getSeq(),
+            message.getContent(),
+            message.getChatRoom().getId(),
+            sender.getId(),
+            sender.getUsername()
+        );
+
+        eventOutbox.append(KafkaConfig.CHAT_MESSAGES_TOPIC,
+                ChatEventBus.roomKey(message.getChatRoom().getId()), messageEvent);
+
+        // 2. Spring 내부 이벤트 발행 (MessageCreatedEvent)
+        try {
             MessageCreatedEvent internalEvent = new MessageCreatedEvent(
                 message.getId(),
                 sender.getId(),
@@ -137,8 +212,47 @@ public class ChatEventPublisherService {
             log.debug("메시지 이벤트 발행 완료: messageId={}, chatRoomId={}",
                     message.getId(), message.getChatRoom().getId());
         } catch (Exception e) {
-            log.error("메시지 이벤트 발행 실패: messageId={}, error={}",
+            log.error("메시지 내부 이벤트 발행 실패: messageId={}, error={}",
                     message.getId(), e.getMessage(), e);
         }
     }
+
+    /**
+     * 저장 전 메시지 이벤트 발행 (비동기 저장 모드)
+     * 메시지는 MessagePersistenceConsumer가 이 이벤트로 저장하므로 브로커 응답까지 기다린다.
+     * 발행에 실패하면 같은 이벤트를 아웃박스에 기록해 릴레이가 다시 발송한다 (eventId가 같아 중복 발송돼도 한 번만 저장).
+     * 내부 MessageCreatedEvent는 저장된 메시지를 조회하므로 이 모드에서는 발행하지 않는다.
+     *
+     * @throws MessageException 아웃박스 기록까지 실패한 경우
+     */
+    public void publishUnsavedMessageEvent(Long messageId, Long seq, String content, Long chatRoomId, User sender) {
+        ChatEvent messageEvent = ChatEvent.messageEvent(
+            messageId,
+            seq,
+            content,
+            chatRoomId,
+            sender.getId(),
+            sender.getUsername()
+        );
+        String key = ChatEventBus.roomKey(chatRoomId);
+
+        try {
+            chatEventBus.sendRecord(KafkaConfig.CHAT_MESSAGES_TOPIC, key, messageEvent)
+                    .get(unsavedSendTimeoutMs, TimeUnit.MILLISECONDS);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("메시지 이벤트 발행 실패, 아웃박스에 기록합니다: messageId={}, chatRoomId={}, error={}",
+                    messageId, chatRoomId, e.getMessage());
+        }
+
+        try {
+            eventOutbox.spill(KafkaConfig.CHAT_MESSAGES_TOPIC, key, messageEvent);
+        } catch (Exception e) {
+            log.error("메시지 이벤트 아웃박스 기록 실패: messageId={}, chatRoomId={}, error={}",
+                    messageId, chatRoomId, e.getMessage(), e);
+            throw MessageException.sendFailed("이벤트를 기록하지 못했습니다");
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package com.example.chatapp.infrastructure.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 엔티티 ID를 SnowflakeIdGenerator로 발급
+ * INSERT 전에 ID가 정해지므로 IDENTITY와 달리 Hibernate JDBC 배치 INSERT가 동작한다.
+ */
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
@@ -0,0 +1,107 @@
+package com.example.chatapp.infrastructure.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간 순서 64비트 ID 생성기 (Snowflake 방식)
+ *
+ * 레이아웃: [부호 1비트 = 0][기준 시각 이후 밀리초 41비트][노드 ID 10비트][시퀀스 12비트]
+ * - 같은 노드에서 발급한 ID는 단조 증가하고, 노드가 달라도 대략 발급 시각 순으로 정렬된다 (k-sortable).
+ * - 밀리초와 시퀀스를 AtomicLong 하나에 담아 CAS로 갱신하므로 락이 없다.
+ * - 한 밀리초에 4096개를 넘기거나 시계가 뒤로 가면 다음 밀리초를 미리 당겨 쓴다.
+ *   시계가 따라잡을 때까지 ID의 시각이 실제보다 약간 앞설 수 있지만 중복이나 역전은 없다.
+ *
+ * 엔티티 ID 생성기처럼 스프링 빈이 아닌 곳에서도 쓰므로 전역 인스턴스를 제공하며,
+ * 노드 ID는 애플리케이션 시작 시 IdGeneratorInitializer가 설정한다.
+ */
+public final class SnowflakeIdGenerator {
+
+    // 2024-01-01T00:00:00Z (여기서부터 약 69년 사용 가능)
+    public static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int NODE_SHIFT = SEQUENCE_BITS;
+    private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + NODE_BITS;
+
+    private static volatile SnowflakeIdGenerator global = new SnowflakeIdGenerator(0);
+
+    private final long nodeBits;
+    // (기준 시각 이후 밀리초 << SEQUENCE_BITS) | 시퀀스
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("노드 ID는 0~" + MAX_NODE_ID + " 범위여야 합니다: " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << NODE_SHIFT;
+    }
+
+    /**
+     * 전역 인스턴스
+     */
+    public static SnowflakeIdGenerator global() {
+        return global;
+    }
+
+    /**
+     * 전역 인스턴스의 노드 ID 설정 (애플리케이션 시작 시 한 번 호출)
+     * 이전 인스턴스가 발급한 마지막 시각 이후부터 이어서 발급하므로 재설정해도 역전되지 않는다.
+     */
+    public static void configureGlobal(int nodeId) {
+        SnowflakeIdGenerator previous = global;
+        SnowflakeIdGenerator next = new SnowflakeIdGenerator(nodeId);
+        next.state.set(previous.state.get() | SEQUENCE_MASK);
+        global = next;
+    }
+
+    /**
+     * 다음 ID 발급
+     */
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long lastMillis = current >>> SEQUENCE_BITS;
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+
+            long next;
+            if (now > lastMillis) {
+                next = now << SEQUENCE_BITS;
+            } else if ((current & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = current + 1;
+            } else {
+                // 시퀀스 소진 또는 시계 역행: 다음 밀리초를 당겨 씀
+                next = (lastMillis + 1) << SEQUENCE_BITS;
+            }
+
+            if (state.compareAndSet(current, next)) {
+                return ((next >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * ID에 담긴 발급 시각 (epoch millis)
+     */
+    public static long timestampOf(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH_MILLIS;
+    }
+
+    /**
+     * ID에 담긴 노드 ID
+     */
+    public static int nodeIdOf(long id) {
+        return (int) ((id >>> NODE_SHIFT) & MAX_NODE_ID);
+    }
+
+    /**
+     * 주어진 시각에 발급될 수 있는 가장 작은 ID (시각 기반 커서 위치로 사용)
+     */
+    public static long minIdAt(long epochMillis) {
+        return Math.max(0, epochMillis - EPOCH_MILLIS) << TIMESTAMP_SHIFT;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.chatapp.infrastructure.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+
+/**
+ * @SnowflakeId 필드용 Hibernate ID 생성기
+ * 이미 ID가 지정된 엔티티(예: 비동기 저장 경로에서 미리 발급한 ID)는 그 값을 그대로 사용한다.
+ */
+public class SnowflakeIdentifierGenerator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner,
+                           Object currentValue, EventType eventType) {
+        if (currentValue != null) {
+            return currentValue;
+        }
+        return SnowflakeIdGenerator.global().nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
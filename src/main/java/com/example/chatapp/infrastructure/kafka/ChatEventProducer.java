@@ -1,29 +1,49 @@
 package com.example.chatapp.infrastructure.kafka;
 
 import com.example.chatapp.config.KafkaConfig;
+import com.example.chatapp.infrastructure.bus.ChatEventBus;
 import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.outbox.EventOutbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
+/**
+ * Kafka 기반 이벤트 버스 (spring.kafka.enabled=true, 기본값)
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class ChatEventProducer {
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class ChatEventProducer implements ChatEventBus {
 
     private final KafkaTemplate<String, ChatEvent> kafkaTemplate;
+    private final ProducerFlowControl flowControl;
+    private final EventOutbox eventOutbox;
+
+    // 채팅방별 봉투(EVENT_BATCH) 레코드 사용 여부 (컨슈머가 봉투를 풀 수 있게 배포된 뒤 활성화)
+    @Value("${chat.kafka.envelope.enabled:false}")
+    private boolean envelopeEnabled;
+
+    // 봉투 하나에 담을 최대 이벤트 수
+    @Value("${chat.kafka.envelope.max-events:100}")
+    private int envelopeMaxEvents;
 
     /**
      * 채팅 메시지 이벤트 발행
+     * 메시지는 아웃박스를 거쳐 OutboxRelay가 발송하며, 봉투 묶음도 거기서 만든다 (여기서는 한 건씩 발송).
      */
+    @Override
     public void sendMessageEvent(ChatEvent event) {
         String key = generateMessageKey(event);
         sendEvent(KafkaConfig.CHAT_MESSAGES_TOPIC, key, event);
@@ -32,6 +52,7 @@ public class ChatEventProducer {
     /**
      * 채팅방 이벤트 발행 (입장/퇴장/생성 등)
      */
+    @Override
     public void sendChatRoomEvent(ChatEvent event) {
         String key = generateRoomKey(event);
         sendEvent(KafkaConfig.CHAT_EVENTS_TOPIC, key, event);
@@ -40,6 +61,7 @@ public class ChatEventProducer {
     /**
      * 알림 이벤트 발행
      */
+    @Override
     public void sendNotificationEvent(ChatEvent event) {
         String key = generateNotificationKey(event);
         sendEvent(KafkaConfig.CHAT_NOTIFICATIONS_TOPIC, key, event);
@@ -47,15 +69,19 @@ public class ChatEventProducer {
 
     /**
      * 메시지 이벤트 배치 발행
+     * 봉투 배치가 켜져 있으면 채팅방마다 최대 개수 단위로 봉투 레코드를 만들어 발송한다.
      */
+    @Override
     public void sendMessageEventsBatch(List<ChatEvent> events) {
         if (events.isEmpty()) {
             return;
         }
 
-        // 채팅방별로 이벤트 그룹화 (같은 키로 발행되도록)
-        Map<Long, List<ChatEvent>> roomEvents = events.stream()
-                .collect(Collectors.groupingBy(ChatEvent::getChatRoomId));
+        // 채팅방별로 이벤트 그룹화 (같은 키로 발행되도록, 채팅방 내 순서 유지)
+        Map<Long, List<ChatEvent>> roomEvents = new LinkedHashMap<>();
+        for (ChatEvent event : events) {
+            roomEvents.computeIfAbsent(event.getChatRoomId(), id -> new ArrayList<>()).add(event);
+        }
 
         List<CompletableFuture<SendResult<String, ChatEvent>>> futures = new ArrayList<>();
 
@@ -63,9 +89,16 @@ public class ChatEventProducer {
             Long roomId = entry.getKey();
             List<ChatEvent> roomMessages = entry.getValue();
 
-            for (ChatEvent event : roomMessages) {
-                String key = "room-" + roomId;
-                futures.add(kafkaTemplate.send(KafkaConfig.CHAT_MESSAGES_TOPIC, key, event));
+            if (envelopeEnabled) {
+                for (int from = 0; from < roomMessages.size(); from += envelopeMaxEvents) {
+                    int to = Math.min(from + envelopeMaxEvents, roomMessages.size());
+                    futures.add(sendRoomEvents(KafkaConfig.CHAT_MESSAGES_TOPIC, roomId, roomMessages.subList(from, to)));
+                }
+            } else {
+                String key = ChatEventBus.roomKey(roomId);
+                for (ChatEvent event : roomMessages) {
+                    futures.add(sendEvent(KafkaConfig.CHAT_MESSAGES_TOPIC, key, event));
+                }
             }
         }
 
@@ -74,7 +107,7 @@ public class ChatEventProducer {
             .whenComplete((result, ex) -> {
                 if (ex == null) {
                     if (log.isDebugEnabled()) {
-                        log.debug("배치 이벤트 발송 성공: 총 {}개 이벤트", events.size());
+                        log.debug("배치 이벤트 발송 성공: 총 {}개 이벤트, {}개 레코드", events.size(), futures.size());
                     }
                 } else {
                     log.error("배치 이벤트 발송 실패: {}", ex.getMessage(), ex);
@@ -83,14 +116,65 @@ public class ChatEventProducer {
     }
 
     /**
-     * 공통 이벤트 발송 메서드
+     * 한 채팅방의 이벤트들을 하나의 레코드로 발송 (이벤트가 하나면 봉투 없이 그대로 발송)
+     */
+    public CompletableFuture<SendResult<String, ChatEvent>> sendRoomEvents(String topic, Long chatRoomId,
+                                                                           List<ChatEvent> events) {
+        ChatEvent record = events.size() == 1
+                ? events.get(0)
+                : ChatEvent.envelope(chatRoomId, new ArrayList<>(events));
+        return sendEvent(topic, ChatEventBus.roomKey(chatRoomId), record);
+    }
+
+    /**
+     * 봉투 배치 사용 여부
+     */
+    @Override
+    public boolean isEnvelopeEnabled() {
+        return envelopeEnabled;
+    }
+
+    /**
+     * 봉투 하나에 담을 최대 이벤트 수
+     */
+    @Override
+    public int getEnvelopeMaxEvents() {
+        return envelopeMaxEvents;
+    }
+
+    /**
+     * 키를 지정한 이벤트 발송 (발송 결과가 필요한 호출자용, 예: 아웃박스 릴레이)
+     * 초과 정책과 관계없이 block-timeout-ms까지 기다리며, 그래도 자리가 없으면 실패한 future를 돌려준다.
      */
-    private void sendEvent(String topic, String key, ChatEvent event) {
+    @Override
+    public CompletableFuture<SendResult<String, ChatEvent>> sendRecord(String topic, String key, ChatEvent event) {
+        ProducerFlowControl.Permit permit = flowControl.acquireBlocking(topic);
+        if (permit == null) {
+            flowControl.recordOverflow(topic, ProducerFlowControl.OverflowPolicy.BLOCK);
+            return CompletableFuture.failedFuture(new ProducerFlowControl.SaturatedException(topic));
+        }
+        return send(topic, key, event, permit);
+    }
+
+    /**
+     * 공통 이벤트 발송 메서드 (in-flight 한도를 넘으면 토픽 초과 정책 적용)
+     */
+    private CompletableFuture<SendResult<String, ChatEvent>> sendEvent(String topic, String key, ChatEvent event) {
+        ProducerFlowControl.Permit permit = flowControl.tryAcquire(topic);
+        if (permit == null) {
+            return handleOverflow(topic, key, event);
+        }
+        return send(topic, key, event, permit);
+    }
+
+    private CompletableFuture<SendResult<String, ChatEvent>> send(String topic, String key, ChatEvent event,
+                                                                  ProducerFlowControl.Permit permit) {
         try {
             CompletableFuture<SendResult<String, ChatEvent>> future =
                 kafkaTemplate.send(topic, key, event);
 
             future.whenComplete((result, ex) -> {
+                permit.complete(ex);
                 if (ex == null) {
                     if (log.isDebugEnabled()) {
                         log.debug("이벤트 발송 성공: topic={}, key={}, eventType={}, eventId={}",
@@ -101,25 +185,63 @@ public class ChatEventProducer {
                             topic, key, event.getEventType(), ex.getMessage(), ex);
                 }
             });
+            return future;
 
         } catch (Exception e) {
+            permit.complete(e);
             log.error("이벤트 발송 중 예외 발생: topic={}, key={}, eventType={}, error={}",
                     topic, key, event.getEventType(), e.getMessage(), e);
+            return CompletableFuture.failedFuture(e);
         }
     }
 
+    /**
+     * in-flight 한도 초과 처리
+     * DROP/SPILL로 처리된 경우 결과 없이 완료된 future를 돌려준다.
+     */
+    private CompletableFuture<SendResult<String, ChatEvent>> handleOverflow(String topic, String key, ChatEvent event) {
+        ProducerFlowControl.OverflowPolicy policy = flowControl.overflowPolicy(topic);
+        switch (policy) {
+            case DROP:
+                flowControl.recordOverflow(topic, policy);
+                if (log.isDebugEnabled()) {
+                    log.debug("프로듀서 포화로 이벤트 폐기: topic={}, key={}, eventType={}",
+                            topic, key, event.getEventType());
+                }
+                return CompletableFuture.completedFuture(null);
+            case SPILL:
+                try {
+                    eventOutbox.spill(topic, key, event);
+                    flowControl.recordOverflow(topic, policy);
+                    log.warn("프로듀서 포화로 이벤트를 아웃박스에 기록: topic={}, key={}, eventType={}",
+                            topic, key, event.getEventType());
+                    return CompletableFuture.completedFuture(null);
+                } catch (Exception e) {
+                    log.error("아웃박스 기록 실패: topic={}, key={}, error={}", topic, key, e.getMessage(), e);
+                    break;
+                }
+            default:
+                break;
+        }
+
+        flowControl.recordOverflow(topic, ProducerFlowControl.OverflowPolicy.BLOCK);
+        log.warn("프로듀서 포화로 이벤트 발송 실패: topic={}, key={}, eventType={}, inFlight={}",
+                topic, key, event.getEventType(), flowControl.inFlight(topic));
+        return CompletableFuture.failedFuture(new ProducerFlowControl.SaturatedException(topic));
+    }
+
     /**
      * 메시지 키 생성 (같은 채팅방 메시지는 같은 파티션으로)
      */
     private String generateMessageKey(ChatEvent event) {
-        return "room-" + event.getChatRoomId();
+        return ChatEventBus.roomKey(event.getChatRoomId());
     }
 
     /**
      * 룸 이벤트 키 생성
      */
     private String generateRoomKey(ChatEvent event) {
-        return "room-" + event.getChatRoomId();
+        return ChatEventBus.roomKey(event.getChatRoomId());
     }
 
     /**
@@ -0,0 +1,113 @@
+package com.example.chatapp.infrastructure.kafka;
+
+/**
+ * 컨슈머 그룹 리스너 동시성 결정 규칙
+ *
+ * 매 점검마다 그룹 lag과 커밋 오프셋 증가량(처리 속도)으로 lag을 다 처리하는 데 걸릴 시간을 추정한다.
+ * - 확장: lag이 scale-up-lag 이상이고 예상 처리 시간이 target-drain-ms를 넘는 점검이 scale-up-checks번 이어지면,
+ *   현재 속도가 동시성에 비례한다고 보고 목표 시간 안에 처리할 만큼 늘린다 (최소 1, 최대 상한까지).
+ * - 축소: lag이 scale-down-lag 이하인 점검이 scale-down-checks번 이어지면 하나 줄인다.
+ * - 상한은 max-concurrency와 구독 토픽의 최대 파티션 수 중 작은 값이다 (넘는 컨슈머는 파티션을 받지 못함).
+ * - 동시성을 바꾸면 컨테이너가 재시작되어 리밸런스가 일어나므로 cooldown-ms 동안은 다시 바꾸지 않는다.
+ */
+final class ConcurrencyPolicy {
+
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final long scaleUpLag;
+    private final long scaleDownLag;
+    private final long targetDrainMs;
+    private final int scaleUpChecks;
+    private final int scaleDownChecks;
+    private final long cooldownMs;
+
+    ConcurrencyPolicy(int minConcurrency, int maxConcurrency, long scaleUpLag, long scaleDownLag,
+                      long targetDrainMs, int scaleUpChecks, int scaleDownChecks, long cooldownMs) {
+        if (minConcurrency < 1 || maxConcurrency < minConcurrency || scaleDownLag > scaleUpLag
+                || targetDrainMs < 1 || scaleUpChecks < 1 || scaleDownChecks < 1) {
+            throw new IllegalArgumentException("리스너 동시성 조정 설정이 올바르지 않습니다");
+        }
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.scaleUpLag = scaleUpLag;
+        this.scaleDownLag = scaleDownLag;
+        this.targetDrainMs = targetDrainMs;
+        this.scaleUpChecks = scaleUpChecks;
+        this.scaleDownChecks = scaleDownChecks;
+        this.cooldownMs = cooldownMs;
+    }
+
+    /**
+     * 이번 점검 결과로 바꿀 동시성 결정
+     *
+     * @param committed 그룹이 구독하는 파티션의 커밋 오프셋 합 (처리 속도 계산용)
+     * @return 새 동시성, 바꾸지 않으면 current
+     */
+    int decide(GroupState state, int current, int partitions, long lag, long committed, long now) {
+        state.sample(committed, now);
+
+        int cap = Math.max(1, Math.min(maxConcurrency, partitions));
+        int floor = Math.min(minConcurrency, cap);
+        if (current > cap || current < floor) {
+            return changed(state, Math.min(Math.max(current, floor), cap), now);
+        }
+        if (state.lastChangeAt != Long.MIN_VALUE && now - state.lastChangeAt < cooldownMs) {
+            return current;
+        }
+
+        long drainMs = state.drainMs(lag);
+        state.highChecks = lag >= scaleUpLag && drainMs > targetDrainMs ? state.highChecks + 1 : 0;
+        state.lowChecks = lag <= scaleDownLag ? state.lowChecks + 1 : 0;
+
+        if (state.highChecks >= scaleUpChecks && current < cap) {
+            long needed = drainMs == Long.MAX_VALUE
+                    ? current + 1
+                    : (long) Math.ceil((double) current * drainMs / targetDrainMs);
+            return changed(state, (int) Math.min(cap, Math.max(current + 1, needed)), now);
+        }
+        if (state.lowChecks >= scaleDownChecks && current > floor) {
+            return changed(state, current - 1, now);
+        }
+        return current;
+    }
+
+    private int changed(GroupState state, int concurrency, long now) {
+        state.lastChangeAt = now;
+        state.highChecks = 0;
+        state.lowChecks = 0;
+        return concurrency;
+    }
+
+    /**
+     * 그룹별 판단 상태 (호출자가 그룹마다 하나씩 보관, 한 스레드에서만 사용)
+     */
+    static final class GroupState {
+
+        private int highChecks;
+        private int lowChecks;
+        private long lastChangeAt = Long.MIN_VALUE;
+        private long lastCommitted = -1;
+        private long lastSampleAt;
+        // 커밋 오프셋 증가 속도 (레코드/ms)
+        private double rate;
+
+        private void sample(long committed, long now) {
+            if (lastCommitted >= 0 && now > lastSampleAt) {
+                rate = (double) Math.max(0, committed - lastCommitted) / (now - lastSampleAt);
+            }
+            lastCommitted = committed;
+            lastSampleAt = now;
+        }
+
+        private long drainMs(long lag) {
+            if (lag <= 0) {
+                return 0;
+            }
+            return rate > 0 ? (long) Math.ceil(lag / rate) : Long.MAX_VALUE;
+        }
+
+        double ratePerSecond() {
+            return rate * 1000;
+        }
+    }
+}
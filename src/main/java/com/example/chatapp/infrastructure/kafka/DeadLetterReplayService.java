@@ -0,0 +1,189 @@
+package com.example.chatapp.infrastructure.kafka;
+
+import com.example.chatapp.config.KafkaConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DLT 재주입 서비스
+ * 원인(배포 버그, 외부 장애 등)을 해결한 뒤 원본 토픽의 DLT에 쌓인 레코드를 다시 발행한다.
+ *
+ * - 레코드 값은 역직렬화하지 않고 원본 바이트 그대로 보내므로 읽을 수 없던 레코드도 그대로 되돌릴 수 있다.
+ * - 원본 헤더(코덱 버전, 이벤트 타입 등)는 그대로 옮기고, DLT/재시도 토픽이 붙인 헤더만 뺀다.
+ * - DLT는 컨슈머 그룹마다 따로 있다 ({@link DeadLetterGroup}).
+ *   전달 그룹 DLT는 원본 토픽으로 보내고, 그 밖의 그룹 DLT는 그 그룹의 첫 재시도 토픽으로 보내
+ *   실패한 그룹만 다시 처리하게 한다 (원본 토픽으로 보내면 다른 그룹에도 다시 전달된다).
+ * - 다시 발행에 성공한 레코드까지만 DLT 오프셋을 커밋하므로 도중에 실패해도 유실되지 않는다.
+ *   (poll 배치 단위로 커밋하고, 발행이 실패하면 그 배치에서 성공한 레코드까지 커밋한 뒤 예외를 던진다)
+ * - 전달 그룹 DLT를 원본 토픽으로 보내면 그 토픽을 읽는 다른 그룹(분석, 알림, 비동기 저장)에도 다시 전달된다.
+ *   eventId 중복 필터(EventDeduplicator)는 노드별 인메모리 창(chat.kafka.dedup.window-ms, 기본 5분)만 기억하므로
+ *   창이 지났거나 다른 노드가 처리한 이벤트는 거르지 못한다. 저장은 멱등 INSERT라 안전하지만
+ *   분석 집계와 알림은 중복될 수 있으므로 전달 그룹 재주입은 그 점을 감안해 실행한다.
+ */
+@Service
+@ConditionalOnExpression("${spring.kafka.enabled:true} and ${chat.kafka.dlt.replay-enabled:false}")
+@Slf4j
+public class DeadLetterReplayService {
+
+    /**
+     * DLT를 따로 가진 컨슈머 그룹
+     */
+    public enum DeadLetterGroup {
+        // 전달 그룹 (@RetryableTopic 기본 접미사, 배치 리스너의 역직렬화 실패 레코드도 여기로 감)
+        DELIVERY(KafkaConfig.DLT_SUFFIX, null, Set.of(
+                KafkaConfig.CHAT_MESSAGES_TOPIC, KafkaConfig.CHAT_EVENTS_TOPIC)),
+        ANALYTICS(KafkaConfig.ANALYTICS_DLT_SUFFIX, KafkaConfig.ANALYTICS_RETRY_SUFFIX, Set.of(
+                KafkaConfig.CHAT_MESSAGES_TOPIC, KafkaConfig.CHAT_EVENTS_TOPIC)),
+        NOTIFICATION(KafkaConfig.NOTIFICATION_DLT_SUFFIX, KafkaConfig.NOTIFICATION_RETRY_SUFFIX, Set.of(
+                KafkaConfig.CHAT_NOTIFICATIONS_TOPIC, KafkaConfig.CHAT_MESSAGES_TOPIC, KafkaConfig.CHAT_EVENTS_TOPIC));
+
+        private final String dltSuffix;
+        // null이면 원본 토픽으로 재주입
+        private final String retrySuffix;
+        private final Set<String> topics;
+
+        DeadLetterGroup(String dltSuffix, String retrySuffix, Set<String> topics) {
+            this.dltSuffix = dltSuffix;
+            this.retrySuffix = retrySuffix;
+            this.topics = topics;
+        }
+
+        public static DeadLetterGroup from(String name) {
+            for (DeadLetterGroup group : values()) {
+                if (group.name().equalsIgnoreCase(name)) {
+                    return group;
+                }
+            }
+            throw new IllegalArgumentException("알 수 없는 DLT 그룹입니다: " + name);
+        }
+
+        public String deadLetterTopic(String sourceTopic) {
+            return sourceTopic + dltSuffix;
+        }
+
+        /**
+         * 재주입 대상 토픽 (SUFFIX_WITH_INDEX_VALUE 전략의 첫 재시도 토픽은 -0으로 끝남)
+         */
+        public String replayTopic(String sourceTopic) {
+            return retrySuffix == null ? sourceTopic : sourceTopic + retrySuffix + "-0";
+        }
+    }
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+    private static final int MAX_EMPTY_POLLS = 3;
+    // DLT 발행기(kafka_dlt-*)와 재시도 토픽(retry_topic-*)이 붙인 헤더
+    // 재시도 횟수 헤더가 남으면 다시 실패했을 때 재시도 없이 곧바로 DLT로 가므로 함께 뺀다
+    private static final List<String> STRIPPED_HEADER_PREFIXES = List.of("kafka_dlt-", "retry_topic-");
+
+    private final ConsumerFactory<String, byte[]> deadLetterConsumerFactory;
+    private final KafkaTemplate<String, Object> retryKafkaTemplate;
+
+    @Value("${chat.kafka.dlt.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    public DeadLetterReplayService(
+            ConsumerFactory<String, byte[]> deadLetterConsumerFactory,
+            @Qualifier(KafkaConfig.RETRY_KAFKA_TEMPLATE) KafkaTemplate<String, Object> retryKafkaTemplate) {
+        this.deadLetterConsumerFactory = deadLetterConsumerFactory;
+        this.retryKafkaTemplate = retryKafkaTemplate;
+    }
+
+    /**
+     * 그룹의 원본 토픽 DLT에서 최대 maxRecords개를 꺼내 다시 발행
+     * 동시에 두 번 실행되면 같은 레코드를 두 번 보낼 수 있으므로 한 번에 하나만 실행한다.
+     *
+     * @return 다시 발행한 레코드 수
+     */
+    public synchronized int replay(String sourceTopic, DeadLetterGroup group, int maxRecords) {
+        if (!group.topics.contains(sourceTopic)) {
+            throw new IllegalArgumentException("재주입할 수 없는 토픽입니다: " + sourceTopic + " (" + group + ")");
+        }
+        if (maxRecords <= 0) {
+            throw new IllegalArgumentException("maxRecords는 1 이상이어야 합니다");
+        }
+
+        String deadLetterTopic = group.deadLetterTopic(sourceTopic);
+        String replayTopic = group.replayTopic(sourceTopic);
+        int replayed = 0;
+        int emptyPolls = 0;
+
+        try (Consumer<String, byte[]> consumer = deadLetterConsumerFactory.createConsumer()) {
+            consumer.subscribe(List.of(deadLetterTopic));
+
+            while (replayed < maxRecords && emptyPolls < MAX_EMPTY_POLLS) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    emptyPolls++;
+                    continue;
+                }
+                emptyPolls = 0;
+
+                Map<TopicPartition, OffsetAndMetadata> replayedOffsets = new HashMap<>();
+                try {
+                    for (ConsumerRecord<String, byte[]> record : records) {
+                        if (replayed >= maxRecords) {
+                            break;
+                        }
+                        resend(replayTopic, record);
+                        replayedOffsets.put(new TopicPartition(record.topic(), record.partition()),
+                                new OffsetAndMetadata(record.offset() + 1));
+                        replayed++;
+                    }
+                } finally {
+                    // 발행이 도중에 실패해도 이미 다시 보낸 레코드는 커밋해 다음 실행에서 중복 발행하지 않게 함
+                    if (!replayedOffsets.isEmpty()) {
+                        consumer.commitSync(replayedOffsets);
+                    }
+                }
+            }
+        }
+
+        log.info("DLT 재주입 완료: topic={} -> {}, 재주입 {}건", deadLetterTopic, replayTopic, replayed);
+        return replayed;
+    }
+
+    private void resend(String replayTopic, ConsumerRecord<String, byte[]> record) {
+        try {
+            // 같은 키로 보내 원래 파티션(채팅방 순서)으로 돌아가게 함
+            ProducerRecord<String, Object> producerRecord = new ProducerRecord<>(
+                    replayTopic, null, record.key(), record.value(), originalHeaders(record));
+            retryKafkaTemplate.send(producerRecord).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("DLT 재주입이 중단되었습니다", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("DLT 재주입 발행 실패: topic=" + replayTopic
+                    + ", dltOffset=" + record.offset(), e);
+        }
+    }
+
+    private static RecordHeaders originalHeaders(ConsumerRecord<String, byte[]> record) {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (STRIPPED_HEADER_PREFIXES.stream().noneMatch(header.key()::startsWith)) {
+                headers.add(header);
+            }
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.chatapp.infrastructure.kafka;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 컨슈머 중복 이벤트 필터 (eventId 기준)
+ *
+ * 리밸런스나 재시작으로 Kafka가 같은 레코드를 다시 전달해도 WebSocket 재전송, 분석 중복 집계가 일어나지 않도록
+ * (컨슈머 그룹, 토픽, 파티션)마다 최근 본 eventId를 기억한다.
+ *
+ * - eventId를 64비트 해시로 바꿔 개방 주소법(선형 탐사) long 배열에 저장하므로 레코드마다 객체를 만들지 않는다.
+ * - 테이블을 두 세대로 나눠 window-ms의 절반마다(또는 세대가 가득 차면) 오래된 세대를 비우고 교체한다.
+ *   따라서 eventId는 최소 window-ms/2, 최대 window-ms 동안 기억된다.
+ * - 해시 충돌로 처음 보는 이벤트를 중복으로 볼 확률은 파티션당 보관 수 / 2^64 수준이라 무시한다.
+ * - 파티션은 그룹 안에서 한 번에 한 컨슈머 스레드만 처리하므로 파티션 창 단위 잠금은 경합이 거의 없다.
+ */
+@Component
+public class EventDeduplicator {
+
+    private static final String UNKNOWN_GROUP = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final long generationMs;
+    private final int maxEntriesPerGeneration;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, GroupWindows> groups = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EventDeduplicator(
+            MeterRegistry meterRegistry,
+            @Value("${chat.kafka.dedup.window-ms:300000}") long windowMs,
+            @Value("${chat.kafka.dedup.max-entries-per-partition:8192}") int maxEntriesPerPartition) {
+        this(meterRegistry, windowMs, maxEntriesPerPartition, System::currentTimeMillis);
+    }
+
+    EventDeduplicator(MeterRegistry meterRegistry, long windowMs, int maxEntriesPerPartition, LongSupplier clock) {
+        if (windowMs < 2 || maxEntriesPerPartition < 2) {
+            throw new IllegalArgumentException("window-ms와 max-entries-per-partition은 2 이상이어야 합니다");
+        }
+        this.meterRegistry = meterRegistry;
+        this.generationMs = windowMs / 2;
+        this.maxEntriesPerGeneration = maxEntriesPerPartition / 2;
+        this.clock = clock;
+    }
+
+    /**
+     * 처음 보는 이벤트면 기록하고 true, 최근에 본 이벤트면 false
+     * 처리 결과와 상관없이 ack하는 리스너용 (확인과 기록을 한 번에)
+     */
+    public boolean firstSeen(String groupId, String topic, int partition, String eventId) {
+        if (eventId == null) {
+            return true;
+        }
+        GroupWindows group = group(groupId);
+        SeenWindow window = group.window(topic, partition);
+        long hash = hash(eventId);
+
+        boolean seen;
+        synchronized (window) {
+            rotateIfNeeded(group, window);
+            seen = window.contains(hash);
+            if (!seen) {
+                window.add(hash);
+            }
+        }
+        (seen ? group.hits : group.misses).increment();
+        return !seen;
+    }
+
+    /**
+     * 최근에 본 이벤트인지 확인만 함 (기록은 markSeen으로 따로)
+     * 처리에 성공한 뒤에만 오프셋을 커밋하는 리스너용: 실패해서 다시 받은 이벤트를 중복으로 버리지 않도록
+     */
+    public boolean isDuplicate(String groupId, String topic, int partition, String eventId) {
+        if (eventId == null) {
+            return false;
+        }
+        GroupWindows group = group(groupId);
+        SeenWindow window = group.window(topic, partition);
+        long hash = hash(eventId);
+
+        boolean seen;
+        synchronized (window) {
+            rotateIfNeeded(group, window);
+            seen = window.contains(hash);
+        }
+        (seen ? group.hits : group.misses).increment();
+        return seen;
+    }
+
+    /**
+     * 처리 완료한 이벤트 기록
+     */
+    public void markSeen(String groupId, String topic, int partition, String eventId) {
+        if (eventId == null) {
+            return;
+        }
+        GroupWindows group = group(groupId);
+        SeenWindow window = group.window(topic, partition);
+        long hash = hash(eventId);
+
+        synchronized (window) {
+            rotateIfNeeded(group, window);
+            if (!window.contains(hash)) {
+                window.add(hash);
+            }
+        }
+    }
+
+    /**
+     * 레코드(봉투면 담긴 이벤트들) 중 처음 보는 이벤트만 골라 기록하고 반환
+     * 중복이 없으면 unpack() 결과를 그대로 돌려주므로 추가 할당이 없다.
+     */
+    public List<ChatEvent> filterFirstSeen(String groupId, String topic, int partition, ChatEvent record) {
+        List<ChatEvent> events = record.unpack();
+        List<ChatEvent> fresh = null;
+        for (int i = 0; i < events.size(); i++) {
+            boolean first = firstSeen(groupId, topic, partition, events.get(i).getEventId());
+            if (!first && fresh == null) {
+                fresh = new ArrayList<>(events.subList(0, i));
+            } else if (first && fresh != null) {
+                fresh.add(events.get(i));
+            }
+        }
+        return fresh != null ? fresh : events;
+    }
+
+    /**
+     * 레코드(봉투면 담긴 이벤트들) 중 아직 처리하지 않은 이벤트만 골라 반환 (기록은 하지 않음)
+     * 처리에 성공한 이벤트만 markSeen으로 기록해, 실패해서 재시도 토픽이나 DLT 재주입으로 돌아온 이벤트를 버리지 않는다.
+     */
+    public List<ChatEvent> filterUnseen(String groupId, String topic, int partition, ChatEvent record) {
+        List<ChatEvent> events = record.unpack();
+        List<ChatEvent> unseen = null;
+        for (int i = 0; i < events.size(); i++) {
+            boolean duplicate = isDuplicate(groupId, topic, partition, events.get(i).getEventId());
+            if (duplicate && unseen == null) {
+                unseen = new ArrayList<>(events.subList(0, i));
+            } else if (!duplicate && unseen != null) {
+                unseen.add(events.get(i));
+            }
+        }
+        return unseen != null ? unseen : events;
+    }
+
+    private void rotateIfNeeded(GroupWindows group, SeenWindow window) {
+        long now = clock.getAsLong();
+        if (now - window.generationStartedAt >= generationMs || window.currentSize >= maxEntriesPerGeneration) {
+            int evicted = window.rotate(now);
+            if (evicted > 0) {
+                group.evictions.increment(evicted);
+            }
+        }
+    }
+
+    private GroupWindows group(String groupId) {
+        String key = groupId != null ? groupId : UNKNOWN_GROUP;
+        GroupWindows group = groups.get(key);
+        return group != null ? group : groups.computeIfAbsent(key, GroupWindows::new);
+    }
+
+    /**
+     * eventId 64비트 해시 (FNV-1a 후 murmur3 fmix64로 비트 확산, 0은 빈 칸 표시로 쓰므로 피함)
+     */
+    static long hash(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h != 0 ? h : 1;
+    }
+
+    /**
+     * 컨슈머 그룹별 파티션 창과 메트릭
+     */
+    private final class GroupWindows {
+
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter evictions;
+        private final ConcurrentHashMap<String, SeenWindow[]> topics = new ConcurrentHashMap<>();
+
+        private GroupWindows(String groupId) {
+            this.hits = Counter.builder("chat.kafka.dedup")
+                    .description("중복 필터 조회 결과 (hit = 중복으로 걸러짐)")
+                    .tag("group", groupId)
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            this.misses = Counter.builder("chat.kafka.dedup")
+                    .description("중복 필터 조회 결과 (hit = 중복으로 걸러짐)")
+                    .tag("group", groupId)
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+            this.evictions = Counter.builder("chat.kafka.dedup.evictions")
+                    .description("세대 교체로 잊은 eventId 수")
+                    .tag("group", groupId)
+                    .register(meterRegistry);
+        }
+
+        private SeenWindow window(String topic, int partition) {
+            SeenWindow[] windows = topics.get(topic);
+            if (windows != null && partition < windows.length && windows[partition] != null) {
+                return windows[partition];
+            }
+            return createWindow(topic, partition);
+        }
+
+        // 새 파티션을 처음 만났을 때만 배열을 복사해 교체 (조회 경로는 잠금 없음)
+        private synchronized SeenWindow createWindow(String topic, int partition) {
+            SeenWindow[] windows = topics.get(topic);
+            if (windows != null && partition < windows.length && windows[partition] != null) {
+                return windows[partition];
+            }
+            SeenWindow[] grown = windows == null
+                    ? new SeenWindow[partition + 1]
+                    : Arrays.copyOf(windows, Math.max(windows.length, partition + 1));
+            SeenWindow window = new SeenWindow(maxEntriesPerGeneration, clock.getAsLong());
+            grown[partition] = window;
+            topics.put(topic, grown);
+            return window;
+        }
+    }
+
+    /**
+     * 파티션 하나의 두 세대 해시 테이블 (호출자가 인스턴스 단위로 동기화)
+     */
+    static final class SeenWindow {
+
+        private final int mask;
+        private long[] current;
+        private long[] previous;
+        private int currentSize;
+        private int previousSize;
+        private long generationStartedAt;
+
+        SeenWindow(int maxEntries, long now) {
+            // 적재율 50% 이하 유지
+            int capacity = Integer.highestOneBit(Math.max(2, maxEntries) * 2 - 1) << 1;
+            this.mask = capacity - 1;
+            this.current = new long[capacity];
+            this.previous = new long[capacity];
+            this.generationStartedAt = now;
+        }
+
+        boolean contains(long hash) {
+            return find(current, hash) || (previousSize > 0 && find(previous, hash));
+        }
+
+        void add(long hash) {
+            int slot = (int) hash & mask;
+            while (current[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            current[slot] = hash;
+            currentSize++;
+        }
+
+        /**
+         * 이전 세대를 비우고 현재 세대를 이전 세대로 넘김
+         *
+         * @return 잊은 항목 수
+         */
+        int rotate(long now) {
+            int evicted = previousSize;
+            long[] recycled = previous;
+            Arrays.fill(recycled, 0L);
+            previous = current;
+            previousSize = currentSize;
+            current = recycled;
+            currentSize = 0;
+            generationStartedAt = now;
+            return evicted;
+        }
+
+        private boolean find(long[] table, long hash) {
+            int slot = (int) hash & mask;
+            long value;
+            while ((value = table[slot]) != 0) {
+                if (value == hash) {
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+    }
+}
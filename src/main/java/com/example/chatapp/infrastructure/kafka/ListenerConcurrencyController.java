@@ -0,0 +1,392 @@
+package com.example.chatapp.infrastructure.kafka;
+
+import com.example.chatapp.config.KafkaConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * lag 기반 리스너 동시성 조정기
+ *
+ * interval-ms마다 원본 토픽을 구독하는 컨테이너(재시도 토픽/DLT 컨테이너 제외)를 컨슈머 그룹별로 모아
+ * 그룹 lag(토픽 끝 오프셋 - 커밋 오프셋)과 처리 속도를 재고 다음을 수행한다.
+ * - 우선순위: priority-groups(WebSocket 전달) 중 최대 lag이 pause-lag 이상이면 low-priority-groups(분석, 알림)의
+ *   컨테이너를 재시도 컨테이너까지 일시 정지하고, resume-lag 이하로 내려가면 재개한다.
+ *   정지해도 poll은 계속하므로 리밸런스는 일어나지 않는다. 스파이크 동안에는 전달 신선도가 분석보다 우선한다.
+ * - 동시성: 정지하지 않은 그룹은 ConcurrencyPolicy로 min~max(파티션 수 이하) 사이에서 조정하고,
+ *   바뀌면 컨테이너를 멈췄다 다시 시작한다.
+ *
+ * 동시성은 인스턴스 단위이므로 여러 인스턴스를 띄우면 각자 같은 그룹 lag을 보고 조정한다.
+ * AdminClient 조회(admin-timeout-ms까지 블로킹)와 컨테이너 재시작이 공용 @Scheduled 풀을 막지 않도록 전용 스레드(kafka-autoscale)에서 돈다.
+ *
+ * 메트릭 (group 태그)
+ * - chat.kafka.consumer.lag: 그룹 lag
+ * - chat.kafka.listener.concurrency: 현재 동시성
+ * - chat.kafka.listener.paused: 일시 정지 여부 (1/0, low-priority-groups만)
+ * - chat.kafka.autoscale.decisions: 조정 횟수 (action=scale_up|scale_down|pause|resume)
+ */
+@Component
+@Slf4j
+@ConditionalOnExpression("${spring.kafka.enabled:true} and ${chat.kafka.autoscale.enabled:true}")
+public class ListenerConcurrencyController {
+
+    private static final long PARTITION_REFRESH_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final MeterRegistry meterRegistry;
+    private final AdminClient adminClient;
+    private final ConcurrencyPolicy policy;
+    private final Set<String> priorityGroups;
+    private final Set<String> lowPriorityGroups;
+    private final long pauseLag;
+    private final long resumeLag;
+    private final long adminTimeoutMs;
+    private final long intervalMs;
+    private final ScheduledExecutorService executor;
+
+    private final Map<String, GroupMetrics> groups = new ConcurrentHashMap<>();
+    private final Map<String, Integer> partitionCounts = new HashMap<>();
+    private long partitionsRefreshedAt = Long.MIN_VALUE;
+    private volatile boolean lowPriorityPaused;
+
+    public ListenerConcurrencyController(
+            KafkaListenerEndpointRegistry registry,
+            KafkaAdmin kafkaAdmin,
+            MeterRegistry meterRegistry,
+            @Value("${chat.kafka.autoscale.interval-ms:5000}") long intervalMs,
+            @Value("${chat.kafka.autoscale.min-concurrency:1}") int minConcurrency,
+            @Value("${chat.kafka.autoscale.max-concurrency:6}") int maxConcurrency,
+            @Value("${chat.kafka.autoscale.scale-up-lag:1000}") long scaleUpLag,
+            @Value("${chat.kafka.autoscale.scale-down-lag:100}") long scaleDownLag,
+            @Value("${chat.kafka.autoscale.target-drain-ms:10000}") long targetDrainMs,
+            @Value("${chat.kafka.autoscale.scale-up-checks:2}") int scaleUpChecks,
+            @Value("${chat.kafka.autoscale.scale-down-checks:12}") int scaleDownChecks,
+            @Value("${chat.kafka.autoscale.cooldown-ms:30000}") long cooldownMs,
+            @Value("${chat.kafka.autoscale.priority-groups:message-delivery-group-v2,room-events-delivery-group}") String[] priorityGroups,
+            @Value("${chat.kafka.autoscale.low-priority-groups:analytics-group,notification-group}") String[] lowPriorityGroups,
+            @Value("${chat.kafka.autoscale.pause-lag:5000}") long pauseLag,
+            @Value("${chat.kafka.autoscale.resume-lag:500}") long resumeLag,
+            @Value("${chat.kafka.autoscale.admin-timeout-ms:3000}") long adminTimeoutMs) {
+        if (resumeLag > pauseLag) {
+            throw new IllegalArgumentException("resume-lag은 pause-lag 이하여야 합니다");
+        }
+        this.registry = registry;
+        this.meterRegistry = meterRegistry;
+        this.adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        this.policy = new ConcurrencyPolicy(minConcurrency, maxConcurrency, scaleUpLag, scaleDownLag,
+                targetDrainMs, scaleUpChecks, scaleDownChecks, cooldownMs);
+        this.priorityGroups = toSet(priorityGroups);
+        this.lowPriorityGroups = toSet(lowPriorityGroups);
+        this.pauseLag = pauseLag;
+        this.resumeLag = resumeLag;
+        this.adminTimeoutMs = adminTimeoutMs;
+        this.intervalMs = intervalMs;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kafka-autoscale");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        executor.scheduleWithFixedDelay(this::adjustSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void close() {
+        executor.shutdownNow();
+        adminClient.close();
+    }
+
+    // 예외가 나면 이후 실행이 취소되므로 로그만 남기고 다음 주기에 다시 조정
+    private void adjustSafely() {
+        try {
+            adjust();
+        } catch (RuntimeException e) {
+            log.error("리스너 동시성 조정 실패: error={}", e.getMessage(), e);
+        }
+    }
+
+    public void adjust() {
+        Map<String, List<ConcurrentMessageListenerContainer<?, ?>>> containersByGroup = sourceContainers();
+        if (containersByGroup.isEmpty()) {
+            return;
+        }
+
+        Map<String, GroupLag> lags;
+        try {
+            lags = measureLag(containersByGroup);
+        } catch (Exception e) {
+            log.warn("컨슈머 lag 조회 실패, 이번 조정은 건너뜁니다: error={}", e.getMessage());
+            return;
+        }
+
+        applyPriority(lags);
+
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, List<ConcurrentMessageListenerContainer<?, ?>>> entry : containersByGroup.entrySet()) {
+            String groupId = entry.getKey();
+            GroupLag lag = lags.get(groupId);
+            GroupMetrics metrics = metrics(groupId);
+            metrics.lag.set(lag.lag);
+            List<ConcurrentMessageListenerContainer<?, ?>> containers = entry.getValue();
+            int current = containers.get(0).getConcurrency();
+            metrics.concurrency.set(current);
+
+            if (lowPriorityPaused && isLowPriority(groupId)) {
+                continue;
+            }
+            int target = policy.decide(metrics.state, current, lag.partitions, lag.lag, lag.committed, now);
+            if (target != current) {
+                log.info("리스너 동시성 조정: group={}, concurrency={} -> {}, lag={}, rate={}/s",
+                        groupId, current, target, lag.lag, String.format("%.1f", metrics.state.ratePerSecond()));
+                rescale(containers, target);
+                metrics.concurrency.set(target);
+                decision(groupId, target > current ? "scale_up" : "scale_down");
+            }
+        }
+    }
+
+    /**
+     * 전달 그룹 lag 때문에 낮은 우선순위 그룹을 일시 정지했는지 (재처리 작업도 이 동안 양보)
+     */
+    public boolean isLowPriorityPaused() {
+        return lowPriorityPaused;
+    }
+
+    /**
+     * 전달 그룹 lag에 따라 낮은 우선순위 그룹 일시 정지/재개 (pause-lag과 resume-lag 사이는 현 상태 유지)
+     */
+    private void applyPriority(Map<String, GroupLag> lags) {
+        long deliveryLag = lags.entrySet().stream()
+                .filter(entry -> matches(priorityGroups, entry.getKey()))
+                .mapToLong(entry -> entry.getValue().lag)
+                .max()
+                .orElse(0L);
+
+        boolean pause = !lowPriorityPaused && deliveryLag >= pauseLag;
+        boolean resume = lowPriorityPaused && deliveryLag <= resumeLag;
+        if (!pause && !resume) {
+            return;
+        }
+
+        for (MessageListenerContainer container : registry.getListenerContainers()) {
+            String groupId = container.getGroupId();
+            if (groupId == null || !isLowPriority(groupId)) {
+                continue;
+            }
+            if (pause) {
+                container.pause();
+            } else {
+                container.resume();
+            }
+        }
+        lowPriorityPaused = pause;
+        for (String groupId : lowPriorityGroups) {
+            metrics(groupId).paused.set(pause ? 1 : 0);
+            decision(groupId, pause ? "pause" : "resume");
+        }
+        log.warn("낮은 우선순위 컨슈머 {}: groups={}, deliveryLag={}",
+                pause ? "일시 정지" : "재개", lowPriorityGroups, deliveryLag);
+    }
+
+    private void rescale(List<ConcurrentMessageListenerContainer<?, ?>> containers, int concurrency) {
+        for (ConcurrentMessageListenerContainer<?, ?> container : containers) {
+            // 동시성은 시작할 때만 반영되므로 재시작 (처리 중인 레코드는 끝내고 멈춤)
+            container.stop();
+            container.setConcurrency(concurrency);
+            container.start();
+        }
+    }
+
+    /**
+     * 실행 중인 원본 토픽 컨테이너를 그룹별로 모음 (재시도 토픽/DLT 컨테이너는 원본 그룹과 함께 정지/재개만)
+     */
+    private Map<String, List<ConcurrentMessageListenerContainer<?, ?>>> sourceContainers() {
+        Map<String, List<ConcurrentMessageListenerContainer<?, ?>>> containersByGroup = new LinkedHashMap<>();
+        for (MessageListenerContainer container : registry.getListenerContainers()) {
+            if (!(container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent)
+                    || !container.isRunning() || container.getGroupId() == null) {
+                continue;
+            }
+            String[] topics = concurrent.getContainerProperties().getTopics();
+            if (topics == null || Arrays.stream(topics).anyMatch(topic -> !isSourceTopic(topic))) {
+                continue;
+            }
+            containersByGroup.computeIfAbsent(container.getGroupId(), id -> new ArrayList<>()).add(concurrent);
+        }
+        return containersByGroup;
+    }
+
+    private Map<String, GroupLag> measureLag(Map<String, List<ConcurrentMessageListenerContainer<?, ?>>> containersByGroup)
+            throws Exception {
+        Map<String, Set<String>> topicsByGroup = new HashMap<>();
+        containersByGroup.forEach((groupId, containers) -> topicsByGroup.put(groupId, containers.stream()
+                .flatMap(container -> Arrays.stream(container.getContainerProperties().getTopics()))
+                .collect(Collectors.toSet())));
+
+        Set<String> topics = topicsByGroup.values().stream().flatMap(Set::stream).collect(Collectors.toSet());
+        refreshPartitions(topics);
+
+        Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+        for (String topic : topics) {
+            for (int partition = 0; partition < partitionCounts.getOrDefault(topic, 0); partition++) {
+                latest.put(new TopicPartition(topic, partition), OffsetSpec.latest());
+            }
+        }
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets =
+                adminClient.listOffsets(latest).all().get(adminTimeoutMs, TimeUnit.MILLISECONDS);
+
+        Map<String, ListConsumerGroupOffsetsSpec> specs = new HashMap<>();
+        topicsByGroup.forEach((groupId, groupTopics) -> specs.put(groupId, new ListConsumerGroupOffsetsSpec()
+                .topicPartitions(latest.keySet().stream()
+                        .filter(partition -> groupTopics.contains(partition.topic()))
+                        .toList())));
+        ListConsumerGroupOffsetsResult offsets = adminClient.listConsumerGroupOffsets(specs);
+
+        Map<String, GroupLag> lags = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : topicsByGroup.entrySet()) {
+            Map<TopicPartition, OffsetAndMetadata> committed = offsets.partitionsToOffsetAndMetadata(entry.getKey())
+                    .get(adminTimeoutMs, TimeUnit.MILLISECONDS);
+            long lag = 0;
+            long committedSum = 0;
+            for (Map.Entry<TopicPartition, OffsetAndMetadata> partition : committed.entrySet()) {
+                ListOffsetsResult.ListOffsetsResultInfo end = endOffsets.get(partition.getKey());
+                // 커밋 기록이 없는 파티션은 auto.offset.reset=latest라 밀린 것으로 보지 않음
+                if (partition.getValue() == null || end == null) {
+                    continue;
+                }
+                lag += Math.max(0, end.offset() - partition.getValue().offset());
+                committedSum += partition.getValue().offset();
+            }
+            int partitions = entry.getValue().stream().mapToInt(topic -> partitionCounts.getOrDefault(topic, 1)).max().orElse(1);
+            lags.put(entry.getKey(), new GroupLag(lag, committedSum, partitions));
+        }
+        return lags;
+    }
+
+    private void refreshPartitions(Set<String> topics) throws Exception {
+        long now = System.currentTimeMillis();
+        if (partitionCounts.keySet().containsAll(topics) && now - partitionsRefreshedAt < PARTITION_REFRESH_MS) {
+            return;
+        }
+        Map<String, TopicDescription> descriptions = adminClient.describeTopics(topics).allTopicNames()
+                .get(adminTimeoutMs, TimeUnit.MILLISECONDS);
+        descriptions.forEach((topic, description) -> partitionCounts.put(topic, description.partitions().size()));
+        partitionsRefreshedAt = now;
+    }
+
+    private boolean isLowPriority(String groupId) {
+        return matches(lowPriorityGroups, groupId);
+    }
+
+    private static boolean matches(Set<String> groups, String groupId) {
+        for (String group : groups) {
+            // 재시도 토픽 컨테이너는 그룹 ID 뒤에 토픽 접미사가, 노드별 전달 그룹은 노드 접미사가 붙음
+            if (groupId.equals(group) || groupId.startsWith(group + "-")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 채팅방 상태 토픽은 노드마다 처음부터 읽고 커밋하지 않으므로 lag이 의미 없음
+    private static boolean isSourceTopic(String topic) {
+        return !topic.contains("-retry") && !topic.endsWith(KafkaConfig.DLT_SUFFIX)
+                && !topic.equals(KafkaConfig.ROOM_STATE_TOPIC);
+    }
+
+    private void decision(String groupId, String action) {
+        Counter.builder("chat.kafka.autoscale.decisions")
+                .description("리스너 동시성 조정/일시 정지 횟수")
+                .tag("group", groupId)
+                .tag("action", action)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private GroupMetrics metrics(String groupId) {
+        return groups.computeIfAbsent(groupId, GroupMetrics::new);
+    }
+
+    private static Set<String> toSet(String[] values) {
+        return Arrays.stream(values)
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static final class GroupLag {
+
+        private final long lag;
+        private final long committed;
+        private final int partitions;
+
+        private GroupLag(long lag, long committed, int partitions) {
+            this.lag = lag;
+            this.committed = committed;
+            this.partitions = partitions;
+        }
+    }
+
+    /**
+     * 그룹별 게이지 값과 조정 상태
+     */
+    private final class GroupMetrics {
+
+        private final AtomicLong lag = new AtomicLong();
+        private final AtomicLong concurrency = new AtomicLong();
+        private final AtomicLong paused = new AtomicLong();
+        private final ConcurrencyPolicy.GroupState state = new ConcurrencyPolicy.GroupState();
+
+        private GroupMetrics(String groupId) {
+            Gauge.builder("chat.kafka.consumer.lag", lag, AtomicLong::get)
+                    .description("컨슈머 그룹 lag (토픽 끝 오프셋 - 커밋 오프셋)")
+                    .tag("group", groupId)
+                    .register(meterRegistry);
+            Gauge.builder("chat.kafka.listener.concurrency", concurrency, AtomicLong::get)
+                    .description("리스너 컨테이너 동시성")
+                    .tag("group", groupId)
+                    .register(meterRegistry);
+            if (lowPriorityGroups.contains(groupId)) {
+                Gauge.builder("chat.kafka.listener.paused", paused, AtomicLong::get)
+                        .description("낮은 우선순위 그룹 일시 정지 여부")
+                        .tag("group", groupId)
+                        .register(meterRegistry);
+            }
+        }
+    }
+}
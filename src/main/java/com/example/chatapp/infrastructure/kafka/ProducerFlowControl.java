@@ -0,0 +1,225 @@
+package com.example.chatapp.infrastructure.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 프로듀서 흐름 제어
+ * 토픽별로 발송 중(in-flight) 레코드 수를 제한해 브로커가 느려질 때 프로듀서 버퍼가 가득 차
+ * 요청 스레드가 max.block.ms 동안 묶이는 상황을 막는다.
+ *
+ * 한도를 넘으면 토픽별 초과 정책을 따른다.
+ * - BLOCK: block-timeout-ms 동안 기다린 뒤에도 자리가 없으면 실패
+ * - DROP: 기다리지 않고 버림 (알림처럼 유실돼도 되는 이벤트)
+ * - SPILL: block-timeout-ms 동안 기다린 뒤 아웃박스에 기록해 릴레이가 나중에 발송
+ *
+ * 메트릭 (모두 topic 태그)
+ * - chat.kafka.producer.send: 발송 지연 (outcome=success|error, 히스토그램)
+ * - chat.kafka.producer.in.flight: 발송 중인 레코드 수
+ * - chat.kafka.producer.permit.wait: 발송 허가 대기 시간
+ * - chat.kafka.producer.overflow: 한도 초과 건수 (policy 태그)
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class ProducerFlowControl {
+
+    public enum OverflowPolicy {
+        BLOCK, DROP, SPILL
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final int maxInFlight;
+    private final long blockTimeoutMs;
+    private final Set<String> dropTopics;
+    private final Set<String> spillTopics;
+    private final Map<String, TopicState> topics = new ConcurrentHashMap<>();
+
+    public ProducerFlowControl(
+            MeterRegistry meterRegistry,
+            @Value("${chat.kafka.producer.max-in-flight:1000}") int maxInFlight,
+            @Value("${chat.kafka.producer.block-timeout-ms:100}") long blockTimeoutMs,
+            @Value("${chat.kafka.producer.drop-topics:chat-notifications-v2}") String[] dropTopics,
+            @Value("${chat.kafka.producer.spill-topics:chat-messages-v2,chat-events-v2}") String[] spillTopics) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("max-in-flight는 1 이상이어야 합니다");
+        }
+        this.meterRegistry = meterRegistry;
+        this.maxInFlight = maxInFlight;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.dropTopics = toSet(dropTopics);
+        this.spillTopics = toSet(spillTopics);
+    }
+
+    /**
+     * 토픽의 초과 정책
+     */
+    public OverflowPolicy overflowPolicy(String topic) {
+        if (dropTopics.contains(topic)) {
+            return OverflowPolicy.DROP;
+        }
+        if (spillTopics.contains(topic)) {
+            return OverflowPolicy.SPILL;
+        }
+        return OverflowPolicy.BLOCK;
+    }
+
+    /**
+     * 토픽 정책에 따라 발송 허가 획득 (DROP이면 대기하지 않음)
+     *
+     * @return 허가, 한도 초과면 null
+     */
+    public Permit tryAcquire(String topic) {
+        long waitMs = overflowPolicy(topic) == OverflowPolicy.DROP ? 0 : blockTimeoutMs;
+        return acquire(topic, waitMs);
+    }
+
+    /**
+     * 정책과 관계없이 block-timeout-ms까지 기다려 발송 허가 획득
+     *
+     * @return 허가, 시간 안에 얻지 못하면 null
+     */
+    public Permit acquireBlocking(String topic) {
+        return acquire(topic, blockTimeoutMs);
+    }
+
+    /**
+     * 지정한 시간까지 기다려 발송 허가 획득
+     *
+     * @return 허가, 시간 안에 얻지 못하면 null
+     */
+    public Permit acquire(String topic, long timeoutMs) {
+        TopicState state = state(topic);
+        if (state.permits.tryAcquire()) {
+            return new Permit(state, System.nanoTime());
+        }
+
+        long waitStart = System.nanoTime();
+        boolean acquired = false;
+        try {
+            acquired = timeoutMs > 0 && state.permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long now = System.nanoTime();
+        state.permitWait.record(now - waitStart, TimeUnit.NANOSECONDS);
+        return acquired ? new Permit(state, now) : null;
+    }
+
+    /**
+     * 한도 초과 처리 결과 기록
+     */
+    public void recordOverflow(String topic, OverflowPolicy policy) {
+        state(topic).overflow(policy).increment();
+    }
+
+    /**
+     * 현재 발송 중인 레코드 수
+     */
+    public int inFlight(String topic) {
+        return maxInFlight - state(topic).permits.availablePermits();
+    }
+
+    private TopicState state(String topic) {
+        return topics.computeIfAbsent(topic, TopicState::new);
+    }
+
+    private static Set<String> toSet(String[] values) {
+        return Arrays.stream(values)
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * in-flight 한도를 넘어 발송하지 못했음을 나타내는 예외
+     */
+    public static class SaturatedException extends RuntimeException {
+        public SaturatedException(String topic) {
+            super("프로듀서 in-flight 한도 초과: topic=" + topic);
+        }
+    }
+
+    /**
+     * 발송 허가
+     * 발송 결과가 나오면 complete를 한 번 호출해 허가를 반납하고 지연/오류를 기록한다.
+     */
+    public static final class Permit {
+
+        private final TopicState state;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(TopicState state, long startNanos) {
+            this.state = state;
+            this.startNanos = startNanos;
+        }
+
+        public void complete(Throwable error) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            state.permits.release();
+            Timer timer = error == null ? state.sendSuccess : state.sendError;
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private final class TopicState {
+
+        private final Semaphore permits = new Semaphore(maxInFlight);
+        private final Timer sendSuccess;
+        private final Timer sendError;
+        private final Timer permitWait;
+        private final Map<OverflowPolicy, Counter> overflows = new ConcurrentHashMap<>();
+        private final String topic;
+
+        private TopicState(String topic) {
+            this.topic = topic;
+            this.sendSuccess = sendTimer(topic, "success");
+            this.sendError = sendTimer(topic, "error");
+            this.permitWait = Timer.builder("chat.kafka.producer.permit.wait")
+                    .description("Kafka 발송 허가 대기 시간")
+                    .tag("topic", topic)
+                    .register(meterRegistry);
+            Gauge.builder("chat.kafka.producer.in.flight", permits, p -> maxInFlight - p.availablePermits())
+                    .description("발송 결과를 기다리는 Kafka 레코드 수")
+                    .tag("topic", topic)
+                    .register(meterRegistry);
+            log.debug("프로듀서 흐름 제어 등록: topic={}, maxInFlight={}, policy={}",
+                    topic, maxInFlight, overflowPolicy(topic));
+        }
+
+        private Counter overflow(OverflowPolicy policy) {
+            return overflows.computeIfAbsent(policy, p -> Counter.builder("chat.kafka.producer.overflow")
+                    .description("in-flight 한도를 넘어 정책으로 처리된 레코드 수")
+                    .tag("topic", topic)
+                    .tag("policy", p.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+
+        private Timer sendTimer(String topic, String outcome) {
+            return Timer.builder("chat.kafka.producer.send")
+                    .description("Kafka 발송 요청부터 브로커 응답까지의 시간")
+                    .tag("topic", topic)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+}
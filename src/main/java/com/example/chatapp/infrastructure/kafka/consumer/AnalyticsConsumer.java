@@ -1,127 +1,86 @@
 package com.example.chatapp.infrastructure.kafka.consumer;
 
 import com.example.chatapp.config.KafkaConfig;
+import com.example.chatapp.infrastructure.analytics.ActivityWindowAggregator;
+import com.example.chatapp.infrastructure.analytics.HotspotTracker;
+import com.example.chatapp.infrastructure.analytics.TrendingTermTracker;
+import com.example.chatapp.infrastructure.kafka.EventDeduplicator;
+import com.example.chatapp.infrastructure.kafka.serialization.ChatEventDeserializer;
 import com.example.chatapp.infrastructure.message.ChatEvent;
-import com.example.chatapp.infrastructure.message.ChatEventType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
 /**
  * 채팅 분석 및 통계를 담당하는 Consumer
- * 사용자 활동, 메시지 통계, 채팅방 사용률 등을 분석
+ * 메시지/입장/퇴장 이벤트를 ActivityWindowAggregator에 넘겨 채팅방별, 사용자별 분/시간 단위 롤업으로 집계하고
+ * 메시지 이벤트는 HotspotTracker와 TrendingTermTracker에도 넘겨 최근 구간의 핫 채팅방/발신자와 급상승 키워드를 추적
+ * 집계하지 않는 타입(타이핑, 상태 변경 등)은 라우팅 헤더만 보고 역직렬화 없이 건너뛴다.
+ * 재시도 토픽이 KafkaConfig의 재시도 템플릿을 쓰므로 Kafka가 켜진 경우에만 등록한다.
  */
 @Service
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class AnalyticsConsumer {
 
-//    @KafkaListener(
-//        topics = {KafkaConfig.CHAT_MESSAGES_TOPIC, KafkaConfig.CHAT_EVENTS_TOPIC},
-//        groupId = "analytics-group",
-//        containerFactory = "kafkaListenerContainerFactory"
-//    )
+    private final EventDeduplicator eventDeduplicator;
+    private final ActivityWindowAggregator activityWindowAggregator;
+    private final HotspotTracker hotspotTracker;
+    private final TrendingTermTracker trendingTermTracker;
+
+    @RetryableTopic(
+        attempts = "${chat.kafka.retry.attempts:4}",
+        backoff = @Backoff(
+            delayExpression = "${chat.kafka.retry.initial-delay-ms:1000}",
+            multiplierExpression = "${chat.kafka.retry.multiplier:4}",
+            maxDelayExpression = "${chat.kafka.retry.max-delay-ms:60000}"),
+        topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+        // 전달 그룹과 같은 토픽을 읽으므로 재시도 토픽/DLT를 따로 둔다
+        retryTopicSuffix = KafkaConfig.ANALYTICS_RETRY_SUFFIX,
+        dltTopicSuffix = KafkaConfig.ANALYTICS_DLT_SUFFIX,
+        dltStrategy = DltStrategy.FAIL_ON_ERROR,
+        kafkaTemplate = KafkaConfig.RETRY_KAFKA_TEMPLATE
+    )
+    @KafkaListener(
+        topics = {KafkaConfig.CHAT_MESSAGES_TOPIC, KafkaConfig.CHAT_EVENTS_TOPIC},
+        groupId = "analytics-group",
+        containerFactory = "kafkaListenerContainerFactory",
+        filter = "skippedEventFilter",
+        properties = ChatEventDeserializer.ACCEPTED_TYPES_CONFIG + "=MESSAGE_SENT,USER_JOINED,USER_LEFT",
+        autoStartup = "#{'${spring.kafka.enabled:true}' == 'true' && '${chat.analytics.enabled:true}' == 'true'}"
+    )
     public void handleAnalyticsEvent(
             @Payload ChatEvent event,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
+            @Header(KafkaHeaders.GROUP_ID) String groupId,
             Acknowledgment ack) {
 
-        try {
+        if (log.isDebugEnabled()) {
             log.debug("분석 이벤트 수신: eventType={}, topic={}, roomId={}",
                     event.getEventType(), topic, event.getChatRoomId());
-
-            switch (event.getEventType()) {
-                case MESSAGE_SENT:
-                    analyzeMessage(event);
-                    break;
-                case USER_JOINED:
-                    analyzeUserJoin(event);
-                    break;
-                case USER_LEFT:
-                    analyzeUserLeave(event);
-                    break;
-                case ROOM_CREATED:
-                    analyzeRoomCreation(event);
-                    break;
-                default:
-                    log.debug("분석하지 않는 이벤트 타입: {}", event.getEventType());
-            }
-
-            ack.acknowledge();
-
-        } catch (Exception e) {
-            log.error("분석 처리 실패: eventType={}, roomId={}, error={}",
-                    event.getEventType(), event.getChatRoomId(), e.getMessage(), e);
-            ack.acknowledge(); // 실패해도 ack하여 무한 재시도 방지
         }
-    }
 
-    private void analyzeMessage(ChatEvent event) {
-        // 메시지 통계 분석
-        String hour = event.getTimestamp().format(DateTimeFormatter.ofPattern("yyyy-MM-dd-HH"));
-
-        log.info("메시지 분석: 시간={}, 룸={}, 사용자={}, 길이={}",
-                hour,
-                event.getChatRoomId(),
-                event.getUserId(),
-                event.getMessageContent() != null ? event.getMessageContent().length() : 0);
-
-        // TODO: 실제 구현에서는 다음과 같은 메트릭을 수집
-        // - 시간대별 메시지 수
-        // - 채팅방별 활성도
-        // - 사용자별 메시지 수
-        // - 평균 메시지 길이
-        // - 인기 키워드 분석
-
-        // 예: Redis나 InfluxDB에 메트릭 저장
-        // metricsService.incrementMessageCount(hour, event.getChatRoomId());
-        // metricsService.recordMessageLength(event.getMessageContent().length());
-    }
-
-    private void analyzeUserJoin(ChatEvent event) {
-        // 사용자 입장 분석
-        log.info("사용자 입장 분석: 룸={}, 사용자={}, 시간={}",
-                event.getChatRoomId(),
-                event.getUserId(),
-                event.getTimestamp());
-
-        // TODO: 입장 패턴 분석
-        // - 시간대별 입장자 수
-        // - 채팅방별 인기도
-        // - 사용자별 활동 패턴
-    }
-
-    private void analyzeUserLeave(ChatEvent event) {
-        // 사용자 퇴장 분석
-        log.info("사용자 퇴장 분석: 룸={}, 사용자={}, 시간={}",
-                event.getChatRoomId(),
-                event.getUserId(),
-                event.getTimestamp());
-
-        // TODO: 퇴장 패턴 분석
-        // - 평균 체류 시간
-        // - 이탈률 분석
-    }
-
-    private void analyzeRoomCreation(ChatEvent event) {
-        // 채팅방 생성 분석
-        log.info("채팅방 생성 분석: 룸={}, 생성자={}, 시간={}",
-                event.getChatRoomId(),
-                event.getUserId(),
-                event.getTimestamp());
+        // 봉투 레코드는 담긴 이벤트를 각각 분석 (다시 받은 이벤트는 중복 집계하지 않음)
+        // 실패는 예외로 재시도 토픽에 넘기므로 분석에 성공한 이벤트만 기록
+        for (ChatEvent analyticsEvent : eventDeduplicator.filterUnseen(groupId, topic, partition, event)) {
+            activityWindowAggregator.record(analyticsEvent);
+            hotspotTracker.record(analyticsEvent);
+            trendingTermTracker.record(analyticsEvent);
+            eventDeduplicator.markSeen(groupId, topic, partition, analyticsEvent.getEventId());
+        }
 
-        // TODO: 채팅방 생성 패턴 분석
-        // - 시간대별 생성 수
-        // - 사용자별 생성 패턴
+        ack.acknowledge();
     }
 }
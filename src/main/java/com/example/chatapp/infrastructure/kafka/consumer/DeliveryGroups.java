@@ -0,0 +1,56 @@
+package com.example.chatapp.infrastructure.kafka.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * WebSocket 전달 컨슈머 그룹 ID (리스너 groupId에서 #{@deliveryGroups.messageGroup} 형태로 참조)
+ *
+ * chat.kafka.delivery.fanout으로 노드 간 분배 방식을 고른다.
+ * - shared (기본): 모든 노드가 같은 그룹으로 파티션을 나눠 가진다. 각 노드는 자기 세션에만 보낼 수 있으므로 노드가 하나일 때만 쓴다.
+ * - node: 노드마다 고유한 그룹(기본 이름 + 실행마다 새 접미사)으로 모든 노드가 전체 파티션을 읽고,
+ *   이 노드에 구독자가 있는 채팅방만 전송한다. 시작할 때마다 새 그룹이라 최신 오프셋부터 읽는다 (auto.offset.reset=latest).
+ *   버려진 그룹의 커밋 오프셋은 브로커의 offsets.retention.minutes가 지나면 정리된다.
+ */
+@Component
+@Slf4j
+public class DeliveryGroups {
+
+    public static final String MESSAGE_GROUP = "message-delivery-group-v2";
+    public static final String ROOM_EVENT_GROUP = "room-events-delivery-group";
+
+    private static final String FANOUT_SHARED = "shared";
+    private static final String FANOUT_NODE = "node";
+
+    private final boolean nodeFanout;
+    private final String suffix;
+
+    public DeliveryGroups(@Value("${chat.kafka.delivery.fanout:shared}") String fanout) {
+        if (!FANOUT_SHARED.equals(fanout) && !FANOUT_NODE.equals(fanout)) {
+            throw new IllegalArgumentException("chat.kafka.delivery.fanout은 shared 또는 node여야 합니다: " + fanout);
+        }
+        this.nodeFanout = FANOUT_NODE.equals(fanout);
+        this.suffix = nodeFanout ? "-node-" + UUID.randomUUID() : "";
+        if (nodeFanout) {
+            log.info("노드별 전달 그룹 사용: messageGroup={}, roomEventGroup={}", getMessageGroup(), getRoomEventGroup());
+        }
+    }
+
+    /**
+     * 노드마다 고유한 그룹으로 전체 파티션을 읽는지
+     */
+    public boolean isNodeFanout() {
+        return nodeFanout;
+    }
+
+    public String getMessageGroup() {
+        return MESSAGE_GROUP + suffix;
+    }
+
+    public String getRoomEventGroup() {
+        return ROOM_EVENT_GROUP + suffix;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.chatapp.infrastructure.kafka.consumer;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 키별 순서를 지키는 병렬 실행기
+ *
+ * 같은 키의 작업은 제출 순서대로 한 번에 하나씩, 서로 다른 키의 작업은 동시에 실행한다.
+ * 키마다 대기열을 두고 처리할 작업이 있는 키에만 작업자 하나를 띄우며, 대기열이 비면 키를 지운다.
+ * 작업자는 가상 스레드 실행기를 쓰므로 느린 키(예: 전송이 막힌 채팅방)가 많아도 스레드 풀을 고갈시키지 않는다.
+ * 작업에서 던진 예외는 잡지 않으므로 작업이 직접 처리해야 한다 (던지면 그 키의 다음 작업은 계속 실행됨).
+ */
+final class KeyOrderedExecutor {
+
+    private final Executor workers;
+    private final ConcurrentHashMap<Long, KeyQueue> queues = new ConcurrentHashMap<>();
+
+    KeyOrderedExecutor(Executor workers) {
+        this.workers = workers;
+    }
+
+    void submit(long key, Runnable task) {
+        KeyQueue[] started = new KeyQueue[1];
+        queues.compute(key, (k, queue) -> {
+            KeyQueue target = queue != null ? queue : new KeyQueue();
+            target.tasks.add(task);
+            if (!target.running) {
+                target.running = true;
+                started[0] = target;
+            }
+            return target;
+        });
+        if (started[0] != null) {
+            workers.execute(() -> drain(key, started[0]));
+        }
+    }
+
+    /**
+     * 실행 중이거나 대기 중인 작업이 있는 키 수
+     */
+    int activeKeys() {
+        return queues.size();
+    }
+
+    private void drain(long key, KeyQueue queue) {
+        Runnable task;
+        while ((task = next(key, queue)) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // 작업이 처리하지 못한 예외로 이 키의 뒤 작업이 멈추지 않도록 무시
+            }
+        }
+    }
+
+    // 다음 작업을 꺼내고, 없으면 키를 지워 다음 제출이 새 작업자를 띄우게 함
+    private Runnable next(long key, KeyQueue queue) {
+        Runnable[] next = new Runnable[1];
+        queues.compute(key, (k, current) -> {
+            next[0] = queue.tasks.poll();
+            if (next[0] == null) {
+                queue.running = false;
+                return null;
+            }
+            return current;
+        });
+        return next[0];
+    }
+
+    /**
+     * 키 하나의 대기열 (ConcurrentHashMap.compute 안에서만 수정)
+     */
+    private static final class KeyQueue {
+
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private boolean running;
+    }
+}
@@ -1,138 +1,346 @@
 package com.example.chatapp.infrastructure.kafka.consumer;
 
 import com.example.chatapp.config.KafkaConfig;
+import com.example.chatapp.infrastructure.kafka.EventDeduplicator;
 import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.websocket.LocalRoomSubscriptions;
+import com.example.chatapp.infrastructure.websocket.RoomEventDelivery;
 import com.example.chatapp.infrastructure.websocket.WebSocketService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * 실시간 메시지 전달을 담당하는 Consumer
+ *
+ * chat.kafka.delivery.mode로 메시지 토픽 전달 방식을 고른다 (세 리스너는 같은 그룹이라 전환해도 오프셋이 이어짐).
+ * - record (기본): 레코드마다 채팅방에 프레임 하나씩 전송
+ * - batch: 한 번의 poll(flush-interval-ms 창)로 받은 레코드를 채팅방별 BATCH 프레임으로 묶어 전송
+ * - parallel: poll로 받은 레코드를 채팅방별 작업자로 나눠 동시에 전송 (ParallelDeliveryConsumer)
+ *
+ * 그룹 ID는 DeliveryGroups가 정한다 (chat.kafka.delivery.fanout=node면 노드마다 고유한 그룹으로 전체 파티션을 읽음).
+ * 어느 방식이든 이 노드에 구독 세션이 없는 채팅방 이벤트는 변환/전송하지 않고 건너뛴다 (LocalRoomSubscriptions).
+ *
+ * 레코드 리스너의 전달 실패는 재시도 토픽(지수 지연)으로 넘기고 원래 파티션은 계속 진행한다.
+ * 재시도를 모두 소진하거나 읽을 수 없는 레코드는 원본 토픽의 DLT로 간다.
+ * 단, 재시도 토픽과 DLT는 모든 노드가 함께 쓰므로 node 모드에서는 재시도 토픽이 없는 별도 리스너(~OnNode)를 띄운다.
+ * 노드마다 고유한 그룹이 공유 재시도 토픽/DLT를 읽으면 한 노드의 재시도 레코드를 모든 노드가 다시 보내고 DLT 기록도 노드 수만큼 중복되며,
+ * 재시작마다 재시도 토픽에도 버려진 그룹이 쌓인다. node 모드의 전송 실패는 메트릭과 로그만 남긴다.
+ *
+ * 배치 컨테이너 팩토리와 재시도 템플릿이 KafkaConfig에만 있으므로 Kafka가 켜진 경우에만 등록한다.
+ * 실제 전송 로직은 RoomEventDelivery에 있어 인메모리 이벤트 버스와 이벤트 재처리도 같은 로직을 쓴다.
  */
 @Service
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class MessageDeliveryConsumer {
 
+    private static final String MODE_RECORD = "record";
+    private static final String MODE_BATCH = "batch";
+
     private final WebSocketService webSocketService;
+    private final RoomEventDelivery roomEventDelivery;
+    private final MeterRegistry meterRegistry;
+    private final EventDeduplicator eventDeduplicator;
+    private final LocalRoomSubscriptions localRoomSubscriptions;
+
+    @Value("${chat.kafka.delivery.max-frame-events:200}")
+    private int maxFrameEvents;
+
+    @Value("${chat.kafka.delivery.max-frame-bytes:262144}")
+    private int maxFrameBytes;
+
+    private Timer recordLatency;
+    private Timer batchLatency;
+    private DistributionSummary frameEvents;
+    private Counter frameFailures;
+    private Counter localSkipped;
+    private Counter nodeFailures;
+
+    @PostConstruct
+    public void initMetrics() {
+        recordLatency = latencyTimer(MODE_RECORD);
+        batchLatency = latencyTimer(MODE_BATCH);
+        frameEvents = DistributionSummary.builder("chat.delivery.frame.events")
+                .description("BATCH 프레임 하나에 담긴 이벤트 수")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        frameFailures = Counter.builder("chat.delivery.frame.failures")
+                .description("전송에 실패한 BATCH 프레임 수")
+                .register(meterRegistry);
+        localSkipped = Counter.builder("chat.delivery.local.skipped")
+                .description("이 노드에 구독 세션이 없어 전송하지 않은 이벤트 수")
+                .register(meterRegistry);
+        nodeFailures = Counter.builder("chat.delivery.node.failures")
+                .description("node 모드에서 재시도 없이 버린 전송 실패 이벤트 수")
+                .register(meterRegistry);
+    }
+
+    private Timer latencyTimer(String mode) {
+        return Timer.builder("chat.delivery.record.to.websocket")
+                .description("레코드 타임스탬프(발행 시각)부터 WebSocket 프레임 전송까지 걸린 시간")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // 발행 측 시계 기준이므로 시계가 어긋나 음수가 되면 0으로 기록
+    private static void recordSince(Timer timer, long recordTimestamp) {
+        timer.record(Math.max(0, System.currentTimeMillis() - recordTimestamp), TimeUnit.MILLISECONDS);
+    }
 
     /**
      * 개별 메시지 처리 리스너
+     * 전달에 실패하면 예외를 던져 재시도 토픽으로 넘긴다 (같은 파티션의 다른 채팅방은 기다리지 않음).
+     * 재시도 토픽 리스너도 같은 autoStartup을 따르므로 node 모드에서는 재시도/DLT 그룹도 만들지 않는다.
      */
+    @RetryableTopic(
+        attempts = "${chat.kafka.retry.attempts:4}",
+        backoff = @Backoff(
+            delayExpression = "${chat.kafka.retry.initial-delay-ms:1000}",
+            multiplierExpression = "${chat.kafka.retry.multiplier:4}",
+            maxDelayExpression = "${chat.kafka.retry.max-delay-ms:60000}"),
+        topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+        dltStrategy = DltStrategy.FAIL_ON_ERROR,
+        kafkaTemplate = KafkaConfig.RETRY_KAFKA_TEMPLATE
+    )
     @KafkaListener(
         topics = KafkaConfig.CHAT_MESSAGES_TOPIC,
-        groupId = "message-delivery-group-v2",
-        containerFactory = "kafkaListenerContainerFactory"
+        groupId = "#{@deliveryGroups.messageGroup}",
+        containerFactory = "kafkaListenerContainerFactory",
+        autoStartup = "#{'${spring.kafka.enabled:true}' == 'true' && '${chat.kafka.delivery.mode:record}' == 'record'" +
+                " && '${chat.kafka.delivery.fanout:shared}' == 'shared'}"
     )
     public void handleMessageEvent(
             @Payload ChatEvent event,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
             @Header(KafkaHeaders.OFFSET) long offset,
+            @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long timestamp,
+            @Header(KafkaHeaders.GROUP_ID) String groupId,
             Acknowledgment ack) {
 
-        try {
-            log.debug("메시지 이벤트 수신: eventType={}, roomId={}, eventId={}",
-                    event.getEventType(), event.getChatRoomId(), event.getEventId());
-
-            // WebSocket을 통해 채팅방 참여자들에게 실시간 전송
-            webSocketService.broadcastToRoom(event.getChatRoomId(), event);
-
-            // 수동 커밋
-            ack.acknowledge();
+        handleMessage(event, topic, partition, timestamp, groupId, roomEventDelivery::broadcastMessage);
+        ack.acknowledge();
+    }
 
-            log.debug("메시지 전달 완료: eventType={}, roomId={}",
-                    event.getEventType(), event.getChatRoomId());
+    /**
+     * node 모드 개별 메시지 처리 리스너 (재시도 토픽 없음, 전송 실패는 메트릭과 로그만)
+     */
+    @KafkaListener(
+        topics = KafkaConfig.CHAT_MESSAGES_TOPIC,
+        groupId = "#{@deliveryGroups.messageGroup}",
+        containerFactory = "kafkaListenerContainerFactory",
+        autoStartup = "#{'${spring.kafka.enabled:true}' == 'true' && '${chat.kafka.delivery.mode:record}' == 'record'" +
+                " && '${chat.kafka.delivery.fanout:shared}' == 'node'}"
+    )
+    public void handleMessageEventOnNode(
+            @Payload ChatEvent event,
+            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+            @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long timestamp,
+            @Header(KafkaHeaders.GROUP_ID) String groupId,
+            Acknowledgment ack) {
 
-        } catch (Exception e) {
-            log.error("메시지 전달 실패: eventType={}, roomId={}, error={}",
-                    event.getEventType(), event.getChatRoomId(), e.getMessage(), e);
+        handleMessage(event, topic, partition, timestamp, groupId, fresh -> sendOnNode(fresh, roomEventDelivery::broadcastMessage));
+        ack.acknowledge();
+    }
 
-            // 실패 시에도 acknowledge하여 무한 재시도 방지
-            // 실제 운영에서는 DLQ(Dead Letter Queue) 사용 고려
-            ack.acknowledge();
+    private void handleMessage(ChatEvent event, String topic, int partition, long timestamp, String groupId,
+                               Consumer<ChatEvent> send) {
+        // 리밸런스 등으로 다시 받은 이벤트는 클라이언트에 재전송하지 않음 (전달에 성공한 이벤트만 기록)
+        for (ChatEvent fresh : eventDeduplicator.filterUnseen(groupId, topic, partition, event)) {
+            if (hasLocalSubscribers(fresh)) {
+                send.accept(fresh);
+            }
+            eventDeduplicator.markSeen(groupId, topic, partition, fresh.getEventId());
         }
+        recordSince(recordLatency, timestamp);
     }
 
     /**
-     * 배치 메시지 처리 리스너
+     * 배치 메시지 처리 리스너 (chat.kafka.delivery.mode=batch)
+     * poll 하나의 레코드를 채팅방별로 묶어 방마다 BATCH 프레임 하나로 전송한다.
+     * 프레임이 max-frame-events 또는 max-frame-bytes를 넘으면 같은 방에 여러 프레임으로 나눠 순서대로 보낸다.
+     * 한 채팅방의 프레임 전송이 실패해도 다른 채팅방은 계속 보낸다 (실패 프레임은 재전송하지 않고 메트릭으로 집계).
+     * 읽을 수 없는 레코드는 나머지를 처리한 뒤 BatchListenerFailedException으로 지목해 DLT로 보낸다.
      */
-//    @KafkaListener(
-//        topics = KafkaConfig.CHAT_MESSAGES_TOPIC,
-//        groupId = "message-batch-delivery-group",
-//        containerFactory = "batchKafkaListenerContainerFactory",
-//        batch = "true"
-//    )
+    @KafkaListener(
+        topics = KafkaConfig.CHAT_MESSAGES_TOPIC,
+        groupId = "#{@deliveryGroups.messageGroup}",
+        containerFactory = "batchKafkaListenerContainerFactory",
+        batch = "true",
+        autoStartup = "#{'${spring.kafka.enabled:true}' == 'true' && '${chat.kafka.delivery.mode:record}' == 'batch'}"
+    )
     public void handleMessageEventsBatch(
             @Payload List<ChatEvent> events,
-            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+            @Header(KafkaHeaders.RECEIVED_TOPIC) List<String> topics,
+            @Header(KafkaHeaders.RECEIVED_PARTITION) List<Integer> partitions,
+            @Header(KafkaHeaders.RECEIVED_TIMESTAMP) List<Long> timestamps,
+            @Header(KafkaHeaders.GROUP_ID) String groupId,
             Acknowledgment ack) {
 
-        try {
-            log.debug("메시지 이벤트 배치 수신: 총 {}개 이벤트", events.size());
+        // 프레임마다 레코드를 따로 추적하지 않고 poll에서 가장 오래된 레코드 기준으로 기록 (최악값)
+        long oldestTimestamp = timestamps.stream().mapToLong(Long::longValue).min().orElse(System.currentTimeMillis());
+        log.debug("메시지 이벤트 배치 수신: 총 {}개 레코드", events.size());
 
-            // 채팅방별로 이벤트 그룹화
-            Map<Long, List<ChatEvent>> roomEvents = events.stream()
-                    .collect(Collectors.groupingBy(ChatEvent::getChatRoomId));
+        // 봉투 레코드를 풀고 다시 받은 이벤트는 제외 (역직렬화 실패 레코드는 null로 들어옴)
+        int firstUnreadable = -1;
+        List<ChatEvent> fresh = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i) == null) {
+                firstUnreadable = firstUnreadable < 0 ? i : firstUnreadable;
+                continue;
+            }
+            fresh.addAll(eventDeduplicator.filterFirstSeen(groupId, topics.get(i), partitions.get(i), events.get(i)));
+        }
+        fresh.removeIf(event -> !hasLocalSubscribers(event));
 
-            // 각 채팅방별로 한 번에 처리
-            for (Map.Entry<Long, List<ChatEvent>> entry : roomEvents.entrySet()) {
-                Long roomId = entry.getKey();
-                List<ChatEvent> roomMessages = entry.getValue();
+        // 채팅방별로 순서를 유지하며 프레임 단위로 묶음
+        List<RoomFrameCoalescer.RoomFrame> frames =
+                RoomFrameCoalescer.coalesce(fresh, maxFrameEvents, maxFrameBytes);
 
+        for (RoomFrameCoalescer.RoomFrame frame : frames) {
+            try {
                 // WebSocket을 통해 채팅방 참여자들에게 실시간 전송 (배치)
-                webSocketService.broadcastBatchToRoom(roomId, roomMessages);
+                webSocketService.broadcastBatchToRoom(frame.getRoomId(), frame.getEvents());
 
-                log.debug("채팅방 {} 메시지 배치 전달 완료: {}개 메시지",
-                        roomId, roomMessages.size());
+                recordSince(batchLatency, oldestTimestamp);
+                frameEvents.record(frame.getEvents().size());
+            } catch (Exception e) {
+                frameFailures.increment();
+                log.error("메시지 배치 프레임 전달 실패: roomId={}, 이벤트 수={}, error={}",
+                        frame.getRoomId(), frame.getEvents().size(), e.getMessage());
             }
+        }
 
-            // 수동 커밋
-            ack.acknowledge();
+        log.debug("메시지 배치 전달 완료: 레코드 {}개 -> 프레임 {}개", events.size(), frames.size());
 
-        } catch (Exception e) {
-            log.error("메시지 배치 전달 실패: events={}, error={}",
-                    events.size(), e.getMessage(), e);
-            ack.acknowledge();
+        if (firstUnreadable >= 0) {
+            // 앞 레코드는 커밋, 지목한 레코드는 DLT, 뒤 레코드는 다시 받음 (이미 보낸 이벤트는 중복 필터가 거름)
+            throw new BatchListenerFailedException("역직렬화 실패 레코드", firstUnreadable);
         }
+
+        // 수동 커밋
+        ack.acknowledge();
     }
 
+    @RetryableTopic(
+        attempts = "${chat.kafka.retry.attempts:4}",
+        backoff = @Backoff(
+            delayExpression = "${chat.kafka.retry.initial-delay-ms:1000}",
+            multiplierExpression = "${chat.kafka.retry.multiplier:4}",
+            maxDelayExpression = "${chat.kafka.retry.max-delay-ms:60000}"),
+        topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+        dltStrategy = DltStrategy.FAIL_ON_ERROR,
+        kafkaTemplate = KafkaConfig.RETRY_KAFKA_TEMPLATE
+    )
     @KafkaListener(
         topics = KafkaConfig.CHAT_EVENTS_TOPIC,
-        groupId = "room-events-delivery-group",
-        containerFactory = "kafkaListenerContainerFactory"
+        groupId = "#{@deliveryGroups.roomEventGroup}",
+        containerFactory = "kafkaListenerContainerFactory",
+        autoStartup = "#{'${spring.kafka.enabled:true}' == 'true' && '${chat.kafka.delivery.fanout:shared}' == 'shared'}"
     )
     public void handleRoomEvent(
             @Payload ChatEvent event,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+            @Header(KafkaHeaders.GROUP_ID) String groupId,
             Acknowledgment ack) {
 
-        try {
-            log.debug("룸 이벤트 수신: eventType={}, roomId={}, eventId={}",
-                    event.getEventType(), event.getChatRoomId(), event.getEventId());
+        handleRoomEvent(event, topic, partition, groupId, roomEventDelivery::broadcastRoomEvent);
+        ack.acknowledge();
+    }
 
-            // 채팅방 이벤트도 실시간으로 전송 (입장/퇴장 등)
-            webSocketService.broadcastToRoom(event.getChatRoomId(), event);
+    /**
+     * node 모드 룸 이벤트 처리 리스너 (재시도 토픽 없음, 전송 실패는 메트릭과 로그만)
+     */
+    @KafkaListener(
+        topics = KafkaConfig.CHAT_EVENTS_TOPIC,
+        groupId = "#{@deliveryGroups.roomEventGroup}",
+        containerFactory = "kafkaListenerContainerFactory",
+        autoStartup = "#{'${spring.kafka.enabled:true}' == 'true' && '${chat.kafka.delivery.fanout:shared}' == 'node'}"
+    )
+    public void handleRoomEventOnNode(
+            @Payload ChatEvent event,
+            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+            @Header(KafkaHeaders.GROUP_ID) String groupId,
+            Acknowledgment ack) {
 
-            ack.acknowledge();
+        handleRoomEvent(event, topic, partition, groupId, fresh -> sendOnNode(fresh, roomEventDelivery::broadcastRoomEvent));
+        ack.acknowledge();
+    }
 
-            log.debug("룸 이벤트 전달 완료: eventType={}, roomId={}",
-                    event.getEventType(), event.getChatRoomId());
+    private void handleRoomEvent(ChatEvent event, String topic, int partition, String groupId, Consumer<ChatEvent> send) {
+        if (!eventDeduplicator.isDuplicate(groupId, topic, partition, event.getEventId())) {
+            if (hasLocalSubscribers(event)) {
+                send.accept(event);
+            }
+            eventDeduplicator.markSeen(groupId, topic, partition, event.getEventId());
+        }
+    }
+
+    /**
+     * 이 노드에 채팅방 구독 세션이 있는지 (없으면 건너뛴 수를 셈)
+     */
+    private boolean hasLocalSubscribers(ChatEvent event) {
+        if (localRoomSubscriptions.hasSubscribers(event.getChatRoomId())) {
+            return true;
+        }
+        localSkipped.increment();
+        return false;
+    }
 
-        } catch (Exception e) {
-            log.error("룸 이벤트 전달 실패: eventType={}, roomId={}, error={}",
-                    event.getEventType(), event.getChatRoomId(), e.getMessage(), e);
-            ack.acknowledge();
+    /**
+     * node 모드 레코드 리스너 전송: 재시도 토픽이 없으므로 실패는 메트릭과 로그만 남긴다
+     */
+    private void sendOnNode(ChatEvent event, Consumer<ChatEvent> send) {
+        try {
+            send.accept(event);
+        } catch (RuntimeException e) {
+            nodeFailures.increment();
+            log.error("노드 전달 실패: eventType={}, roomId={}, eventId={}, error={}",
+                    event.getEventType(), event.getChatRoomId(), event.getEventId(), e.getMessage());
         }
     }
+
+    /**
+     * 재시도를 모두 소진했거나 읽을 수 없어 DLT로 간 레코드 기록 (재주입은 DLT 재주입 API로)
+     */
+    @DltHandler
+    public void handleDeadLetter(
+            @Payload ChatEvent event,
+            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+            @Header(value = KafkaHeaders.DLT_EXCEPTION_MESSAGE, required = false) byte[] reason) {
+
+        log.error("전달 실패 이벤트 DLT 도착: topic={}, eventType={}, roomId={}, eventId={}, reason={}",
+                topic, event.getEventType(), event.getChatRoomId(), event.getEventId(),
+                reason != null ? new String(reason, StandardCharsets.UTF_8) : null);
+    }
 }
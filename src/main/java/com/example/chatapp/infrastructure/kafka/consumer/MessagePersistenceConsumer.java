@@ -1,13 +1,20 @@
 package com.example.chatapp.infrastructure.kafka.consumer;
 
 import com.example.chatapp.config.KafkaConfig;
+import com.example.chatapp.infrastructure.kafka.EventDeduplicator;
+import com.example.chatapp.infrastructure.kafka.serialization.ChatEventDeserializer;
 import com.example.chatapp.domain.Message;
 import com.example.chatapp.infrastructure.message.ChatEvent;
 import com.example.chatapp.infrastructure.message.ChatEventType;
+import com.example.chatapp.infrastructure.persistence.MessageBatchWriter;
 import com.example.chatapp.repository.MessageRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
@@ -15,19 +22,32 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * 메시지 영구 저장을 담당하는 Consumer
  * 별도 그룹으로 분리하여 저장과 전송을 독립적으로 처리
+ *
+ * chat.message.persistence.mode=async일 때는 메시지 저장의 유일한 기록자가 된다.
+ * 요청 스레드는 멤버십 검증 후 Kafka에만 발행하고, 이 Consumer가 poll 단위로 다중 행 INSERT 후 오프셋을 커밋한다.
+ * 배치 컨테이너 팩토리가 KafkaConfig에만 있으므로 Kafka가 켜진 경우에만 등록한다.
  */
 @Service
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class MessagePersistenceConsumer {
 
     private final MessageRepository messageRepository;
+    private final MessageBatchWriter messageBatchWriter;
+    private final EventDeduplicator eventDeduplicator;
+
+    @Value("${chat.message.persistence.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
 
 //    @KafkaListener(
 //        topics = KafkaConfig.CHAT_MESSAGES_TOPIC,
@@ -48,12 +68,14 @@ public class MessagePersistenceConsumer {
                         event.getEventType(), event.getMessageId());
             }
 
-            // 메시지 관련 이벤트만 처리
-            if (event.getEventType() == ChatEventType.MESSAGE_SENT && event.getMessageId() != null) {
-                // 이미 저장된 메시지인지 확인 (중복 방지)
-                if (!messageRepository.existsById(event.getMessageId())) {
-                    log.warn("메시지 ID {}가 데이터베이스에 없습니다. 이미 처리되었거나 잘못된 이벤트일 수 있습니다.",
-                            event.getMessageId());
+            // 메시지 관련 이벤트만 처리 (봉투 레코드는 풀어서 확인)
+            for (ChatEvent messageEvent : event.unpack()) {
+                if (messageEvent.getEventType() == ChatEventType.MESSAGE_SENT && messageEvent.getMessageId() != null) {
+                    // 이미 저장된 메시지인지 확인 (중복 방지)
+                    if (!messageRepository.existsById(messageEvent.getMessageId())) {
+                        log.warn("메시지 ID {}가 데이터베이스에 없습니다. 이미 처리되었거나 잘못된 이벤트일 수 있습니다.",
+                                messageEvent.getMessageId());
+                    }
                 }
             }
 
@@ -66,49 +88,106 @@ public class MessagePersistenceConsumer {
         }
     }
 
-//    @KafkaListener(
-//        topics = KafkaConfig.CHAT_MESSAGES_TOPIC,
-//        groupId = "message-batch-persistence-group",
-//        containerFactory = "batchKafkaListenerContainerFactory",
-//        batch = "true"
-//    )
-    @Transactional
+    /**
+     * 비동기 저장 모드의 메시지 기록 리스너
+     * - 봉투를 풀고 MESSAGE_SENT 이벤트만 eventId 기준으로 중복 제거해 한 번에 기록한다.
+     * - 기록이 끝난 뒤에만 오프셋을 커밋하므로 장애 시 같은 poll을 다시 받는다 (INSERT가 멱등이라 안전).
+     * - DB 일시 장애는 poll 전체를 retry-backoff-ms 후 다시 받고, 무결성 오류는 행 단위로 기록해 문제 행만 건너뛴다.
+     * - 읽을 수 없는 레코드가 있으면 그 앞까지만 기록한 뒤 BatchListenerFailedException으로 지목해 DLT로 보낸다.
+     * - MESSAGE_SENT가 없는 레코드는 역직렬화 없이 SkippedChatEvent로 들어오며, 풀면 비어 있어 그대로 건너뛴다.
+     *   (BatchListenerFailedException의 인덱스가 poll 전체 기준이어야 하므로 레코드 필터는 쓰지 않음)
+     */
+    @KafkaListener(
+        topics = KafkaConfig.CHAT_MESSAGES_TOPIC,
+        groupId = "message-persistence-group",
+        containerFactory = "batchKafkaListenerContainerFactory",
+        batch = "true",
+        properties = ChatEventDeserializer.ACCEPTED_TYPES_CONFIG + "=MESSAGE_SENT",
+        autoStartup = "#{'${spring.kafka.enabled:true}' == 'true' && '${chat.message.persistence.mode:sync}' == 'async'}"
+    )
     public void persistMessageBatch(
             @Payload List<ChatEvent> events,
-            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+            @Header(KafkaHeaders.RECEIVED_PARTITION) List<Integer> partitions,
+            @Header(KafkaHeaders.GROUP_ID) String groupId,
             Acknowledgment ack) {
 
+        // 역직렬화 실패 레코드는 null로 들어옴
+        int readable = events.indexOf(null);
+        if (readable < 0) {
+            readable = events.size();
+        }
+
+        List<Integer> eventPartitions = new ArrayList<>();
+        List<ChatEvent> messageEvents = collectMessageEvents(
+                events.subList(0, readable), partitions, groupId, eventPartitions);
+        if (messageEvents.isEmpty()) {
+            complete(ack, events, readable);
+            return;
+        }
+
         try {
+            int inserted = messageBatchWriter.write(messageEvents);
+
             if (log.isDebugEnabled()) {
-                log.debug("메시지 저장 배치 이벤트 수신: 총 {}개 이벤트", events.size());
+                log.debug("메시지 배치 저장 완료: 레코드 {}개, 메시지 {}개, 신규 {}행",
+                        events.size(), messageEvents.size(), inserted);
             }
+            markSeen(groupId, messageEvents, eventPartitions);
 
-            // 처리할 메시지 이벤트만 필터링
-            List<ChatEvent> messageEvents = events.stream()
-                    .filter(event -> event.getEventType() == ChatEventType.MESSAGE_SENT
-                            && event.getMessageId() != null)
-                    .collect(Collectors.toList());
+        } catch (DataIntegrityViolationException e) {
+            log.warn("메시지 배치 저장 중 무결성 오류, 행 단위로 다시 기록합니다: 메시지 {}개, error={}",
+                    messageEvents.size(), e.getMessage());
+            messageBatchWriter.writeEach(messageEvents);
+            markSeen(groupId, messageEvents, eventPartitions);
 
-            if (!messageEvents.isEmpty()) {
-                // 메시지 ID 목록 추출
-                List<Long> messageIds = messageEvents.stream()
-                        .map(ChatEvent::getMessageId)
-                        .collect(Collectors.toList());
+        } catch (Exception e) {
+            // 오프셋을 커밋하지 않고 같은 poll을 다시 받음 (메시지 유실 방지)
+            log.error("메시지 배치 저장 실패, {}ms 후 재시도: 메시지 {}개, error={}",
+                    retryBackoffMs, messageEvents.size(), e.getMessage(), e);
+            ack.nack(0, Duration.ofMillis(retryBackoffMs));
+            return;
+        }
+        complete(ack, events, readable);
+    }
 
-                // 실제 운영에서는 배치 처리 로직 구현
-                // 예: 메시지 읽음 상태 업데이트, 검색 인덱스 업데이트 등
+    /**
+     * 모두 읽었으면 커밋, 읽을 수 없는 레코드가 있으면 에러 핸들러가 앞까지 커밋하고 그 레코드를 DLT로 보내도록 지목
+     */
+    private void complete(Acknowledgment ack, List<ChatEvent> events, int readable) {
+        if (readable < events.size()) {
+            throw new BatchListenerFailedException("역직렬화 실패 레코드", readable);
+        }
+        ack.acknowledge();
+    }
 
-                if (log.isDebugEnabled()) {
-                    log.debug("메시지 배치 처리 완료: {}개 메시지", messageIds.size());
+    /**
+     * 저장할 메시지 이벤트 수집 (봉투를 풀고, 이미 저장한 이벤트와 poll 안의 중복은 제외)
+     * 실패 후 다시 받은 poll을 중복으로 버리지 않도록 여기서는 확인만 하고, 기록은 저장에 성공한 뒤 markSeen에서 한다.
+     */
+    private List<ChatEvent> collectMessageEvents(List<ChatEvent> records, List<Integer> partitions,
+                                                 String groupId, List<Integer> eventPartitions) {
+        Map<String, ChatEvent> byEventId = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            int partition = partitions.get(i);
+            for (ChatEvent event : records.get(i).unpack()) {
+                if (event.getEventType() != ChatEventType.MESSAGE_SENT || event.getMessageId() == null) {
+                    continue;
+                }
+                if (eventDeduplicator.isDuplicate(groupId, KafkaConfig.CHAT_MESSAGES_TOPIC, partition, event.getEventId())) {
+                    continue;
+                }
+                if (byEventId.putIfAbsent(event.getEventId(), event) == null) {
+                    eventPartitions.add(partition);
                 }
             }
+        }
+        return new ArrayList<>(byEventId.values());
+    }
 
-            ack.acknowledge();
-
-        } catch (Exception e) {
-            log.error("메시지 배치 저장 처리 실패: events={}, error={}",
-                    events.size(), e.getMessage(), e);
-            ack.acknowledge();
+    private void markSeen(String groupId, List<ChatEvent> messageEvents, List<Integer> eventPartitions) {
+        for (int i = 0; i < messageEvents.size(); i++) {
+            eventDeduplicator.markSeen(groupId, KafkaConfig.CHAT_MESSAGES_TOPIC,
+                    eventPartitions.get(i), messageEvents.get(i).getEventId());
         }
     }
 }
@@ -1,103 +1,99 @@
 package com.example.chatapp.infrastructure.kafka.consumer;
 
 import com.example.chatapp.config.KafkaConfig;
+import com.example.chatapp.infrastructure.kafka.EventDeduplicator;
+import com.example.chatapp.infrastructure.kafka.serialization.ChatEventDeserializer;
 import com.example.chatapp.infrastructure.message.ChatEvent;
-import com.example.chatapp.infrastructure.message.ChatEventType;
+import com.example.chatapp.infrastructure.notification.NotificationFanout;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * 알림 처리를 담당하는 Consumer
- * 푸시 알림, 이메일 등의 알림 서비스 연동
+ * 메시지/채팅방 이벤트를 NotificationFanout으로 수신자별 알림으로 펼치고, 사용자별로 묶어 NotificationSink로 발송
+ * 팬아웃(수신자 조회)에 실패한 이벤트는 재시도 토픽으로 넘기고, 재시도를 모두 소진하면 DLT로 보낸다.
+ * 팬아웃하지 않는 타입은 라우팅 헤더만 보고 역직렬화 없이 건너뛴다.
+ *
+ * 재시도 토픽이 KafkaConfig의 재시도 템플릿을 쓰므로 Kafka가 켜진 경우에만 등록한다.
+ * 인메모리 이벤트 버스(spring.kafka.enabled=false)는 NotificationFanout을 직접 호출한다.
  */
 @Service
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationConsumer {
 
+    private final EventDeduplicator eventDeduplicator;
+    private final NotificationFanout notificationFanout;
+
+    @RetryableTopic(
+        attempts = "${chat.kafka.retry.attempts:4}",
+        backoff = @Backoff(
+            delayExpression = "${chat.kafka.retry.initial-delay-ms:1000}",
+            multiplierExpression = "${chat.kafka.retry.multiplier:4}",
+            maxDelayExpression = "${chat.kafka.retry.max-delay-ms:60000}"),
+        topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+        // 전달/분석 그룹과 같은 토픽을 읽으므로 재시도 토픽/DLT를 따로 둔다
+        retryTopicSuffix = KafkaConfig.NOTIFICATION_RETRY_SUFFIX,
+        dltTopicSuffix = KafkaConfig.NOTIFICATION_DLT_SUFFIX,
+        dltStrategy = DltStrategy.FAIL_ON_ERROR,
+        kafkaTemplate = KafkaConfig.RETRY_KAFKA_TEMPLATE
+    )
     @KafkaListener(
-        topics = KafkaConfig.CHAT_NOTIFICATIONS_TOPIC,
+        topics = {KafkaConfig.CHAT_NOTIFICATIONS_TOPIC, KafkaConfig.CHAT_MESSAGES_TOPIC, KafkaConfig.CHAT_EVENTS_TOPIC},
         groupId = "notification-group",
-        containerFactory = "kafkaListenerContainerFactory"
+        containerFactory = "kafkaListenerContainerFactory",
+        filter = "skippedEventFilter",
+        properties = ChatEventDeserializer.ACCEPTED_TYPES_CONFIG + "=MESSAGE_SENT,USER_JOINED,USER_LEFT,ROOM_CREATED,ROOM_DELETED",
+        autoStartup = "#{'${spring.kafka.enabled:true}' == 'true' && '${chat.notification.enabled:false}' == 'true'}"
     )
     public void handleNotification(
             @Payload ChatEvent event,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+            @Header(KafkaHeaders.GROUP_ID) String groupId,
             Acknowledgment ack) {
 
-        try {
-            if (log.isDebugEnabled()) {
-                log.debug("알림 이벤트 수신: eventType={}, userId={}",
-                        event.getEventType(), event.getUserId());
-            }
-
-            switch (event.getEventType()) {
-                case MESSAGE_SENT:
-                    handleMessageNotification(event);
-                    break;
-                case USER_JOINED:
-                    handleUserJoinNotification(event);
-                    break;
-                case USER_LEFT:
-                    handleUserLeaveNotification(event);
-                    break;
-                case ROOM_CREATED:
-                    handleRoomCreatedNotification(event);
-                    break;
-                default:
-                    if (log.isDebugEnabled()) {
-                        log.debug("처리하지 않는 알림 타입: {}", event.getEventType());
-                    }
-            }
-
-            ack.acknowledge();
-
-        } catch (Exception e) {
-            log.error("알림 처리 실패: eventType={}, userId={}, error={}",
-                    event.getEventType(), event.getUserId(), e.getMessage(), e);
-            ack.acknowledge();
+        // 다시 받은 알림은 중복 발송하지 않음 (발송에 성공한 알림만 기록, 실패는 예외로 재시도 토픽에 넘김)
+        for (ChatEvent fresh : eventDeduplicator.filterUnseen(groupId, topic, partition, event)) {
+            dispatch(fresh);
+            eventDeduplicator.markSeen(groupId, topic, partition, fresh.getEventId());
         }
+        ack.acknowledge();
     }
 
-    private void handleMessageNotification(ChatEvent event) {
-        // 새 메시지 알림 처리
-        // 실제 구현에서는 Firebase, APNs 등을 통한 푸시 알림 발송
-        log.info("새 메시지 알림: roomId={}, sender={}, content={}",
-                event.getChatRoomId(), event.getUsername(),
-                event.getMessageContent() != null ?
-                    event.getMessageContent().substring(0, Math.min(50, event.getMessageContent().length())) : "");
-
-        // TODO: 실제 푸시 알림 서비스 연동
-        // pushNotificationService.sendNewMessageNotification(event);
-    }
-
-    private void handleUserJoinNotification(ChatEvent event) {
-        // 사용자 입장 알림 처리
-        log.info("사용자 입장 알림: roomId={}, user={}",
-                event.getChatRoomId(), event.getUsername());
-
-        // TODO: 필요시 입장 알림 발송
-    }
-
-    private void handleUserLeaveNotification(ChatEvent event) {
-        // 사용자 퇴장 알림 처리
-        log.info("사용자 퇴장 알림: roomId={}, user={}",
-                event.getChatRoomId(), event.getUsername());
+    /**
+     * 재시도를 모두 소진했거나 읽을 수 없어 DLT로 간 알림 기록
+     */
+    @DltHandler
+    public void handleDeadLetter(
+            @Payload ChatEvent event,
+            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+            @Header(value = KafkaHeaders.DLT_EXCEPTION_MESSAGE, required = false) byte[] reason) {
 
-        // TODO: 필요시 퇴장 알림 발송
+        log.error("알림 처리 실패 이벤트 DLT 도착: topic={}, eventType={}, roomId={}, eventId={}, reason={}",
+                topic, event.getEventType(), event.getChatRoomId(), event.getEventId(),
+                reason != null ? new String(reason, StandardCharsets.UTF_8) : null);
     }
 
-    private void handleRoomCreatedNotification(ChatEvent event) {
-        // 채팅방 생성 알림 처리
-        log.info("채팅방 생성 알림: roomId={}, creator={}",
-                event.getChatRoomId(), event.getUsername());
-
-        // TODO: 채팅방 생성 알림 발송
+    /**
+     * 알림 팬아웃 (수신자별 알림은 묶음 창이 끝날 때 발송)
+     */
+    private void dispatch(ChatEvent event) {
+        notificationFanout.fanOut(event);
     }
 }
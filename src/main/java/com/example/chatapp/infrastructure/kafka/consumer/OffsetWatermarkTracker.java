@@ -0,0 +1,101 @@
+package com.example.chatapp.infrastructure.kafka.consumer;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 파티션별 커밋 가능 오프셋(연속 완료 지점) 추적기
+ *
+ * 레코드를 순서와 상관없이 완료하더라도, 커밋은 poll 순서상 앞의 레코드가 모두 끝난 지점까지만 한다.
+ * 따라서 재시작하면 완료하지 못한 레코드부터 다시 받는다 (이미 끝낸 뒤쪽 레코드는 중복 필터가 거름).
+ * - register, advance, pending, forget: 해당 파티션을 가진 컨슈머 스레드에서만 호출
+ * - complete: 작업자 스레드에서 호출
+ * 오프셋은 연속이라고 가정하지 않고 등록 순서를 따른다 (트랜잭션 마커, 압축으로 빈 번호가 있을 수 있음).
+ */
+final class OffsetWatermarkTracker {
+
+    private final ConcurrentHashMap<TopicPartition, PartitionOffsets> partitions = new ConcurrentHashMap<>();
+    private final Object completion = new Object();
+
+    void register(TopicPartition partition, long offset) {
+        partitions.computeIfAbsent(partition, p -> new PartitionOffsets()).pending.add(offset);
+    }
+
+    void complete(TopicPartition partition, long offset) {
+        PartitionOffsets offsets = partitions.get(partition);
+        if (offsets == null) {
+            // 이미 회수된 파티션 (다음 소유자가 다시 처리함)
+            return;
+        }
+        offsets.completed.add(offset);
+        synchronized (completion) {
+            completion.notifyAll();
+        }
+    }
+
+    /**
+     * 연속으로 완료된 지점까지 워터마크를 올리고, 올라간 파티션의 커밋 오프셋(다음에 읽을 위치)을 반환
+     */
+    Map<TopicPartition, OffsetAndMetadata> advance(Collection<TopicPartition> owned) {
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        for (TopicPartition partition : owned) {
+            PartitionOffsets offsets = partitions.get(partition);
+            if (offsets == null) {
+                continue;
+            }
+            long watermark = offsets.watermark;
+            while (!offsets.pending.isEmpty() && offsets.completed.remove(offsets.pending.peekFirst())) {
+                watermark = offsets.pending.pollFirst();
+            }
+            if (watermark != offsets.watermark) {
+                offsets.watermark = watermark;
+                commits.put(partition, new OffsetAndMetadata(watermark + 1));
+            }
+        }
+        return commits;
+    }
+
+    /**
+     * 아직 워터마크 뒤에 남은 레코드 수 (완료했지만 앞 레코드를 기다리는 레코드 포함)
+     */
+    int pending(Collection<TopicPartition> owned) {
+        int pending = 0;
+        for (TopicPartition partition : owned) {
+            PartitionOffsets offsets = partitions.get(partition);
+            if (offsets != null) {
+                pending += offsets.pending.size();
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * 작업자가 레코드 하나를 완료할 때까지 최대 timeoutMs 대기
+     */
+    void awaitCompletion(long timeoutMs) throws InterruptedException {
+        synchronized (completion) {
+            completion.wait(Math.max(1, timeoutMs));
+        }
+    }
+
+    /**
+     * 회수/유실된 파티션 상태 제거
+     */
+    void forget(Collection<TopicPartition> revoked) {
+        revoked.forEach(partitions::remove);
+    }
+
+    private static final class PartitionOffsets {
+
+        private final ArrayDeque<Long> pending = new ArrayDeque<>();
+        private final Set<Long> completed = ConcurrentHashMap.newKeySet();
+        private long watermark = -1;
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.chatapp.infrastructure.kafka.consumer;
+
+import com.example.chatapp.config.KafkaConfig;
+import com.example.chatapp.infrastructure.kafka.EventDeduplicator;
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.websocket.LocalRoomSubscriptions;
+import com.example.chatapp.infrastructure.websocket.WebSocketService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파티션 안 키 순서 병렬 전달 Consumer (chat.kafka.delivery.mode=parallel)
+ *
+ * 레코드 모드는 파티션 하나를 한 스레드가 순서대로 처리하므로, 전송이 느린 채팅방 하나가 같은 파티션의 다른 방을 모두 붙잡는다.
+ * 이 모드는 poll로 받은 레코드를 채팅방 ID별 가상 스레드 작업자로 나눠 보낸다.
+ * - 같은 채팅방은 받은 순서대로 하나씩, 다른 채팅방은 동시에 전송한다 (동시성이 파티션 수에 묶이지 않음).
+ * - 오프셋은 레코드마다 완료를 기록하고, 파티션별로 앞 레코드가 모두 끝난 지점(워터마크)까지만 커밋한다.
+ *   커밋은 KafkaConsumer를 가진 리스너 스레드에서 다음 poll 때, 또는 유휴 이벤트 때 한다.
+ * - 컨슈머 스레드가 가진 파티션의 미완료 레코드가 max-in-flight를 넘으면 리스너 스레드가 capacity-wait-ms까지 완료를 기다리고,
+ *   그래도 밀려 있으면 파티션을 일시 중지한 채 poll을 이어간다 (max.poll.interval.ms 초과로 그룹에서 쫓겨나지 않게).
+ *   미완료가 한도 아래로 내려가면 다음 배치나 유휴 이벤트 때 다시 재개한다.
+ * - 리밸런스로 파티션을 내줄 때는 진행 중인 레코드를 drain-timeout-ms까지 기다린 뒤 워터마크를 커밋한다.
+ *
+ * 레코드 모드와 같은 그룹이라 모드를 바꿔도 오프셋이 이어진다 (chat.kafka.delivery.fanout=node면 노드마다 고유한 그룹).
+ * 이 노드에 구독 세션이 없는 채팅방 레코드는 작업자에 넘기지 않고 바로 완료 처리한다.
+ * 전달 실패는 재시도 토픽으로 넘기지 않고 배치 모드처럼 메트릭과 로그로 남기며, 읽을 수 없는 레코드는 바로 DLT로 보낸다.
+ */
+@Service
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ParallelDeliveryConsumer implements ConsumerAwareRebalanceListener {
+
+    public static final String LISTENER_ID = "message-delivery-parallel";
+    // chatRoomId가 없는 레코드는 한 키로 모아 순서대로 처리
+    private static final long NO_ROOM_KEY = 0L;
+
+    private final WebSocketService webSocketService;
+    private final MeterRegistry meterRegistry;
+    private final EventDeduplicator eventDeduplicator;
+    private final DeadLetterPublishingRecoverer deadLetterPublishingRecoverer;
+    private final LocalRoomSubscriptions localRoomSubscriptions;
+    private final DeliveryGroups deliveryGroups;
+
+    @Value("${chat.kafka.delivery.parallel.max-in-flight:2000}")
+    private int maxInFlight;
+
+    @Value("${chat.kafka.delivery.parallel.drain-timeout-ms:10000}")
+    private long drainTimeoutMs;
+
+    @Value("${chat.kafka.delivery.parallel.capacity-wait-ms:1000}")
+    private long capacityWaitMs;
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final OffsetWatermarkTracker offsets = new OffsetWatermarkTracker();
+    private KeyOrderedExecutor executor;
+    // 미완료 레코드가 밀려 이 컨슈머가 직접 일시 중지한 파티션 (컨슈머 스레드마다 자기 파티션만 넣고 뺌)
+    private final Set<TopicPartition> pausedForCapacity = ConcurrentHashMap.newKeySet();
+
+    private Timer latency;
+    private Counter failures;
+    private Counter localSkipped;
+    private Counter capacityPauses;
+
+    @PostConstruct
+    public void init() {
+        executor = new KeyOrderedExecutor(workers);
+        latency = Timer.builder("chat.delivery.record.to.websocket")
+                .description("레코드 타임스탬프(발행 시각)부터 WebSocket 프레임 전송까지 걸린 시간 (작업자 대기 포함)")
+                .tag("mode", "parallel")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        failures = Counter.builder("chat.delivery.parallel.failures")
+                .description("병렬 전달 모드에서 전송에 실패한 레코드 수")
+                .register(meterRegistry);
+        localSkipped = Counter.builder("chat.delivery.local.skipped")
+                .description("이 노드에 구독 세션이 없어 전송하지 않은 이벤트 수")
+                .register(meterRegistry);
+        capacityPauses = Counter.builder("chat.delivery.parallel.capacity.pauses")
+                .description("미완료 레코드가 밀려 파티션을 일시 중지한 횟수")
+                .register(meterRegistry);
+        Gauge.builder("chat.delivery.parallel.active.rooms", executor, KeyOrderedExecutor::activeKeys)
+                .description("전송 중이거나 대기 중인 레코드가 있는 채팅방 수")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * 메시지 레코드를 채팅방별 작업자에 나눠 주고, 완료된 지점까지 커밋
+     * 컨테이너는 ack 없이 커밋하지 않으므로(MANUAL) 커밋은 전부 여기서 직접 한다.
+     */
+    @KafkaListener(
+        id = LISTENER_ID,
+        topics = KafkaConfig.CHAT_MESSAGES_TOPIC,
+        groupId = "#{@deliveryGroups.messageGroup}",
+        containerFactory = "parallelKafkaListenerContainerFactory",
+        batch = "true",
+        autoStartup = "#{'${spring.kafka.enabled:true}' == 'true' && '${chat.kafka.delivery.mode:record}' == 'parallel'}"
+    )
+    public void handleMessageRecords(List<ConsumerRecord<String, ChatEvent>> records, Consumer<?, ?> consumer) {
+        for (ConsumerRecord<String, ChatEvent> record : records) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            offsets.register(partition, record.offset());
+
+            if (record.value() == null) {
+                // 역직렬화 실패 레코드는 원본 바이트 그대로 DLT로 보내고 완료 처리
+                deadLetterPublishingRecoverer.accept(record, consumer,
+                        new IllegalStateException("역직렬화 실패 레코드"));
+                offsets.complete(partition, record.offset());
+                continue;
+            }
+            Long roomId = record.value().getChatRoomId();
+            if (!localRoomSubscriptions.hasSubscribers(roomId)) {
+                // 이 노드에 구독 세션이 없는 채팅방은 작업자에 넘기지 않고 바로 완료
+                localSkipped.increment();
+                offsets.complete(partition, record.offset());
+                continue;
+            }
+            executor.submit(roomId != null ? roomId : NO_ROOM_KEY, () -> deliver(record, partition));
+        }
+
+        commitCompleted(consumer, consumer.assignment());
+        awaitCapacity(consumer);
+        resumeIfCapacity(consumer);
+    }
+
+    private void deliver(ConsumerRecord<String, ChatEvent> record, TopicPartition partition) {
+        try {
+            // 다시 받은 이벤트는 클라이언트에 재전송하지 않음 (전달에 성공한 이벤트만 기록)
+            String groupId = deliveryGroups.getMessageGroup();
+            for (ChatEvent fresh : eventDeduplicator.filterUnseen(groupId, record.topic(), record.partition(), record.value())) {
+                webSocketService.broadcastToRoom(fresh.getChatRoomId(), fresh);
+                eventDeduplicator.markSeen(groupId, record.topic(), record.partition(), fresh.getEventId());
+            }
+            // 발행 측 시계 기준이므로 시계가 어긋나 음수가 되면 0으로 기록
+            latency.record(Math.max(0, System.currentTimeMillis() - record.timestamp()), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            failures.increment();
+            log.error("메시지 병렬 전달 실패: roomId={}, partition={}, offset={}, error={}",
+                    record.value().getChatRoomId(), partition, record.offset(), e.getMessage());
+        } finally {
+            offsets.complete(partition, record.offset());
+        }
+    }
+
+    // 미완료 레코드가 한도 아래로 내려갈 때까지 완료된 지점을 커밋하며 capacity-wait-ms까지 대기
+    // 그래도 밀려 있으면 파티션을 일시 중지하고 돌아가 poll을 이어감 (리스너 스레드를 max.poll.interval.ms 넘게 붙잡지 않음)
+    private void awaitCapacity(Consumer<?, ?> consumer) {
+        Collection<TopicPartition> owned = consumer.assignment();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(capacityWaitMs);
+        while (offsets.pending(owned) > maxInFlight) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs <= 0) {
+                pauseForCapacity(consumer, owned);
+                return;
+            }
+            try {
+                offsets.awaitCompletion(Math.min(100, remainingMs));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            commitCompleted(consumer, owned);
+        }
+    }
+
+    private void pauseForCapacity(Consumer<?, ?> consumer, Collection<TopicPartition> owned) {
+        List<TopicPartition> running = owned.stream().filter(tp -> !pausedForCapacity.contains(tp)).toList();
+        if (running.isEmpty()) {
+            return;
+        }
+        consumer.pause(running);
+        pausedForCapacity.addAll(running);
+        capacityPauses.increment();
+        log.warn("병렬 전달이 밀려 파티션 일시 중지: partitions={}, 미완료={}", running, offsets.pending(owned));
+    }
+
+    // 미완료 레코드가 한도 아래로 내려갔으면 일시 중지한 파티션을 재개 (컨슈머 스레드에서만 호출)
+    private void resumeIfCapacity(Consumer<?, ?> consumer) {
+        Collection<TopicPartition> owned = consumer.assignment();
+        List<TopicPartition> paused = owned.stream().filter(pausedForCapacity::contains).toList();
+        if (paused.isEmpty() || offsets.pending(owned) > maxInFlight) {
+            return;
+        }
+        consumer.resume(paused);
+        paused.forEach(pausedForCapacity::remove);
+        log.info("병렬 전달 파티션 재개: partitions={}", paused);
+    }
+
+    private void commitCompleted(Consumer<?, ?> consumer, Collection<TopicPartition> owned) {
+        Map<TopicPartition, OffsetAndMetadata> commits = offsets.advance(owned);
+        if (commits.isEmpty()) {
+            return;
+        }
+        consumer.commitAsync(commits, (committed, e) -> {
+            if (e != null) {
+                // 다음 커밋이 더 높은 워터마크로 덮어쓰므로 재시도하지 않음
+                log.warn("병렬 전달 오프셋 커밋 실패: offsets={}, error={}", committed, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 새 레코드가 없어도 마지막으로 완료된 지점을 커밋 (유휴 이벤트는 컨슈머 스레드에서 발행됨)
+     */
+    @EventListener(condition = "event.listenerId.startsWith('" + LISTENER_ID + "')")
+    public void onIdle(ListenerContainerIdleEvent event) {
+        Consumer<?, ?> consumer = event.getConsumer();
+        if (consumer != null) {
+            commitCompleted(consumer, consumer.assignment());
+            resumeIfCapacity(consumer);
+        }
+    }
+
+    /**
+     * 파티션을 내주기 전에 진행 중인 레코드를 기다렸다가 워터마크를 동기 커밋
+     * 제한 시간 안에 끝나지 않은 레코드는 다음 소유자가 다시 받는다 (이미 보낸 이벤트가 다시 나갈 수 있음).
+     */
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        Map<TopicPartition, OffsetAndMetadata> commits = offsets.advance(partitions);
+        while (offsets.pending(partitions) > 0 && System.currentTimeMillis() < deadline) {
+            try {
+                offsets.awaitCompletion(deadline - System.currentTimeMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            commits.putAll(offsets.advance(partitions));
+        }
+        if (offsets.pending(partitions) > 0) {
+            log.warn("파티션 회수 전 병렬 전달을 모두 마치지 못함: partitions={}, 미완료={}",
+                    partitions, offsets.pending(partitions));
+        }
+        try {
+            if (!commits.isEmpty()) {
+                consumer.commitSync(commits);
+            }
+        } catch (Exception e) {
+            log.warn("파티션 회수 전 오프셋 커밋 실패: offsets={}, error={}", commits, e.getMessage());
+        } finally {
+            offsets.forget(partitions);
+            pausedForCapacity.removeAll(partitions);
+        }
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        // 이미 다른 컨슈머에게 넘어가 커밋할 수 없음
+        offsets.forget(partitions);
+        pausedForCapacity.removeAll(partitions);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.chatapp.infrastructure.kafka.consumer;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 번의 poll로 받은 이벤트를 채팅방별 WebSocket 프레임으로 묶는 도구
+ *
+ * - 봉투 레코드는 풀어서 담긴 순서대로 처리한다.
+ * - 같은 채팅방 이벤트는 받은 순서를 유지한다 (같은 방은 같은 파티션이므로 poll 안에서도 순서가 보장됨).
+ * - 프레임 하나가 maxEvents개 또는 대략 maxBytes를 넘으면 다음 프레임으로 나눈다.
+ */
+final class RoomFrameCoalescer {
+
+    // 프레임 안 이벤트 하나의 고정 필드(eventId, type, roomId, timestamp 등) 대략 크기
+    static final int EVENT_OVERHEAD_BYTES = 200;
+
+    private RoomFrameCoalescer() {
+    }
+
+    static List<RoomFrame> coalesce(List<ChatEvent> records, int maxEvents, int maxBytes) {
+        Map<Long, List<RoomFrame>> framesByRoom = new LinkedHashMap<>();
+
+        for (ChatEvent event : ChatEvent.unpackAll(records)) {
+            List<RoomFrame> roomFrames = framesByRoom.computeIfAbsent(event.getChatRoomId(), id -> new ArrayList<>());
+            RoomFrame current = roomFrames.isEmpty() ? null : roomFrames.get(roomFrames.size() - 1);
+
+            int size = estimateBytes(event);
+            // 새 프레임은 한도와 상관없이 첫 이벤트를 담는다 (이벤트 하나가 한도를 넘어도 전달은 됨)
+            if (current == null || !current.fits(size, maxEvents, maxBytes)) {
+                current = new RoomFrame(event.getChatRoomId());
+                roomFrames.add(current);
+            }
+            current.add(event, size);
+        }
+
+        List<RoomFrame> frames = new ArrayList<>();
+        framesByRoom.values().forEach(frames::addAll);
+        return frames;
+    }
+
+    /**
+     * JSON 직렬화 후 크기 추정 (한글 본문은 UTF-8로 글자당 최대 3바이트)
+     */
+    static int estimateBytes(ChatEvent event) {
+        String content = event.getMessageContent() != null ? event.getMessageContent() : event.getContent();
+        return EVENT_OVERHEAD_BYTES + (content != null ? content.length() * 3 : 0);
+    }
+
+    /**
+     * 채팅방 하나로 보낼 BATCH 프레임
+     */
+    static final class RoomFrame {
+
+        private final Long roomId;
+        private final List<ChatEvent> events = new ArrayList<>();
+        private int estimatedBytes;
+
+        RoomFrame(Long roomId) {
+            this.roomId = roomId;
+        }
+
+        Long getRoomId() {
+            return roomId;
+        }
+
+        List<ChatEvent> getEvents() {
+            return events;
+        }
+
+        private boolean fits(int size, int maxEvents, int maxBytes) {
+            return events.size() < maxEvents && estimatedBytes + size <= maxBytes;
+        }
+
+        private void add(ChatEvent event, int size) {
+            events.add(event);
+            estimatedBytes += size;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.chatapp.infrastructure.kafka.consumer;
+
+import com.example.chatapp.infrastructure.kafka.serialization.SkippedChatEvent;
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.adapter.RecordFilterStrategy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 역직렬화기가 본문을 읽지 않고 건너뛴 레코드(SkippedChatEvent)를 리스너에 넘기기 전에 버리는 필터
+ *
+ * chat.deserializer.accepted-types를 지정한 레코드 리스너가 @KafkaListener(filter = "skippedEventFilter")로 사용한다.
+ * 버린 레코드는 컨테이너가 대신 ack한다 (kafkaListenerContainerFactory의 ackDiscarded).
+ */
+@Component
+@RequiredArgsConstructor
+public class SkippedEventFilter implements RecordFilterStrategy<String, ChatEvent> {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Counter> skipped = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean filter(ConsumerRecord<String, ChatEvent> record) {
+        if (!(record.value() instanceof SkippedChatEvent)) {
+            return false;
+        }
+        skipped.computeIfAbsent(record.topic(), topic -> Counter.builder("chat.kafka.records.skipped")
+                .description("라우팅 헤더만 보고 역직렬화 없이 버린 레코드 수")
+                .tag("topic", topic)
+                .register(meterRegistry)).increment();
+        return true;
+    }
+}
@@ -0,0 +1,598 @@
+package com.example.chatapp.infrastructure.kafka.replay;
+
+import com.example.chatapp.config.KafkaConfig;
+import com.example.chatapp.domain.Message;
+import com.example.chatapp.infrastructure.analytics.ActivityRollupWriter;
+import com.example.chatapp.infrastructure.analytics.ActivityWindowAggregator;
+import com.example.chatapp.infrastructure.analytics.RollupGranularity;
+import com.example.chatapp.infrastructure.id.SnowflakeIdGenerator;
+import com.example.chatapp.infrastructure.kafka.EventDeduplicator;
+import com.example.chatapp.infrastructure.kafka.ListenerConcurrencyController;
+import com.example.chatapp.infrastructure.kafka.consumer.DeliveryGroups;
+import com.example.chatapp.infrastructure.kafka.serialization.ChatEventDeserializer;
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.message.ChatEventType;
+import com.example.chatapp.infrastructure.notification.NotificationFanout;
+import com.example.chatapp.infrastructure.persistence.MessageBatchWriter;
+import com.example.chatapp.infrastructure.websocket.RoomEventDelivery;
+import com.example.chatapp.repository.MessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 시간 구간 재처리/보충 서비스
+ * 배포 버그로 잘못 집계했거나 처리하지 못한 구간을 운영자가 지정하면, 대상 그룹의 처리 로직을 그 구간의 레코드로 다시 실행한다.
+ *
+ * - 라이브 컨슈머 그룹의 오프셋은 건드리지 않는다. 그룹 없이 파티션을 직접 할당한 전용 컨슈머가 offsetsForTimes로
+ *   구간 시작 오프셋을 찾아 읽고, 구간 끝 오프셋에 닿은 파티션부터 멈춘다. 커밋하지 않으므로 언제 중단해도 된다.
+ * - 대상 그룹 ID의 중복 필터를 함께 써서 라이브 컨슈머가 최근에 처리한 이벤트는 다시 처리하지 않는다.
+ *   중복 필터는 노드 메모리에 있으므로 작업을 실행한 노드가 처리한 이벤트만 걸러진다.
+ * - 전달 재처리는 작업을 실행한 노드의 로컬 구독 세션에만 보낸다 (STOMP 단순 브로커는 노드마다 따로).
+ *   여러 노드로 운영하면 재전송이 필요한 노드마다 따로 실행해야 한다.
+ *   결과를 다시 계산하는 대상(분석)은 예외로, 구간 결과를 먼저 비우고 이벤트 시각이 구간 안인 이벤트를 모두 다시 반영한다.
+ * - Kafka 보존 기간이 지나 지워진 앞부분 메시지 구간은 대상이 지원하면(분석) DB에서 키셋 페이지로 읽어 보충하고,
+ *   Kafka 재처리는 보충이 끝난 시점부터 시작해 두 경로가 겹치지 않는다.
+ * - 라이브 트래픽을 밀어내지 않도록 초당 처리 이벤트 수를 제한하고, 전달 그룹 lag 때문에 낮은 우선순위 그룹이
+ *   일시 정지된 동안에는 재처리도 멈춘다.
+ * - 분석 재처리는 분/시간 롤업(ActivityWindowAggregator)의 메시지 집계에만 반영한다. 핫스팟/급상승 키워드는 수신 시각 기준
+ *   최근 구간 지표라 과거 이벤트를 넣으면 현재 순위가 왜곡된다. 롤업은 누적 기록이라 시작 전에 구간(정시 단위, 이미 기록된 창까지)의
+ *   메시지 집계를 비우므로, 중단하면 그 구간은 일부만 다시 채워진 상태가 되어 같은 구간을 다시 실행해야 한다.
+ * - 한 번에 한 작업만 실행한다 (같은 구간을 동시에 두 번 반영하지 않도록).
+ *
+ * 메트릭
+ * - chat.replay.events: 처리 건수 (target, source=kafka|database, result=replayed|skipped 태그)
+ * - chat.replay.progress: 실행 중인 작업의 Kafka 구간 진행률 (0~1)
+ * - chat.replay.remaining.offsets: 실행 중인 작업이 남은 오프셋 수
+ * - chat.replay.throttled: 속도 제한/라이브 트래픽 양보로 기다린 시간 (reason=rate|live-traffic 태그)
+ */
+@Service
+@ConditionalOnExpression("${spring.kafka.enabled:true} and ${chat.kafka.replay.enabled:false}")
+@Slf4j
+public class EventReplayService {
+
+    private static final Set<String> REPLAYABLE_TOPICS = Set.of(KafkaConfig.CHAT_MESSAGES_TOPIC, KafkaConfig.CHAT_EVENTS_TOPIC);
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final long YIELD_CHECK_MS = 1000;
+    private static final int MAX_EMPTY_POLLS = 10;
+    private static final int MAX_REMEMBERED_JOBS = 20;
+
+    private final ConsumerFactory<String, byte[]> replayConsumerFactory;
+    private final MessageRepository messageRepository;
+    private final EventDeduplicator eventDeduplicator;
+    private final RoomEventDelivery roomEventDelivery;
+    private final DeliveryGroups deliveryGroups;
+    private final ActivityWindowAggregator activityWindowAggregator;
+    private final ActivityRollupWriter activityRollupWriter;
+    private final NotificationFanout notificationFanout;
+    private final MessageBatchWriter messageBatchWriter;
+    private final ObjectProvider<ListenerConcurrencyController> concurrencyController;
+    private final MeterRegistry meterRegistry;
+    private final ReplayRateLimiter rateLimiter;
+    private final int batchSize;
+    private final long analyticsLatenessMs;
+    // 분석 창이 닫히고(allowed-lateness) 롤업 테이블에 기록될(flush-interval) 때까지 걸리는 시간
+    private final Duration rollupSettleTime;
+
+    private final AtomicReference<ReplayJob> currentJob = new AtomicReference<>();
+    private final Map<String, ReplayJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ReplayJob> eldest) {
+            return size() > MAX_REMEMBERED_JOBS;
+        }
+    };
+    private volatile Thread worker;
+
+    public EventReplayService(
+            ConsumerFactory<String, byte[]> replayConsumerFactory,
+            MessageRepository messageRepository,
+            EventDeduplicator eventDeduplicator,
+            RoomEventDelivery roomEventDelivery,
+            DeliveryGroups deliveryGroups,
+            ActivityWindowAggregator activityWindowAggregator,
+            ActivityRollupWriter activityRollupWriter,
+            NotificationFanout notificationFanout,
+            MessageBatchWriter messageBatchWriter,
+            ObjectProvider<ListenerConcurrencyController> concurrencyController,
+            MeterRegistry meterRegistry,
+            @Value("${chat.kafka.replay.max-events-per-second:500}") int maxEventsPerSecond,
+            @Value("${chat.kafka.replay.batch-size:200}") int batchSize,
+            @Value("${chat.analytics.allowed-lateness-ms:5000}") long analyticsLatenessMs,
+            @Value("${chat.analytics.flush-interval-ms:10000}") long analyticsFlushIntervalMs) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batch-size는 1 이상이어야 합니다");
+        }
+        this.replayConsumerFactory = replayConsumerFactory;
+        this.messageRepository = messageRepository;
+        this.eventDeduplicator = eventDeduplicator;
+        this.roomEventDelivery = roomEventDelivery;
+        this.deliveryGroups = deliveryGroups;
+        this.activityWindowAggregator = activityWindowAggregator;
+        this.activityRollupWriter = activityRollupWriter;
+        this.notificationFanout = notificationFanout;
+        this.messageBatchWriter = messageBatchWriter;
+        this.concurrencyController = concurrencyController;
+        this.meterRegistry = meterRegistry;
+        this.rateLimiter = new ReplayRateLimiter(maxEventsPerSecond);
+        this.batchSize = batchSize;
+        this.analyticsLatenessMs = analyticsLatenessMs;
+        this.rollupSettleTime = Duration.ofMillis(analyticsLatenessMs + analyticsFlushIntervalMs);
+
+        Gauge.builder("chat.replay.progress", currentJob, job -> job.get() != null ? job.get().getProgress() : 0)
+                .description("실행 중인 재처리 작업의 Kafka 구간 진행률 (0~1)")
+                .register(meterRegistry);
+        Gauge.builder("chat.replay.remaining.offsets", currentJob, job -> job.get() != null
+                        ? Math.max(0, job.get().getTotalOffsets() - job.get().getConsumedOffsets()) : 0)
+                .description("실행 중인 재처리 작업이 남은 오프셋 수")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ReplayJob job = currentJob.get();
+        if (job != null) {
+            job.requestCancel();
+        }
+        Thread running = worker;
+        if (running != null) {
+            running.interrupt();
+        }
+    }
+
+    /**
+     * 재처리 작업 시작 (작업은 별도 스레드에서 실행되고, 진행 상황은 반환한 작업이나 find로 확인)
+     *
+     * @throws IllegalArgumentException 재처리할 수 없는 토픽/대상 조합이거나 구간이 잘못된 경우
+     *                                  (분석은 정시 단위이면서 이미 롤업이 기록된 구간만 가능)
+     * @throws IllegalStateException    이미 실행 중인 작업이 있는 경우
+     */
+    public ReplayJob start(ReplayTarget target, String topic, LocalDateTime from, LocalDateTime to) {
+        if (!REPLAYABLE_TOPICS.contains(topic)) {
+            throw new IllegalArgumentException("재처리할 수 없는 토픽입니다: " + topic);
+        }
+        if (target == ReplayTarget.PERSISTENCE && !KafkaConfig.CHAT_MESSAGES_TOPIC.equals(topic)) {
+            throw new IllegalArgumentException("메시지 저장 재처리는 메시지 토픽만 가능합니다");
+        }
+        if (target == ReplayTarget.ANALYTICS && !KafkaConfig.CHAT_MESSAGES_TOPIC.equals(topic)) {
+            throw new IllegalArgumentException("분석 재처리는 메시지 토픽만 가능합니다");
+        }
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("재처리 구간의 시작은 끝보다 앞서야 합니다");
+        }
+        if (target == ReplayTarget.ANALYTICS) {
+            validateRollupRange(from, to);
+        }
+        if (to.isAfter(LocalDateTime.now())) {
+            to = LocalDateTime.now();
+        }
+
+        ReplayJob job = new ReplayJob(Long.toString(SnowflakeIdGenerator.global().nextId()), target, topic, from, to);
+        if (!currentJob.compareAndSet(null, job)) {
+            throw new IllegalStateException("이미 실행 중인 재처리 작업이 있습니다: " + currentJob.get().getId());
+        }
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+        }
+        worker = Thread.ofVirtual().name("chat-replay-" + job.getId()).start(() -> run(job));
+        log.info("재처리 시작: jobId={}, target={}, topic={}, from={}, to={}", job.getId(), target, topic, from, job.getTo());
+        return job;
+    }
+
+    /**
+     * 분석 재처리 구간 확인: 비우는 롤업 창이 구간 밖 값을 담지 않도록 정시 단위여야 하고,
+     * 라이브 집계기가 아직 기록하지 않은 창을 비우지 않도록 기록이 끝난 구간이어야 한다.
+     */
+    private void validateRollupRange(LocalDateTime from, LocalDateTime to) {
+        if (!RollupGranularity.HOUR.windowStart(from).equals(from) || !RollupGranularity.HOUR.windowStart(to).equals(to)) {
+            throw new IllegalArgumentException("분석 재처리 구간은 정시 단위여야 합니다");
+        }
+        if (to.plus(rollupSettleTime).isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("분석 재처리 구간은 롤업 기록이 끝난 창까지만 가능합니다");
+        }
+    }
+
+    public Optional<ReplayJob> current() {
+        return Optional.ofNullable(currentJob.get());
+    }
+
+    public Optional<ReplayJob> find(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId));
+        }
+    }
+
+    /**
+     * 실행 중인 작업 중단 요청 (처리 중인 배치를 끝내고 멈춤)
+     */
+    public Optional<ReplayJob> cancel(String jobId) {
+        Optional<ReplayJob> job = find(jobId);
+        job.ifPresent(ReplayJob::requestCancel);
+        return job;
+    }
+
+    private void run(ReplayJob job) {
+        try {
+            replay(job);
+            job.finish(job.isCancelRequested() ? ReplayJob.State.CANCELLED : ReplayJob.State.COMPLETED, null);
+            log.info("재처리 종료: jobId={}, state={}, replayed={}, backfilled={}, skipped={}",
+                    job.getId(), job.getState(), job.getReplayed(), job.getBackfilled(), job.getSkipped());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(ReplayJob.State.CANCELLED, "중단됨");
+            log.warn("재처리 중단: jobId={}", job.getId());
+        } catch (Exception e) {
+            job.finish(ReplayJob.State.FAILED, e.getMessage());
+            log.error("재처리 실패: jobId={}, replayed={}, backfilled={}, error={}",
+                    job.getId(), job.getReplayed(), job.getBackfilled(), e.getMessage(), e);
+        } finally {
+            worker = null;
+            currentJob.set(null);
+        }
+    }
+
+    private void replay(ReplayJob job) throws InterruptedException {
+        long fromMillis = epochMillis(job.getFrom());
+        long toMillis = epochMillis(job.getTo());
+
+        if (job.getTarget() == ReplayTarget.ANALYTICS) {
+            int reset = activityRollupWriter.resetMessageCounts(job.getFrom(), job.getTo());
+            log.info("재처리 구간 롤업 메시지 집계 초기화: jobId={}, rows={}", job.getId(), reset);
+        }
+        // 다시 계산하는 대상은 이벤트 시각으로 구간을 자르므로, 끝 직전에 생성돼 늦게 기록된 레코드까지 읽음
+        long readUntilMillis = job.getTarget().isRebuild() ? toMillis + analyticsLatenessMs : toMillis;
+
+        try (Consumer<String, byte[]> consumer = replayConsumerFactory.createConsumer()) {
+            List<TopicPartition> partitions = consumer.partitionsFor(job.getTopic()).stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+
+            long replayFromMillis = retainedFrom(consumer, partitions, fromMillis, toMillis);
+            if (replayFromMillis > fromMillis) {
+                LocalDateTime gapUntil = localDateTime(replayFromMillis);
+                job.retentionGapUntil(gapUntil);
+                if (job.getTarget().isDatabaseBackfill() && KafkaConfig.CHAT_MESSAGES_TOPIC.equals(job.getTopic())) {
+                    backfillFromDatabase(job, job.getFrom(), gapUntil);
+                } else {
+                    log.warn("Kafka 보존 기간 밖 구간은 재처리하지 못합니다: jobId={}, from={}, until={}",
+                            job.getId(), job.getFrom(), gapUntil);
+                }
+            }
+            if (replayFromMillis < toMillis && !job.isCancelRequested()) {
+                replayFromKafka(job, consumer, partitions, replayFromMillis, readUntilMillis);
+            }
+        }
+    }
+
+    /**
+     * Kafka에 남아 있는 구간의 시작 시각
+     * 앞부분이 지워진 파티션(시작 오프셋 > 0)의 첫 레코드가 from보다 늦으면 그 사이는 지워졌을 수 있으므로,
+     * 그런 파티션들의 첫 레코드 시각 중 가장 늦은 시각부터 Kafka로 읽는다 (그 앞은 DB 보충 구간).
+     */
+    private long retainedFrom(Consumer<String, byte[]> consumer, List<TopicPartition> partitions,
+                              long fromMillis, long toMillis) {
+        Map<TopicPartition, Long> beginning = consumer.beginningOffsets(partitions);
+        Map<TopicPartition, Long> end = consumer.endOffsets(partitions);
+        Map<TopicPartition, OffsetAndTimestamp> starts = consumer.offsetsForTimes(timestamps(partitions, fromMillis));
+
+        long retainedFrom = fromMillis;
+        for (TopicPartition partition : partitions) {
+            long first = beginning.getOrDefault(partition, 0L);
+            if (first == 0) {
+                continue;
+            }
+            OffsetAndTimestamp start = starts.get(partition);
+            if (start == null) {
+                // 남은 레코드가 없고 앞부분이 지워졌다면 구간 전체가 지워졌을 수 있음
+                if (first >= end.getOrDefault(partition, 0L)) {
+                    retainedFrom = toMillis;
+                }
+            } else if (start.offset() == first && start.timestamp() > fromMillis) {
+                retainedFrom = Math.max(retainedFrom, Math.min(start.timestamp(), toMillis));
+            }
+        }
+        return retainedFrom;
+    }
+
+    private void replayFromKafka(ReplayJob job, Consumer<String, byte[]> consumer, List<TopicPartition> partitions,
+                                 long fromMillis, long toMillis) throws InterruptedException {
+        Map<TopicPartition, OffsetAndTimestamp> starts = consumer.offsetsForTimes(timestamps(partitions, fromMillis));
+        Map<TopicPartition, OffsetAndTimestamp> ends = consumer.offsetsForTimes(timestamps(partitions, toMillis));
+        Map<TopicPartition, Long> latest = consumer.endOffsets(partitions);
+
+        // 파티션별 [시작, 끝) 오프셋 (끝 시각 이후 레코드가 없으면 현재 끝 오프셋까지)
+        Map<TopicPartition, Long> startOffsets = new HashMap<>();
+        Map<TopicPartition, Long> stopOffsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            OffsetAndTimestamp start = starts.get(partition);
+            if (start == null) {
+                continue;
+            }
+            OffsetAndTimestamp end = ends.get(partition);
+            long stop = end != null ? end.offset() : latest.getOrDefault(partition, start.offset());
+            if (start.offset() < stop) {
+                startOffsets.put(partition, start.offset());
+                stopOffsets.put(partition, stop);
+                job.addTotalOffsets(stop - start.offset());
+            }
+        }
+        if (stopOffsets.isEmpty()) {
+            return;
+        }
+
+        consumer.assign(stopOffsets.keySet());
+        startOffsets.forEach(consumer::seek);
+
+        ChatEventDeserializer deserializer = new ChatEventDeserializer();
+        deserializer.configure(Map.of(ChatEventDeserializer.ACCEPTED_TYPES_CONFIG, job.getTarget().acceptedTypesConfig()), false);
+
+        Set<TopicPartition> remaining = new HashSet<>(stopOffsets.keySet());
+        int emptyPolls = 0;
+        while (!remaining.isEmpty() && !job.isCancelRequested()) {
+            ConsumerRecords<String, byte[]> records = consumer.poll(POLL_TIMEOUT);
+            if (records.isEmpty() && ++emptyPolls >= MAX_EMPTY_POLLS) {
+                log.warn("재처리 구간 끝에 닿지 못하고 종료합니다: jobId={}, 남은 파티션={}", job.getId(), remaining);
+                break;
+            }
+            if (!records.isEmpty()) {
+                emptyPolls = 0;
+            }
+
+            for (TopicPartition partition : records.partitions()) {
+                long stop = stopOffsets.get(partition);
+                List<ChatEvent> batch = new ArrayList<>();
+                for (ConsumerRecord<String, byte[]> record : records.records(partition)) {
+                    if (record.offset() >= stop) {
+                        break;
+                    }
+                    ChatEvent event = decode(deserializer, record);
+                    if (event != null) {
+                        batch.add(event);
+                    } else {
+                        job.addSkipped(1);
+                        count(job.getTarget(), "kafka", "skipped", 1);
+                    }
+                    if (batch.size() >= batchSize) {
+                        handle(job, partition, batch);
+                        batch = new ArrayList<>();
+                    }
+                }
+                handle(job, partition, batch);
+            }
+
+            updateProgress(job, consumer, startOffsets, stopOffsets, remaining);
+        }
+    }
+
+    /**
+     * 진행률 갱신, 구간 끝에 닿은 파티션은 일시 정지해 더 읽지 않음
+     */
+    private void updateProgress(ReplayJob job, Consumer<String, byte[]> consumer, Map<TopicPartition, Long> startOffsets,
+                                Map<TopicPartition, Long> stopOffsets, Set<TopicPartition> remaining) {
+        long consumed = 0;
+        List<TopicPartition> reached = new ArrayList<>();
+        for (Map.Entry<TopicPartition, Long> entry : stopOffsets.entrySet()) {
+            long position = Math.min(consumer.position(entry.getKey()), entry.getValue());
+            consumed += position - startOffsets.get(entry.getKey());
+            if (position >= entry.getValue() && remaining.contains(entry.getKey())) {
+                reached.add(entry.getKey());
+            }
+        }
+        job.consumedOffsets(consumed);
+        if (!reached.isEmpty()) {
+            consumer.pause(reached);
+            reached.forEach(remaining::remove);
+            log.debug("재처리 파티션 완료: jobId={}, partitions={}", job.getId(), reached);
+        }
+    }
+
+    /**
+     * 본문을 읽을 수 없거나 라우팅 헤더로 건너뛴 레코드는 null
+     */
+    private ChatEvent decode(ChatEventDeserializer deserializer, ConsumerRecord<String, byte[]> record) {
+        try {
+            ChatEvent event = deserializer.deserialize(record.topic(), record.headers(), record.value());
+            return event != null && !event.unpack().isEmpty() ? event : null;
+        } catch (SerializationException e) {
+            // 라이브 컨슈머에서 이미 DLT로 간 레코드
+            return null;
+        }
+    }
+
+    /**
+     * 파티션 하나의 레코드 묶음 처리 (대상 그룹이 이미 처리한 이벤트와 대상이 다루지 않는 타입은 건너뜀)
+     * 다시 계산하는 대상은 중복 필터 대신 이벤트 시각으로 걸러, 비운 구간 밖 창에 더하지 않는다.
+     */
+    private void handle(ReplayJob job, TopicPartition partition, List<ChatEvent> records) throws InterruptedException {
+        if (records.isEmpty()) {
+            return;
+        }
+        ReplayTarget target = job.getTarget();
+        String topic = partition.topic();
+        String groupId = dedupGroupId(target, topic);
+
+        List<ChatEvent> fresh = new ArrayList<>();
+        int unpacked = 0;
+        for (ChatEvent record : records) {
+            List<ChatEvent> events = target.isRebuild()
+                    ? record.unpack()
+                    : eventDeduplicator.filterUnseen(groupId, topic, partition.partition(), record);
+            for (ChatEvent event : events) {
+                if (event.getEventType() != null && target.accepts(event.getEventType())
+                        && (!target.isRebuild() || inRange(job, event))) {
+                    fresh.add(event);
+                }
+            }
+            unpacked += record.unpack().size();
+        }
+        if (unpacked > fresh.size()) {
+            job.addSkipped(unpacked - fresh.size());
+            count(target, "kafka", "skipped", unpacked - fresh.size());
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        throttle(job, fresh.size());
+        dispatch(target, topic, fresh);
+        if (!target.isRebuild()) {
+            for (ChatEvent event : fresh) {
+                eventDeduplicator.markSeen(groupId, topic, partition.partition(), event.getEventId());
+            }
+        }
+        job.addReplayed(fresh.size());
+        count(target, "kafka", "replayed", fresh.size());
+    }
+
+    /**
+     * 라이브 리스너와 같은 중복 필터 그룹 (전달 그룹은 토픽과 fan-out 설정에 따라 이 노드의 그룹 이름)
+     */
+    private String dedupGroupId(ReplayTarget target, String topic) {
+        if (target != ReplayTarget.DELIVERY) {
+            return target.getGroupId();
+        }
+        return KafkaConfig.CHAT_MESSAGES_TOPIC.equals(topic)
+                ? deliveryGroups.getMessageGroup()
+                : deliveryGroups.getRoomEventGroup();
+    }
+
+    /**
+     * Kafka에 남아 있지 않은 메시지 구간을 DB에서 ID 순서 키셋 페이지로 읽어 처리
+     */
+    private void backfillFromDatabase(ReplayJob job, LocalDateTime from, LocalDateTime until) throws InterruptedException {
+        log.info("Kafka 보존 기간 밖 메시지를 DB에서 보충합니다: jobId={}, from={}, until={}", job.getId(), from, until);
+        long afterId = Long.MIN_VALUE;
+        while (!job.isCancelRequested()) {
+            List<Message> page = messageRepository.findBackfillPage(from, until, afterId, PageRequest.of(0, batchSize));
+            if (page.isEmpty()) {
+                return;
+            }
+            List<ChatEvent> events = page.stream().map(EventReplayService::toMessageEvent).toList();
+
+            throttle(job, events.size());
+            dispatch(job.getTarget(), KafkaConfig.CHAT_MESSAGES_TOPIC, events);
+            job.addBackfilled(events.size());
+            count(job.getTarget(), "database", "replayed", events.size());
+            afterId = page.get(page.size() - 1).getId();
+        }
+    }
+
+    private void dispatch(ReplayTarget target, String topic, List<ChatEvent> events) {
+        switch (target) {
+            case DELIVERY -> {
+                boolean messages = KafkaConfig.CHAT_MESSAGES_TOPIC.equals(topic);
+                for (ChatEvent event : events) {
+                    if (messages) {
+                        roomEventDelivery.deliverMessage(event);
+                    } else {
+                        roomEventDelivery.deliverRoomEvent(event);
+                    }
+                }
+            }
+            case ANALYTICS -> events.forEach(activityWindowAggregator::record);
+            case NOTIFICATION -> events.forEach(notificationFanout::fanOut);
+            case PERSISTENCE -> messageBatchWriter.write(events);
+        }
+    }
+
+    /**
+     * 라이브 트래픽 우선: 낮은 우선순위 그룹이 일시 정지된 동안 기다린 뒤 초당 한도만큼만 처리
+     */
+    private void throttle(ReplayJob job, int events) throws InterruptedException {
+        ListenerConcurrencyController controller = concurrencyController.getIfAvailable();
+        if (controller != null && controller.isLowPriorityPaused()) {
+            long startedAt = System.nanoTime();
+            while (controller.isLowPriorityPaused() && !job.isCancelRequested()) {
+                Thread.sleep(YIELD_CHECK_MS);
+            }
+            throttled("live-traffic", System.nanoTime() - startedAt);
+        }
+        long waited = rateLimiter.acquire(events);
+        if (waited > 0) {
+            throttled("rate", waited);
+        }
+    }
+
+    private static boolean inRange(ReplayJob job, ChatEvent event) {
+        LocalDateTime time = event.getTimestamp();
+        return time != null && !time.isBefore(job.getFrom()) && time.isBefore(job.getTo());
+    }
+
+    private static ChatEvent toMessageEvent(Message message) {
+        return ChatEvent.builder()
+                // 동기 저장 모드 메시지는 이벤트 ID가 없으므로 메시지 ID로 고정 (다시 보충해도 같은 ID)
+                .eventId(message.getEventId() != null ? message.getEventId() : "message-" + message.getId())
+                .eventType(ChatEventType.MESSAGE_SENT)
+                .messageId(message.getId())
+                .seq(message.getSeq())
+                .messageContent(message.getContent())
+                .chatRoomId(message.getChatRoom().getId())
+                .userId(message.getSender().getId())
+                .username(message.getSender().getUsername())
+                .timestamp(message.getTimestamp())
+                .build();
+    }
+
+    private static Map<TopicPartition, Long> timestamps(Collection<TopicPartition> partitions, long millis) {
+        Map<TopicPartition, Long> timestamps = new HashMap<>();
+        partitions.forEach(partition -> timestamps.put(partition, millis));
+        return timestamps;
+    }
+
+    // ChatEvent.timestamp와 같은 시스템 기본 시간대 기준
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime localDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private void count(ReplayTarget target, String source, String result, long amount) {
+        Counter.builder("chat.replay.events")
+                .description("재처리한 이벤트 수")
+                .tag("target", target.name())
+                .tag("source", source)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment(amount);
+    }
+
+    private void throttled(String reason, long nanos) {
+        Timer.builder("chat.replay.throttled")
+                .description("재처리가 속도 제한이나 라이브 트래픽 양보로 기다린 시간")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.chatapp.infrastructure.kafka.replay;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 재처리 작업 하나의 설정과 진행 상황 (작업 스레드가 갱신하고 조회 API와 메트릭이 읽음)
+ */
+public class ReplayJob {
+
+    public enum State {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    @Getter
+    private final String id;
+    @Getter
+    private final ReplayTarget target;
+    @Getter
+    private final String topic;
+    @Getter
+    private final LocalDateTime from;
+    @Getter
+    private final LocalDateTime to;
+    @Getter
+    private final LocalDateTime startedAt;
+
+    @Getter
+    private volatile State state = State.RUNNING;
+    @Getter
+    private volatile LocalDateTime finishedAt;
+    @Getter
+    private volatile String error;
+    // Kafka에 남아 있지 않아 DB에서 보충한(대상이 보충을 지원하지 않으면 건너뛴) 구간의 끝, 없으면 null
+    @Getter
+    private volatile LocalDateTime retentionGapUntil;
+    private volatile boolean cancelRequested;
+
+    private final AtomicLong totalOffsets = new AtomicLong();
+    private final AtomicLong consumedOffsets = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong backfilled = new AtomicLong();
+
+    ReplayJob(String id, ReplayTarget target, String topic, LocalDateTime from, LocalDateTime to) {
+        this.id = id;
+        this.target = target;
+        this.topic = topic;
+        this.from = from;
+        this.to = to;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public long getTotalOffsets() {
+        return totalOffsets.get();
+    }
+
+    public long getConsumedOffsets() {
+        return consumedOffsets.get();
+    }
+
+    public long getReplayed() {
+        return replayed.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public long getBackfilled() {
+        return backfilled.get();
+    }
+
+    /**
+     * Kafka 구간 진행률 (0~1, 읽을 레코드가 없으면 끝난 뒤 1)
+     */
+    public double getProgress() {
+        long total = totalOffsets.get();
+        if (total == 0) {
+            return state == State.RUNNING ? 0 : 1;
+        }
+        return Math.min(1.0, consumedOffsets.get() / (double) total);
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    void addTotalOffsets(long offsets) {
+        totalOffsets.addAndGet(offsets);
+    }
+
+    void consumedOffsets(long offsets) {
+        consumedOffsets.set(offsets);
+    }
+
+    void addReplayed(long events) {
+        replayed.addAndGet(events);
+    }
+
+    void addSkipped(long records) {
+        skipped.addAndGet(records);
+    }
+
+    void addBackfilled(long messages) {
+        backfilled.addAndGet(messages);
+    }
+
+    void retentionGapUntil(LocalDateTime until) {
+        this.retentionGapUntil = until;
+    }
+
+    void finish(State state, String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.state = state;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.chatapp.infrastructure.kafka.replay;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 재처리 속도 제한 (토큰 버킷)
+ *
+ * - 초당 permitsPerSecond개씩 채워지고 최대 1초 분량까지만 쌓인다 (한참 쉬었다가 몰아서 처리하지 않도록).
+ * - 버킷은 비어 있는 상태로 시작한다.
+ * - 가진 토큰보다 큰 요청도 받아들이고 모자란 만큼 기다린다 (배치 크기가 초당 한도보다 커도 멈추지 않음).
+ */
+final class ReplayRateLimiter {
+
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    private final double permitsPerNano;
+    private final double maxPermits;
+    private final LongSupplier nanoClock;
+    private final Sleeper sleeper;
+
+    private double available;
+    private long refilledAt;
+
+    ReplayRateLimiter(int permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    ReplayRateLimiter(int permitsPerSecond, LongSupplier nanoClock, Sleeper sleeper) {
+        if (permitsPerSecond < 1) {
+            throw new IllegalArgumentException("초당 처리 한도는 1 이상이어야 합니다");
+        }
+        this.permitsPerNano = permitsPerSecond / (double) TimeUnit.SECONDS.toNanos(1);
+        this.maxPermits = permitsPerSecond;
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * permits개를 처리해도 될 때까지 기다림
+     *
+     * @return 기다린 시간 (나노초)
+     */
+    synchronized long acquire(int permits) throws InterruptedException {
+        refill();
+        available -= permits;
+        if (available >= 0) {
+            return 0;
+        }
+        long waitNanos = Math.round(-available / permitsPerNano);
+        sleeper.sleep(waitNanos);
+        refill();
+        return waitNanos;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        available = Math.min(maxPermits, available + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.chatapp.infrastructure.kafka.replay;
+
+import com.example.chatapp.infrastructure.message.ChatEventType;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 재처리 대상 컨슈머 그룹
+ * 재처리 작업은 대상 그룹의 처리 로직을 그대로 실행하고, 같은 그룹 ID의 중복 필터를 써서 라이브 컨슈머가 이미 처리한 이벤트는 건너뛴다.
+ * 결과를 다시 계산하는 대상(rebuild)은 구간 결과를 먼저 비우므로 중복 필터를 쓰지 않고 구간의 모든 이벤트를 다시 반영한다.
+ */
+public enum ReplayTarget {
+
+    // WebSocket 재전송 (메시지 토픽은 메시지, 이벤트 토픽은 룸 이벤트로 전달)
+    // 그룹 ID는 토픽과 fan-out 설정에 따라 DeliveryGroups가 정한다 (node 모드는 노드마다 다름)
+    // 재처리 작업을 실행한 노드의 로컬 구독 세션에만 전송되므로, 여러 노드에서는 노드마다 따로 실행해야 한다
+    DELIVERY(null, EnumSet.noneOf(ChatEventType.class), false, false),
+    // 분/시간 단위 활동 롤업의 메시지 집계 재계산 (보존 기간 밖 메시지는 DB에서 보충)
+    // 입장/퇴장은 라이브 집계기의 입장 기록(체류 시간 계산)을 오염시키고 DB로 보충할 수도 없으므로 재처리하지 않는다
+    ANALYTICS("analytics-group", EnumSet.of(ChatEventType.MESSAGE_SENT), true, true),
+    // 알림 팬아웃
+    NOTIFICATION("notification-group",
+            EnumSet.of(ChatEventType.MESSAGE_SENT, ChatEventType.USER_JOINED, ChatEventType.USER_LEFT,
+                    ChatEventType.ROOM_CREATED, ChatEventType.ROOM_DELETED), false, false),
+    // 비동기 저장 모드 메시지 저장 (메시지 토픽만)
+    PERSISTENCE("message-persistence-group", EnumSet.of(ChatEventType.MESSAGE_SENT), false, false);
+
+    private final String groupId;
+    // 비어 있으면 모든 타입
+    private final Set<ChatEventType> acceptedTypes;
+    private final boolean databaseBackfill;
+    private final boolean rebuild;
+
+    ReplayTarget(String groupId, Set<ChatEventType> acceptedTypes, boolean databaseBackfill, boolean rebuild) {
+        this.groupId = groupId;
+        this.acceptedTypes = acceptedTypes;
+        this.databaseBackfill = databaseBackfill;
+        this.rebuild = rebuild;
+    }
+
+    /**
+     * 중복 필터에 쓰는 대상 그룹 ID (DELIVERY는 null, EventReplayService가 DeliveryGroups로 정함)
+     */
+    public String getGroupId() {
+        return groupId;
+    }
+
+    /**
+     * Kafka 보존 기간 밖 메시지 구간을 DB에서 보충할 수 있는지
+     */
+    public boolean isDatabaseBackfill() {
+        return databaseBackfill;
+    }
+
+    /**
+     * 구간 결과를 비우고 처음부터 다시 계산하는지 (라이브 중복 필터를 쓰지 않고, 이벤트 시각이 구간 안인 이벤트만 반영)
+     */
+    public boolean isRebuild() {
+        return rebuild;
+    }
+
+    public boolean accepts(ChatEventType type) {
+        return acceptedTypes.isEmpty() || acceptedTypes.contains(type);
+    }
+
+    /**
+     * ChatEventDeserializer.ACCEPTED_TYPES_CONFIG 값 (라우팅 헤더로 처리하지 않는 레코드는 본문을 읽지 않음)
+     */
+    String acceptedTypesConfig() {
+        return acceptedTypes.stream().map(Enum::name).collect(Collectors.joining(","));
+    }
+}
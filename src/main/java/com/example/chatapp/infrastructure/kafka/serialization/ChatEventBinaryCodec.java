@@ -0,0 +1,453 @@
+package com.example.chatapp.infrastructure.kafka.serialization;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.message.ChatEventType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ChatEvent 바이너리 와이어 포맷 코덱
+ *
+ * 레이아웃: [MAGIC][VERSION][필드 마스크 varint][존재하는 필드들...]
+ * - ID: zigzag varlong
+ * - 이벤트 타입: ChatEventType.code varint (선언 순서와 무관한 고정 값)
+ * - 타임스탬프: UTC 기준 epoch micros (zigzag varlong)
+ * - 문자열: 바이트 길이 varint + UTF-8
+ * - 봉투(EVENT_BATCH): 이벤트 수 varint + 헤더 없는 이벤트 본문 반복 (v2)
+ * - 숫자형 이벤트 ID(SnowflakeIdGenerator 발급)는 문자열 대신 varlong으로 기록 (v3)
+ * - 채팅방 순번(seq): varlong (v4)
+ *
+ * 레코드마다 사용한 기능에 필요한 최소 버전을 기록하므로 새 기능을 쓰지 않는 레코드는 구버전 컨슈머도 읽을 수 있다.
+ *
+ * JSON은 항상 '{'로 시작하므로 첫 바이트(MAGIC)만 보고 포맷을 구분할 수 있다.
+ */
+public final class ChatEventBinaryCodec {
+
+    public static final byte MAGIC = (byte) 0xC7;
+    public static final byte VERSION = 4;
+    private static final byte VERSION_1 = 1;
+    private static final byte VERSION_2 = 2;
+    private static final byte VERSION_3 = 3;
+
+    // 필드 마스크 비트 (순서 = 인코딩 순서)
+    private static final int F_EVENT_ID = 1;
+    private static final int F_EVENT_TYPE = 1 << 1;
+    private static final int F_CHAT_ROOM_ID = 1 << 2;
+    private static final int F_USER_ID = 1 << 3;
+    private static final int F_USERNAME = 1 << 4;
+    private static final int F_CONTENT = 1 << 5;
+    private static final int F_TIMESTAMP = 1 << 6;
+    private static final int F_METADATA = 1 << 7;
+    private static final int F_MESSAGE_ID = 1 << 8;
+    private static final int F_MESSAGE_CONTENT = 1 << 9;
+    private static final int F_MESSAGE_STATUS = 1 << 10;
+    // content가 messageContent와 같은 경우 본문을 한 번만 기록
+    private static final int F_CONTENT_SAME_AS_MESSAGE = 1 << 11;
+    private static final int F_EVENTS = 1 << 12;
+    private static final int F_EVENT_ID_NUMERIC = 1 << 13;
+    // 메시지 ID 바로 뒤에 기록
+    private static final int F_SEQ = 1 << 14;
+
+    // 메타데이터 값 타입 태그
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_DOUBLE = 3;
+    private static final byte TAG_BOOLEAN = 4;
+
+    // 스레드별 재사용 버퍼 (Kafka 프로듀서 스레드에서 호출되므로 호출마다 버퍼를 새로 만들지 않음)
+    private static final ThreadLocal<Writer> WRITERS = ThreadLocal.withInitial(Writer::new);
+
+    private ChatEventBinaryCodec() {
+    }
+
+    /**
+     * 바이너리 포맷 여부 확인
+     */
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= 2 && data[0] == MAGIC;
+    }
+
+    /**
+     * ChatEvent를 바이너리 포맷으로 인코딩
+     */
+    public static byte[] encode(ChatEvent event) {
+        Writer w = WRITERS.get();
+        w.reset();
+        w.writeByte(MAGIC);
+        w.writeByte(VERSION_1);
+        // 본문을 쓰면서 필요한 최소 버전을 계산한 뒤 버전 바이트를 채움
+        int version = writeEvent(w, event);
+        w.setByte(1, (byte) version);
+        return w.toByteArray();
+    }
+
+    /**
+     * 바이너리 포맷을 ChatEvent로 디코딩
+     *
+     * @throws IllegalArgumentException 포맷이 올바르지 않거나 지원하지 않는 버전인 경우
+     */
+    public static ChatEvent decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("ChatEvent 바이너리 포맷이 아닙니다");
+        }
+        int version = data[1];
+        if (version < VERSION_1 || version > VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 ChatEvent 포맷 버전: " + version);
+        }
+
+        return readEvent(new Reader(data, 2), true);
+    }
+
+    //---------------- 필드 인코딩 헬퍼 ----------------//
+
+    /**
+     * @return 이 이벤트(봉투면 담긴 이벤트 포함)를 읽는 데 필요한 최소 포맷 버전
+     */
+    private static int writeEvent(Writer w, ChatEvent event) {
+        int version = VERSION_1;
+        long numericEventId = parseNumericId(event.getEventId());
+        boolean contentShared = event.getContent() != null
+                && event.getContent().equals(event.getMessageContent());
+
+        int mask = 0;
+        if (numericEventId >= 0) mask |= F_EVENT_ID_NUMERIC;
+        else if (event.getEventId() != null) mask |= F_EVENT_ID;
+        if (event.getEventType() != null) mask |= F_EVENT_TYPE;
+        if (event.getChatRoomId() != null) mask |= F_CHAT_ROOM_ID;
+        if (event.getUserId() != null) mask |= F_USER_ID;
+        if (event.getUsername() != null) mask |= F_USERNAME;
+        if (event.getContent() != null) mask |= contentShared ? F_CONTENT_SAME_AS_MESSAGE : F_CONTENT;
+        if (event.getTimestamp() != null) mask |= F_TIMESTAMP;
+        if (event.getMetadata() != null && !event.getMetadata().isEmpty()) mask |= F_METADATA;
+        if (event.getMessageId() != null) mask |= F_MESSAGE_ID;
+        if (event.getSeq() != null) mask |= F_SEQ;
+        if (event.getMessageContent() != null) mask |= F_MESSAGE_CONTENT;
+        if (event.getMessageStatus() != null) mask |= F_MESSAGE_STATUS;
+        if (event.getEvents() != null) mask |= F_EVENTS;
+        w.writeVarLong(mask);
+
+        if ((mask & F_EVENT_ID) != 0) w.writeString(event.getEventId());
+        if ((mask & F_EVENT_ID_NUMERIC) != 0) {
+            w.writeVarLong(numericEventId);
+            version = VERSION_3;
+        }
+        if ((mask & F_EVENT_TYPE) != 0) w.writeVarLong(event.getEventType().code());
+        if ((mask & F_CHAT_ROOM_ID) != 0) w.writeZigZag(event.getChatRoomId());
+        if ((mask & F_USER_ID) != 0) w.writeZigZag(event.getUserId());
+        if ((mask & F_USERNAME) != 0) w.writeString(event.getUsername());
+        if ((mask & F_CONTENT) != 0) w.writeString(event.getContent());
+        if ((mask & F_TIMESTAMP) != 0) w.writeZigZag(toEpochMicros(event.getTimestamp()));
+        if ((mask & F_METADATA) != 0) writeMetadata(w, event.getMetadata());
+        if ((mask & F_MESSAGE_ID) != 0) w.writeZigZag(event.getMessageId());
+        if ((mask & F_SEQ) != 0) {
+            w.writeVarLong(event.getSeq());
+            version = VERSION;
+        }
+        if ((mask & F_MESSAGE_CONTENT) != 0) w.writeString(event.getMessageContent());
+        if ((mask & F_MESSAGE_STATUS) != 0) w.writeString(event.getMessageStatus());
+        if ((mask & F_EVENTS) != 0) {
+            List<ChatEvent> events = event.getEvents();
+            w.writeVarLong(events.size());
+            version = Math.max(version, VERSION_2);
+            for (ChatEvent nested : events) {
+                if (nested.getEvents() != null) {
+                    throw new IllegalArgumentException("봉투 안에 봉투를 넣을 수 없습니다");
+                }
+                version = Math.max(version, writeEvent(w, nested));
+            }
+        }
+        return version;
+    }
+
+    /**
+     * 이벤트 ID가 0 이상 long의 정규 10진 표현이면 그 값을, 아니면 -1 반환
+     * (앞자리 0 등 되돌렸을 때 원래 문자열과 달라지는 경우는 문자열로 기록)
+     */
+    private static long parseNumericId(String eventId) {
+        if (eventId == null) {
+            return -1;
+        }
+        int length = eventId.length();
+        if (length == 0 || length > 19 || (length > 1 && eventId.charAt(0) == '0')) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = eventId.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+            if (value < 0) {
+                return -1;
+            }
+        }
+        return value;
+    }
+
+    private static ChatEvent readEvent(Reader r, boolean allowEnvelope) {
+        int mask = (int) r.readVarLong();
+
+        ChatEvent event = new ChatEvent();
+        if ((mask & F_EVENT_ID) != 0) event.setEventId(r.readString());
+        if ((mask & F_EVENT_ID_NUMERIC) != 0) event.setEventId(Long.toString(r.readVarLong()));
+        if ((mask & F_EVENT_TYPE) != 0) event.setEventType(toEventType((int) r.readVarLong()));
+        if ((mask & F_CHAT_ROOM_ID) != 0) event.setChatRoomId(r.readZigZag());
+        if ((mask & F_USER_ID) != 0) event.setUserId(r.readZigZag());
+        if ((mask & F_USERNAME) != 0) event.setUsername(r.readString());
+        if ((mask & F_CONTENT) != 0) event.setContent(r.readString());
+        if ((mask & F_TIMESTAMP) != 0) event.setTimestamp(fromEpochMicros(r.readZigZag()));
+        if ((mask & F_METADATA) != 0) event.setMetadata(readMetadata(r));
+        if ((mask & F_MESSAGE_ID) != 0) event.setMessageId(r.readZigZag());
+        if ((mask & F_SEQ) != 0) event.setSeq(r.readVarLong());
+        if ((mask & F_MESSAGE_CONTENT) != 0) event.setMessageContent(r.readString());
+        if ((mask & F_MESSAGE_STATUS) != 0) event.setMessageStatus(r.readString());
+        if ((mask & F_CONTENT_SAME_AS_MESSAGE) != 0) event.setContent(event.getMessageContent());
+        if ((mask & F_EVENTS) != 0) {
+            if (!allowEnvelope) {
+                throw new IllegalArgumentException("봉투 안에 봉투가 들어 있습니다");
+            }
+            int count = (int) r.readVarLong();
+            List<ChatEvent> events = new ArrayList<>(Math.min(count, 1024));
+            for (int i = 0; i < count; i++) {
+                events.add(readEvent(r, false));
+            }
+            event.setEvents(events);
+        }
+        return event;
+    }
+
+    private static ChatEventType toEventType(int code) {
+        ChatEventType type = ChatEventType.fromCode(code);
+        if (type == null) {
+            throw new IllegalArgumentException("알 수 없는 이벤트 타입 code: " + code);
+        }
+        return type;
+    }
+
+    private static long toEpochMicros(LocalDateTime timestamp) {
+        long seconds = timestamp.toEpochSecond(ZoneOffset.UTC);
+        return seconds * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        long seconds = Math.floorDiv(micros, 1_000_000L);
+        int nanos = (int) Math.floorMod(micros, 1_000_000L) * 1_000;
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static void writeMetadata(Writer w, Map<String, Object> metadata) {
+        w.writeVarLong(metadata.size());
+        for (Map.Entry<String, Object> entry : metadata.entrySet()) {
+            w.writeString(entry.getKey());
+            Object value = entry.getValue();
+            if (value == null) {
+                w.writeByte(TAG_NULL);
+            } else if (value instanceof Long || value instanceof Integer
+                    || value instanceof Short || value instanceof Byte) {
+                w.writeByte(TAG_LONG);
+                w.writeZigZag(((Number) value).longValue());
+            } else if (value instanceof Double || value instanceof Float) {
+                w.writeByte(TAG_DOUBLE);
+                w.writeFixedLong(Double.doubleToRawLongBits(((Number) value).doubleValue()));
+            } else if (value instanceof Boolean) {
+                w.writeByte(TAG_BOOLEAN);
+                w.writeByte((Boolean) value ? (byte) 1 : (byte) 0);
+            } else {
+                // 그 외 타입은 문자열로 기록 (JSON 경로와 달리 중첩 구조는 보존하지 않음)
+                w.writeByte(TAG_STRING);
+                w.writeString(value.toString());
+            }
+        }
+    }
+
+    private static Map<String, Object> readMetadata(Reader r) {
+        int size = (int) r.readVarLong();
+        Map<String, Object> metadata = new LinkedHashMap<>(Math.max(4, size * 2));
+        for (int i = 0; i < size; i++) {
+            String key = r.readString();
+            byte tag = r.readByte();
+            switch (tag) {
+                case TAG_NULL -> metadata.put(key, null);
+                case TAG_STRING -> metadata.put(key, r.readString());
+                case TAG_LONG -> metadata.put(key, r.readZigZag());
+                case TAG_DOUBLE -> metadata.put(key, Double.longBitsToDouble(r.readFixedLong()));
+                case TAG_BOOLEAN -> metadata.put(key, r.readByte() != 0);
+                default -> throw new IllegalArgumentException("알 수 없는 메타데이터 태그: " + tag);
+            }
+        }
+        return metadata;
+    }
+
+    //---------------- 저수준 버퍼 ----------------//
+
+    private static final class Writer {
+        private static final int INITIAL_CAPACITY = 512;
+        // 비정상적으로 큰 이벤트 이후 버퍼가 계속 커진 채로 남지 않도록 제한
+        private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+        private byte[] buf = new byte[INITIAL_CAPACITY];
+        private int pos;
+
+        void reset() {
+            if (buf.length > MAX_RETAINED_CAPACITY) {
+                buf = new byte[INITIAL_CAPACITY];
+            }
+            pos = 0;
+        }
+
+        void setByte(int index, byte b) {
+            buf[index] = b;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+            }
+        }
+
+        void writeByte(byte b) {
+            ensure(1);
+            buf[pos++] = b;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeFixedLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[pos++] = (byte) (value >>> shift);
+            }
+        }
+
+        /**
+         * 중간 byte[]를 만들지 않고 버퍼에 바로 UTF-8로 기록
+         */
+        void writeString(String s) {
+            int len = s.length();
+            int utf8Length = utf8Length(s);
+            writeVarLong(utf8Length);
+            ensure(utf8Length);
+            for (int i = 0; i < len; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    buf[pos++] = (byte) c;
+                } else if (c < 0x800) {
+                    buf[pos++] = (byte) (0xC0 | (c >> 6));
+                    buf[pos++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < len
+                        && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // 짝이 맞지 않는 서로게이트는 String.getBytes와 동일하게 '?'로 대체
+                    buf[pos++] = (byte) '?';
+                } else {
+                    buf[pos++] = (byte) (0xE0 | (c >> 12));
+                    buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private static int utf8Length(String s) {
+            int len = s.length();
+            int bytes = 0;
+            for (int i = 0; i < len; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    bytes += 1;
+                } else if (c < 0x800) {
+                    bytes += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < len
+                        && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    bytes += 4;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    bytes += 1;
+                } else {
+                    bytes += 3;
+                }
+            }
+            return bytes;
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        byte readByte() {
+            if (pos >= buf.length) {
+                throw new IllegalArgumentException("ChatEvent 바이너리 데이터가 잘렸습니다");
+            }
+            return buf[pos++];
+        }
+
+        long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("잘못된 varint 인코딩입니다");
+        }
+
+        long readZigZag() {
+            long raw = readVarLong();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        long readFixedLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (readByte() & 0xFF);
+            }
+            return value;
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            if (length < 0 || pos + length > buf.length) {
+                throw new IllegalArgumentException("잘못된 문자열 길이: " + length);
+            }
+            String s = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return s;
+        }
+    }
+}
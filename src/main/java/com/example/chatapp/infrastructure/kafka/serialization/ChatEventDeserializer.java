@@ -1,28 +1,68 @@
 package com.example.chatapp.infrastructure.kafka.serialization;
 
 import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.message.ChatEventType;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Deserializer;
 
+import java.util.Collection;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * ChatEvent 역직렬화기
+ * 첫 바이트로 포맷을 판별하므로 바이너리/JSON 레코드가 섞여 있어도 읽을 수 있음 (롤백 대비)
+ * 읽을 수 없는 레코드는 예외를 던지고, ErrorHandlingDeserializer가 이를 감싸 에러 핸들러가 DLT로 보낸다.
+ *
+ * ACCEPTED_TYPES_CONFIG를 지정하면(@KafkaListener properties로 리스너마다) 라우팅 헤더의 타입이 하나도 겹치지 않는 레코드는
+ * 본문을 읽지 않고 SkippedChatEvent를 돌려준다. 헤더가 없는 레코드는 항상 본문을 읽는다.
+ */
 @Slf4j
 public class ChatEventDeserializer implements Deserializer<ChatEvent> {
 
-    private final ObjectMapper objectMapper;
+    // ObjectMapper는 스레드 안전하므로 인스턴스마다 만들지 않고 공유
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            // 알 수 없는 속성 무시
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
-    public ChatEventDeserializer() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
-        // 알 수 없는 속성 무시
-        this.objectMapper.configure(com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-    }
+    /**
+     * 리스너가 처리하는 이벤트 타입 목록 (콤마 구분 문자열 또는 컬렉션, 비어 있으면 모든 타입)
+     */
+    public static final String ACCEPTED_TYPES_CONFIG = "chat.deserializer.accepted-types";
+
+    // 0이면 모든 레코드의 본문을 읽음
+    private long acceptedMask;
 
     @Override
     public void configure(Map<String, ?> configs, boolean isKey) {
-        // 필요한 설정이 있으면 여기서 처리
+        Object value = configs.get(ACCEPTED_TYPES_CONFIG);
+        Stream<String> types = value instanceof Collection<?> collection
+                ? collection.stream().map(Object::toString)
+                : value instanceof String string ? Stream.of(string.split(",")) : Stream.empty();
+        acceptedMask = ChatEventHeaders.typeMask(types
+                .map(String::trim)
+                .filter(type -> !type.isEmpty())
+                .map(ChatEventType::valueOf)
+                .collect(Collectors.toSet()));
+    }
+
+    @Override
+    public ChatEvent deserialize(String topic, Headers headers, byte[] data) {
+        if (data != null && acceptedMask != 0 && headers != null) {
+            long recordMask = ChatEventHeaders.readTypeMask(headers);
+            // 헤더가 없거나(-1) 타입을 모르는(0) 레코드는 판단하지 않고 읽음
+            if (recordMask > 0 && (recordMask & acceptedMask) == 0) {
+                return ChatEventHeaders.skipped(headers);
+            }
+        }
+        return deserialize(topic, data);
     }
 
     @Override
@@ -32,12 +72,14 @@ public class ChatEventDeserializer implements Deserializer<ChatEvent> {
         }
 
         try {
+            if (ChatEventBinaryCodec.isBinary(data)) {
+                return ChatEventBinaryCodec.decode(data);
+            }
             // JSON 로그 출력 제거 (프로덕션 환경에서 로그 양 감소)
-            return objectMapper.readValue(data, ChatEvent.class);
+            return OBJECT_MAPPER.readValue(data, ChatEvent.class);
         } catch (Exception e) {
-            log.error("ChatEvent 역직렬화 실패: {}", e.getMessage(), e);
-            // 실패 시 null 반환 (무한 재시도 방지)
-            return null;
+            log.warn("ChatEvent 역직렬화 실패: topic={}, size={}, error={}", topic, data.length, e.getMessage());
+            throw new SerializationException("ChatEvent 역직렬화 실패: topic=" + topic, e);
         }
     }
 
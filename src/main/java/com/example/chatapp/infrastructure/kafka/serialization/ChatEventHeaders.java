@@ -0,0 +1,146 @@
+package com.example.chatapp.infrastructure.kafka.serialization;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.message.ChatEventType;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * ChatEvent 라우팅 헤더
+ *
+ * 직렬화기가 레코드마다 이벤트 타입, 채팅방/사용자 ID, 스키마 버전을 헤더로 기록해
+ * 컨슈머가 본문을 역직렬화하지 않고도 관심 없는 레코드를 걸러낼 수 있게 한다.
+ * - chat-event-type: 이벤트 타입 이름 (봉투는 EVENT_BATCH)
+ * - chat-event-types: 레코드에 담긴 이벤트 타입 비트 마스크 (ChatEventType.code 비트, 8바이트 big-endian, 봉투는 담긴 이벤트들의 합)
+ * - chat-room-id, chat-user-id: 10진 문자열 (값이 없으면 생략)
+ * - chat-schema-version: json/1 또는 binary/{포맷 버전}
+ * 헤더가 없는 레코드(이전 버전 프로듀서, DLT 재주입)는 항상 본문을 읽는다.
+ */
+public final class ChatEventHeaders {
+
+    public static final String EVENT_TYPE = "chat-event-type";
+    public static final String EVENT_TYPES = "chat-event-types";
+    public static final String ROOM_ID = "chat-room-id";
+    public static final String USER_ID = "chat-user-id";
+    public static final String SCHEMA_VERSION = "chat-schema-version";
+
+    // JSON 포맷 스키마 버전 (ChatEvent 필드를 호환되지 않게 바꾸면 올림)
+    static final int JSON_SCHEMA_VERSION = 1;
+
+    private ChatEventHeaders() {
+    }
+
+    /**
+     * 라우팅 헤더 기록 (재시도 토픽으로 다시 보낼 때 원본 헤더가 복사되므로 기존 값을 지우고 기록)
+     */
+    static void write(Headers headers, ChatEvent event, byte[] payload) {
+        put(headers, EVENT_TYPE, event.getEventType() != null ? event.getEventType().name() : null);
+        put(headers, EVENT_TYPES, toBytes(typeMask(event)));
+        put(headers, ROOM_ID, event.getChatRoomId() != null ? event.getChatRoomId().toString() : null);
+        put(headers, USER_ID, event.getUserId() != null ? event.getUserId().toString() : null);
+        put(headers, SCHEMA_VERSION, ChatEventBinaryCodec.isBinary(payload)
+                ? "binary/" + payload[1]
+                : "json/" + JSON_SCHEMA_VERSION);
+    }
+
+    /**
+     * 레코드에 담긴 이벤트 타입 비트 마스크 (봉투는 담긴 이벤트들의 타입, 타입이 없으면 0)
+     */
+    public static long typeMask(ChatEvent event) {
+        if (!event.isEnvelope()) {
+            return event.getEventType() != null ? bit(event.getEventType()) : 0L;
+        }
+        long mask = 0L;
+        for (ChatEvent nested : event.unpack()) {
+            if (nested.getEventType() != null) {
+                mask |= bit(nested.getEventType());
+            }
+        }
+        return mask;
+    }
+
+    public static long typeMask(Collection<ChatEventType> types) {
+        long mask = 0L;
+        for (ChatEventType type : types) {
+            mask |= bit(type);
+        }
+        return mask;
+    }
+
+    /**
+     * 헤더의 이벤트 타입 비트 마스크 (헤더가 없으면 -1)
+     */
+    public static long readTypeMask(Headers headers) {
+        Header header = headers.lastHeader(EVENT_TYPES);
+        if (header == null || header.value() == null || header.value().length != Long.BYTES) {
+            return -1L;
+        }
+        long mask = 0L;
+        for (byte b : header.value()) {
+            mask = (mask << 8) | (b & 0xFF);
+        }
+        return mask;
+    }
+
+    /**
+     * 헤더만으로 만든 건너뛴 레코드 (본문은 읽지 않음)
+     */
+    static SkippedChatEvent skipped(Headers headers) {
+        SkippedChatEvent event = new SkippedChatEvent();
+        String type = readString(headers, EVENT_TYPE);
+        if (type != null) {
+            try {
+                event.setEventType(ChatEventType.valueOf(type));
+            } catch (IllegalArgumentException e) {
+                // 이 버전이 모르는 타입 (뒤에 추가된 타입)
+            }
+        }
+        event.setChatRoomId(readLong(headers, ROOM_ID));
+        event.setUserId(readLong(headers, USER_ID));
+        return event;
+    }
+
+    private static long bit(ChatEventType type) {
+        return 1L << type.code();
+    }
+
+    private static void put(Headers headers, String key, String value) {
+        put(headers, key, value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    private static void put(Headers headers, String key, byte[] value) {
+        headers.remove(key);
+        if (value != null) {
+            headers.add(key, value);
+        }
+    }
+
+    private static byte[] toBytes(long value) {
+        byte[] bytes = new byte[Long.BYTES];
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+        return bytes;
+    }
+
+    private static String readString(Headers headers, String key) {
+        Header header = headers.lastHeader(key);
+        return header != null && header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static Long readLong(Headers headers, String key) {
+        String value = readString(headers, key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
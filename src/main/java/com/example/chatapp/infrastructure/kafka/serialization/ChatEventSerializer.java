@@ -4,23 +4,47 @@ import com.example.chatapp.infrastructure.message.ChatEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Serializer;
 
+import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * ChatEvent 직렬화기
+ * BINARY_TOPICS_CONFIG에 지정된 토픽은 바이너리 포맷으로, 나머지는 JSON으로 직렬화
+ * 프로듀서 경로(헤더가 있는 호출)에서는 컨슈머 라우팅용 헤더(ChatEventHeaders)도 함께 기록
+ */
 @Slf4j
 public class ChatEventSerializer implements Serializer<ChatEvent> {
 
-    private final ObjectMapper objectMapper;
+    /**
+     * 바이너리 포맷을 사용할 토픽 목록 (콤마 구분 문자열 또는 컬렉션)
+     */
+    public static final String BINARY_TOPICS_CONFIG = "chat.serializer.binary-topics";
 
-    public ChatEventSerializer() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
-    }
+    // ObjectMapper는 스레드 안전하므로 인스턴스마다 만들지 않고 공유
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule());
+
+    private Set<String> binaryTopics = Set.of();
 
     @Override
     public void configure(Map<String, ?> configs, boolean isKey) {
-        // 필요한 설정이 있으면 여기서 처리
+        Object value = configs.get(BINARY_TOPICS_CONFIG);
+        if (value instanceof Collection<?> topics) {
+            binaryTopics = topics.stream()
+                    .map(Object::toString)
+                    .collect(Collectors.toUnmodifiableSet());
+        } else if (value instanceof String topics) {
+            binaryTopics = Stream.of(topics.split(","))
+                    .map(String::trim)
+                    .filter(topic -> !topic.isEmpty())
+                    .collect(Collectors.toUnmodifiableSet());
+        }
     }
 
     @Override
@@ -30,15 +54,25 @@ public class ChatEventSerializer implements Serializer<ChatEvent> {
         }
 
         try {
-            byte[] serialized = objectMapper.writeValueAsBytes(data);
-            // 직렬화 결과 로그 제거 (프로덕션 환경에서 로그 양 감소)
-            return serialized;
+            if (binaryTopics.contains(topic)) {
+                return ChatEventBinaryCodec.encode(data);
+            }
+            return OBJECT_MAPPER.writeValueAsBytes(data);
         } catch (Exception e) {
             log.error("ChatEvent 직렬화 실패: {}", e.getMessage(), e);
             throw new RuntimeException("ChatEvent 직렬화 실패", e);
         }
     }
 
+    @Override
+    public byte[] serialize(String topic, Headers headers, ChatEvent data) {
+        byte[] payload = serialize(topic, data);
+        if (payload != null && headers != null) {
+            ChatEventHeaders.write(headers, data, payload);
+        }
+        return payload;
+    }
+
     @Override
     public void close() {
         // 리소스 정리가 필요하면 여기서 처리
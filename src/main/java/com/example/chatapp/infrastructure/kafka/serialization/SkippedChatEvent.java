@@ -0,0 +1,20 @@
+package com.example.chatapp.infrastructure.kafka.serialization;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+
+import java.util.List;
+
+/**
+ * 리스너가 받지 않는 타입이라 본문을 역직렬화하지 않은 레코드
+ *
+ * 헤더의 이벤트 타입, 채팅방/사용자 ID만 채워져 있다 (로그, 메트릭용).
+ * 리스너의 RecordFilterStrategy(SkippedEventFilter)가 리스너에 넘기기 전에 버리며,
+ * 필터를 쓰지 않는 리스너에 들어가더라도 처리할 이벤트가 없도록 unpack()은 빈 목록을 돌려준다.
+ */
+public final class SkippedChatEvent extends ChatEvent {
+
+    @Override
+    public List<ChatEvent> unpack() {
+        return List.of();
+    }
+}
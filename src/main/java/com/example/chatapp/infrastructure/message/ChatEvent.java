@@ -1,11 +1,15 @@
 package com.example.chatapp.infrastructure.message;
 
+import com.example.chatapp.infrastructure.id.SnowflakeIdGenerator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @Data
@@ -26,13 +30,25 @@ public class ChatEvent {
     private Long messageId;
     private String messageContent;
     private String messageStatus;
+    // 채팅방 안의 메시지 순번 (1부터 증가, 재연결 시 빠진 구간 계산용)
+    // 비동기 저장 모드에서 발급 후 발행되지 못한 순번은 영영 비므로 빈틈이 있을 수 있다
+    private Long seq;
+
+    // 봉투(EVENT_BATCH) 레코드가 담고 있는 이벤트들 (같은 채팅방, 발행 순서 유지)
+    private List<ChatEvent> events;
     
     public static ChatEvent messageEvent(Long messageId, String content, Long chatRoomId, 
                                        Long userId, String username) {
+        return messageEvent(messageId, null, content, chatRoomId, userId, username);
+    }
+
+    public static ChatEvent messageEvent(Long messageId, Long seq, String content, Long chatRoomId,
+                                       Long userId, String username) {
         return ChatEvent.builder()
-                .eventId(java.util.UUID.randomUUID().toString())
+                .eventId(newEventId())
                 .eventType(ChatEventType.MESSAGE_SENT)
                 .messageId(messageId)
+                .seq(seq)
                 .messageContent(content)
                 .chatRoomId(chatRoomId)
                 .userId(userId)
@@ -43,7 +59,7 @@ public class ChatEvent {
     
     public static ChatEvent userJoinEvent(Long chatRoomId, Long userId, String username) {
         return ChatEvent.builder()
-                .eventId(java.util.UUID.randomUUID().toString())
+                .eventId(newEventId())
                 .eventType(ChatEventType.USER_JOINED)
                 .chatRoomId(chatRoomId)
                 .userId(userId)
@@ -55,7 +71,7 @@ public class ChatEvent {
     
     public static ChatEvent userLeaveEvent(Long chatRoomId, Long userId, String username) {
         return ChatEvent.builder()
-                .eventId(java.util.UUID.randomUUID().toString())
+                .eventId(newEventId())
                 .eventType(ChatEventType.USER_LEFT)
                 .chatRoomId(chatRoomId)
                 .userId(userId)
@@ -67,7 +83,7 @@ public class ChatEvent {
     
     public static ChatEvent roomCreatedEvent(Long chatRoomId, String roomName, Long creatorId, String creatorName) {
         return ChatEvent.builder()
-                .eventId(java.util.UUID.randomUUID().toString())
+                .eventId(newEventId())
                 .eventType(ChatEventType.ROOM_CREATED)
                 .chatRoomId(chatRoomId)
                 .userId(creatorId)
@@ -76,4 +92,61 @@ public class ChatEvent {
                 .timestamp(LocalDateTime.now())
                 .build();
     }
+
+    public static ChatEvent roomDeletedEvent(Long chatRoomId, Long userId) {
+        return ChatEvent.builder()
+                .eventId(newEventId())
+                .eventType(ChatEventType.ROOM_DELETED)
+                .chatRoomId(chatRoomId)
+                .userId(userId)
+                .content("채팅방이 삭제되었습니다.")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    public static ChatEvent envelope(Long chatRoomId, List<ChatEvent> events) {
+        return ChatEvent.builder()
+                .eventId(newEventId())
+                .eventType(ChatEventType.EVENT_BATCH)
+                .chatRoomId(chatRoomId)
+                .events(events)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * 이벤트 ID 발급 (시간 순서 64비트 ID의 10진 문자열, JS 클라이언트 정밀도 문제로 문자열 유지)
+     */
+    public static String newEventId() {
+        return Long.toString(SnowflakeIdGenerator.global().nextId());
+    }
+
+    /**
+     * 봉투 레코드 여부
+     */
+    @JsonIgnore
+    public boolean isEnvelope() {
+        return eventType == ChatEventType.EVENT_BATCH;
+    }
+
+    /**
+     * 봉투면 담긴 이벤트들을, 아니면 자기 자신만 반환
+     */
+    public List<ChatEvent> unpack() {
+        if (isEnvelope()) {
+            return events != null ? events : List.of();
+        }
+        return List.of(this);
+    }
+
+    /**
+     * 배치 리스너용: 봉투를 풀어 순서를 유지한 단일 이벤트 목록으로 변환
+     */
+    public static List<ChatEvent> unpackAll(List<ChatEvent> records) {
+        List<ChatEvent> unpacked = new ArrayList<>(records.size());
+        for (ChatEvent record : records) {
+            unpacked.addAll(record.unpack());
+        }
+        return unpacked;
+    }
 }
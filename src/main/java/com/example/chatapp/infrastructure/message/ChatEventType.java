@@ -1,15 +1,54 @@
 package com.example.chatapp.infrastructure.message;
 
+/**
+ * 채팅 이벤트 타입
+ * 바이너리 와이어 포맷(ChatEventBinaryCodec)과 chat-event-types 헤더 마스크가 code로 인코딩하므로
+ * 이미 쓰인 code는 바꾸거나 다시 쓰지 않는다 (새 타입은 아직 쓰지 않은 code, 마스크 비트라 0~63).
+ */
 public enum ChatEventType {
-    MESSAGE_SENT,
-    MESSAGE_UPDATED,
-    MESSAGE_DELETED,
-    USER_JOINED,
-    USER_LEFT,
-    ROOM_CREATED,
-    ROOM_UPDATED,
-    ROOM_DELETED,
-    TYPING_START,
-    TYPING_STOP,
-    USER_STATUS_CHANGED
+    MESSAGE_SENT(0),
+    MESSAGE_UPDATED(1),
+    MESSAGE_DELETED(2),
+    USER_JOINED(3),
+    USER_LEFT(4),
+    ROOM_CREATED(5),
+    ROOM_UPDATED(6),
+    ROOM_DELETED(7),
+    TYPING_START(8),
+    TYPING_STOP(9),
+    USER_STATUS_CHANGED(10),
+    // 같은 채팅방 이벤트 N개를 담은 봉투 레코드 (ChatEvent.events)
+    EVENT_BATCH(11);
+
+    private static final int MAX_CODE = 63;
+    private static final ChatEventType[] BY_CODE = new ChatEventType[MAX_CODE + 1];
+
+    static {
+        for (ChatEventType type : values()) {
+            if (type.code < 0 || type.code > MAX_CODE || BY_CODE[type.code] != null) {
+                throw new IllegalStateException("이벤트 타입 code가 잘못되었거나 중복됩니다: " + type);
+            }
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final int code;
+
+    ChatEventType(int code) {
+        this.code = code;
+    }
+
+    /**
+     * 와이어 포맷에 쓰는 고정 code (선언 순서와 무관)
+     */
+    public int code() {
+        return code;
+    }
+
+    /**
+     * code로 타입 조회 (이 버전이 모르는 code면 null)
+     */
+    public static ChatEventType fromCode(int code) {
+        return code >= 0 && code <= MAX_CODE ? BY_CODE[code] : null;
+    }
 }
@@ -0,0 +1,51 @@
+package com.example.chatapp.infrastructure.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 알림 묶음을 로그로 남기는 기본 발송 창구 (로컬, 테스트용)
+ * INFO에는 사용자 ID와 개수만 남기고, 메시지 미리보기가 담긴 요약은 DEBUG에서만 남긴다.
+ * chat.notification.log-file을 지정하면 한 줄씩 파일에도 덧붙인다 (요약 포함, 로컬 확인용).
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "chat.notification.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingNotificationSink implements NotificationSink {
+
+    @Value("${chat.notification.log-file:}")
+    private String logFile;
+
+    @Override
+    public void send(NotificationDigest digest) {
+        if (log.isDebugEnabled()) {
+            log.debug("알림 발송: userId={}, messages={}, rooms={}, summary={}",
+                    digest.getUserId(), digest.getMessageCount(), digest.getMessagesByRoom().size(), digest.getSummary());
+        } else {
+            log.info("알림 발송: userId={}, messages={}, rooms={}",
+                    digest.getUserId(), digest.getMessageCount(), digest.getMessagesByRoom().size());
+        }
+
+        if (!logFile.isBlank()) {
+            append(digest.getUserId() + "\t" + digest.getMessageCount() + "\t" + digest.getMessagesByRoom()
+                    + "\t" + digest.getSummary() + System.lineSeparator());
+        }
+    }
+
+    private synchronized void append(String line) {
+        try {
+            Files.writeString(Path.of(logFile), line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("알림 로그 파일 기록 실패: file={}, error={}", logFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.chatapp.infrastructure.notification;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 사용자별 알림 묶음기
+ *
+ * 사용자에게 첫 알림이 오면 coalesce-window-ms짜리 묶음을 열고, 그동안 온 알림은 채팅방별 개수만 더한다.
+ * 창이 끝난 묶음은 스케줄러가 NotificationSink로 한 번에 보낸다.
+ * 따라서 100명 채팅방에 메시지가 몰려도 발송 수는 메시지 수 * 참여자 수가 아니라 창당 참여자 수로 제한된다.
+ *
+ * 묶음은 메모리에만 있으므로 인스턴스가 비정상 종료되면 최대 창 하나 분량의 알림을 잃는다 (정상 종료 시에는 모두 발송).
+ */
+@Component
+@Slf4j
+public class NotificationCoalescer {
+
+    private final NotificationSink notificationSink;
+    private final long windowMs;
+    private final LongSupplier clock;
+    private final Counter notifications;
+    private final Counter digests;
+    private final Counter failures;
+
+    private final ConcurrentHashMap<Long, PendingDigest> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NotificationCoalescer(
+            NotificationSink notificationSink,
+            MeterRegistry meterRegistry,
+            @Value("${chat.notification.coalesce-window-ms:10000}") long windowMs) {
+        this(notificationSink, meterRegistry, windowMs, System::currentTimeMillis);
+    }
+
+    NotificationCoalescer(NotificationSink notificationSink, MeterRegistry meterRegistry,
+                          long windowMs, LongSupplier clock) {
+        this.notificationSink = notificationSink;
+        this.windowMs = windowMs;
+        this.clock = clock;
+        this.notifications = Counter.builder("chat.notification.recipients")
+                .description("묶기 전 수신자별 알림 수")
+                .register(meterRegistry);
+        this.digests = Counter.builder("chat.notification.digests")
+                .description("발송한 알림 묶음 수")
+                .register(meterRegistry);
+        this.failures = Counter.builder("chat.notification.digest.failures")
+                .description("발송에 실패해 버린 알림 묶음 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용자 묶음에 새 메시지 알림 추가
+     */
+    public void add(long userId, ChatEvent message) {
+        long now = clock.getAsLong();
+        pending.compute(userId, (id, digest) -> {
+            PendingDigest target = digest != null ? digest : new PendingDigest(now + windowMs);
+            target.add(message);
+            return target;
+        });
+        notifications.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${chat.notification.flush-interval-ms:1000}")
+    public void flushDue() {
+        flush(clock.getAsLong());
+    }
+
+    /**
+     * 종료 전 남은 묶음을 모두 발송
+     */
+    @PreDestroy
+    public void flushAll() {
+        int sent = flush(Long.MAX_VALUE);
+        if (sent > 0) {
+            log.info("종료 전 알림 묶음 발송: {}건", sent);
+        }
+    }
+
+    /**
+     * 창이 끝난 묶음을 꺼내 발송
+     *
+     * @return 발송을 시도한 묶음 수
+     */
+    int flush(long now) {
+        List<NotificationDigest> due = new ArrayList<>();
+        for (Long userId : pending.keySet()) {
+            pending.computeIfPresent(userId, (id, digest) -> {
+                if (digest.dueAt > now) {
+                    return digest;
+                }
+                due.add(digest.toDigest(id));
+                return null;
+            });
+        }
+
+        for (NotificationDigest digest : due) {
+            try {
+                notificationSink.send(digest);
+                digests.increment();
+            } catch (Exception e) {
+                failures.increment();
+                log.error("알림 묶음 발송 실패: userId={}, messages={}, error={}",
+                        digest.getUserId(), digest.getMessageCount(), e.getMessage(), e);
+            }
+        }
+        return due.size();
+    }
+
+    /**
+     * 발송 전 묶음 (ConcurrentHashMap.compute 안에서만 수정)
+     */
+    private static final class PendingDigest {
+
+        private final long dueAt;
+        private final Map<Long, Integer> messagesByRoom = new LinkedHashMap<>();
+        private int messageCount;
+        private ChatEvent latest;
+
+        private PendingDigest(long dueAt) {
+            this.dueAt = dueAt;
+        }
+
+        private void add(ChatEvent message) {
+            messagesByRoom.merge(message.getChatRoomId(), 1, Integer::sum);
+            messageCount++;
+            latest = message;
+        }
+
+        private NotificationDigest toDigest(Long userId) {
+            return new NotificationDigest(userId, messageCount, messagesByRoom,
+                    latest.getChatRoomId(), latest.getUsername(), latest.getMessageContent());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.chatapp.infrastructure.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 한 사용자에게 묶음 창 동안 쌓인 새 메시지 알림 묶음
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationDigest {
+
+    private static final int PREVIEW_LENGTH = 50;
+
+    private final Long userId;
+    private final int messageCount;
+    // 채팅방 ID -> 새 메시지 수 (처음 알림이 온 순서)
+    private final Map<Long, Integer> messagesByRoom;
+    private final Long latestRoomId;
+    private final String latestSender;
+    private final String latestContent;
+
+    /**
+     * 알림 본문 (메시지 하나면 발신자와 미리보기, 여러 개면 "3개 채팅방에 새 메시지 12개")
+     */
+    public String getSummary() {
+        if (messageCount == 1) {
+            String content = latestContent != null ? latestContent : "";
+            return latestSender + ": " + content.substring(0, Math.min(PREVIEW_LENGTH, content.length()));
+        }
+        if (messagesByRoom.size() == 1) {
+            return "새 메시지 " + messageCount + "개";
+        }
+        return messagesByRoom.size() + "개 채팅방에 새 메시지 " + messageCount + "개";
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.chatapp.infrastructure.notification;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방 이벤트를 수신자별 알림으로 펼치는 단계
+ *
+ * - 새 메시지: 알림을 켠 참여자 중 발신자를 뺀 사용자마다 NotificationCoalescer 묶음에 추가
+ * - 입장/퇴장/채팅방 생성/삭제: 수신자가 바뀌므로 해당 채팅방 수신자 캐시만 무효화
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationFanout {
+
+    private final NotificationRecipientIndex recipientIndex;
+    private final NotificationCoalescer coalescer;
+
+    public void fanOut(ChatEvent event) {
+        switch (event.getEventType()) {
+            case MESSAGE_SENT:
+                fanOutMessage(event);
+                break;
+            case USER_JOINED:
+            case USER_LEFT:
+            case ROOM_CREATED:
+            case ROOM_DELETED:
+                recipientIndex.invalidate(event.getChatRoomId());
+                break;
+            default:
+                if (log.isDebugEnabled()) {
+                    log.debug("처리하지 않는 알림 타입: {}", event.getEventType());
+                }
+        }
+    }
+
+    private void fanOutMessage(ChatEvent message) {
+        long senderId = message.getUserId() != null ? message.getUserId() : -1L;
+        for (long userId : recipientIndex.recipients(message.getChatRoomId())) {
+            if (userId != senderId) {
+                coalescer.add(userId, message);
+            }
+        }
+    }
+}
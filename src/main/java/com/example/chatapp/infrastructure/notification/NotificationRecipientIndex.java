@@ -0,0 +1,106 @@
+package com.example.chatapp.infrastructure.notification;
+
+import com.example.chatapp.infrastructure.roomstate.RoomMembershipIndex;
+import com.example.chatapp.repository.ChatRoomParticipantRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 채팅방별 알림 수신자(알림을 켠 참여자) 조회
+ *
+ * 채팅방 상태 인덱스(RoomMembershipIndex)가 준비되어 있고 채팅방을 알면 DB 없이 그 수신자 배열을 쓴다.
+ * 인덱스는 커밋 후 발행되는 스냅샷으로 채워지므로 잠시 낡을 수 있지만, 알림이 한 번 더 가거나 빠지는 정도라 허용한다.
+ *
+ * 인덱스 준비 전(시작 직후, Kafka 비활성)이거나 모르는 채팅방이면 DB로 조회하고 recipients-ttl-ms 동안 재사용한다.
+ * - 입장/퇴장/생성/삭제 이벤트나 채팅방 상태 토픽 변경(모든 노드가 받음)을 받으면 해당 채팅방을 바로 무효화한다.
+ * - 알림 설정 변경은 이벤트가 없으므로 TTL이 지나야 (인덱스는 다음 스냅샷이 와야) 반영된다.
+ * - 캐시한 채팅방이 max-cached-rooms에 이르면 만료된 항목을 지우고, 그래도 가득 차 있으면 전부 비운다.
+ */
+@Component
+public class NotificationRecipientIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final ChatRoomParticipantRepository chatRoomParticipantRepository;
+    private final RoomMembershipIndex roomMembershipIndex;
+    private final long ttlMs;
+    private final int maxRooms;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<Long, Recipients> rooms = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NotificationRecipientIndex(
+            ChatRoomParticipantRepository chatRoomParticipantRepository,
+            RoomMembershipIndex roomMembershipIndex,
+            @Value("${chat.notification.recipients-ttl-ms:60000}") long ttlMs,
+            @Value("${chat.notification.max-cached-rooms:10000}") int maxRooms) {
+        this(chatRoomParticipantRepository, roomMembershipIndex, ttlMs, maxRooms, System::currentTimeMillis);
+    }
+
+    NotificationRecipientIndex(ChatRoomParticipantRepository chatRoomParticipantRepository,
+                               RoomMembershipIndex roomMembershipIndex,
+                               long ttlMs, int maxRooms, LongSupplier clock) {
+        this.chatRoomParticipantRepository = chatRoomParticipantRepository;
+        this.roomMembershipIndex = roomMembershipIndex;
+        this.ttlMs = ttlMs;
+        this.maxRooms = maxRooms;
+        this.clock = clock;
+    }
+
+    /**
+     * 알림을 켠 참여자 ID (발신자 포함, 호출자가 수정하면 안 됨)
+     */
+    public long[] recipients(Long roomId) {
+        if (roomId == null) {
+            return EMPTY;
+        }
+        long[] indexed = roomMembershipIndex.notificationRecipients(roomId);
+        if (indexed != null) {
+            return indexed;
+        }
+
+        long now = clock.getAsLong();
+        Recipients cached = rooms.get(roomId);
+        if (cached != null && now - cached.loadedAt < ttlMs) {
+            return cached.userIds;
+        }
+
+        long[] userIds = chatRoomParticipantRepository.findNotificationRecipientIds(roomId).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        if (cached == null && rooms.size() >= maxRooms) {
+            evict(now);
+        }
+        rooms.put(roomId, new Recipients(userIds, now));
+        return userIds;
+    }
+
+    public void invalidate(Long roomId) {
+        if (roomId != null) {
+            rooms.remove(roomId);
+        }
+    }
+
+    private void evict(long now) {
+        rooms.values().removeIf(recipients -> now - recipients.loadedAt >= ttlMs);
+        if (rooms.size() >= maxRooms) {
+            rooms.clear();
+        }
+    }
+
+    private static final class Recipients {
+
+        private final long[] userIds;
+        private final long loadedAt;
+
+        private Recipients(long[] userIds, long loadedAt) {
+            this.userIds = userIds;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.chatapp.infrastructure.notification;
+
+/**
+ * 사용자별 알림 묶음 발송 창구 (푸시, 이메일 등 외부 알림 서비스 연동 지점)
+ *
+ * NotificationCoalescer의 스케줄러 스레드에서 호출되며, 예외를 던지면 해당 묶음은 로그만 남기고 버린다.
+ */
+public interface NotificationSink {
+
+    void send(NotificationDigest digest);
+}
@@ -0,0 +1,38 @@
+package com.example.chatapp.infrastructure.outbox;
+
+import com.example.chatapp.infrastructure.kafka.serialization.ChatEventBinaryCodec;
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 아웃박스 기록기
+ * 호출한 쪽의 트랜잭션에 참여하므로 도메인 변경이 롤백되면 이벤트도 함께 사라진다.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * 이벤트를 아웃박스에 기록 (반드시 기존 트랜잭션 안에서 호출)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String topic, String key, ChatEvent event) {
+        outboxEventRepository.save(OutboxEvent.of(topic, key, ChatEventBinaryCodec.encode(event)));
+    }
+
+    /**
+     * 프로듀서가 포화 상태이거나 발행에 실패한 이벤트를 기록 (릴레이가 나중에 발송)
+     * 호출한 쪽에 트랜잭션이 있으면 참여하므로 그 트랜잭션이 롤백되면 기록도 사라진다 (저장되지 않은 도메인 변경의 이벤트를 발행하지 않음).
+     * 트랜잭션 밖(@Async 발행, 비동기 저장 모드)에서 부르면 새 트랜잭션으로 기록한다.
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void spill(String topic, String key, ChatEvent event) {
+        outboxEventRepository.save(OutboxEvent.of(topic, key, ChatEventBinaryCodec.encode(event)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.chatapp.infrastructure.outbox;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 트랜잭셔널 아웃박스 레코드
+ * 도메인 변경과 같은 트랜잭션에서 기록되고, OutboxRelay가 Kafka로 발송한 뒤 sentAt을 채운다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "event_outbox",
+        indexes = {
+                @Index(name = "idx_outbox_sent_at", columnList = "sent_at,id")
+        }
+)
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String topic;
+
+    @Column(name = "event_key", nullable = false, length = 100)
+    private String eventKey;
+
+    // ChatEventBinaryCodec으로 인코딩된 이벤트
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // 발송 시도가 max-attempts에 이르러 릴레이 대상에서 뺀 시각 (수동 확인 후 NULL로 되돌리면 다시 발송)
+    @Column(name = "parked_at")
+    private LocalDateTime parkedAt;
+
+    private OutboxEvent(String topic, String eventKey, byte[] payload) {
+        this.topic = topic;
+        this.eventKey = eventKey;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public static OutboxEvent of(String topic, String eventKey, byte[] payload) {
+        if (topic == null || eventKey == null || payload == null) {
+            throw new IllegalArgumentException("아웃박스 토픽, 키, 페이로드는 필수입니다");
+        }
+        return new OutboxEvent(topic, eventKey, payload);
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.chatapp.infrastructure.outbox;
+
+import com.example.chatapp.infrastructure.bus.ChatEventBus;
+import com.example.chatapp.infrastructure.kafka.serialization.ChatEventBinaryCodec;
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.repository.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 아웃박스 릴레이
+ * 미발송 레코드를 배치로 잠금 조회해 ID 순서(=커밋 순서)대로 이벤트 버스(Kafka 또는 링 버퍼)로 발송하고 발송 완료로 표시한다.
+ * 같은 채팅방은 같은 키로 발송되므로 파티션 내 순서가 유지된다.
+ * 여러 노드를 띄워도 DB 임대를 쥔 리더 한 노드만 릴레이한다 (OutboxRelayLeader).
+ * 노드마다 배치를 나눠 보내면 같은 채팅방 레코드의 발송 순서가 노드 간에 뒤섞이기 때문이다.
+ * 발송 실패한 레코드는 다음 폴링에서 다시 발송되므로 컨슈머는 at-least-once를 가정해야 한다.
+ *
+ * - 배치는 키별 n번째 묶음끼리 한 차례로 나눠 차례마다 모두 비동기로 보낸 뒤 한 번에 기다린다 (대부분 한 차례).
+ *   한 키의 묶음이 실패하면 같은 배치에서 그 키의 뒤 묶음은 보내지 않아 채팅방 순서가 뒤집히지 않는다.
+ * - 결과 대기는 배치 전체에 send-timeout-ms 한 번만 쓰므로 행 잠금을 쥐는 시간이 묶음 수에 비례하지 않는다.
+ * - max-attempts번 실패한 레코드는 parked_at을 채워 릴레이 대상에서 뺀다 (디코딩 불가 등 계속 실패하는 레코드가 키를 막지 않도록).
+ * - 릴레이는 밀린 레코드가 있으면 배치를 연속으로 처리하므로 공용 @Scheduled 풀이 아닌 전용 스레드(outbox-relay)에서 돈다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ChatEventBus chatEventBus;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxRelayLeader relayLeader;
+
+    @Value("${chat.outbox.poll-interval-ms:200}")
+    private long pollIntervalMs;
+
+    @Value("${chat.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${chat.outbox.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    @Value("${chat.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${chat.outbox.purge-chunk-size:1000}")
+    private int purgeChunkSize;
+
+    @Value("${chat.outbox.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private ScheduledExecutorService relayExecutor;
+
+    @PostConstruct
+    void start() {
+        relayExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        relayExecutor.scheduleWithFixedDelay(this::relayPendingSafely, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 릴레이 중지 (진행 중인 배치는 send-timeout-ms까지 기다림)
+     */
+    @PreDestroy
+    void stop() {
+        relayExecutor.shutdown();
+        try {
+            relayExecutor.awaitTermination(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 예외가 나면 이후 실행이 취소되므로 로그만 남기고 다음 주기에 다시 시도
+    private void relayPendingSafely() {
+        try {
+            relayPending();
+        } catch (RuntimeException e) {
+            log.error("아웃박스 릴레이 실패: error={}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 미발송 레코드 릴레이 (배치가 가득 차고 모두 발송됐으면 밀린 레코드로 보고 연속 처리)
+     * 리더가 아니면 아무것도 하지 않고, 배치마다 임대를 확인해 리더를 잃으면 바로 멈춘다.
+     */
+    public void relayPending() {
+        int relayed;
+        do {
+            if (!relayLeader.acquire()) {
+                return;
+            }
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    /**
+     * 발송 완료 후 보존 기간이 지난 레코드를 청크 단위로 삭제
+     */
+    @Scheduled(fixedDelayString = "${chat.outbox.purge-interval-ms:60000}")
+    public void purgeSent() {
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(retentionMinutes);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = outboxEventRepository.findSentIdsBefore(threshold, PageRequest.of(0, purgeChunkSize));
+                if (!ids.isEmpty()) {
+                    outboxEventRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            });
+            total += deleted;
+        } while (deleted == purgeChunkSize);
+
+        if (total > 0) {
+            log.debug("아웃박스 정리 완료: {}건 삭제", total);
+        }
+    }
+
+    private int relayBatch() {
+        Integer processed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.findPendingForUpdate(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+            Set<String> failedKeys = new HashSet<>();
+            List<Long> sentIds = new ArrayList<>(batch.size());
+            List<Long> failedIds = new ArrayList<>();
+            List<Long> parkedIds = new ArrayList<>();
+            int skipped = 0;
+
+            for (List<SendGroup> wave : waves(group(batch))) {
+                // 차례 안의 묶음은 모두 발송 요청한 뒤 한꺼번에 결과를 기다림 (프로듀서 배치 활용)
+                for (SendGroup group : wave) {
+                    if (!failedKeys.contains(group.key)) {
+                        group.future = send(group);
+                    }
+                }
+                for (SendGroup group : wave) {
+                    if (group.future == null) {
+                        // 앞 묶음이 실패한 키: 시도 횟수를 늘리지 않고 다음 폴링에서 순서대로 다시 보냄
+                        skipped += group.records.size();
+                        continue;
+                    }
+                    try {
+                        group.future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                        group.records.forEach(record -> sentIds.add(record.getId()));
+                    } catch (Exception e) {
+                        failedKeys.add(group.key);
+                        for (OutboxEvent record : group.records) {
+                            failed(record, e, record.getAttempts() + 1 >= maxAttempts ? parkedIds : failedIds);
+                        }
+                    }
+                }
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            if (!sentIds.isEmpty()) {
+                outboxEventRepository.markSent(sentIds, now);
+            }
+            if (!failedIds.isEmpty()) {
+                outboxEventRepository.incrementAttempts(failedIds);
+            }
+            if (!parkedIds.isEmpty()) {
+                outboxEventRepository.markParked(parkedIds, now);
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug("아웃박스 릴레이: 발송={}, 실패={}, 보류={}, 건너뜀={}",
+                        sentIds.size(), failedIds.size(), parkedIds.size(), skipped);
+            }
+            return sentIds.size();
+        });
+        return processed != null ? processed : 0;
+    }
+
+    private void failed(OutboxEvent record, Exception e, List<Long> ids) {
+        ids.add(record.getId());
+        int attempts = record.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            log.error("아웃박스 발송 {}회 실패로 릴레이 대상에서 제외: id={}, topic={}, key={}, error={}",
+                    attempts, record.getId(), record.getTopic(), record.getEventKey(), e.getMessage());
+        } else {
+            log.warn("아웃박스 발송 실패: id={}, topic={}, attempts={}, error={}",
+                    record.getId(), record.getTopic(), attempts, e.getMessage());
+        }
+    }
+
+    /**
+     * 키별 n번째 묶음끼리 모은 발송 차례 (묶음 순서 = ID 순서)
+     */
+    private static List<List<SendGroup>> waves(List<SendGroup> groups) {
+        List<List<SendGroup>> waves = new ArrayList<>();
+        Map<String, Integer> nextWave = new HashMap<>();
+        for (SendGroup group : groups) {
+            int index = nextWave.merge(group.key, 1, Integer::sum) - 1;
+            if (index == waves.size()) {
+                waves.add(new ArrayList<>());
+            }
+            waves.get(index).add(group);
+        }
+        return waves;
+    }
+
+    /**
+     * 발송 단위 구성
+     * 봉투 배치가 켜져 있으면 같은 토픽/키의 레코드를 ID 순서대로 최대 개수까지 묶어 하나의 봉투로 보낸다.
+     * 묶음의 성공/실패는 담긴 레코드 전체에 적용된다.
+     */
+    private List<SendGroup> group(List<OutboxEvent> batch) {
+        List<SendGroup> groups = new ArrayList<>();
+        if (!chatEventBus.isEnvelopeEnabled()) {
+            for (OutboxEvent record : batch) {
+                groups.add(new SendGroup(record));
+            }
+            return groups;
+        }
+
+        int maxEvents = chatEventBus.getEnvelopeMaxEvents();
+        Map<String, SendGroup> open = new HashMap<>();
+        for (OutboxEvent record : batch) {
+            String groupKey = sendKey(record);
+            SendGroup current = open.get(groupKey);
+            if (current == null || current.records.size() >= maxEvents) {
+                current = new SendGroup(record);
+                open.put(groupKey, current);
+                groups.add(current);
+            } else {
+                current.records.add(record);
+            }
+        }
+        return groups;
+    }
+
+    private CompletableFuture<?> send(SendGroup group) {
+        try {
+            OutboxEvent first = group.records.get(0);
+            if (group.records.size() == 1) {
+                ChatEvent event = ChatEventBinaryCodec.decode(first.getPayload());
+                return chatEventBus.sendRecord(first.getTopic(), first.getEventKey(), event);
+            }
+
+            // 포화 시 아웃박스로 넘어온 봉투 레코드도 있으므로 풀어서 다시 묶음 (중첩 봉투 방지)
+            List<ChatEvent> events = new ArrayList<>(group.records.size());
+            for (OutboxEvent record : group.records) {
+                events.addAll(ChatEventBinaryCodec.decode(record.getPayload()).unpack());
+            }
+            ChatEvent envelope = ChatEvent.envelope(events.get(0).getChatRoomId(), events);
+            return chatEventBus.sendRecord(first.getTopic(), first.getEventKey(), envelope);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // 순서를 지켜야 하는 단위 (토픽 + 레코드 키)
+    private static String sendKey(OutboxEvent record) {
+        return record.getTopic() + '|' + record.getEventKey();
+    }
+
+    private static final class SendGroup {
+        private final String key;
+        private final List<OutboxEvent> records = new ArrayList<>();
+        private CompletableFuture<?> future;
+
+        private SendGroup(OutboxEvent first) {
+            this.key = sendKey(first);
+            records.add(first);
+        }
+    }
+}
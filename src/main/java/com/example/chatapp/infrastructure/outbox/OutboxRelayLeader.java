@@ -0,0 +1,122 @@
+package com.example.chatapp.infrastructure.outbox;
+
+import com.example.chatapp.repository.OutboxRelayLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * 아웃박스 릴레이 리더 선출 (DB 임대)
+ *
+ * 여러 노드의 릴레이가 동시에 배치를 나눠 보내면 같은 채팅방 레코드가 서로 다른 노드에서 발송되어
+ * 브로커에 도착하는 순서가 커밋 순서와 달라질 수 있다. 그래서 outbox_relay_lease 행 하나를 임대로 써서
+ * 임대를 쥔 노드 하나만 릴레이한다.
+ *
+ * - 조건부 UPDATE(내가 쥐었거나 만료됨)로 획득/연장하므로 두 노드가 같은 시각에 임대를 쥐지 못한다.
+ * - 남은 시간이 lease-ms의 절반 아래로 내려갈 때만 연장해 폴링마다 쓰지 않는다.
+ * - 리더가 죽으면 lease-ms 뒤에 다른 노드가 이어받는다. 노드 시계로 만료를 판단하므로
+ *   lease-ms는 노드 간 시계 차이와 배치 하나의 발송 시간(send-timeout-ms)보다 넉넉히 커야 한다.
+ */
+@Component
+@Slf4j
+public class OutboxRelayLeader {
+
+    static final String LEASE_NAME = "outbox-relay";
+
+    private final OutboxRelayLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long leaseMs;
+    private final LongSupplier clock;
+    private final String owner = UUID.randomUUID().toString();
+
+    // 임대가 유효한 마지막 시각 (이 노드 기준, 쥐고 있지 않으면 0)
+    private volatile long heldUntil;
+
+    @Autowired
+    public OutboxRelayLeader(
+            OutboxRelayLeaseRepository leaseRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${chat.outbox.lease-ms:15000}") long leaseMs) {
+        this(leaseRepository, transactionTemplate, leaseMs, System::currentTimeMillis);
+    }
+
+    OutboxRelayLeader(OutboxRelayLeaseRepository leaseRepository, TransactionTemplate transactionTemplate,
+                      long leaseMs, LongSupplier clock) {
+        if (leaseMs < 2) {
+            throw new IllegalArgumentException("lease-ms는 2 이상이어야 합니다");
+        }
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.leaseMs = leaseMs;
+        this.clock = clock;
+    }
+
+    /**
+     * 이 노드가 릴레이 리더인지 (필요하면 임대를 획득/연장)
+     */
+    public boolean acquire() {
+        long now = clock.getAsLong();
+        if (now < heldUntil - leaseMs / 2) {
+            return true;
+        }
+
+        long expiresAt = now + leaseMs;
+        boolean held = tryAcquire(now, expiresAt) || tryCreate(expiresAt);
+        if (held != (heldUntil > now)) {
+            log.info(held ? "아웃박스 릴레이 리더 획득: owner={}" : "아웃박스 릴레이 리더 상실: owner={}", owner);
+        }
+        heldUntil = held ? expiresAt : 0;
+        return held;
+    }
+
+    /**
+     * 종료 시 임대 반납 (다른 노드가 만료를 기다리지 않도록)
+     */
+    @PreDestroy
+    public void release() {
+        if (heldUntil == 0) {
+            return;
+        }
+        heldUntil = 0;
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    leaseRepository.release(LEASE_NAME, owner, toDateTime(clock.getAsLong())));
+        } catch (RuntimeException e) {
+            log.warn("아웃박스 릴레이 임대 반납 실패: error={}", e.getMessage());
+        }
+    }
+
+    private boolean tryAcquire(long now, long expiresAt) {
+        Integer updated = transactionTemplate.execute(status ->
+                leaseRepository.tryAcquire(LEASE_NAME, owner, toDateTime(now), toDateTime(expiresAt)));
+        return updated != null && updated == 1;
+    }
+
+    // 임대 행이 아직 없으면 만들면서 획득 (동시에 만들면 한 노드만 성공)
+    private boolean tryCreate(long expiresAt) {
+        if (leaseRepository.existsById(LEASE_NAME)) {
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    leaseRepository.insert(LEASE_NAME, owner, toDateTime(expiresAt)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private static LocalDateTime toDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.chatapp.infrastructure.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아웃박스 릴레이 리더 임대 레코드
+ * 이름당 한 행이며, expiresAt 전까지 owner 노드만 릴레이한다 (OutboxRelayLeader).
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "outbox_relay_lease")
+public class OutboxRelayLease {
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(nullable = false, length = 100)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public OutboxRelayLease(String name, String owner, LocalDateTime expiresAt) {
+        this.name = name;
+        this.owner = owner;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.chatapp.infrastructure.persistence;
+
+import com.example.chatapp.domain.MessageStatus;
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 메시지 이벤트를 messages 테이블에 다중 행 INSERT로 기록하는 쓰기 도구 (비동기 저장 모드)
+ *
+ * - ID는 발행 시점에 미리 발급된 시간 순서 ID를 그대로 쓰므로 IDENTITY 왕복 없이 한 문장에 여러 행을 넣는다.
+ * - 같은 이벤트가 다시 들어와도(재전달, 오프셋 재처리) event_id/PK 중복은 무시되어 멱등이다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MessageBatchWriter {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO messages (id, event_id, room_seq, content, timestamp, sender_id, chat_room_id, status) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SUFFIX = " ON DUPLICATE KEY UPDATE id = id";
+    private static final int COLUMNS = 8;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${chat.message.persistence.insert-chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * 메시지 이벤트를 청크 단위 다중 행 INSERT로 기록
+     *
+     * @return 새로 기록된 행 수 (이미 있던 행 제외, 드라이버에 따라 근사값)
+     */
+    public int write(List<ChatEvent> messageEvents) {
+        int inserted = 0;
+        for (int from = 0; from < messageEvents.size(); from += chunkSize) {
+            List<ChatEvent> chunk = messageEvents.subList(from, Math.min(from + chunkSize, messageEvents.size()));
+            inserted += jdbcTemplate.update(insertSql(chunk.size()), bindArgs(chunk));
+        }
+        return inserted;
+    }
+
+    /**
+     * 한 행씩 기록 (다중 행 INSERT가 무결성 오류로 실패했을 때 문제 행만 건너뛰기 위함)
+     *
+     * @return 무결성 오류로 건너뛴 이벤트 수
+     */
+    public int writeEach(List<ChatEvent> messageEvents) {
+        int skipped = 0;
+        for (ChatEvent event : messageEvents) {
+            try {
+                jdbcTemplate.update(insertSql(1), bindArgs(List.of(event)));
+            } catch (DataIntegrityViolationException e) {
+                // 채팅방/사용자가 그 사이 삭제된 경우 등 재시도해도 성공할 수 없는 행
+                skipped++;
+                log.error("메시지 저장 불가로 건너뜀: eventId={}, messageId={}, roomId={}, error={}",
+                        event.getEventId(), event.getMessageId(), event.getChatRoomId(), e.getMessage());
+            }
+        }
+        return skipped;
+    }
+
+    private String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDER.length() + 2) + INSERT_SUFFIX.length());
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+        }
+        return sql.append(INSERT_SUFFIX).toString();
+    }
+
+    private Object[] bindArgs(List<ChatEvent> events) {
+        List<Object> args = new ArrayList<>(events.size() * COLUMNS);
+        for (ChatEvent event : events) {
+            args.add(event.getMessageId());
+            args.add(event.getEventId());
+            args.add(event.getSeq());
+            args.add(event.getMessageContent());
+            args.add(Timestamp.valueOf(event.getTimestamp()));
+            args.add(event.getUserId());
+            args.add(event.getChatRoomId());
+            args.add(MessageStatus.SENT.name());
+        }
+        return args.toArray();
+    }
+}
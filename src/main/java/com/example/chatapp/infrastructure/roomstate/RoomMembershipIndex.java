@@ -0,0 +1,113 @@
+package com.example.chatapp.infrastructure.roomstate;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방 상태 토픽으로 만든 노드 로컬 채팅방 참여자 인덱스
+ *
+ * RoomStateConsumer가 노드 시작 시 토픽을 처음부터 읽어 채우고 이후 변경을 계속 반영한다 (DB 조회 없음).
+ * - 채팅방마다 정렬된 참여자 ID 배열을 둔다.
+ * - 스냅샷 버전이 현재보다 낮으면 무시하고, 삭제(톰스톤)되면 채팅방을 지운다.
+ * - 알림을 끈 참여자를 뺀 알림 수신자 배열도 미리 만들어 두어 NotificationRecipientIndex가 DB 대신 쓴다.
+ * - 스냅샷 발행은 커밋 후 최선 노력이라 발행이 늦거나 실패하면 낡은 구성이 남을 수 있다.
+ *   낡아도 알림이 한 번 더 가거나 빠지는 정도인 알림 수신자에만 쓰고,
+ *   권한 확인(메시지 전송, 이어받기 등)에는 쓰지 않고 DB로 확인한다.
+ */
+@Component
+public class RoomMembershipIndex {
+
+    private final ConcurrentHashMap<Long, RoomMembers> rooms = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    /**
+     * 스냅샷 반영
+     *
+     * @return 반영했으면 true, 더 낮은 버전이라 무시했으면 false
+     */
+    public boolean apply(RoomStateSnapshot snapshot) {
+        if (snapshot.getRoomId() == null) {
+            return false;
+        }
+        long[] members = snapshot.getMemberIds() == null ? new long[0]
+                : snapshot.getMemberIds().stream().mapToLong(Long::longValue).sorted().toArray();
+        RoomMembers next = new RoomMembers(members, recipients(members, snapshot.getMutedIds()),
+                snapshot.getStateVersion());
+        RoomMembers applied = rooms.merge(snapshot.getRoomId(), next,
+                (current, incoming) -> incoming.version >= current.version ? incoming : current);
+        return applied == next;
+    }
+
+    /**
+     * 채팅방 삭제 반영
+     */
+    public void remove(Long roomId) {
+        if (roomId != null) {
+            rooms.remove(roomId);
+        }
+    }
+
+    /**
+     * 채팅방 참여자 ID (모르는 채팅방이면 null, 호출자가 수정하면 안 됨)
+     */
+    public long[] members(Long roomId) {
+        RoomMembers members = roomId != null ? rooms.get(roomId) : null;
+        return members != null ? members.userIds : null;
+    }
+
+    /**
+     * 채팅방 알림 수신자 ID (알림을 켠 참여자, 오름차순)
+     * 준비 전이거나 모르는 채팅방, 알림 설정이 없는 예전 스냅샷이면 null (호출자가 DB로 확인, 수정하면 안 됨)
+     */
+    public long[] notificationRecipients(Long roomId) {
+        if (!ready || roomId == null) {
+            return null;
+        }
+        RoomMembers members = rooms.get(roomId);
+        return members != null ? members.recipientIds : null;
+    }
+
+    public int size() {
+        return rooms.size();
+    }
+
+    /**
+     * 시작 시 토픽을 끝까지 읽었는지
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    void markReady() {
+        ready = true;
+    }
+
+    private static long[] recipients(long[] members, List<Long> mutedIds) {
+        if (mutedIds == null) {
+            return null;
+        }
+        if (mutedIds.isEmpty()) {
+            return members;
+        }
+        long[] muted = mutedIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        return Arrays.stream(members)
+                .filter(userId -> Arrays.binarySearch(muted, userId) < 0)
+                .toArray();
+    }
+
+    private static final class RoomMembers {
+
+        private final long[] userIds;
+        private final long[] recipientIds;
+        private final long version;
+
+        private RoomMembers(long[] userIds, long[] recipientIds, long version) {
+            this.userIds = userIds;
+            this.recipientIds = recipientIds;
+            this.version = version;
+        }
+    }
+}
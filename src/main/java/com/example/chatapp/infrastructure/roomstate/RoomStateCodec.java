@@ -0,0 +1,36 @@
+package com.example.chatapp.infrastructure.roomstate;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 채팅방 상태 스냅샷 JSON 코덱 (토픽 값은 byte[]로 주고받음, 삭제는 null 값 톰스톤)
+ */
+final class RoomStateCodec {
+
+    // ObjectMapper는 스레드 안전하므로 공유
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private RoomStateCodec() {
+    }
+
+    static byte[] encode(RoomStateSnapshot snapshot) {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(snapshot);
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅방 상태 직렬화 실패: roomId=" + snapshot.getRoomId(), e);
+        }
+    }
+
+    static RoomStateSnapshot decode(byte[] data) {
+        try {
+            return OBJECT_MAPPER.readValue(data, RoomStateSnapshot.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅방 상태 역직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.chatapp.infrastructure.roomstate;
+
+import com.example.chatapp.config.KafkaConfig;
+import com.example.chatapp.infrastructure.notification.NotificationRecipientIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 채팅방 상태 토픽 컨슈머 (모든 노드가 전체 토픽을 읽음)
+ *
+ * 컨슈머 그룹 없이 모든 파티션을 직접 할당받아 처음부터 읽어 RoomMembershipIndex를 채운다 (오프셋은 커밋하지 않음).
+ * 그룹을 만들지 않으므로 노드가 재시작할 때마다 버려진 그룹이 쌓이지 않는다.
+ * 처음으로 유휴 상태(더 읽을 레코드 없음)가 되면 인덱스를 준비 완료로 표시한다.
+ * 변경을 받으면 이 노드의 알림 수신자 캐시도 무효화한다 (입장/퇴장 이벤트는 알림 그룹의 한 노드만 받으므로).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomStateConsumer implements ConsumerSeekAware {
+
+    public static final String LISTENER_ID = "room-state";
+
+    private final RoomMembershipIndex roomMembershipIndex;
+    private final NotificationRecipientIndex notificationRecipientIndex;
+    private final MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void initMetrics() {
+        Gauge.builder("chat.roomstate.rooms", roomMembershipIndex, RoomMembershipIndex::size)
+                .description("채팅방 상태 인덱스에 있는 채팅방 수")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+        id = LISTENER_ID,
+        idIsGroup = false,
+        topicPartitions = @org.springframework.kafka.annotation.TopicPartition(topic = KafkaConfig.ROOM_STATE_TOPIC,
+                partitions = "#{@roomStatePartitions.partitions()}"),
+        containerFactory = "roomStateKafkaListenerContainerFactory",
+        autoStartup = "${spring.kafka.enabled:true}"
+    )
+    public void handleRoomState(ConsumerRecord<String, byte[]> record) {
+        Long roomId = roomId(record.key());
+        if (roomId == null) {
+            log.warn("채팅방 상태 키를 해석할 수 없어 건너뜀: key={}, offset={}", record.key(), record.offset());
+            return;
+        }
+
+        if (record.value() == null) {
+            roomMembershipIndex.remove(roomId);
+        } else {
+            try {
+                roomMembershipIndex.apply(RoomStateCodec.decode(record.value()));
+            } catch (Exception e) {
+                // 다음 스냅샷이 덮어쓰므로 건너뜀 (그 전까지는 DB로 확인됨)
+                log.error("채팅방 상태 반영 실패: roomId={}, offset={}, error={}", roomId, record.offset(), e.getMessage());
+                roomMembershipIndex.remove(roomId);
+            }
+        }
+        notificationRecipientIndex.invalidate(roomId);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToBeginning(assignments.keySet());
+    }
+
+    @EventListener(condition = "event.listenerId.startsWith('" + LISTENER_ID + "')")
+    public void onIdle(ListenerContainerIdleEvent event) {
+        if (!roomMembershipIndex.isReady()) {
+            roomMembershipIndex.markReady();
+            log.info("채팅방 상태 인덱스 준비 완료: 채팅방 {}개", roomMembershipIndex.size());
+        }
+    }
+
+    private Long roomId(String key) {
+        if (key == null || !key.startsWith("room-")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(key.substring("room-".length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
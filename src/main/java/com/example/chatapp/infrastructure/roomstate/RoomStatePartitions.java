@@ -0,0 +1,49 @@
+package com.example.chatapp.infrastructure.roomstate;
+
+import com.example.chatapp.config.KafkaConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 채팅방 상태 토픽 파티션 목록 (RoomStateConsumer 직접 할당용)
+ * 브로커에서 조회하고, 토픽이 아직 만들어지지 않았거나 조회에 실패하면 선언한 파티션 수를 쓴다.
+ */
+@Component("roomStatePartitions")
+@Slf4j
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomStatePartitions {
+
+    private static final Duration LOOKUP_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ConsumerFactory<String, byte[]> roomStateConsumerFactory;
+    private final NewTopic roomStateTopic;
+
+    public RoomStatePartitions(
+            @Qualifier("roomStateConsumerFactory") ConsumerFactory<String, byte[]> roomStateConsumerFactory,
+            @Qualifier("roomStateTopic") NewTopic roomStateTopic) {
+        this.roomStateConsumerFactory = roomStateConsumerFactory;
+        this.roomStateTopic = roomStateTopic;
+    }
+
+    public String[] partitions() {
+        try (Consumer<String, byte[]> consumer = roomStateConsumerFactory.createConsumer()) {
+            List<PartitionInfo> infos = consumer.partitionsFor(KafkaConfig.ROOM_STATE_TOPIC, LOOKUP_TIMEOUT);
+            if (infos != null && !infos.isEmpty()) {
+                return infos.stream().map(info -> String.valueOf(info.partition())).toArray(String[]::new);
+            }
+        } catch (Exception e) {
+            log.warn("채팅방 상태 토픽 파티션 조회 실패, 선언한 파티션 수를 사용: error={}", e.getMessage());
+        }
+        return IntStream.range(0, roomStateTopic.numPartitions()).mapToObj(String::valueOf).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.chatapp.infrastructure.roomstate;
+
+import com.example.chatapp.config.KafkaConfig;
+import com.example.chatapp.infrastructure.bus.ChatEventBus;
+import com.example.chatapp.repository.ChatRoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 채팅방 상태 토픽 발행 (spring.kafka.enabled=true)
+ *
+ * 키는 채팅방 키(room-{id})라 토픽 압축 후에도 채팅방마다 마지막 스냅샷 하나가 남고, 삭제는 null 값(톰스톤)으로 지운다.
+ * 스냅샷은 커밋 후 채팅방을 새로 읽어 만들므로 발행 내용과 버전(채팅방 행의 stateVersion)이 항상 커밋된 구성과 맞는다.
+ * 발행 실패는 로그만 남긴다 (다음 변경 스냅샷이 덮어씀, 인덱스는 권한 확인에 쓰지 않음).
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomStateProducer {
+
+    private final KafkaTemplate<String, byte[]> roomStateKafkaTemplate;
+    private final ChatRoomRepository chatRoomRepository;
+
+    public RoomStateProducer(
+            @Qualifier(KafkaConfig.ROOM_STATE_KAFKA_TEMPLATE) KafkaTemplate<String, byte[]> roomStateKafkaTemplate,
+            ChatRoomRepository chatRoomRepository) {
+        this.roomStateKafkaTemplate = roomStateKafkaTemplate;
+        this.chatRoomRepository = chatRoomRepository;
+    }
+
+    /**
+     * 커밋된 채팅방 구성을 다시 읽어 스냅샷 발행 (커밋 후 호출)
+     * 참여자와 stateVersion을 한 번의 조회로 함께 읽으므로, 동시에 바뀐 채팅방도 가장 높은 버전의 스냅샷이 마지막 커밋을 반영한다.
+     * 그 사이 채팅방이 삭제됐으면 발행하지 않는다 (삭제 톰스톤이 따로 나감).
+     */
+    @Async
+    @Transactional(readOnly = true)
+    public void publishCurrent(Long roomId) {
+        try {
+            chatRoomRepository.findByIdWithParticipants(roomId)
+                    .map(RoomStateSnapshot::of)
+                    .ifPresent(snapshot -> send(roomId, RoomStateCodec.encode(snapshot)));
+        } catch (Exception e) {
+            log.error("채팅방 상태 스냅샷 생성 실패: roomId={}, error={}", roomId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 채팅방 삭제 톰스톤 발행
+     */
+    public void publishDeleted(Long roomId) {
+        send(roomId, null);
+    }
+
+    private void send(Long roomId, byte[] value) {
+        String key = ChatEventBus.roomKey(roomId);
+        try {
+            roomStateKafkaTemplate.send(KafkaConfig.ROOM_STATE_TOPIC, key, value)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.error("채팅방 상태 발행 실패: key={}, tombstone={}, error={}",
+                                    key, value == null, ex.getMessage());
+                        } else if (log.isDebugEnabled()) {
+                            log.debug("채팅방 상태 발행 완료: key={}, tombstone={}", key, value == null);
+                        }
+                    });
+        } catch (Exception e) {
+            log.error("채팅방 상태 발행 중 예외 발생: key={}, error={}", key, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.chatapp.infrastructure.roomstate;
+
+import com.example.chatapp.domain.ChatRoom;
+import com.example.chatapp.domain.ChatRoomParticipant;
+import com.example.chatapp.domain.ParticipantRole;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 채팅방 상태 스냅샷 (채팅방 상태 토픽의 값, 채팅방 ID 키로 압축되므로 항상 전체 상태를 담음)
+ *
+ * stateVersion은 채팅방 행의 참여자 구성 버전(구성이 바뀔 때마다 같은 트랜잭션에서 1 증가)으로,
+ * 참여자와 한 번의 조회로 함께 읽으므로 버전이 높은 스냅샷이 항상 더 최신 구성이다 (노드 시계와 무관).
+ * 컨슈머는 더 낮은 버전의 스냅샷을 무시한다. 버전 필드가 없던 예전 스냅샷은 0으로 읽혀 새 스냅샷에 덮인다.
+ * mutedIds가 없던 예전 스냅샷은 null로 읽히며, 그 채팅방의 알림 수신자는 DB로 확인한다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomStateSnapshot {
+
+    private Long roomId;
+    private String name;
+    private String type;
+    // 참여자 ID (오름차순)
+    private List<Long> memberIds;
+    private List<Long> adminIds;
+    // 알림을 끈 참여자 ID (오름차순)
+    private List<Long> mutedIds;
+    private long stateVersion;
+
+    /**
+     * 커밋된 채팅방 엔티티(참여자 포함)로 만든 스냅샷
+     */
+    public static RoomStateSnapshot of(ChatRoom chatRoom) {
+        List<Long> memberIds = new ArrayList<>(chatRoom.getParticipantCount());
+        List<Long> adminIds = new ArrayList<>();
+        List<Long> mutedIds = new ArrayList<>();
+        for (ChatRoomParticipant participant : chatRoom.getParticipants()) {
+            Long userId = participant.getUser().getId();
+            memberIds.add(userId);
+            if (participant.getRole() == ParticipantRole.ADMIN) {
+                adminIds.add(userId);
+            }
+            if (Boolean.FALSE.equals(participant.getNotificationEnabled())) {
+                mutedIds.add(userId);
+            }
+        }
+        Collections.sort(memberIds);
+        Collections.sort(adminIds);
+        Collections.sort(mutedIds);
+        return new RoomStateSnapshot(chatRoom.getId(), String.valueOf(chatRoom.getName()),
+                chatRoom.getType() != null ? chatRoom.getType().name() : null, memberIds, adminIds,
+                mutedIds, chatRoom.getStateVersion());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 같은 채팅방 이벤트 여러 개를 한 프레임으로 보내는 배치 페이로드
+ */
+public record ChatEventBatchPayload(
+        String type,
+        List<ChatEventPayload> messages,
+        int count,
+        Long roomId) {
+
+    static final String TYPE = "BATCH";
+
+    public static ChatEventBatchPayload of(Long roomId, List<ChatEvent> events) {
+        List<ChatEventPayload> messages = new ArrayList<>(events.size());
+        for (ChatEvent event : events) {
+            messages.add(ChatEventPayload.from(event));
+        }
+        return new ChatEventBatchPayload(TYPE, messages, messages.size(), roomId);
+    }
+}
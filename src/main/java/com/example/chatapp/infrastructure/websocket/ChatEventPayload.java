@@ -0,0 +1,67 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import com.example.chatapp.domain.Message;
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.message.ChatEventType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import java.util.Map;
+
+/**
+ * 클라이언트로 보내는 채팅 이벤트 페이로드
+ * 이벤트마다 HashMap을 만들지 않고 고정된 필드로 직렬화한다 (null 필드는 생략).
+ * messageId는 Snowflake ID라 JS number 정밀도(2^53)를 넘으므로 문자열로 보낸다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChatEventPayload(
+        String eventId,
+        String type,
+        Long roomId,
+        Long userId,
+        String username,
+        String timestamp,
+        @JsonSerialize(using = ToStringSerializer.class) Long messageId,
+        Long seq,
+        String content,
+        String status,
+        Map<String, Object> metadata) {
+
+    public static ChatEventPayload from(ChatEvent event) {
+        boolean messageSent = event.getEventType() == ChatEventType.MESSAGE_SENT;
+        Map<String, Object> metadata = event.getMetadata() != null && !event.getMetadata().isEmpty()
+                ? event.getMetadata() : null;
+        return new ChatEventPayload(
+                event.getEventId(),
+                event.getEventType().toString(),
+                event.getChatRoomId(),
+                event.getUserId(),
+                event.getUsername(),
+                event.getTimestamp() != null ? event.getTimestamp().toString() : null,
+                messageSent ? event.getMessageId() : null,
+                messageSent ? event.getSeq() : null,
+                // 메시지 전송 이벤트는 메시지 본문, 나머지는 이벤트 내용
+                messageSent ? event.getMessageContent() : event.getContent(),
+                messageSent ? event.getMessageStatus() : null,
+                metadata);
+    }
+
+    /**
+     * 저장된 메시지로 메시지 전송 이벤트 페이로드 생성 (이어받기 DB 조회용, 발신자는 조회 시 함께 읽어야 함)
+     */
+    public static ChatEventPayload from(Message message) {
+        return new ChatEventPayload(
+                message.getEventId(),
+                ChatEventType.MESSAGE_SENT.toString(),
+                message.getChatRoom().getId(),
+                message.getSender().getId(),
+                message.getSender().getUsername(),
+                message.getTimestamp().toString(),
+                message.getId(),
+                message.getSeq(),
+                message.getContent(),
+                message.getStatus().name(),
+                null);
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * 이 노드의 채팅방 -> STOMP 세션 구독 레지스트리
+ * SUBSCRIBE/UNSUBSCRIBE/DISCONNECT 이벤트로 채팅방별 구독 세션(과 세션의 구독 ID)을 유지하고,
+ * 브로드캐스트 경로는 구독 세션이 없는 채팅방 이벤트를 변환/직렬화하기 전에 건너뛴다.
+ *
+ * - 채팅방 조회는 long 키 맵(LongKeyMap)으로 박싱과 잠금 없이 한다 (노드 대부분의 채팅방은 구독자가 없어 조회가 가장 잦음).
+ * - 구독 변경은 조회보다 훨씬 드물어 한 잠금으로 직렬화한다.
+ * - UNSUBSCRIBE와 DISCONNECT는 목적지를 싣지 않으므로 세션별로 구독 ID -> 채팅방을 기억한다.
+ * - 채팅방의 첫 구독이 생기거나 마지막 구독이 사라지면 재전송 버퍼(RoomReplayBuffer)를 비운다.
+ *
+ * 메트릭
+ * - chat.websocket.local.rooms: 구독 세션이 하나 이상 있는 채팅방 수
+ * - chat.websocket.local.sessions: 채팅방을 하나 이상 구독 중인 세션 수
+ * - chat.websocket.room.subscribers: 구독 세션이 많은 상위 채팅방의 구독 세션 수 (room 태그, 주기적으로 갱신)
+ */
+@Component
+@Slf4j
+public class LocalRoomSubscriptions {
+
+    static final String ROOM_DESTINATION_PREFIX = "/topic/room/";
+
+    // 채팅방 -> 세션 -> 구독 ID들 (안쪽 맵은 잠금 안에서만 바꾸고, 값 Set은 바꿀 때마다 새로 만듦)
+    private final LongKeyMap<Map<String, Set<String>>> rooms = new LongKeyMap<>();
+    // 세션 -> 구독 ID -> 채팅방
+    private final Map<String, Map<String, Long>> sessions = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    private final RoomReplayBuffer roomReplayBuffer;
+    private final MultiGauge topRoomGauge;
+    private final int topRooms;
+
+    @Autowired
+    public LocalRoomSubscriptions(
+            MeterRegistry meterRegistry,
+            RoomReplayBuffer roomReplayBuffer,
+            @Value("${chat.websocket.subscriber-metrics.top-rooms:20}") int topRooms) {
+        this.roomReplayBuffer = roomReplayBuffer;
+        this.topRooms = topRooms;
+        Gauge.builder("chat.websocket.local.rooms", rooms, LongKeyMap::size)
+                .description("이 노드에 구독 세션이 하나 이상 있는 채팅방 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.local.sessions", sessions, Map::size)
+                .description("이 노드에서 채팅방을 하나 이상 구독 중인 세션 수")
+                .register(meterRegistry);
+        this.topRoomGauge = MultiGauge.builder("chat.websocket.room.subscribers")
+                .description("구독 세션이 많은 상위 채팅방의 이 노드 구독 세션 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), accessor.getDestination());
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        disconnect(event.getSessionId());
+    }
+
+    /**
+     * 이 노드에 채팅방을 구독 중인 세션이 있는지 (브로드캐스트 전 확인용, 잠금 없음)
+     */
+    public boolean hasSubscribers(Long roomId) {
+        return roomId != null && rooms.get(roomId) != null;
+    }
+
+    /**
+     * 이 노드에서 채팅방을 구독 중인 세션 수
+     */
+    public int subscriberCount(long roomId) {
+        Map<String, Set<String>> roomSessions = rooms.get(roomId);
+        return roomSessions != null ? roomSessions.size() : 0;
+    }
+
+    /**
+     * 채팅방을 구독 중인 (세션 ID, 구독 ID) 순회
+     */
+    public void forEachSubscription(long roomId, BiConsumer<String, String> consumer) {
+        Map<String, Set<String>> roomSessions = rooms.get(roomId);
+        if (roomSessions == null) {
+            return;
+        }
+        roomSessions.forEach((sessionId, subscriptionIds) -> {
+            for (String subscriptionId : subscriptionIds) {
+                consumer.accept(sessionId, subscriptionId);
+            }
+        });
+    }
+
+    /**
+     * 세션이 채팅방을 구독 중인 구독 ID들 (없으면 빈 Set)
+     */
+    public Set<String> subscriptionIds(String sessionId, long roomId) {
+        Map<String, Set<String>> roomSessions = rooms.get(roomId);
+        Set<String> subscriptionIds = roomSessions != null ? roomSessions.get(sessionId) : null;
+        return subscriptionIds != null ? subscriptionIds : Set.of();
+    }
+
+    /**
+     * 구독 세션이 하나 이상 있는 채팅방 수
+     */
+    public int roomCount() {
+        return rooms.size();
+    }
+
+    /**
+     * 상위 채팅방 구독 수 메트릭 갱신 (채팅방 수만큼 태그가 늘지 않도록 상위 top-rooms개만)
+     */
+    @Scheduled(fixedDelayString = "${chat.websocket.subscriber-metrics.interval-ms:10000}")
+    public void publishTopRooms() {
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        for (long[] room : topRooms(topRooms)) {
+            rows.add(MultiGauge.Row.of(Tags.of("room", Long.toString(room[0])), room[1]));
+        }
+        topRoomGauge.register(rows, true);
+    }
+
+    /**
+     * 구독 세션 수 상위 채팅방 ([채팅방 ID, 세션 수], 많은 순)
+     */
+    List<long[]> topRooms(int limit) {
+        PriorityQueue<long[]> top = new PriorityQueue<>(Comparator.comparingLong((long[] room) -> room[1]));
+        if (limit > 0) {
+            rooms.forEach((roomId, roomSessions) -> {
+                top.offer(new long[]{roomId, roomSessions.size()});
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            });
+        }
+        List<long[]> sorted = new ArrayList<>(top);
+        sorted.sort(Comparator.comparingLong((long[] room) -> room[1]).reversed());
+        return sorted;
+    }
+
+    void subscribe(String sessionId, String subscriptionId, String destination) {
+        Long roomId = roomId(destination);
+        if (sessionId == null || subscriptionId == null || roomId == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            Map<String, Long> subscriptions = sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>());
+            Long previous = subscriptions.put(subscriptionId, roomId);
+            if (previous != null) {
+                release(previous, sessionId, subscriptionId);
+            }
+            Map<String, Set<String>> roomSessions = rooms.get(roomId);
+            if (roomSessions == null) {
+                roomSessions = new ConcurrentHashMap<>();
+                rooms.put(roomId, roomSessions);
+                roomReplayBuffer.reset(roomId);
+            }
+            roomSessions.merge(sessionId, Set.of(subscriptionId), LocalRoomSubscriptions::union);
+        }
+    }
+
+    void unsubscribe(String sessionId, String subscriptionId) {
+        if (sessionId == null || subscriptionId == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            Map<String, Long> subscriptions = sessions.get(sessionId);
+            if (subscriptions == null) {
+                return;
+            }
+            Long roomId = subscriptions.remove(subscriptionId);
+            if (roomId != null) {
+                release(roomId, sessionId, subscriptionId);
+            }
+            if (subscriptions.isEmpty()) {
+                sessions.remove(sessionId);
+            }
+        }
+    }
+
+    void disconnect(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            Map<String, Long> subscriptions = sessions.remove(sessionId);
+            if (subscriptions == null) {
+                return;
+            }
+            subscriptions.forEach((subscriptionId, roomId) -> release(roomId, sessionId, subscriptionId));
+        }
+    }
+
+    // 잠금 안에서 호출
+    private void release(long roomId, String sessionId, String subscriptionId) {
+        Map<String, Set<String>> roomSessions = rooms.get(roomId);
+        if (roomSessions == null) {
+            return;
+        }
+        roomSessions.computeIfPresent(sessionId, (id, subscriptionIds) -> without(subscriptionIds, subscriptionId));
+        if (roomSessions.isEmpty()) {
+            rooms.remove(roomId);
+            roomReplayBuffer.reset(roomId);
+        }
+    }
+
+    private static Set<String> union(Set<String> current, Set<String> added) {
+        if (current.containsAll(added)) {
+            return current;
+        }
+        Set<String> merged = new HashSet<>(current);
+        merged.addAll(added);
+        return Set.copyOf(merged);
+    }
+
+    // 마지막 구독 ID를 빼면 null을 돌려 세션 항목을 지움
+    private static Set<String> without(Set<String> current, String removed) {
+        if (!current.contains(removed)) {
+            return current;
+        }
+        if (current.size() == 1) {
+            return null;
+        }
+        Set<String> remaining = new HashSet<>(current);
+        remaining.remove(removed);
+        return Set.copyOf(remaining);
+    }
+
+    // /topic/room/{roomId}만 채팅방 구독으로 봄
+    private static Long roomId(String destination) {
+        if (destination == null || !destination.startsWith(ROOM_DESTINATION_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(destination.substring(ROOM_DESTINATION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * long 키 해시 맵 (개방 주소법, 선형 탐사)
+ * 조회는 박싱과 잠금 없이 하고, 쓰기는 호출자가 한 번에 하나씩 하도록 직렬화한다 (단일 작성자).
+ *
+ * - 삭제는 값만 비우고 키는 남긴다(묘비). 진행 중인 조회의 탐사 경로가 끊기지 않고, 같은 키를 다시 넣으면 그 칸을 재사용한다.
+ * - 묘비를 포함해 사용한 칸이 절반을 넘으면 살아 있는 항목만 새 테이블로 옮겨 volatile 참조로 공개한다.
+ * - 값을 먼저 쓰고 키를 나중에 쓰므로 조회가 키를 보면 값도 보인다. 값이 비어 있는 칸은 없는 것으로 본다.
+ * - Long.MIN_VALUE는 빈 칸 표시로 쓰므로 키로 쓸 수 없다.
+ */
+final class LongKeyMap<V> {
+
+    interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile Table<V> table = new Table<>(MIN_CAPACITY);
+    private volatile int size;
+
+    V get(long key) {
+        Table<V> current = table;
+        int slot = current.index(key);
+        while (true) {
+            long found = current.keys.get(slot);
+            if (found == key) {
+                return current.values.get(slot);
+            }
+            if (found == EMPTY) {
+                return null;
+            }
+            slot = (slot + 1) & current.mask;
+        }
+    }
+
+    /**
+     * 값 저장 (쓰기는 호출자가 직렬화)
+     *
+     * @return 이전 값, 없었으면 null
+     */
+    V put(long key, V value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("사용할 수 없는 키입니다: " + key);
+        }
+        Objects.requireNonNull(value, "value");
+
+        Table<V> current = table;
+        int slot = current.index(key);
+        while (true) {
+            long found = current.keys.get(slot);
+            if (found == key) {
+                V previous = current.values.getAndSet(slot, value);
+                if (previous == null) {
+                    size++;
+                }
+                return previous;
+            }
+            if (found == EMPTY) {
+                break;
+            }
+            slot = (slot + 1) & current.mask;
+        }
+
+        if ((current.used + 1) * 2 > current.capacity()) {
+            current = rebuild(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, size + 1) * 4 - 1) << 1));
+            slot = current.emptySlot(key);
+        }
+        current.values.set(slot, value);
+        current.keys.set(slot, key);
+        current.used++;
+        size++;
+        return null;
+    }
+
+    /**
+     * 값 삭제 (쓰기는 호출자가 직렬화)
+     *
+     * @return 삭제한 값, 없었으면 null
+     */
+    V remove(long key) {
+        Table<V> current = table;
+        int slot = current.index(key);
+        while (true) {
+            long found = current.keys.get(slot);
+            if (found == key) {
+                V previous = current.values.getAndSet(slot, null);
+                if (previous != null) {
+                    size--;
+                }
+                return previous;
+            }
+            if (found == EMPTY) {
+                return null;
+            }
+            slot = (slot + 1) & current.mask;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 현재 테이블의 항목 순회 (순회 중 쓰기가 있으면 일부만 반영될 수 있음)
+     */
+    void forEach(EntryConsumer<V> consumer) {
+        Table<V> current = table;
+        for (int slot = 0; slot < current.capacity(); slot++) {
+            V value = current.values.get(slot);
+            if (value != null) {
+                consumer.accept(current.keys.get(slot), value);
+            }
+        }
+    }
+
+    private Table<V> rebuild(int capacity) {
+        Table<V> current = table;
+        Table<V> rebuilt = new Table<>(capacity);
+        for (int slot = 0; slot < current.capacity(); slot++) {
+            V value = current.values.get(slot);
+            if (value != null) {
+                long key = current.keys.get(slot);
+                int target = rebuilt.emptySlot(key);
+                rebuilt.values.set(target, value);
+                rebuilt.keys.set(target, key);
+                rebuilt.used++;
+            }
+        }
+        table = rebuilt;
+        return rebuilt;
+    }
+
+    private static final class Table<V> {
+
+        private final AtomicLongArray keys;
+        private final AtomicReferenceArray<V> values;
+        private final int mask;
+        // 묘비 포함 키가 들어간 칸 수 (작성자만 갱신)
+        private int used;
+
+        private Table(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.values = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+            for (int slot = 0; slot < capacity; slot++) {
+                keys.set(slot, EMPTY);
+            }
+        }
+
+        private int capacity() {
+            return mask + 1;
+        }
+
+        // murmur3 fmix64로 비트 확산 (연속된 채팅방 ID가 한 구역에 몰리지 않도록)
+        private int index(long key) {
+            long h = key;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return (int) h & mask;
+        }
+
+        private int emptySlot(long key) {
+            int slot = index(key);
+            while (keys.get(slot) != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
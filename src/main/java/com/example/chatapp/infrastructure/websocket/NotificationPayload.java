@@ -0,0 +1,31 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+
+/**
+ * 채팅방 알림 페이로드 (/topic/notifications/{roomId})
+ */
+public record NotificationPayload(
+        String type,
+        String eventType,
+        Long roomId,
+        Long userId,
+        String username,
+        String content,
+        String timestamp,
+        String eventId) {
+
+    static final String TYPE = "NOTIFICATION";
+
+    public static NotificationPayload from(ChatEvent event) {
+        return new NotificationPayload(
+                TYPE,
+                event.getEventType().toString(),
+                event.getChatRoomId(),
+                event.getUserId(),
+                event.getUsername(),
+                event.getContent(),
+                event.getTimestamp() != null ? event.getTimestamp().toString() : null,
+                event.getEventId());
+    }
+}
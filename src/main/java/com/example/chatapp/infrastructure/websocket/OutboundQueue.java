@@ -0,0 +1,169 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 세션 하나의 송신 대기열 (이벤트 종류별 정책)
+ *
+ * - 보존(채팅 메시지, 브로커 프레임): 순서대로 모두 보낸다. 메시지 수나 바이트 예산을 넘으면 offer가 false를 돌려
+ *   호출자가 세션을 끊고, 보내지 못한 구간은 resumePoints()로 이어받게 한다.
+ *   이어받기 기준은 채팅방 순번이다 (메시지 ID는 노드마다 따로 발급해 채팅방 안에서 작성 순서가 아님).
+ * - 병합(입력 중, 접속 상태): 같은 키는 최신 값 하나만 남긴다. 예산을 넘으면 가장 오래된 키부터 버린다.
+ *
+ * 보존 항목을 먼저 보내고 병합 항목을 보낸다. 스레드 안전하지 않으므로 호출자가 잠금으로 보호한다.
+ */
+final class OutboundQueue<T> {
+
+    /**
+     * 대기 항목 (채팅방/순번이 없는 항목은 0)
+     */
+    record Entry<T>(T message, int bytes, long roomId, long firstSeq, long lastSeq) {
+    }
+
+    private final int maxMessages;
+    private final long maxBytes;
+
+    private final ArrayDeque<Entry<T>> retained = new ArrayDeque<>();
+    private final LinkedHashMap<String, Entry<T>> latest = new LinkedHashMap<>();
+    // 채팅방별 마지막으로 소켓에 쓴 순번
+    private final Map<Long, Long> lastWritten = new HashMap<>();
+    // 예산 초과로 받지 못한 채팅방별 첫 순번 - 1
+    private final Map<Long, Long> rejected = new HashMap<>();
+    private Entry<T> inFlight;
+    private long queuedBytes;
+    private long dropped;
+
+    OutboundQueue(int maxMessages, long maxBytes) {
+        if (maxMessages < 1 || maxBytes < 1) {
+            throw new IllegalArgumentException("송신 대기열 예산은 1 이상이어야 합니다: messages=" + maxMessages + ", bytes=" + maxBytes);
+        }
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 보존 항목 추가
+     * 대기 중인 보존 항목이 없으면 바이트 예산보다 큰 항목도 하나는 받는다
+     * (혼자서 예산을 넘는 프레임 하나로 밀리지 않은 세션을 끊지 않도록).
+     *
+     * @return 예산을 넘으면 false (항목은 추가하지 않음)
+     */
+    boolean offer(T message, int bytes, long roomId, long firstSeq, long lastSeq) {
+        if (retained.size() + 1 > maxMessages || (!retained.isEmpty() && queuedBytes + bytes > maxBytes)) {
+            return false;
+        }
+        retained.addLast(new Entry<>(message, bytes, roomId, firstSeq, lastSeq));
+        queuedBytes += bytes;
+        return true;
+    }
+
+    /**
+     * 받지 못한 보존 항목 기록 (이어받기 기준에 포함)
+     */
+    void reject(long roomId, long firstSeq) {
+        dropped++;
+        if (roomId != 0 && firstSeq != 0) {
+            rejected.putIfAbsent(roomId, firstSeq - 1);
+        }
+    }
+
+    /**
+     * 병합 항목 추가 (같은 키의 대기 항목을 대체)
+     */
+    void offerLatest(String key, T message, int bytes) {
+        Entry<T> previous = latest.remove(key);
+        if (previous != null) {
+            queuedBytes -= previous.bytes();
+            dropped++;
+        }
+        latest.put(key, new Entry<>(message, bytes, 0, 0, 0));
+        queuedBytes += bytes;
+
+        Iterator<Entry<T>> oldest = latest.values().iterator();
+        while (latest.size() > 1 && (latest.size() > maxMessages || queuedBytes > maxBytes)) {
+            queuedBytes -= oldest.next().bytes();
+            oldest.remove();
+            dropped++;
+        }
+    }
+
+    /**
+     * 다음에 보낼 항목 (written으로 끝낼 때까지 전송 중으로 봄)
+     */
+    Entry<T> poll() {
+        Entry<T> next = retained.pollFirst();
+        if (next == null) {
+            Iterator<Entry<T>> first = latest.values().iterator();
+            if (!first.hasNext()) {
+                return null;
+            }
+            next = first.next();
+            first.remove();
+        }
+        queuedBytes -= next.bytes();
+        inFlight = next;
+        return next;
+    }
+
+    void written(Entry<T> entry) {
+        if (entry.roomId() != 0 && entry.lastSeq() != 0) {
+            lastWritten.merge(entry.roomId(), entry.lastSeq(), Math::max);
+        }
+        inFlight = null;
+    }
+
+    /**
+     * 채팅방별 이어받기 기준 (이 순번 다음부터 받지 못함)
+     * 소켓에 쓴 마지막 메시지가 있으면 그 순번, 없으면 전송 중이거나 대기 중(또는 거부된) 첫 순번 - 1
+     */
+    Map<Long, Long> resumePoints() {
+        Map<Long, Long> points = new HashMap<>(lastWritten);
+        if (inFlight != null) {
+            pending(points, inFlight);
+        }
+        for (Entry<T> entry : retained) {
+            pending(points, entry);
+        }
+        rejected.forEach(points::putIfAbsent);
+        return points;
+    }
+
+    /**
+     * 대기 항목을 모두 버림
+     *
+     * @return 버린 항목 수 (전송 중 항목 제외)
+     */
+    int clear() {
+        int discarded = retained.size() + latest.size();
+        retained.clear();
+        latest.clear();
+        queuedBytes = 0;
+        dropped += discarded;
+        return discarded;
+    }
+
+    int depth() {
+        return retained.size() + latest.size();
+    }
+
+    long queuedBytes() {
+        return queuedBytes;
+    }
+
+    /**
+     * 병합으로 대체되거나 예산 초과, 세션 종료로 버린 항목 수
+     */
+    long dropped() {
+        return dropped;
+    }
+
+    private static void pending(Map<Long, Long> points, Entry<?> entry) {
+        if (entry.roomId() != 0 && entry.firstSeq() != 0) {
+            points.putIfAbsent(entry.roomId(), entry.firstSeq() - 1);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * 세션별 송신 대기열을 가진 WebSocket 세션
+ * 보내는 쪽(브로커 송신 스레드, Kafka 리스너)은 대기열에 넣고 바로 돌아가고, 세션마다 하나의 가상 스레드가 소켓에 쓴다.
+ * 느린 클라이언트는 자기 대기열만 채우고 공유 송신 스레드를 붙잡지 않는다.
+ *
+ * 보존 항목이 예산을 넘거나 한 번의 쓰기가 send-time-limit보다 오래 걸리는 중에 새 항목이 오면
+ * 느린 소비자로 보고 slowConsumerHandler에 넘긴다 (이후 보내는 항목은 버림).
+ */
+@Slf4j
+final class QueuedWebSocketSession extends WebSocketSessionDecorator {
+
+    private final OutboundQueue<WebSocketMessage<?>> queue;
+    private final Executor writer;
+    private final long sendTimeLimitNanos;
+    private final Consumer<QueuedWebSocketSession> slowConsumerHandler;
+
+    private final Object lock = new Object();
+    private boolean draining;
+    // 느린 소비자로 판정되었거나 소켓 오류가 나서 더 보내지 않음
+    private boolean stopped;
+    // 진행 중인 쓰기 시작 시각 (쓰는 중이 아니면 0)
+    private volatile long writeStartedAt;
+
+    QueuedWebSocketSession(WebSocketSession delegate, int maxMessages, long maxBytes, long sendTimeLimitNanos,
+                           Executor writer, Consumer<QueuedWebSocketSession> slowConsumerHandler) {
+        super(delegate);
+        this.queue = new OutboundQueue<>(maxMessages, maxBytes);
+        this.writer = writer;
+        this.sendTimeLimitNanos = sendTimeLimitNanos;
+        this.slowConsumerHandler = slowConsumerHandler;
+    }
+
+    /**
+     * 브로커 경로 프레임 (하트비트, 다른 목적지 등은 보존 항목으로 취급)
+     */
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        offer(message, message.getPayloadLength(), 0, 0, 0);
+    }
+
+    /**
+     * 보존 항목 전송 (채팅방 순번 범위는 이어받기 기준 계산에 씀)
+     *
+     * @param bytes 페이로드 UTF-8 바이트 수 (대기열 예산 계산용)
+     * @return 대기열에 넣었으면 true
+     */
+    boolean offer(WebSocketMessage<?> message, int bytes, long roomId, long firstSeq, long lastSeq) {
+        boolean overflow;
+        synchronized (lock) {
+            if (stopped) {
+                return false;
+            }
+            overflow = stalled() || !queue.offer(message, bytes, roomId, firstSeq, lastSeq);
+            if (overflow) {
+                stopped = true;
+                queue.reject(roomId, firstSeq);
+            } else {
+                startDrain();
+            }
+        }
+        if (overflow) {
+            slowConsumerHandler.accept(this);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 병합 항목 전송 (같은 키의 대기 중인 이전 값은 버림)
+     */
+    boolean offerLatest(String key, WebSocketMessage<?> message, int bytes) {
+        synchronized (lock) {
+            if (stopped) {
+                return false;
+            }
+            queue.offerLatest(key, message, bytes);
+            startDrain();
+            return true;
+        }
+    }
+
+    /**
+     * 느린 소비자로 끊을 때 채팅방별 이어받기 기준을 남기고 대기열을 비움
+     */
+    Map<Long, Long> discard() {
+        synchronized (lock) {
+            stopped = true;
+            Map<Long, Long> resumePoints = queue.resumePoints();
+            queue.clear();
+            return resumePoints;
+        }
+    }
+
+    int depth() {
+        synchronized (lock) {
+            return queue.depth();
+        }
+    }
+
+    long queuedBytes() {
+        synchronized (lock) {
+            return queue.queuedBytes();
+        }
+    }
+
+    long dropped() {
+        synchronized (lock) {
+            return queue.dropped();
+        }
+    }
+
+    // 잠금 안에서 호출
+    private boolean stalled() {
+        long startedAt = writeStartedAt;
+        return startedAt != 0 && System.nanoTime() - startedAt > sendTimeLimitNanos;
+    }
+
+    // 잠금 안에서 호출
+    private void startDrain() {
+        if (!draining) {
+            draining = true;
+            writer.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            OutboundQueue.Entry<WebSocketMessage<?>> entry;
+            synchronized (lock) {
+                entry = stopped ? null : queue.poll();
+                if (entry == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            try {
+                writeStartedAt = System.nanoTime();
+                getDelegate().sendMessage(entry.message());
+            } catch (IOException | RuntimeException e) {
+                // 소켓 오류는 연결 종료로 이어지므로 남은 항목은 버림
+                log.debug("WebSocket 전송 실패: sessionId={}, error={}", getId(), e.getMessage());
+                synchronized (lock) {
+                    stopped = true;
+                    queue.clear();
+                    draining = false;
+                }
+                return;
+            } finally {
+                writeStartedAt = 0;
+            }
+            synchronized (lock) {
+                queue.written(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 느린 소비자로 끊긴 세션의 이어받기 토큰
+ * 토큰은 채팅방별 이어받기 기준(이 순번 다음부터 받지 못함)을 가리키고, resume-ttl-ms 동안 유효하다.
+ * 토큰은 끊긴 세션의 사용자에게 묶여 있어 다른 사용자에게는 없는 토큰과 같다.
+ * 클라이언트는 종료 사유로 받은 토큰으로 빠진 메시지를 조회하고, 토큰에 없는 채팅방은 최근 메시지 조회로 다시 읽는다.
+ */
+@Component
+public class ResumeTokens {
+
+    private record Issued(Long userId, Map<Long, Long> resumePoints, long expiresAt) {
+    }
+
+    private final Map<String, Issued> tokens = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    @Autowired
+    public ResumeTokens(@Value("${chat.websocket.outbound.resume-ttl-ms:300000}") long ttlMillis) {
+        this(ttlMillis, System::currentTimeMillis);
+    }
+
+    ResumeTokens(long ttlMillis, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * 토큰 발급 (userId가 null이면 아무도 조회할 수 없음)
+     */
+    public String issue(Long userId, Map<Long, Long> resumePoints) {
+        String token = UUID.randomUUID().toString();
+        tokens.put(token, new Issued(userId, Map.copyOf(resumePoints), clock.getAsLong() + ttlMillis));
+        return token;
+    }
+
+    /**
+     * 토큰의 채팅방별 이어받기 기준 (없거나 만료되었거나 다른 사용자의 토큰이면 null)
+     */
+    public Map<Long, Long> find(String token, Long userId) {
+        Issued issued = tokens.get(token);
+        if (issued == null || issued.expiresAt() <= clock.getAsLong()
+                || issued.userId() == null || !issued.userId().equals(userId)) {
+            return null;
+        }
+        return issued.resumePoints();
+    }
+
+    @Scheduled(fixedDelayString = "${chat.websocket.outbound.resume-ttl-ms:300000}")
+    public void evictExpired() {
+        long now = clock.getAsLong();
+        tokens.values().removeIf(issued -> issued.expiresAt() <= now);
+    }
+}
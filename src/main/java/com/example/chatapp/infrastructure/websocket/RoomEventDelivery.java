@@ -0,0 +1,75 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방 이벤트를 WebSocket 구독 세션에 전달하는 처리 로직
+ * Kafka 전달 리스너(MessageDeliveryConsumer)와 인메모리 이벤트 버스, 이벤트 재처리가 함께 쓴다.
+ * Kafka 설정과 무관하게 항상 등록되므로 spring.kafka.enabled=false에서도 쓸 수 있다.
+ *
+ * - broadcast~: 실패하면 예외를 그대로 던진다 (재시도 토픽으로 넘기는 리스너용)
+ * - deliver~: 실패는 로그만 남긴다 (재시도 수단이 없는 인메모리 버스/재처리용)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomEventDelivery {
+
+    private final WebSocketService webSocketService;
+
+    /**
+     * 메시지 이벤트 전송 (봉투 레코드는 담긴 순서대로 풀어서 전송)
+     */
+    public void broadcastMessage(ChatEvent event) {
+        log.debug("메시지 이벤트 수신: eventType={}, roomId={}, eventId={}",
+                event.getEventType(), event.getChatRoomId(), event.getEventId());
+
+        // WebSocket을 통해 채팅방 참여자들에게 실시간 전송
+        for (ChatEvent roomEvent : event.unpack()) {
+            webSocketService.broadcastToRoom(roomEvent.getChatRoomId(), roomEvent);
+        }
+
+        log.debug("메시지 전달 완료: eventType={}, roomId={}",
+                event.getEventType(), event.getChatRoomId());
+    }
+
+    /**
+     * 룸 이벤트 전송 (입장/퇴장 등)
+     */
+    public void broadcastRoomEvent(ChatEvent event) {
+        log.debug("룸 이벤트 수신: eventType={}, roomId={}, eventId={}",
+                event.getEventType(), event.getChatRoomId(), event.getEventId());
+
+        webSocketService.broadcastToRoom(event.getChatRoomId(), event);
+
+        log.debug("룸 이벤트 전달 완료: eventType={}, roomId={}",
+                event.getEventType(), event.getChatRoomId());
+    }
+
+    /**
+     * 메시지 이벤트 전달 (실패는 로그만 남김)
+     */
+    public void deliverMessage(ChatEvent event) {
+        try {
+            broadcastMessage(event);
+        } catch (Exception e) {
+            log.error("메시지 전달 실패: eventType={}, roomId={}, error={}",
+                    event.getEventType(), event.getChatRoomId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 룸 이벤트 전달 (실패는 로그만 남김)
+     */
+    public void deliverRoomEvent(ChatEvent event) {
+        try {
+            broadcastRoomEvent(event);
+        } catch (Exception e) {
+            log.error("룸 이벤트 전달 실패: eventType={}, roomId={}, error={}",
+                    event.getEventType(), event.getChatRoomId(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방별 최근 메시지 재전송 버퍼 (재연결 이어받기용)
+ * 이 노드가 브로드캐스트한 메시지 전송 이벤트를 채팅방마다 최근 capacity개까지 순번(seq)으로 보관한다.
+ *
+ * 버퍼는 항상 빈틈없는 순번 구간 [first, last]만 담는다.
+ * - 순번이 건너뛰어 들어오면(구독자가 없어 건너뛴 구간, 비동기 저장 모드의 발행 순서 역전이나 발행되지 못한 순번) 그 순번부터 새로 시작한다.
+ * - 이미 지난 순번(중복, 늦게 도착)은 버린다.
+ * - 채팅방의 로컬 구독이 생기거나 모두 사라지면 LocalRoomSubscriptions가 비운다 (구독자가 없던 동안의 구간을 버퍼가 있다고 착각하지 않도록).
+ * 요청한 구간의 시작이 버퍼보다 앞이면 null을 돌려 호출자가 DB에서 조회하게 한다.
+ *
+ * 보관 채팅방 수는 max-rooms로 제한하고, 넘으면 새 채팅방은 보관하지 않는다 (DB 조회로 대체).
+ */
+@Component
+public class RoomReplayBuffer {
+
+    private final Map<Long, Ring> rings = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final int maxRooms;
+
+    public RoomReplayBuffer(
+            @Value("${chat.websocket.replay.capacity:256}") int capacity,
+            @Value("${chat.websocket.replay.max-rooms:10000}") int maxRooms) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("재전송 버퍼 크기는 1 이상이어야 합니다: " + capacity);
+        }
+        this.capacity = capacity;
+        this.maxRooms = maxRooms;
+    }
+
+    /**
+     * 브로드캐스트한 이벤트 기록 (순번이 없는 이벤트는 무시)
+     */
+    public void append(long roomId, ChatEventPayload payload) {
+        if (payload.seq() == null) {
+            return;
+        }
+        Ring ring = rings.get(roomId);
+        if (ring == null) {
+            if (rings.size() >= maxRooms) {
+                return;
+            }
+            ring = rings.computeIfAbsent(roomId, id -> new Ring(capacity));
+        }
+        ring.append(payload.seq(), payload);
+    }
+
+    /**
+     * afterSeq 다음 순번부터 최대 limit개 (오래된 순서)
+     * 버퍼의 마지막 순번보다 뒤는 아직 이 노드에 도착하지 않은 것이므로 실시간 전달을 기다린다.
+     *
+     * @return 버퍼가 afterSeq 다음 순번부터 담고 있지 않으면 null
+     */
+    public List<ChatEventPayload> after(long roomId, long afterSeq, int limit) {
+        Ring ring = rings.get(roomId);
+        return ring != null ? ring.after(afterSeq, limit) : null;
+    }
+
+    /**
+     * 채팅방 버퍼 비우기
+     */
+    public void reset(long roomId) {
+        rings.remove(roomId);
+    }
+
+    public int roomCount() {
+        return rings.size();
+    }
+
+    private static final class Ring {
+        private final ChatEventPayload[] slots;
+        // 담고 있는 순번 구간 (first == 0이면 비어 있음)
+        private long first;
+        private long last;
+
+        Ring(int capacity) {
+            this.slots = new ChatEventPayload[capacity];
+        }
+
+        synchronized void append(long seq, ChatEventPayload payload) {
+            if (first != 0 && seq <= last) {
+                return;
+            }
+            if (first == 0 || seq != last + 1) {
+                first = seq;
+            }
+            last = seq;
+            slots[slot(seq)] = payload;
+            if (last - first >= slots.length) {
+                first = last - slots.length + 1;
+            }
+        }
+
+        synchronized List<ChatEventPayload> after(long afterSeq, int limit) {
+            if (first == 0 || afterSeq + 1 < first) {
+                return null;
+            }
+            List<ChatEventPayload> payloads = new ArrayList<>((int) Math.max(0, Math.min(limit, last - afterSeq)));
+            for (long seq = afterSeq + 1; seq <= last && payloads.size() < limit; seq++) {
+                payloads.add(slots[slot(seq)]);
+            }
+            return payloads;
+        }
+
+        private int slot(long seq) {
+            return (int) (seq % slots.length);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import java.util.List;
+
+/**
+ * 재연결한 세션에 보내는 채팅방별 빠진 메시지 페이로드
+ * hasMore면 마지막 메시지의 순번으로 다시 요청한다 (메시지 사이의 순번 빈틈은 다시 요청하지 않음).
+ */
+public record RoomResumePayload(
+        String type,
+        Long roomId,
+        long afterSeq,
+        List<ChatEventPayload> messages,
+        int count,
+        boolean hasMore) {
+
+    static final String TYPE = "RESUME";
+
+    public static RoomResumePayload of(Long roomId, long afterSeq, List<ChatEventPayload> messages, boolean hasMore) {
+        return new RoomResumePayload(TYPE, roomId, afterSeq, messages, messages.size(), hasMore);
+    }
+}
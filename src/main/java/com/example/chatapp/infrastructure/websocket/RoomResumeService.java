@@ -0,0 +1,214 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import com.example.chatapp.exception.ChatRoomException;
+import com.example.chatapp.repository.ChatRoomParticipantRepository;
+import com.example.chatapp.repository.MessageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 재연결 이어받기 서비스
+ * 클라이언트가 채팅방마다 마지막으로 받은 순번(lastSeq)을 보내면 그 다음 메시지만 해당 채팅방 구독으로 보낸다.
+ * 재연결 후 최근 메시지를 통째로 다시 읽지 않도록 재전송 버퍼(RoomReplayBuffer)에서 먼저 찾고, 버퍼 범위 밖이면 DB에서 순번으로 조회한다.
+ *
+ * - 채팅방을 먼저 구독한 뒤 요청해야 한다 (구독이 없는 채팅방은 건너뜀). 구독 후 도착한 메시지와 겹칠 수 있으므로 클라이언트는 순번으로 중복을 거른다.
+ * - 순번에는 영영 채워지지 않는 빈틈이 있을 수 있다 (비동기 저장 모드에서 순번을 발급한 뒤 발행이 실패하거나 이벤트가 DLT로 빠진 경우).
+ *   클라이언트는 빈틈을 다시 요청하지 않고 받은 마지막 순번만 기준으로 삼는다.
+ *   비동기 저장 모드에서 아직 저장되지 않은 메시지도 DB 조회에서 빠지며 빈틈과 구별되지 않는다.
+ * - 빠진 메시지가 max-messages개나 max-bytes(추정)보다 많으면 hasMore로 알리고, 클라이언트가 받은 마지막 순번으로 이어서 요청한다.
+ *   한 프레임이 세션 송신 대기열 예산(max-queued-bytes)을 혼자 넘겨 세션이 끊기지 않도록 바이트로도 자른다.
+ * - 참여자 확인(쿼리 한 번)만 STOMP 수신 스레드에서 하고, 버퍼/DB 조회와 전송은 이어받기 작업 스레드(가상 스레드)에서 한다.
+ *   DB 조회는 동시에 max-concurrent개까지만 한다.
+ *
+ * 메트릭
+ * - chat.websocket.resume.rooms: 이어받기를 처리한 채팅방 수 (source=buffer|db)
+ */
+@Service
+@Slf4j
+public class RoomResumeService {
+
+    // 메시지 하나를 JSON으로 쓸 때 본문과 이름 밖의 필드가 차지하는 바이트 (추정)
+    private static final int MESSAGE_OVERHEAD_BYTES = 256;
+
+    private final RoomReplayBuffer roomReplayBuffer;
+    private final LocalRoomSubscriptions localRoomSubscriptions;
+    private final WebSocketSessionRegistry webSocketSessionRegistry;
+    private final MessageRepository messageRepository;
+    private final ChatRoomParticipantRepository chatRoomParticipantRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxMessages;
+    private final long maxBytes;
+    private final Semaphore dbPermits;
+    private final ExecutorService workers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ws-resume-", 0).factory());
+
+    private final Counter bufferHits;
+    private final Counter dbFallbacks;
+
+    public RoomResumeService(
+            RoomReplayBuffer roomReplayBuffer,
+            LocalRoomSubscriptions localRoomSubscriptions,
+            WebSocketSessionRegistry webSocketSessionRegistry,
+            MessageRepository messageRepository,
+            ChatRoomParticipantRepository chatRoomParticipantRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${chat.websocket.replay.max-messages:500}") int maxMessages,
+            @Value("${chat.websocket.replay.max-bytes:262144}") long maxBytes,
+            @Value("${chat.websocket.replay.max-concurrent:8}") int maxConcurrent) {
+        this.roomReplayBuffer = roomReplayBuffer;
+        this.localRoomSubscriptions = localRoomSubscriptions;
+        this.webSocketSessionRegistry = webSocketSessionRegistry;
+        this.messageRepository = messageRepository;
+        this.chatRoomParticipantRepository = chatRoomParticipantRepository;
+        this.objectMapper = objectMapper;
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.dbPermits = new Semaphore(maxConcurrent);
+        this.bufferHits = Counter.builder("chat.websocket.resume.rooms")
+                .description("이어받기를 처리한 채팅방 수")
+                .tag("source", "buffer")
+                .register(meterRegistry);
+        this.dbFallbacks = Counter.builder("chat.websocket.resume.rooms")
+                .description("이어받기를 처리한 채팅방 수")
+                .tag("source", "db")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 세션이 구독 중인 채팅방마다 lastSeq 다음 메시지를 그 구독으로 전송
+     * 참여자 확인 뒤 조회와 전송은 작업 스레드로 넘기고 바로 돌아간다.
+     *
+     * @param lastSeqs 채팅방 ID -> 마지막으로 받은 순번 (받은 적 없으면 0)
+     * @return 보낸 메시지 수 (모든 채팅방을 처리하면 완료)
+     * @throws ChatRoomException 참여하지 않은 채팅방이 있는 경우
+     */
+    public CompletableFuture<Integer> resume(String sessionId, Long userId, Map<Long, Long> lastSeqs) {
+        Set<Long> participating = new HashSet<>(
+                chatRoomParticipantRepository.findParticipatingChatRoomIds(userId, lastSeqs.keySet()));
+        if (!participating.containsAll(lastSeqs.keySet())) {
+            throw ChatRoomException.notParticipant();
+        }
+        Map<Long, Long> requested = new HashMap<>(lastSeqs);
+        return CompletableFuture.supplyAsync(() -> resumeRooms(sessionId, requested), workers);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * afterSeq 다음 메시지 (버퍼에 없으면 DB)
+     */
+    RoomResumePayload missed(long roomId, long afterSeq) {
+        List<ChatEventPayload> messages = roomReplayBuffer.after(roomId, afterSeq, maxMessages + 1);
+        if (messages != null) {
+            bufferHits.increment();
+        } else {
+            dbFallbacks.increment();
+            dbPermits.acquireUninterruptibly();
+            try {
+                messages = messageRepository.findByChatRoomIdAfterSeq(roomId, afterSeq, PageRequest.of(0, maxMessages + 1))
+                        .stream()
+                        .map(ChatEventPayload::from)
+                        .toList();
+            } finally {
+                dbPermits.release();
+            }
+        }
+        int count = fitting(messages);
+        boolean hasMore = messages.size() > count;
+        return RoomResumePayload.of(roomId, afterSeq, hasMore ? messages.subList(0, count) : messages, hasMore);
+    }
+
+    // 채팅방 하나의 실패는 로그만 남기고 다음 채팅방을 처리 (응답을 받지 못한 채팅방은 클라이언트가 다시 요청)
+    private int resumeRooms(String sessionId, Map<Long, Long> lastSeqs) {
+        int sent = 0;
+        for (Map.Entry<Long, Long> entry : lastSeqs.entrySet()) {
+            long roomId = entry.getKey();
+            Set<String> subscriptionIds = localRoomSubscriptions.subscriptionIds(sessionId, roomId);
+            if (subscriptionIds.isEmpty()) {
+                log.debug("구독하지 않은 채팅방 이어받기 요청 건너뜀: sessionId={}, roomId={}", sessionId, roomId);
+                continue;
+            }
+            try {
+                RoomResumePayload payload = missed(roomId, entry.getValue() != null ? entry.getValue() : 0);
+                send(sessionId, subscriptionIds, payload);
+                sent += payload.count();
+            } catch (RuntimeException e) {
+                log.warn("채팅방 이어받기 실패: sessionId={}, roomId={}, error={}", sessionId, roomId, e.getMessage(), e);
+            }
+        }
+        log.debug("재연결 이어받기 완료: sessionId={}, rooms={}, messages={}", sessionId, lastSeqs.size(), sent);
+        return sent;
+    }
+
+    // max-messages개와 max-bytes(추정) 안에 드는 앞쪽 메시지 수 (메시지가 있으면 최소 1개)
+    private int fitting(List<ChatEventPayload> messages) {
+        int limit = Math.min(messages.size(), maxMessages);
+        long bytes = 0;
+        for (int i = 0; i < limit; i++) {
+            bytes += estimatedBytes(messages.get(i));
+            if (bytes > maxBytes && i > 0) {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    // UTF-8은 문자(char)당 최대 3바이트
+    private static long estimatedBytes(ChatEventPayload message) {
+        return MESSAGE_OVERHEAD_BYTES + 3L * (length(message.content()) + length(message.username()));
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private void send(String sessionId, Set<String> subscriptionIds, RoomResumePayload payload) {
+        long firstSeq = 0;
+        long lastSeq = 0;
+        if (!payload.messages().isEmpty()) {
+            firstSeq = seq(payload.messages().get(0));
+            lastSeq = seq(payload.messages().get(payload.count() - 1));
+        }
+        StompMessageFrame frame = StompMessageFrame.of(
+                LocalRoomSubscriptions.ROOM_DESTINATION_PREFIX + payload.roomId(), encode(payload));
+        for (String subscriptionId : subscriptionIds) {
+            StompMessageFrame.Encoded encoded = frame.forSubscription(subscriptionId);
+            webSocketSessionRegistry.send(sessionId, encoded.message(), encoded.bytes(),
+                    payload.roomId(), firstSeq, lastSeq);
+        }
+    }
+
+    private static long seq(ChatEventPayload message) {
+        return message.seq() != null ? message.seq() : 0;
+    }
+
+    private byte[] encode(Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("이어받기 페이로드 직렬화 실패", e);
+        }
+    }
+}
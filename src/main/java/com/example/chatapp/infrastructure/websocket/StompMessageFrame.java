@@ -0,0 +1,116 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import org.springframework.web.socket.TextMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 한 번 인코딩해 여러 세션에 쓰는 STOMP MESSAGE 프레임
+ * 구독별 헤더(subscription, message-id)를 뺀 앞부분과 본문을 문자열로 한 번만 만들어 두고,
+ * 구독마다 구독 헤더만 사이에 끼워 넣는다. 본문은 프레임마다 한 번만 디코딩하며 구독마다 다시 디코딩하지 않는다.
+ * 구독 ID가 같은 세션들(클라이언트 라이브러리가 같은 순서로 구독하면 흔함)은 완성 프레임 하나를 같이 쓸 수 있다.
+ *
+ *   MESSAGE
+ *   destination:/topic/room/{roomId}
+ *   content-type:application/json
+ *   content-length:{n}
+ *   subscription:{구독 ID}        <- 세션마다
+ *   message-id:{프레임 ID}-{구독 ID} <- 세션마다
+ *
+ *   {JSON}\0
+ *
+ * 완성 프레임(TextMessage)은 불변이라 여러 세션의 송신 대기열에 함께 넣어도 된다.
+ * 대기열 예산에 쓰는 UTF-8 바이트 수는 미리 계산해 함께 돌려준다 (문자열로 만든 TextMessage는 길이를 물을 때마다 인코딩함).
+ */
+final class StompMessageFrame {
+
+    private static final AtomicLong FRAME_IDS = new AtomicLong();
+
+    private static final String SUBSCRIPTION_HEADER = "subscription:";
+    private static final String MESSAGE_ID_HEADER = "\nmessage-id:";
+
+    private final String head;
+    private final String body;
+    private final String frameId;
+    // 구독 헤더를 뺀 나머지의 UTF-8 바이트 수
+    private final int fixedBytes;
+
+    /**
+     * 구독 헤더를 끼운 완성 프레임과 그 UTF-8 바이트 수
+     */
+    record Encoded(TextMessage message, int bytes) {
+    }
+
+    private StompMessageFrame(String head, String body, String frameId, int fixedBytes) {
+        this.head = head;
+        this.body = body;
+        this.frameId = frameId;
+        this.fixedBytes = fixedBytes;
+    }
+
+    /**
+     * JSON 본문으로 프레임 생성 (목적지는 헤더 이스케이프가 필요 없는 /topic 경로)
+     */
+    static StompMessageFrame of(String destination, byte[] json) {
+        byte[] head = ("MESSAGE\ndestination:" + destination
+                + "\ncontent-type:application/json\ncontent-length:" + json.length + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+        String frameId = Long.toString(FRAME_IDS.incrementAndGet());
+        // 헤더 끝 빈 줄 + 본문 + NULL 종료
+        String body = "\n\n" + new String(json, StandardCharsets.UTF_8) + "\0";
+        int fixedBytes = head.length + SUBSCRIPTION_HEADER.length() + MESSAGE_ID_HEADER.length()
+                + frameId.length() + 1 + json.length + 3;
+        return new StompMessageFrame(new String(head, StandardCharsets.UTF_8), body, frameId, fixedBytes);
+    }
+
+    /**
+     * 구독 헤더를 끼운 완성 프레임
+     */
+    Encoded forSubscription(String subscriptionId) {
+        String subscription = escape(subscriptionId);
+        String frame = new StringBuilder(head.length() + body.length() + 2 * subscription.length() + 48)
+                .append(head)
+                .append(SUBSCRIPTION_HEADER).append(subscription)
+                .append(MESSAGE_ID_HEADER).append(frameId).append('-').append(subscription)
+                .append(body)
+                .toString();
+        int bytes = fixedBytes + 2 * utf8Length(subscription);
+        return new Encoded(new TextMessage(frame), bytes);
+    }
+
+    private static int utf8Length(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return value.getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        return value.length();
+    }
+
+    // STOMP 1.2 헤더 값 이스케이프 (클라이언트가 정한 구독 ID에 특수 문자가 있을 수 있음)
+    static String escape(String value) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = switch (c) {
+                case '\\' -> "\\\\";
+                case ':' -> "\\c";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                default -> null;
+            };
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(value.length() + 8).append(value, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return escaped != null ? escaped.toString() : value;
+    }
+}
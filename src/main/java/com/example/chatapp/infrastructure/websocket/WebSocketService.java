@@ -1,19 +1,31 @@
 package com.example.chatapp.infrastructure.websocket;
 
 import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.message.ChatEventType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * WebSocket을 통한 실시간 메시지 전송 서비스
  * Kafka Consumer에서 받은 이벤트를 WebSocket 클라이언트들에게 브로드캐스트
+ *
+ * 채팅방 브로드캐스트는 브로커(메시지 변환기 -> 구독마다 헤더 복사 -> STOMP 인코딩)를 거치지 않고
+ * 이벤트를 STOMP MESSAGE 프레임으로 한 번만 직렬화한 뒤, 이 노드의 구독 세션마다 구독 헤더만 끼워 바로 쓴다.
+ * 직렬화 비용은 구독자 수와 관계없이 이벤트 수에만 비례한다.
+ * 순번이 있는 메시지 전송 이벤트는 재연결 이어받기용 재전송 버퍼(RoomReplayBuffer)에도 남긴다.
+ *
+ * 세션별 송신 대기열 정책(WebSocketSessionRegistry)
+ * - 입력 중(TYPING_START/STOP), 접속 상태(USER_STATUS_CHANGED): 구독과 사용자별 최신 값만 남김
+ * - 그 외(채팅 메시지, 입장/퇴장 등): 모두 보존, 예산을 넘으면 이어받기 토큰과 함께 세션 종료
  */
 @Service
 @RequiredArgsConstructor
@@ -21,65 +33,74 @@ import java.util.stream.Collectors;
 public class WebSocketService {
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final LocalRoomSubscriptions localRoomSubscriptions;
+    private final WebSocketSessionRegistry webSocketSessionRegistry;
+    private final RoomReplayBuffer roomReplayBuffer;
+    private final ObjectMapper objectMapper;
 
     /**
      * 특정 채팅방의 모든 참여자에게 이벤트 브로드캐스트
+     * 직렬화 실패는 호출자(Kafka 리스너)가 재시도 토픽으로 넘길 수 있도록 로그를 남기고 다시 던진다.
+     * 세션별 전송 실패는 그 세션만 건너뛴다 (다시 던지면 이미 받은 세션에 중복 전달됨).
      */
     public void broadcastToRoom(Long roomId, ChatEvent event) {
-        try {
-            String destination = "/topic/room/" + roomId;
-
-            // WebSocket 메시지 포맷 변환
-            Map<String, Object> message = convertToWebSocketMessage(event);
+        // 이 노드에 구독 세션이 없으면 변환/직렬화 없이 종료
+        if (!localRoomSubscriptions.hasSubscribers(roomId)) {
+            return;
+        }
 
-            // 채팅방 구독자들에게 메시지 전송
-            messagingTemplate.convertAndSend(destination, message);
+        try {
+            long seq = seq(event);
+            ChatEventPayload payload = ChatEventPayload.from(event);
+            roomReplayBuffer.append(roomId, payload);
+            int sent = fanOut(roomId, payload, conflationKey(event), seq, seq);
 
             if (log.isDebugEnabled()) {
-                log.debug("WebSocket 브로드캐스트 완료: roomId={}, eventType={}",
-                        roomId, event.getEventType());
+                log.debug("WebSocket 브로드캐스트 완료: roomId={}, eventType={}, sessions={}",
+                        roomId, event.getEventType(), sent);
             }
 
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             log.error("WebSocket 브로드캐스트 실패: roomId={}, eventType={}, error={}",
                     roomId, event.getEventType(), e.getMessage(), e);
+            throw e;
         }
     }
 
     /**
-     * 특정 채팅방의 모든 참여자에게 배치 이벤트 브로드캐스트
+     * 특정 채팅방의 모든 참여자에게 배치 이벤트 브로드캐스트 (실패 시 다시 던짐)
      */
     public void broadcastBatchToRoom(Long roomId, List<ChatEvent> events) {
-        if (events.isEmpty()) {
+        if (events.isEmpty() || !localRoomSubscriptions.hasSubscribers(roomId)) {
             return;
         }
 
         try {
-            String destination = "/topic/room/" + roomId;
-
-            // WebSocket 메시지 포맷 변환
-            List<Map<String, Object>> messages = events.stream()
-                    .map(this::convertToWebSocketMessage)
-                    .collect(Collectors.toList());
-
             // 배치 메시지로 한 번에 전송
-            Map<String, Object> batchMessage = new HashMap<>();
-            batchMessage.put("type", "BATCH");
-            batchMessage.put("messages", messages);
-            batchMessage.put("count", messages.size());
-            batchMessage.put("roomId", roomId);
-
-            // 채팅방 구독자들에게 메시지 전송
-            messagingTemplate.convertAndSend(destination, batchMessage);
+            long firstSeq = 0;
+            long lastSeq = 0;
+            for (ChatEvent event : events) {
+                long seq = seq(event);
+                if (seq != 0) {
+                    firstSeq = firstSeq == 0 ? seq : Math.min(firstSeq, seq);
+                    lastSeq = Math.max(lastSeq, seq);
+                }
+            }
+            ChatEventBatchPayload batch = ChatEventBatchPayload.of(roomId, events);
+            for (ChatEventPayload payload : batch.messages()) {
+                roomReplayBuffer.append(roomId, payload);
+            }
+            int sent = fanOut(roomId, batch, null, firstSeq, lastSeq);
 
             if (log.isDebugEnabled()) {
-                log.debug("WebSocket 배치 브로드캐스트 완료: roomId={}, 메시지 수={}",
-                        roomId, events.size());
+                log.debug("WebSocket 배치 브로드캐스트 완료: roomId={}, 메시지 수={}, sessions={}",
+                        roomId, events.size(), sent);
             }
 
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             log.error("WebSocket 배치 브로드캐스트 실패: roomId={}, 이벤트 수={}, error={}",
                     roomId, events.size(), e.getMessage(), e);
+            throw e;
         }
     }
 
@@ -90,9 +111,7 @@ public class WebSocketService {
         try {
             String destination = "/queue/user/" + userId;
 
-            Map<String, Object> message = convertToWebSocketMessage(event);
-
-            messagingTemplate.convertAndSend(destination, message);
+            messagingTemplate.convertAndSend(destination, ChatEventPayload.from(event));
 
             if (log.isDebugEnabled()) {
                 log.debug("개인 메시지 전송 완료: userId={}, eventType={}",
@@ -112,17 +131,7 @@ public class WebSocketService {
         try {
             String destination = "/topic/notifications/" + roomId;
 
-            Map<String, Object> notification = new HashMap<>();
-            notification.put("type", "NOTIFICATION");
-            notification.put("eventType", event.getEventType().toString());
-            notification.put("roomId", event.getChatRoomId());
-            notification.put("userId", event.getUserId());
-            notification.put("username", event.getUsername());
-            notification.put("content", event.getContent());
-            notification.put("timestamp", event.getTimestamp().toString());
-            notification.put("eventId", event.getEventId());
-
-            messagingTemplate.convertAndSend(destination, notification);
+            messagingTemplate.convertAndSend(destination, NotificationPayload.from(event));
 
             if (log.isDebugEnabled()) {
                 log.debug("알림 전송 완료: roomId={}, eventType={}", roomId, event.getEventType());
@@ -135,44 +144,51 @@ public class WebSocketService {
     }
 
     /**
-     * ChatEvent를 WebSocket 메시지 포맷으로 변환
+     * 페이로드를 프레임으로 한 번 인코딩해 채팅방 구독 세션마다 대기열에 넣음
+     * 완성 프레임은 구독 ID마다 한 번만 만들어, 구독 ID가 같은 세션들은 같은 메시지 객체를 공유한다.
+     *
+     * @param conflationKey 병합 키 (null이면 보존 항목)
+     * @return 대기열에 넣은 구독 수
      */
-    private Map<String, Object> convertToWebSocketMessage(ChatEvent event) {
-        Map<String, Object> message = new HashMap<>();
-
-        // 기본 정보
-        message.put("eventId", event.getEventId());
-        message.put("type", event.getEventType().toString());
-        message.put("roomId", event.getChatRoomId());
-        message.put("userId", event.getUserId());
-        message.put("username", event.getUsername());
-        message.put("timestamp", event.getTimestamp().toString());
-
-        // 이벤트 타입별 특화 데이터
-        switch (event.getEventType()) {
-            case MESSAGE_SENT:
-                message.put("messageId", event.getMessageId());
-                message.put("content", event.getMessageContent());
-                message.put("status", event.getMessageStatus());
-                break;
-
-            case USER_JOINED:
-            case USER_LEFT:
-            case ROOM_CREATED:
-                message.put("content", event.getContent());
-                break;
-
-            default:
-                if (event.getContent() != null) {
-                    message.put("content", event.getContent());
-                }
-        }
+    private int fanOut(Long roomId, Object payload, String conflationKey, long firstSeq, long lastSeq) {
+        StompMessageFrame frame = StompMessageFrame.of(
+                LocalRoomSubscriptions.ROOM_DESTINATION_PREFIX + roomId, encode(payload));
+        Map<String, StompMessageFrame.Encoded> bySubscription = new HashMap<>();
+        int[] sent = {0};
+        localRoomSubscriptions.forEachSubscription(roomId, (sessionId, subscriptionId) -> {
+            StompMessageFrame.Encoded encoded = bySubscription.computeIfAbsent(subscriptionId, frame::forSubscription);
+            boolean queued = conflationKey != null
+                    ? webSocketSessionRegistry.sendLatest(sessionId, subscriptionId + "|" + conflationKey,
+                            encoded.message(), encoded.bytes())
+                    : webSocketSessionRegistry.send(sessionId, encoded.message(), encoded.bytes(),
+                            roomId, firstSeq, lastSeq);
+            if (queued) {
+                sent[0]++;
+            }
+        });
+        return sent[0];
+    }
 
-        // 메타데이터가 있으면 포함
-        if (event.getMetadata() != null && !event.getMetadata().isEmpty()) {
-            message.put("metadata", event.getMetadata());
-        }
+    // 최신 값만 의미 있는 이벤트의 병합 키 (그 외는 null)
+    private static String conflationKey(ChatEvent event) {
+        return switch (event.getEventType()) {
+            case TYPING_START, TYPING_STOP -> "typing:" + event.getUserId();
+            case USER_STATUS_CHANGED -> "status:" + event.getUserId();
+            default -> null;
+        };
+    }
+
+    // 메시지 전송 이벤트의 채팅방 순번 (없으면 0, 이어받기 기준 계산용)
+    private static long seq(ChatEvent event) {
+        return event.getEventType() == ChatEventType.MESSAGE_SENT && event.getSeq() != null
+                ? event.getSeq() : 0;
+    }
 
-        return message;
+    private byte[] encode(Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("WebSocket 페이로드 직렬화 실패", e);
+        }
     }
 }
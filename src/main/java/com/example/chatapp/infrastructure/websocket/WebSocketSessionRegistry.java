@@ -0,0 +1,167 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이 노드의 WebSocket 세션 레지스트리 (STOMP 세션 ID = WebSocket 세션 ID)
+ * 채팅방 브로드캐스트가 브로커를 거치지 않고 인코딩된 프레임을 세션에 바로 쓸 수 있게 한다.
+ *
+ * 연결 시 세션을 송신 대기열을 가진 QueuedWebSocketSession으로 감싸 스프링 STOMP 핸들러에도 감싼 세션을 넘긴다.
+ * 브로커 경로(하트비트, 다른 목적지)와 직접 전송이 같은 대기열을 쓰고, 소켓 쓰기는 세션마다 가상 스레드 하나가 맡는다.
+ * - 채팅 메시지: 모두 보존. 예산(max-queued-messages, max-queued-bytes)을 넘거나 쓰기가 send-time-limit-ms보다 밀리면
+ *   이어받기 토큰을 발급하고 세션을 끊는다 (종료 코드 4001, 사유 "SLOW_CONSUMER resume={토큰}").
+ * - 입력 중/접속 상태: 구독과 사용자별 최신 값 하나만 남김
+ *
+ * 메트릭
+ * - chat.websocket.outbound.queue.depth / queue.bytes: 세션별 대기 항목 수/바이트 (주기적으로 표본, 백분위)
+ * - chat.websocket.outbound.session.dropped: 세션이 끝날 때까지 버린 항목 수 (병합 대체 포함, 백분위)
+ * - chat.websocket.outbound.slow.disconnects: 느린 소비자로 끊은 세션 수
+ */
+@Component
+@Slf4j
+public class WebSocketSessionRegistry implements WebSocketHandlerDecoratorFactory {
+
+    static final int SLOW_CONSUMER_CLOSE_CODE = 4001;
+
+    private final Map<String, QueuedWebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ws-outbound-", 0).factory());
+
+    private final ResumeTokens resumeTokens;
+    private final int maxQueuedMessages;
+    private final long maxQueuedBytes;
+    private final long sendTimeLimitNanos;
+
+    private final DistributionSummary queueDepth;
+    private final DistributionSummary queueBytes;
+    private final DistributionSummary sessionDropped;
+    private final Counter slowDisconnects;
+
+    public WebSocketSessionRegistry(
+            MeterRegistry meterRegistry,
+            ResumeTokens resumeTokens,
+            @Value("${chat.websocket.outbound.max-queued-messages:1000}") int maxQueuedMessages,
+            @Value("${chat.websocket.outbound.max-queued-bytes:524288}") long maxQueuedBytes,
+            @Value("${chat.websocket.outbound.send-time-limit-ms:10000}") long sendTimeLimitMs) {
+        this.resumeTokens = resumeTokens;
+        this.maxQueuedMessages = maxQueuedMessages;
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs);
+        this.queueDepth = DistributionSummary.builder("chat.websocket.outbound.queue.depth")
+                .description("세션별 송신 대기 항목 수")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.queueBytes = DistributionSummary.builder("chat.websocket.outbound.queue.bytes")
+                .description("세션별 송신 대기 바이트")
+                .baseUnit("bytes")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.sessionDropped = DistributionSummary.builder("chat.websocket.outbound.session.dropped")
+                .description("세션별로 보내지 않고 버린 항목 수 (병합 대체 포함)")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.slowDisconnects = Counter.builder("chat.websocket.outbound.slow.disconnects")
+                .description("송신 대기열 예산을 넘어 끊은 세션 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                QueuedWebSocketSession queued = new QueuedWebSocketSession(session, maxQueuedMessages,
+                        maxQueuedBytes, sendTimeLimitNanos, writers, WebSocketSessionRegistry.this::onSlowConsumer);
+                sessions.put(session.getId(), queued);
+                super.afterConnectionEstablished(queued);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                QueuedWebSocketSession queued = sessions.remove(session.getId());
+                if (queued != null) {
+                    queued.discard();
+                    sessionDropped.record(queued.dropped());
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 채팅 메시지 등 보존 항목 전송 (세션이 없거나 끊는 중이면 false)
+     * 같은 메시지 객체를 여러 세션에 넣을 수 있으며, bytes는 호출자가 미리 계산한 페이로드 UTF-8 바이트 수다.
+     * firstSeq/lastSeq는 담긴 채팅 메시지의 순번 범위다 (없으면 0, 이어받기 기준 계산용).
+     */
+    public boolean send(String sessionId, WebSocketMessage<?> message, int bytes,
+                        long roomId, long firstSeq, long lastSeq) {
+        QueuedWebSocketSession session = sessions.get(sessionId);
+        return session != null && session.offer(message, bytes, roomId, firstSeq, lastSeq);
+    }
+
+    /**
+     * 입력 중/접속 상태 등 병합 항목 전송 (같은 키의 대기 중인 이전 값은 버림)
+     */
+    public boolean sendLatest(String sessionId, String key, WebSocketMessage<?> message, int bytes) {
+        QueuedWebSocketSession session = sessions.get(sessionId);
+        return session != null && session.offerLatest(key, message, bytes);
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * 세션별 대기열 깊이 표본 기록
+     */
+    @Scheduled(fixedDelayString = "${chat.websocket.outbound.metrics-interval-ms:10000}")
+    public void recordQueueDepths() {
+        for (QueuedWebSocketSession session : sessions.values()) {
+            queueDepth.record(session.depth());
+            queueBytes.record(session.queuedBytes());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
+
+    private void onSlowConsumer(QueuedWebSocketSession session) {
+        // 토큰은 세션 사용자에게 묶어 다른 사용자가 조회하지 못하게 함
+        Object userId = session.getAttributes().get("userId");
+        String token = resumeTokens.issue(userId instanceof Long id ? id : null, session.discard());
+        slowDisconnects.increment();
+        log.warn("느린 소비자로 WebSocket 세션 종료: sessionId={}, userId={}",
+                session.getId(), session.getAttributes().get("userId"));
+        // 막힌 쓰기가 풀릴 때까지 close가 기다릴 수 있으므로 보내던 스레드를 붙잡지 않음
+        CloseStatus status = new CloseStatus(SLOW_CONSUMER_CLOSE_CODE, "SLOW_CONSUMER resume=" + token);
+        writers.execute(() -> {
+            try {
+                session.close(status);
+            } catch (IOException e) {
+                log.debug("WebSocket 세션 종료 실패: sessionId={}, error={}", session.getId(), e.getMessage());
+            }
+        });
+    }
+}
@@ -23,6 +23,7 @@ public class MessageMapper {
                 .content(message.getContent())
                 .sender(userMapper.toResponse(message.getSender()))
                 .chatRoomId(message.getChatRoom().getId())
+                .seq(message.getSeq())
                 .status(message.getStatus())
                 .timestamp(message.getTimestamp())
                 .build();
@@ -0,0 +1,22 @@
+package com.example.chatapp.repository;
+
+import com.example.chatapp.infrastructure.analytics.ActiveUserSketch;
+import com.example.chatapp.infrastructure.analytics.RollupScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ActiveUserSketchRepository extends JpaRepository<ActiveUserSketch, Long> {
+
+    // 대상 하나의 기간 내 스케치 레지스터만 조회 (병합은 호출자가 수행)
+    @Query("SELECT s.registers FROM ActiveUserSketch s " +
+           "WHERE s.scope = :scope AND s.subjectId = :subjectId " +
+           "AND s.windowStart >= :from AND s.windowStart < :to")
+    List<byte[]> findRegisters(@Param("scope") RollupScope scope,
+                               @Param("subjectId") Long subjectId,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to);
+}
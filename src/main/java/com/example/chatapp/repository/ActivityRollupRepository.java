@@ -0,0 +1,25 @@
+package com.example.chatapp.repository;
+
+import com.example.chatapp.infrastructure.analytics.ActivityRollup;
+import com.example.chatapp.infrastructure.analytics.RollupGranularity;
+import com.example.chatapp.infrastructure.analytics.RollupScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ActivityRollupRepository extends JpaRepository<ActivityRollup, Long> {
+
+    // 대상 하나의 기간 내 롤업 (uk_activity_rollup_window 인덱스 범위 조회)
+    @Query("SELECT r FROM ActivityRollup r " +
+           "WHERE r.scope = :scope AND r.granularity = :granularity AND r.subjectId = :subjectId " +
+           "AND r.windowStart >= :from AND r.windowStart < :to " +
+           "ORDER BY r.windowStart")
+    List<ActivityRollup> findWindows(@Param("scope") RollupScope scope,
+                                     @Param("granularity") RollupGranularity granularity,
+                                     @Param("subjectId") Long subjectId,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+}
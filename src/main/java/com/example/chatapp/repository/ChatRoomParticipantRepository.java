@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,5 +42,17 @@ public interface ChatRoomParticipantRepository extends JpaRepository<ChatRoomPar
             @Param("userId") Long userId,
             @Param("chatRoomId") Long chatRoomId);
 
+    // 알림을 켠 참여자 ID (알림 팬아웃용, 설정이 없는 예전 행은 켠 것으로 봄)
+    @Query("SELECT crp.user.id FROM ChatRoomParticipant crp " +
+           "WHERE crp.chatRoom.id = :chatRoomId " +
+           "AND (crp.notificationEnabled IS NULL OR crp.notificationEnabled = true)")
+    List<Long> findNotificationRecipientIds(@Param("chatRoomId") Long chatRoomId);
+
+    // 주어진 채팅방 중 사용자가 참여 중인 채팅방 ID (재연결 이어받기 권한 확인을 한 번의 쿼리로)
+    @Query("SELECT crp.chatRoom.id FROM ChatRoomParticipant crp " +
+           "WHERE crp.user.id = :userId AND crp.chatRoom.id IN :chatRoomIds")
+    List<Long> findParticipatingChatRoomIds(@Param("userId") Long userId,
+                                            @Param("chatRoomIds") Collection<Long> chatRoomIds);
+
     void deleteByUserIdAndChatRoomId(Long userId, Long chatRoomId);
 }
@@ -4,7 +4,10 @@ import com.example.chatapp.domain.ChatRoom;
 import com.example.chatapp.dto.response.ChatRoomSimpleResponse;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -48,4 +51,34 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
            "JOIN FETCH cr.participants p " +
            "WHERE p.user.id = :userId")
     List<ChatRoom> findAllByParticipantUserId(Long userId);
+
+    @Modifying
+    @Query("UPDATE ChatRoom cr SET cr.lastMessageSeq = cr.lastMessageSeq + 1 WHERE cr.id = :id")
+    int incrementLastMessageSeq(@Param("id") Long id);
+
+    @Query("SELECT cr.lastMessageSeq FROM ChatRoom cr WHERE cr.id = :id")
+    long findLastMessageSeq(@Param("id") Long id);
+
+    /**
+     * 참여자 구성 버전 증가 (참여자를 바꾸는 트랜잭션 안에서 호출)
+     * 커밋까지 채팅방 행 잠금을 쥐므로 같은 채팅방의 구성 변경은 버전 순서대로 커밋된다.
+     */
+    @Modifying
+    @Query("UPDATE ChatRoom cr SET cr.stateVersion = cr.stateVersion + 1 WHERE cr.id = :id")
+    int incrementStateVersion(@Param("id") Long id);
+
+    /**
+     * 채팅방 메시지 순번 발급 (채팅방 행을 증가시키고 다시 읽음)
+     * 호출한 트랜잭션이 있으면 참여해 커밋까지 채팅방 행 잠금을 쥐므로, 같은 채팅방의 전송은 순번 순서대로 커밋된다.
+     * 트랜잭션 밖에서 부르면 짧은 트랜잭션으로 발급만 하고 바로 커밋한다.
+     *
+     * @return 발급한 순번 (채팅방이 없으면 0)
+     */
+    @Transactional
+    default long nextMessageSeq(Long id) {
+        if (incrementLastMessageSeq(id) == 0) {
+            return 0;
+        }
+        return findLastMessageSeq(id);
+    }
 }
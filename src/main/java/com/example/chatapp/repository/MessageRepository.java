@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
@@ -60,6 +61,23 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
 
     List<Message> findByStatus(MessageStatus status);
 
+    // 재처리 보충용: 기간 안 메시지를 ID 순서 키셋 페이지로 조회 (FETCH JOIN, afterId보다 큰 ID부터)
+    @Query("SELECT m FROM Message m " +
+           "JOIN FETCH m.sender " +
+           "JOIN FETCH m.chatRoom " +
+           "WHERE m.timestamp >= :from AND m.timestamp < :until AND m.id > :afterId " +
+           "ORDER BY m.id")
+    List<Message> findBackfillPage(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until,
+                                   @Param("afterId") Long afterId, Pageable pageable);
+
+    // 재연결/끊긴 연결 이어받기용: 채팅방에서 afterSeq보다 큰 순번의 메시지를 순번 순서로 조회 (FETCH JOIN)
+    @Query("SELECT m FROM Message m " +
+           "JOIN FETCH m.sender " +
+           "WHERE m.chatRoom.id = :chatRoomId AND m.seq > :afterSeq " +
+           "ORDER BY m.seq")
+    List<Message> findByChatRoomIdAfterSeq(@Param("chatRoomId") Long chatRoomId, @Param("afterSeq") Long afterSeq,
+                                           Pageable pageable);
+
     // 참고: EntityGraph 방식은 FETCH JOIN으로 통일하기 위해 주석 처리
     // 필요시 팀 컨벤션에 따라 활성화할 수 있음
     
@@ -0,0 +1,40 @@
+package com.example.chatapp.repository;
+
+import com.example.chatapp.infrastructure.outbox.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // 미발송 레코드를 ID 순서로 잠금 조회
+    // 릴레이는 리더 한 노드만 돌지만(OutboxRelayLeader), 리더가 바뀌는 사이 두 릴레이가 겹치면 건너뛰지 않고 기다린다.
+    // SKIP LOCKED로 잠긴 행을 건너뛰면 같은 채팅방의 뒤 레코드를 먼저 보내 순서가 뒤집힌다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OutboxEvent o WHERE o.sentAt IS NULL AND o.parkedAt IS NULL ORDER BY o.id")
+    List<OutboxEvent> findPendingForUpdate(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.sentAt = :sentAt WHERE o.id IN :ids")
+    int markSent(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.attempts = o.attempts + 1 WHERE o.id IN :ids")
+    int incrementAttempts(@Param("ids") List<Long> ids);
+
+    // 계속 실패하는 레코드를 릴레이 대상에서 뺌
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.attempts = o.attempts + 1, o.parkedAt = :parkedAt WHERE o.id IN :ids")
+    int markParked(@Param("ids") List<Long> ids, @Param("parkedAt") LocalDateTime parkedAt);
+
+    // 정리 대상 (발송 완료 후 보존 기간이 지난 레코드) ID 조회
+    @Query("SELECT o.id FROM OutboxEvent o WHERE o.sentAt < :threshold ORDER BY o.id")
+    List<Long> findSentIdsBefore(@Param("threshold") LocalDateTime threshold, Pageable pageable);
+}
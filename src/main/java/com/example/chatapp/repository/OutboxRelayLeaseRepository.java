@@ -0,0 +1,30 @@
+package com.example.chatapp.repository;
+
+import com.example.chatapp.infrastructure.outbox.OutboxRelayLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface OutboxRelayLeaseRepository extends JpaRepository<OutboxRelayLease, String> {
+
+    // 내가 쥔 임대를 연장하거나 만료된 임대를 가져옴 (조건부 UPDATE 한 번이라 두 노드가 동시에 얻지 못함)
+    @Modifying
+    @Query("UPDATE OutboxRelayLease l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+            "WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt < :now)")
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner,
+                   @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // 임대 행 생성 (save는 이미 있는 행이면 덮어쓰므로 INSERT만, 동시에 만들면 한쪽은 키 중복으로 실패)
+    @Modifying
+    @Query(value = "INSERT INTO outbox_relay_lease (name, owner, expires_at) VALUES (:name, :owner, :expiresAt)",
+            nativeQuery = true)
+    int insert(@Param("name") String name, @Param("owner") String owner, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // 종료 시 임대를 바로 만료시켜 다른 노드가 기다리지 않고 이어받게 함
+    @Modifying
+    @Query("UPDATE OutboxRelayLease l SET l.expiresAt = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
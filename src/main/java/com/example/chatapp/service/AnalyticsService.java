@@ -0,0 +1,47 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.dto.response.ActiveUserCountResponse;
+import com.example.chatapp.dto.response.ActivityRollupResponse;
+import com.example.chatapp.dto.response.TrendingTermResponse;
+import com.example.chatapp.infrastructure.analytics.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 활동 통계 조회 서비스 인터페이스
+ * 스트리밍 집계기가 기록한 롤업만 조회하며 messages 테이블은 읽지 않습니다.
+ */
+public interface AnalyticsService {
+    /**
+     * 채팅방 활동 통계 조회 (참여자만)
+     */
+    List<ActivityRollupResponse> findRoomActivity(Long roomId, Long requesterId, RollupGranularity granularity,
+                                                  LocalDateTime from, LocalDateTime to);
+
+    /**
+     * 내 활동 통계 조회
+     */
+    List<ActivityRollupResponse> findUserActivity(Long userId, RollupGranularity granularity,
+                                                  LocalDateTime from, LocalDateTime to);
+
+    /**
+     * 채팅방에서 메시지를 보낸 고유 사용자 수 추정 (참여자만)
+     */
+    ActiveUserCountResponse countRoomActiveUsers(Long roomId, Long requesterId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * 서비스 전체에서 메시지를 보낸 고유 사용자 수 추정 (DAU/MAU)
+     */
+    ActiveUserCountResponse countActiveUsers(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * 채팅방 급상승 키워드 조회 (참여자만, 최근 구간 인메모리 추적 결과)
+     */
+    List<TrendingTermResponse> findRoomTrendingTerms(Long roomId, Long requesterId, int limit);
+
+    /**
+     * 전체 급상승 키워드 조회 (이 인스턴스가 처리한 파티션 기준)
+     */
+    List<TrendingTermResponse> findTrendingTerms(int limit);
+}
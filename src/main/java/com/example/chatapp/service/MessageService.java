@@ -4,10 +4,12 @@ package com.example.chatapp.service;
 import com.example.chatapp.domain.MessageStatus;
 import com.example.chatapp.dto.request.MessageCreateRequest;
 import com.example.chatapp.dto.response.MessageResponse;
+import com.example.chatapp.dto.response.MissedMessagesResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 메시지 서비스 인터페이스
@@ -19,6 +21,12 @@ public interface MessageService {
      */
     void sendMessage(MessageCreateRequest request, Long senderId);
 
+    /**
+     * 메시지 전송 (비동기 저장 모드)
+     * 멤버십만 검증하고 메시지 이벤트를 발행하며, 저장은 MessagePersistenceConsumer가 담당합니다.
+     */
+    void publishMessage(MessageCreateRequest request, Long senderId);
+
     /**
      * 채팅방 메시지 조회 (페이징)
      */
@@ -29,6 +37,16 @@ public interface MessageService {
      */
     List<MessageResponse> findRecentChatRoomMessages(Long chatRoomId, int limit);
 
+    /**
+     * 채팅방에서 특정 순번 이후 메시지 조회 (순번 순서, 끊긴 연결 이어받기용)
+     */
+    List<MessageResponse> findChatRoomMessagesAfter(Long chatRoomId, Long userId, Long afterSeq, int limit);
+
+    /**
+     * 이어받기 기준(채팅방 ID -> 마지막으로 받은 순번)마다 받지 못한 메시지 조회 (참여 중인 채팅방만)
+     */
+    List<MissedMessagesResponse> findMissedMessages(Long userId, Map<Long, Long> resumePoints, int limit);
+
     /**
      * 메시지 ID로 조회
      */
@@ -0,0 +1,168 @@
+package com.example.chatapp.service.impl;
+
+import com.example.chatapp.dto.response.ActiveUserCountResponse;
+import com.example.chatapp.dto.response.ActivityRollupResponse;
+import com.example.chatapp.dto.response.TrendingTermResponse;
+import com.example.chatapp.exception.ChatRoomException;
+import com.example.chatapp.infrastructure.analytics.ActivityRollup;
+import com.example.chatapp.infrastructure.analytics.HyperLogLog;
+import com.example.chatapp.infrastructure.analytics.RollupGranularity;
+import com.example.chatapp.infrastructure.analytics.RollupScope;
+import com.example.chatapp.infrastructure.analytics.TrendingTerm;
+import com.example.chatapp.infrastructure.analytics.TrendingTermTracker;
+import com.example.chatapp.repository.ActiveUserSketchRepository;
+import com.example.chatapp.repository.ActivityRollupRepository;
+import com.example.chatapp.repository.ChatRoomParticipantRepository;
+import com.example.chatapp.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 활동 통계 조회 서비스 구현 클래스
+ * 한 번에 조회할 수 있는 창 수를 제한해 큰 기간 조회가 롤업 테이블을 넓게 읽지 않도록 합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class AnalyticsServiceImpl implements AnalyticsService {
+    // 분 단위 최대 1일, 시간 단위 최대 약 2개월
+    private static final int MAX_WINDOWS = 1440;
+    // 고유 사용자 수 최대 조회 기간 (시간 단위 스케치 병합, 전체 기준 약 3MB)
+    private static final Duration MAX_ACTIVE_USER_RANGE = Duration.ofDays(31);
+    private static final int MAX_TRENDING_TERMS = 50;
+
+    private final ActivityRollupRepository activityRollupRepository;
+    private final ActiveUserSketchRepository activeUserSketchRepository;
+    private final ChatRoomParticipantRepository chatRoomParticipantRepository;
+    private final TrendingTermTracker trendingTermTracker;
+
+    @Override
+    public List<ActivityRollupResponse> findRoomActivity(Long roomId, Long requesterId, RollupGranularity granularity,
+                                                         LocalDateTime from, LocalDateTime to) {
+        if (!isParticipant(requesterId, roomId)) {
+            throw ChatRoomException.notParticipant();
+        }
+        return find(RollupScope.ROOM, roomId, granularity, from, to);
+    }
+
+    @Override
+    public List<ActivityRollupResponse> findUserActivity(Long userId, RollupGranularity granularity,
+                                                         LocalDateTime from, LocalDateTime to) {
+        return find(RollupScope.USER, userId, granularity, from, to);
+    }
+
+    @Override
+    public ActiveUserCountResponse countRoomActiveUsers(Long roomId, Long requesterId,
+                                                        LocalDateTime from, LocalDateTime to) {
+        if (!isParticipant(requesterId, roomId)) {
+            throw ChatRoomException.notParticipant();
+        }
+        return countActiveUsers(RollupScope.ROOM, roomId, from, to);
+    }
+
+    @Override
+    public ActiveUserCountResponse countActiveUsers(LocalDateTime from, LocalDateTime to) {
+        return countActiveUsers(RollupScope.GLOBAL, RollupScope.GLOBAL_SUBJECT_ID, from, to);
+    }
+
+    @Override
+    public List<TrendingTermResponse> findRoomTrendingTerms(Long roomId, Long requesterId, int limit) {
+        if (!isParticipant(requesterId, roomId)) {
+            throw ChatRoomException.notParticipant();
+        }
+        return trendingTermTracker.trendingInRoom(roomId, clampLimit(limit)).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Override
+    public List<TrendingTermResponse> findTrendingTerms(int limit) {
+        return trendingTermTracker.trending(clampLimit(limit)).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    private int clampLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("조회 개수는 1 이상이어야 합니다");
+        }
+        return Math.min(limit, MAX_TRENDING_TERMS);
+    }
+
+    /**
+     * 기간 내 시간 단위 스케치를 모두 병합해 추정 (COUNT(DISTINCT sender_id) 대신)
+     */
+    private ActiveUserCountResponse countActiveUsers(RollupScope scope, Long subjectId,
+                                                     LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("조회 시작 시각은 종료 시각보다 앞서야 합니다");
+        }
+        if (Duration.between(from, to).compareTo(MAX_ACTIVE_USER_RANGE) > 0) {
+            throw new IllegalArgumentException("조회 기간이 너무 깁니다: 최대 " + MAX_ACTIVE_USER_RANGE.toDays() + "일");
+        }
+
+        LocalDateTime start = RollupGranularity.HOUR.windowStart(from);
+        HyperLogLog merged = null;
+        for (byte[] registers : activeUserSketchRepository.findRegisters(scope, subjectId, start, to)) {
+            HyperLogLog sketch = HyperLogLog.fromBytes(registers);
+            if (merged == null) {
+                merged = sketch;
+            } else {
+                merged.merge(sketch);
+            }
+        }
+
+        return ActiveUserCountResponse.builder()
+                .from(start)
+                .to(to)
+                .activeUsers(merged != null ? merged.estimate() : 0)
+                .build();
+    }
+
+    private List<ActivityRollupResponse> find(RollupScope scope, Long subjectId, RollupGranularity granularity,
+                                              LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("조회 시작 시각은 종료 시각보다 앞서야 합니다");
+        }
+        if (granularity.length().multipliedBy(MAX_WINDOWS).compareTo(Duration.between(from, to)) < 0) {
+            throw new IllegalArgumentException("조회 기간이 너무 깁니다: 최대 " + MAX_WINDOWS + "개 창");
+        }
+
+        return activityRollupRepository.findWindows(scope, granularity, subjectId,
+                        granularity.windowStart(from), to).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    private ActivityRollupResponse toResponse(ActivityRollup rollup) {
+        return ActivityRollupResponse.builder()
+                .windowStart(rollup.getWindowStart())
+                .messageCount(rollup.getMessageCount())
+                .averageMessageLength(rollup.getAverageMessageLength())
+                .joinCount(rollup.getJoinCount())
+                .leaveCount(rollup.getLeaveCount())
+                .averageDwellMs(rollup.getAverageDwellMs())
+                .build();
+    }
+
+    private TrendingTermResponse toResponse(TrendingTerm term) {
+        return TrendingTermResponse.builder()
+                .term(term.getTerm())
+                .count(term.getCount())
+                .expectedCount(term.getExpected())
+                .score(term.getScore())
+                .build();
+    }
+
+    // 권한 확인이므로 낡을 수 있는 채팅방 상태 인덱스가 아니라 DB로 확인
+    private boolean isParticipant(Long userId, Long roomId) {
+        return chatRoomParticipantRepository.existsByUserIdAndChatRoomId(userId, roomId);
+    }
+}
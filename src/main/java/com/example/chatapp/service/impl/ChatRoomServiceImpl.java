@@ -50,6 +50,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 
         // 이벤트 발행 로직을 별도 서비스로 위임
         chatEventPublisherService.publishRoomCreatedEvent(savedChatRoom, creator);
+        chatEventPublisherService.publishRoomState(savedChatRoom.getId());
 
         log.debug("채팅방 생성 완료: roomId={}, creatorId={}",
                 savedChatRoom.getId(), creator.getId());
@@ -98,6 +99,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 
             // 이벤트 발행 로직을 별도 서비스로 위임
             chatEventPublisherService.publishUserJoinEvent(chatRoomId, user);
+            chatEventPublisherService.publishRoomState(chatRoomId);
         }
 
         return chatRoomMapper.toResponse(chatRoom);
@@ -118,6 +120,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 
         // 초대 이벤트 발행
         chatEventPublisherService.publishUserJoinEvent(chatRoomId, userToInvite);
+        chatEventPublisherService.publishRoomState(chatRoomId);
 
         log.info("사용자를 채팅방에 초대했습니다: inviterId={}, invitedUserId={}, chatRoomId={}", 
                 inviterId, userToInviteId, chatRoomId);
@@ -137,7 +140,9 @@ public class ChatRoomServiceImpl implements ChatRoomService {
         chatRoomRepository.delete(chatRoom);
         log.debug("채팅방 삭제 완료: id={}", chatRoomId);
 
-        // TODO: 채팅방 삭제 이벤트 발행 고려
+        // 채팅방 삭제 이벤트와 상태 톰스톤 발행
+        chatEventPublisherService.publishRoomDeletedEvent(chatRoomId, userId);
+        chatEventPublisherService.publishRoomStateDeleted(chatRoomId);
     }
 
     @Override
@@ -158,6 +163,7 @@ public class ChatRoomServiceImpl implements ChatRoomService {
 
         // 사용자 퇴장 이벤트 발행
         chatEventPublisherService.publishUserLeaveEvent(chatRoomId, user);
+        chatEventPublisherService.publishRoomState(chatRoomId);
 
         log.info("사용자가 채팅방에서 퇴장했습니다: userId={}, chatRoomId={}", userId, chatRoomId);
         return chatRoomMapper.toResponse(chatRoom);
@@ -4,24 +4,30 @@ import com.example.chatapp.domain.*;
 import com.example.chatapp.domain.service.MessageDomainService;
 import com.example.chatapp.dto.request.MessageCreateRequest;
 import com.example.chatapp.dto.response.MessageResponse;
+import com.example.chatapp.dto.response.MissedMessagesResponse;
 import com.example.chatapp.exception.MessageException;
 import com.example.chatapp.infrastructure.event.ChatEventPublisherService;
+import com.example.chatapp.infrastructure.id.SnowflakeIdGenerator;
 import com.example.chatapp.mapper.MessageMapper;
 import com.example.chatapp.repository.MessageRepository;
 import com.example.chatapp.repository.UserRepository;
 import com.example.chatapp.repository.ChatRoomRepository;
+import com.example.chatapp.repository.ChatRoomParticipantRepository;
 import com.example.chatapp.exception.UserException;
 import com.example.chatapp.exception.ChatRoomException;
 import com.example.chatapp.service.MessageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 메시지 서비스 구현 클래스
@@ -32,16 +38,21 @@ import java.util.List;
 @Slf4j
 @Transactional(readOnly = true) // 기본적으로 모든 메소드는 읽기 전용 트랜잭션 사용
 public class MessageServiceImpl implements MessageService {
+    // 이후 메시지 조회 한 번에 돌려줄 최대 개수 (채팅방별)
+    private static final int MAX_MESSAGES_AFTER = 500;
+
     private final MessageRepository messageRepository;
     private final MessageDomainService messageDomainService;
     private final MessageMapper messageMapper;
     private final UserRepository userRepository;
     private final ChatRoomRepository chatRoomRepository;
     private final ChatEventPublisherService eventPublisher;
+    private final ChatRoomParticipantRepository chatRoomParticipantRepository;
 
     /**
      * 메시지 전송
-     * 메시지 생성 요청을 검증하고, 새 메시지를 저장한 후 이벤트를 발행합니다.
+     * 메시지 생성 요청을 검증하고, 채팅방 순번을 발급해 새 메시지를 저장한 후 이벤트를 발행합니다.
+     * 순번 발급이 채팅방 행을 잠그므로 같은 채팅방의 전송은 커밋까지 순서대로 처리됩니다.
      *
      * @param request 메시지 생성 요청 DTO
      * @param senderId 발신자 ID
@@ -58,13 +69,48 @@ public class MessageServiceImpl implements MessageService {
 
         // 메시지 생성 (도메인에서 참여자 검증 수행)
         Message message = Message.create(request.getContent(), sender, chatRoom);
+        message.assignSeq(chatRoomRepository.nextMessageSeq(chatRoom.getId()));
         Message savedMessage = messageRepository.save(message);
 
         // 이벤트 발행 로직을 별도 서비스로 위임
         eventPublisher.publishMessageEvent(savedMessage, sender);
 
-        log.debug("메시지 저장 완료: id={}, senderId={}, chatRoomId={}",
-                savedMessage.getId(), sender.getId(), chatRoom.getId());
+        log.debug("메시지 저장 완료: id={}, seq={}, senderId={}, chatRoomId={}",
+                savedMessage.getId(), savedMessage.getSeq(), sender.getId(), chatRoom.getId());
+    }
+
+    /**
+     * 메시지 전송 (비동기 저장 모드)
+     * 참여자 여부만 확인하고 미리 발급한 메시지 ID와 채팅방 순번으로 이벤트를 발행합니다.
+     * 순번은 짧은 트랜잭션으로 발급하므로 동시에 보낸 메시지는 순번과 발행 순서가 다를 수 있습니다 (클라이언트는 순번으로 정렬).
+     * 발급한 순번은 발행이 실패해도 돌려받지 않으므로 채팅방 순번에 빈틈이 생길 수 있습니다 (클라이언트는 빈틈을 기다리지 않음).
+     * 참여자 여부는 권한 확인이므로 낡을 수 있는 채팅방 상태 인덱스가 아니라 DB로 확인합니다.
+     * 브로커 응답을 기다리는 동안 DB 커넥션을 잡지 않도록 트랜잭션 없이 실행합니다.
+     * 저장은 MessagePersistenceConsumer가 배치로 수행하므로 조회 API에는 잠시 늦게 나타날 수 있습니다.
+     *
+     * @param request 메시지 생성 요청 DTO
+     * @param senderId 발신자 ID
+     * @throws ChatRoomException 채팅방 참여자가 아닌 경우
+     * @throws MessageException 이벤트 발행에 실패한 경우
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void publishMessage(MessageCreateRequest request, Long senderId) {
+        User sender = userRepository.findById(senderId)
+                .orElseThrow(() -> UserException.notFound(senderId));
+        if (!chatRoomParticipantRepository.existsByUserIdAndChatRoomId(senderId, request.getChatRoomId())) {
+            throw ChatRoomException.notParticipant();
+        }
+
+        long seq = chatRoomRepository.nextMessageSeq(request.getChatRoomId());
+        if (seq == 0) {
+            throw ChatRoomException.notFound(request.getChatRoomId());
+        }
+        long messageId = SnowflakeIdGenerator.global().nextId();
+        eventPublisher.publishUnsavedMessageEvent(messageId, seq, request.getContent(), request.getChatRoomId(), sender);
+
+        log.debug("메시지 발행 완료 (저장 대기): id={}, seq={}, senderId={}, chatRoomId={}",
+                messageId, seq, senderId, request.getChatRoomId());
     }
 
     /**
@@ -106,6 +152,76 @@ public class MessageServiceImpl implements MessageService {
         return responses;
     }
 
+    /**
+     * 채팅방에서 특정 순번 이후 메시지 조회
+     * 메시지 ID는 노드마다 따로 발급해 채팅방 안에서 작성 순서가 아니므로 채팅방 순번으로 조회한다.
+     *
+     * @param chatRoomId 채팅방 ID
+     * @param userId 조회하는 사용자 ID
+     * @param afterSeq 마지막으로 받은 순번
+     * @param limit 조회할 메시지 수 (최대 MAX_MESSAGES_AFTER)
+     * @return 이후 메시지 응답 목록 (오래된 순서)
+     * @throws ChatRoomException 채팅방이 없거나 참여자가 아닌 경우
+     */
+    @Override
+    public List<MessageResponse> findChatRoomMessagesAfter(Long chatRoomId, Long userId, Long afterSeq, int limit) {
+        if (!chatRoomRepository.existsById(chatRoomId)) {
+            throw ChatRoomException.notFound(chatRoomId);
+        }
+        if (!chatRoomParticipantRepository.existsByUserIdAndChatRoomId(userId, chatRoomId)) {
+            throw ChatRoomException.notParticipant();
+        }
+        return messagesAfter(chatRoomId, afterSeq, clampAfterLimit(limit));
+    }
+
+    /**
+     * 이어받기 기준마다 받지 못한 메시지 조회
+     * 토큰 발급 뒤 나갔거나 삭제된 채팅방은 참여자 확인에서 빠지므로 건너뛴다.
+     *
+     * @param userId 조회하는 사용자 ID (토큰을 발급받은 사용자)
+     * @param resumePoints 채팅방 ID -> 마지막으로 받은 순번
+     * @param limit 채팅방별 조회할 메시지 수 (최대 MAX_MESSAGES_AFTER)
+     * @return 채팅방별 받지 못한 메시지
+     */
+    @Override
+    public List<MissedMessagesResponse> findMissedMessages(Long userId, Map<Long, Long> resumePoints, int limit) {
+        int clamped = clampAfterLimit(limit);
+        List<MissedMessagesResponse> responses = new ArrayList<>(resumePoints.size());
+        for (Map.Entry<Long, Long> point : resumePoints.entrySet()) {
+            if (!chatRoomParticipantRepository.existsByUserIdAndChatRoomId(userId, point.getKey())) {
+                continue;
+            }
+            // 하나 더 읽어 남은 메시지가 있는지 확인
+            List<MessageResponse> messages = messagesAfter(point.getKey(), point.getValue(), clamped + 1);
+            boolean hasMore = messages.size() > clamped;
+            responses.add(MissedMessagesResponse.builder()
+                    .roomId(point.getKey())
+                    .afterSeq(point.getValue())
+                    .messages(hasMore ? messages.subList(0, clamped) : messages)
+                    .hasMore(hasMore)
+                    .build());
+        }
+        return responses;
+    }
+
+    private List<MessageResponse> messagesAfter(Long chatRoomId, Long afterSeq, int limit) {
+        List<Message> messages = messageRepository.findByChatRoomIdAfterSeq(chatRoomId, afterSeq,
+                PageRequest.of(0, limit));
+
+        List<MessageResponse> responses = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            responses.add(messageMapper.toResponse(message));
+        }
+        return responses;
+    }
+
+    private static int clampAfterLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("조회 개수는 1 이상이어야 합니다");
+        }
+        return Math.min(limit, MAX_MESSAGES_AFTER);
+    }
+
     /**
      * 메시지 ID로 조회
      *
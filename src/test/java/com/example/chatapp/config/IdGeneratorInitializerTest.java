@@ -0,0 +1,25 @@
+package com.example.chatapp.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ID 생성기 노드 ID 설정 테스트")
+class IdGeneratorInitializerTest {
+
+    @Test
+    @DisplayName("노드 ID가 필수인데 지정하지 않으면 호스트 정보로 추정하지 않고 시작을 막는다")
+    void givenNodeIdRequiredButUnset_whenConfigure_thenFailFast() {
+        // Given
+        IdGeneratorInitializer initializer = new IdGeneratorInitializer();
+        ReflectionTestUtils.setField(initializer, "nodeId", -1);
+        ReflectionTestUtils.setField(initializer, "requireNodeId", true);
+
+        // When & Then
+        assertThatThrownBy(initializer::configureNodeId)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("chat.id.node-id");
+    }
+}
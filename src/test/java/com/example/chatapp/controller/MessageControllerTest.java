@@ -4,10 +4,13 @@ import com.example.chatapp.config.WebFilterConfig;
 import com.example.chatapp.domain.MessageStatus;
 import com.example.chatapp.dto.request.MessageStatusUpdateRequest;
 import com.example.chatapp.dto.response.MessageResponse;
+import com.example.chatapp.dto.response.MissedMessagesResponse;
 import com.example.chatapp.dto.response.UserResponse;
+import com.example.chatapp.exception.ChatRoomException;
 import com.example.chatapp.exception.GlobalExceptionHandler;
 import com.example.chatapp.infrastructure.auth.AuthContext;
 import com.example.chatapp.infrastructure.auth.JwtTokenProvider;
+import com.example.chatapp.infrastructure.websocket.ResumeTokens;
 import com.example.chatapp.service.MessageService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -27,6 +30,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.*;
@@ -56,6 +60,9 @@ public class MessageControllerTest {
     @MockitoBean
     private JwtTokenProvider jwtTokenProvider;
 
+    @MockitoBean
+    private ResumeTokens resumeTokens;
+
     @Test
     @DisplayName("채팅방 ID가 주어졌을 때, 메시지 목록 조회 시 페이징된 메시지가 반환되어야 함")
     void givenRoomId_whenGetRoomMessages_thenReturnPaginatedMessages() throws Exception {
@@ -81,7 +88,7 @@ public class MessageControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.content", hasSize(3)))
-                .andExpect(jsonPath("$.content[0].id").value(3L))
+                .andExpect(jsonPath("$.content[0].id").value("3"))
                 .andExpect(jsonPath("$.content[0].content").value("Hello!"))
                 .andExpect(jsonPath("$.content[0].sender.id").value(1L))
                 .andExpect(jsonPath("$.content[0].chatRoomId").value(roomId))
@@ -113,11 +120,11 @@ public class MessageControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(3)))
-                .andExpect(jsonPath("$[0].id").value(3L))
+                .andExpect(jsonPath("$[0].id").value("3"))
                 .andExpect(jsonPath("$[0].content").value("Message 3"))
-                .andExpect(jsonPath("$[1].id").value(2L))
+                .andExpect(jsonPath("$[1].id").value("2"))
                 .andExpect(jsonPath("$[1].content").value("Message 2"))
-                .andExpect(jsonPath("$[2].id").value(1L))
+                .andExpect(jsonPath("$[2].id").value("1"))
                 .andExpect(jsonPath("$[2].content").value("Message 1"));
 
         verify(messageService).findRecentChatRoomMessages(roomId, limit);
@@ -146,7 +153,7 @@ public class MessageControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.id").value(messageId))
+                .andExpect(jsonPath("$.id").value(String.valueOf(messageId)))
                 .andExpect(jsonPath("$.content").value("Test message"))
                 .andExpect(jsonPath("$.sender.id").value(userId))
                 .andExpect(jsonPath("$.status").value(newStatus.toString()));
@@ -154,6 +161,81 @@ public class MessageControllerTest {
         verify(messageService).updateMessageStatus(messageId, userId, newStatus);
     }
 
+    @Test
+    @DisplayName("이어받기 토큰이 주어졌을 때, 받지 못한 메시지 요청 시 현재 사용자로 채팅방별 이후 메시지가 반환되어야 함")
+    void givenResumeToken_whenGetMissedMessages_thenReturnMessagesPerRoom() throws Exception {
+        // Given
+        Long roomId = 1L;
+        Long userId = 7L;
+        when(authContext.getCurrentUserId()).thenReturn(userId);
+        when(resumeTokens.find("token-1", userId)).thenReturn(Map.of(roomId, 10L));
+        when(messageService.findMissedMessages(userId, Map.of(roomId, 10L), 2)).thenReturn(List.of(
+                MissedMessagesResponse.builder()
+                        .roomId(roomId)
+                        .afterSeq(10L)
+                        .messages(List.of(
+                                createMessageResponse(11L, "Message 11", 1L, roomId),
+                                createMessageResponse(12L, "Message 12", 2L, roomId)))
+                        .hasMore(true)
+                        .build()));
+
+        // When & Then
+        mockMvc.perform(get("/api/messages/resume/{token}", "token-1")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].roomId").value(roomId))
+                .andExpect(jsonPath("$[0].afterSeq").value(10))
+                .andExpect(jsonPath("$[0].messages", hasSize(2)))
+                .andExpect(jsonPath("$[0].messages[0].id").value("11"))
+                .andExpect(jsonPath("$[0].hasMore").value(true));
+    }
+
+    @Test
+    @DisplayName("없거나 만료되었거나 다른 사용자의 이어받기 토큰이 주어졌을 때, 받지 못한 메시지 요청 시 404가 반환되어야 함")
+    void givenUnknownResumeToken_whenGetMissedMessages_thenReturnNotFound() throws Exception {
+        // Given
+        when(authContext.getCurrentUserId()).thenReturn(7L);
+        when(resumeTokens.find("unknown", 7L)).thenReturn(null);
+
+        // When & Then
+        mockMvc.perform(get("/api/messages/resume/{token}", "unknown"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("MESSAGE_RESUME_TOKEN_NOT_FOUND"));
+    }
+
+    @Test
+    @DisplayName("채팅방과 순번이 주어졌을 때, 이후 메시지 요청 시 현재 사용자로 순번 이후 메시지가 반환되어야 함")
+    void givenRoomIdAndSeq_whenGetMessagesAfter_thenReturnMessagesForCurrentUser() throws Exception {
+        // Given
+        Long roomId = 1L;
+        Long userId = 7L;
+        when(authContext.getCurrentUserId()).thenReturn(userId);
+        when(messageService.findChatRoomMessagesAfter(roomId, userId, 41L, 200)).thenReturn(List.of(
+                createMessageResponse(11L, "Message 42", 1L, roomId)));
+
+        // When & Then
+        mockMvc.perform(get("/api/messages/room/{roomId}/after/{seq}", roomId, 41L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].content").value("Message 42"));
+
+        verify(messageService).findChatRoomMessagesAfter(roomId, userId, 41L, 200);
+    }
+
+    @Test
+    @DisplayName("참여하지 않은 채팅방의 이후 메시지 요청 시 400이 반환되어야 함")
+    void givenNonParticipant_whenGetMessagesAfter_thenReturnBadRequest() throws Exception {
+        // Given
+        when(authContext.getCurrentUserId()).thenReturn(7L);
+        when(messageService.findChatRoomMessagesAfter(1L, 7L, 0L, 200)).thenThrow(ChatRoomException.notParticipant());
+
+        // When & Then
+        mockMvc.perform(get("/api/messages/room/{roomId}/after/{seq}", 1L, 0L))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("CHATROOM_NOT_PARTICIPANT"));
+    }
+
     // 테스트 도우미 메서드
     private MessageResponse createMessageResponse(Long id, String content, Long senderId, Long chatRoomId) {
         UserResponse sender = UserResponse.builder()
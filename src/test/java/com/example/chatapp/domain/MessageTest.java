@@ -153,6 +153,40 @@ class MessageTest {
         }
     }
 
+    @Nested
+    @DisplayName("채팅방 순번 부여 테스트")
+    class AssignSeqTests {
+
+        private Message message;
+
+        @BeforeEach
+        void setUp() {
+            message = Message.create(VALID_CONTENT, sender, chatRoom);
+        }
+
+        @Test
+        @DisplayName("순번을 한 번 부여할 수 있다")
+        void givenNewMessage_whenAssignSeq_thenSeqAssigned() {
+            // When
+            message.assignSeq(42L);
+
+            // Then
+            assertThat(message.getSeq()).isEqualTo(42L);
+        }
+
+        @Test
+        @DisplayName("1 미만의 순번이나 두 번째 부여는 거부한다")
+        void givenInvalidOrAssigned_whenAssignSeq_thenThrowException() {
+            // When & Then
+            assertThatThrownBy(() -> message.assignSeq(0L))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            message.assignSeq(1L);
+            assertThatThrownBy(() -> message.assignSeq(2L))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
     @Nested
     @DisplayName("메시지 속성 조회 테스트")
     class MessagePropertyTests {
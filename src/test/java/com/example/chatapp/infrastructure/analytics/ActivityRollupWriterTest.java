@@ -0,0 +1,95 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import com.example.chatapp.repository.ActivityRollupRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MySQL 전용 INSERT ... ON DUPLICATE KEY UPDATE 누적 기록이 실제 DB에서 더해지는지 확인 (H2 MySQL 호환 모드)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:activity-rollup-writer;MODE=MySQL")
+@Import(ActivityRollupWriter.class)
+@DisplayName("활동 롤업 누적 기록 테스트")
+class ActivityRollupWriterTest {
+
+    private static final LocalDateTime WINDOW = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Autowired
+    private ActivityRollupWriter rollupWriter;
+
+    @Autowired
+    private ActivityRollupRepository rollupRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("같은 창이 다시 닫히면 기존 행에 값을 더한다")
+    void givenExistingWindow_whenWrittenAgain_thenCountersAdded() {
+        // Given
+        rollupWriter.write(List.of(row(RollupGranularity.MINUTE, 2, 10, 1, 0, 0, 0)));
+
+        // When
+        rollupWriter.write(List.of(
+                row(RollupGranularity.MINUTE, 3, 5, 0, 1, 500, 1),
+                row(RollupGranularity.HOUR, 1, 1, 0, 0, 0, 0)));
+        entityManager.clear();
+
+        // Then
+        List<ActivityRollup> minutes = findWindows(RollupGranularity.MINUTE);
+        assertThat(minutes).hasSize(1);
+        ActivityRollup minute = minutes.get(0);
+        assertThat(minute.getMessageCount()).isEqualTo(5);
+        assertThat(minute.getContentChars()).isEqualTo(15);
+        assertThat(minute.getJoinCount()).isEqualTo(1);
+        assertThat(minute.getLeaveCount()).isEqualTo(1);
+        assertThat(minute.getDwellMs()).isEqualTo(500);
+        assertThat(minute.getDwellSamples()).isEqualTo(1);
+        assertThat(findWindows(RollupGranularity.HOUR)).singleElement()
+                .extracting(ActivityRollup::getMessageCount).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("재처리 전에 메시지 집계를 비우면 다시 기록해도 두 번 더해지지 않는다")
+    void givenResetBeforeReplay_whenWrittenAgain_thenMessagesNotDoubled() {
+        // Given
+        rollupWriter.write(List.of(row(RollupGranularity.MINUTE, 4, 20, 2, 0, 0, 0)));
+
+        // When
+        int reset = rollupWriter.resetMessageCounts(WINDOW, WINDOW.plusHours(1));
+        rollupWriter.write(List.of(row(RollupGranularity.MINUTE, 4, 20, 0, 0, 0, 0)));
+        entityManager.clear();
+
+        // Then
+        assertThat(reset).isEqualTo(1);
+        ActivityRollup minute = findWindows(RollupGranularity.MINUTE).get(0);
+        assertThat(minute.getMessageCount()).isEqualTo(4);
+        assertThat(minute.getContentChars()).isEqualTo(20);
+        assertThat(minute.getJoinCount()).isEqualTo(2);
+    }
+
+    private List<ActivityRollup> findWindows(RollupGranularity granularity) {
+        return rollupRepository.findWindows(RollupScope.ROOM, granularity, 1L, WINDOW, WINDOW.plusHours(1));
+    }
+
+    private static ActivityWindowAggregator.RollupRow row(RollupGranularity granularity, long messages, long chars,
+                                                          long joins, long leaves, long dwellMs, long dwellSamples) {
+        return new ActivityWindowAggregator.RollupRow(RollupScope.ROOM, granularity, 1L, WINDOW,
+                new long[]{messages, chars, joins, leaves, dwellMs, dwellSamples});
+    }
+}
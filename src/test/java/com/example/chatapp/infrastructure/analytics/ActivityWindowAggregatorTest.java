@@ -0,0 +1,140 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.message.ChatEventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("활동 스트리밍 집계기 테스트")
+class ActivityWindowAggregatorTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 12, 27, 10, 0);
+
+    private ActivityWindowAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new ActivityWindowAggregator(mock(ActivityRollupWriter.class), 5_000, 86_400_000);
+    }
+
+    @Test
+    @DisplayName("메시지 수와 본문 길이를 채팅방별, 사용자별 분 단위 창으로 집계한다")
+    void givenMessages_whenDrainClosed_thenCountedPerRoomAndUser() {
+        // Given
+        aggregator.record(message(10L, 1L, "hello", BASE.plusSeconds(1)));
+        aggregator.record(message(10L, 2L, "hi", BASE.plusSeconds(30)));
+        aggregator.record(message(10L, 1L, "next", BASE.plusMinutes(1).plusSeconds(1)));
+
+        // When
+        List<ActivityWindowAggregator.RollupRow> rows = aggregator.drainClosed(BASE.plusMinutes(1).plusSeconds(10));
+
+        // Then
+        long[] room = find(rows, RollupScope.ROOM, RollupGranularity.MINUTE, 10L, BASE);
+        assertThat(room[ActivityWindowAggregator.MESSAGES]).isEqualTo(2);
+        assertThat(room[ActivityWindowAggregator.CONTENT_CHARS]).isEqualTo(7);
+        assertThat(find(rows, RollupScope.USER, RollupGranularity.MINUTE, 1L, BASE)[ActivityWindowAggregator.MESSAGES])
+                .isEqualTo(1);
+        // 채팅방 1, 사용자 2, 전체 1행 (다음 분 창과 시간 창은 아직 열려 있음)
+        assertThat(rows).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("늦게 도착할 수 있는 동안에는 끝난 창도 닫지 않는다")
+    void givenWindowWithinLateness_whenDrainClosed_thenStillOpen() {
+        // Given
+        aggregator.record(message(10L, 1L, "hello", BASE.plusSeconds(59)));
+
+        // When & Then
+        assertThat(aggregator.drainClosed(BASE.plusMinutes(1).plusSeconds(4))).isEmpty();
+        assertThat(aggregator.drainClosed(BASE.plusMinutes(1).plusSeconds(5))).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("퇴장 시 입장 시각으로부터 체류 시간을 퇴장 창에 기록한다")
+    void givenJoinThenLeave_whenDrainClosed_thenDwellRecorded() {
+        // Given
+        aggregator.record(ChatEvent.builder().eventType(ChatEventType.USER_JOINED)
+                .chatRoomId(10L).userId(1L).timestamp(BASE.plusSeconds(5)).build());
+        aggregator.record(ChatEvent.builder().eventType(ChatEventType.USER_LEFT)
+                .chatRoomId(10L).userId(1L).timestamp(BASE.plusSeconds(50)).build());
+
+        // When
+        List<ActivityWindowAggregator.RollupRow> rows = aggregator.drainClosed(BASE.plusHours(2));
+
+        // Then
+        long[] hour = find(rows, RollupScope.ROOM, RollupGranularity.HOUR, 10L, BASE);
+        assertThat(hour[ActivityWindowAggregator.JOINS]).isEqualTo(1);
+        assertThat(hour[ActivityWindowAggregator.LEAVES]).isEqualTo(1);
+        assertThat(hour[ActivityWindowAggregator.DWELL_MS]).isEqualTo(45_000);
+        assertThat(hour[ActivityWindowAggregator.DWELL_SAMPLES]).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("기록에 실패해 되돌린 창은 다음 주기에 다시 꺼낸다")
+    void givenRestoredRows_whenDrainClosed_thenMergedAgain() {
+        // Given
+        aggregator.record(message(10L, 1L, "hello", BASE));
+        List<ActivityWindowAggregator.RollupRow> failed = aggregator.drainClosed(BASE.plusHours(2));
+        aggregator.record(message(10L, 1L, "late", BASE.plusSeconds(10)));
+
+        // When
+        aggregator.restore(failed);
+        List<ActivityWindowAggregator.RollupRow> rows = aggregator.drainClosed(BASE.plusHours(2));
+
+        // Then
+        assertThat(find(rows, RollupScope.ROOM, RollupGranularity.MINUTE, 10L, BASE)[ActivityWindowAggregator.MESSAGES])
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("시간 단위 창에 메시지를 보낸 고유 사용자를 채팅방별, 전체로 모은다")
+    void givenRepeatedSenders_whenDrainClosed_thenActiveUsersSketched() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            aggregator.record(message(10L, 1L, "a", BASE.plusMinutes(i)));
+            aggregator.record(message(10L, 2L, "b", BASE.plusMinutes(i)));
+            aggregator.record(message(20L, 3L, "c", BASE.plusMinutes(i)));
+        }
+
+        // When
+        List<ActivityWindowAggregator.RollupRow> rows = aggregator.drainClosed(BASE.plusHours(2));
+
+        // Then
+        assertThat(sketch(rows, RollupScope.ROOM, 10L).estimate()).isEqualTo(2);
+        assertThat(sketch(rows, RollupScope.GLOBAL, RollupScope.GLOBAL_SUBJECT_ID).estimate()).isEqualTo(3);
+        assertThat(rows).filteredOn(row -> row.getGranularity() == RollupGranularity.MINUTE)
+                .allMatch(row -> row.getActiveUsers() == null);
+    }
+
+    private static HyperLogLog sketch(List<ActivityWindowAggregator.RollupRow> rows, RollupScope scope, Long subjectId) {
+        return rows.stream()
+                .filter(row -> row.getScope() == scope && row.getGranularity() == RollupGranularity.HOUR
+                        && row.getSubjectId().equals(subjectId))
+                .findFirst()
+                .orElseThrow()
+                .getActiveUsers();
+    }
+
+    private static ChatEvent message(Long roomId, Long userId, String content, LocalDateTime time) {
+        ChatEvent event = ChatEvent.messageEvent(1L, content, roomId, userId, "user" + userId);
+        event.setTimestamp(time);
+        return event;
+    }
+
+    private static long[] find(List<ActivityWindowAggregator.RollupRow> rows, RollupScope scope,
+                               RollupGranularity granularity, Long subjectId, LocalDateTime windowStart) {
+        return rows.stream()
+                .filter(row -> row.getScope() == scope && row.getGranularity() == granularity
+                        && row.getSubjectId().equals(subjectId) && row.getWindowStart().equals(windowStart))
+                .findFirst()
+                .orElseThrow()
+                .getCounters();
+    }
+}
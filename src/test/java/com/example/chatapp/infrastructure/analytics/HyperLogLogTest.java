@@ -0,0 +1,69 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("HyperLogLog 고유 원소 수 추정 테스트")
+class HyperLogLogTest {
+
+    @Test
+    @DisplayName("원소가 적을 때는 희소 표현으로 거의 정확하게 센다")
+    void givenFewUsersWithRepeats_whenEstimate_thenExact() {
+        // Given
+        HyperLogLog sketch = new HyperLogLog(10);
+        for (int repeat = 0; repeat < 5; repeat++) {
+            for (long userId = 1; userId <= 20; userId++) {
+                sketch.offer(userId);
+            }
+        }
+
+        // When & Then
+        assertThat(sketch.estimate()).isEqualTo(20);
+        assertThat(sketch.toBytes().length).isLessThan(1 << 10);
+    }
+
+    @Test
+    @DisplayName("원소가 많아도 표준 오차의 3배 이내로 추정한다")
+    void givenManyUsers_whenEstimate_thenWithinErrorBound() {
+        // Given
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (long userId = 0; userId < 200_000; userId++) {
+            sketch.offer(userId);
+        }
+
+        // When
+        long estimate = sketch.estimate();
+
+        // Then (표준 오차 약 1.6%)
+        assertThat(estimate).isBetween(190_400L, 209_600L);
+    }
+
+    @Test
+    @DisplayName("나눠서 모은 스케치를 병합하면 합집합 크기를 추정한다")
+    void givenOverlappingSketches_whenMerge_thenUnionEstimated() {
+        // Given
+        HyperLogLog first = new HyperLogLog(12);
+        HyperLogLog second = new HyperLogLog(12);
+        for (long userId = 0; userId < 30_000; userId++) {
+            first.offer(userId);
+            second.offer(userId + 20_000);
+        }
+
+        // When
+        HyperLogLog restored = HyperLogLog.fromBytes(first.toBytes());
+        restored.merge(HyperLogLog.fromBytes(second.toBytes()));
+
+        // Then
+        assertThat(restored.estimate()).isBetween(47_500L, 52_500L);
+    }
+
+    @Test
+    @DisplayName("정밀도가 다른 스케치는 병합하지 않는다")
+    void givenDifferentPrecision_whenMerge_thenThrowException() {
+        assertThatThrownBy(() -> new HyperLogLog(10).merge(new HyperLogLog(12)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
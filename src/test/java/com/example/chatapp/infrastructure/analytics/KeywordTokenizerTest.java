@@ -0,0 +1,45 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("메시지 키워드 토크나이저 테스트")
+class KeywordTokenizerTest {
+
+    @Test
+    @DisplayName("한글은 조사를 떼고 영문은 소문자로 나누며 숫자, 한 글자, 불용어는 버린다")
+    void givenMixedContent_whenTokenize_thenNormalizedTerms() {
+        // Given
+        String content = "오늘은 Kafka 파티션에서 리밸런스가 났어요!! 그리고 kafka 2024 버전, 나 OK";
+
+        // When
+        List<String> terms = tokenize(content);
+
+        // Then
+        assertThat(terms).containsExactly("kafka", "파티션", "리밸런스", "났어요", "kafka", "버전", "ok");
+    }
+
+    @Test
+    @DisplayName("대소문자만 다른 영문 토큰은 같은 해시를 받는다")
+    void givenDifferentCase_whenTokenize_thenSameHash() {
+        // Given
+        List<Long> hashes = new ArrayList<>();
+
+        // When
+        KeywordTokenizer.tokenize("Kafka KAFKA kafka", (text, start, end, hash) -> hashes.add(hash));
+
+        // Then
+        assertThat(hashes).hasSize(3).containsOnly(KeywordTokenizer.hash("kafka", 0, 5));
+    }
+
+    private static List<String> tokenize(String content) {
+        List<String> terms = new ArrayList<>();
+        KeywordTokenizer.tokenize(content, (text, start, end, hash) -> terms.add(KeywordTokenizer.term(text, start, end)));
+        return terms;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("슬라이딩 구간 상위 K 추적기 테스트")
+class SlidingHeavyHittersTest {
+
+    @Test
+    @DisplayName("키가 후보 수보다 훨씬 많아도 자주 나온 키를 순서대로 찾는다")
+    void givenSkewedStreamWithManyKeys_whenTop_thenHeavyHittersFound() {
+        // Given
+        SlidingHeavyHitters tracker = new SlidingHeavyHitters(1_000, 6, 1024, 4, 16);
+        for (int i = 0; i < 50_000; i++) {
+            // 한 번씩만 나오는 키 5만 개 사이에 키 1, 2, 3이 각각 10,000회, 5,000회, 2,000회
+            tracker.add(100_000 + i, 0);
+            if (i % 5 == 0) {
+                tracker.add(1, 0);
+            }
+            if (i % 10 == 0) {
+                tracker.add(2, 0);
+            }
+            if (i % 25 == 0) {
+                tracker.add(3, 0);
+            }
+        }
+
+        // When
+        List<HeavyHitter> top = tracker.top(3, 0);
+
+        // Then
+        assertThat(top).extracting(HeavyHitter::getId).containsExactly(1L, 2L, 3L);
+        assertThat(top.get(0).getEstimatedCount()).isBetween(10_000L, 10_500L);
+    }
+
+    @Test
+    @DisplayName("구간을 벗어난 버킷의 빈도는 조회에서 빠진다")
+    void givenOldBuckets_whenTop_thenOnlyRecentCounted() {
+        // Given
+        SlidingHeavyHitters tracker = new SlidingHeavyHitters(1_000, 3, 256, 4, 8);
+        for (int i = 0; i < 100; i++) {
+            tracker.add(1, 0);
+        }
+        tracker.add(2, 2_500);
+        tracker.add(2, 3_500);
+
+        // When
+        List<HeavyHitter> top = tracker.top(10, 3_500);
+
+        // Then
+        assertThat(top).extracting(HeavyHitter::getId).containsExactly(2L);
+        assertThat(top.get(0).getEstimatedCount()).isEqualTo(2);
+        assertThat(top.get(0).getShare()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.chatapp.infrastructure.analytics;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("급상승 키워드 추적기 테스트")
+class TrendingTermTrackerTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final String[] ROUTINE = {"점심 메뉴 추천 부탁", "회의 시작합니다", "배포 완료했습니다", "점심 맛있게 드세요"};
+
+    private long now;
+    private TrendingTermTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        tracker = new TrendingTermTracker(MINUTE, 5, 0.9, 5, 3.0, 1024, 4, 8, 4, 100, () -> now);
+    }
+
+    @Test
+    @DisplayName("평소에 꾸준히 쓰이는 키워드는 급상승으로 보지 않는다")
+    void givenSteadyTraffic_whenTrending_thenEmpty() {
+        // Given
+        recordRoutine(60);
+
+        // When
+        List<TrendingTerm> trending = tracker.trending(10);
+
+        // Then
+        assertThat(trending).isEmpty();
+    }
+
+    @Test
+    @DisplayName("갑자기 몰린 키워드는 후보가 가득 차 있어도 채팅방과 전체에서 급상승으로 잡힌다")
+    void givenBurstOverSteadyTraffic_whenTrending_thenBurstTermsReported() {
+        // Given
+        recordRoutine(60);
+
+        // When
+        for (int i = 0; i < 30; i++) {
+            // 한 메시지 안의 반복은 한 번만 센다
+            tracker.record(message(2L, "서버 장애 발생 장애 장애"));
+        }
+        recordRoutine(1);
+
+        // Then
+        assertThat(tracker.trending(10)).extracting(TrendingTerm::getTerm)
+                .containsExactlyInAnyOrder("서버", "장애", "발생");
+        assertThat(tracker.trendingInRoom(2L, 10)).extracting(TrendingTerm::getCount)
+                .containsOnly(30L);
+        assertThat(tracker.trendingInRoom(1L, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("구간이 지나면 급상승 키워드에서 빠진다")
+    void givenBurstLongAgo_whenTrending_thenExpired() {
+        // Given
+        for (int i = 0; i < 30; i++) {
+            tracker.record(message(2L, "서버 장애"));
+        }
+
+        // When
+        now += 10 * MINUTE;
+
+        // Then
+        assertThat(tracker.trending(10)).isEmpty();
+        assertThat(tracker.trendingInRoom(2L, 10)).isEmpty();
+    }
+
+    // 채팅방 1~3에 분마다 메시지 40개
+    private void recordRoutine(int minutes) {
+        for (int m = 0; m < minutes; m++) {
+            for (int i = 0; i < 40; i++) {
+                tracker.record(message(1L + i % 3, ROUTINE[i % ROUTINE.length]));
+            }
+            now += MINUTE;
+        }
+    }
+
+    private static ChatEvent message(Long roomId, String content) {
+        return ChatEvent.messageEvent(1L, content, roomId, 1L, "user1");
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.chatapp.infrastructure.auth;
+
+import com.example.chatapp.exception.ErrorCode;
+import com.example.chatapp.exception.UserException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("운영 API 권한 확인 테스트")
+class OperatorAuthorizerTest {
+
+    @Test
+    @DisplayName("등록된 운영자는 통과한다")
+    void givenOperator_whenRequireOperator_thenPasses() {
+        // Given
+        OperatorAuthorizer authorizer = new OperatorAuthorizer(new Long[]{1L, 7L});
+
+        // When & Then
+        assertThatCode(() -> authorizer.requireOperator(7L)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("운영자가 아닌 인증 사용자는 403 예외")
+    void givenNonOperator_whenRequireOperator_thenForbidden() {
+        // Given
+        OperatorAuthorizer authorizer = new OperatorAuthorizer(new Long[]{1L});
+
+        // When & Then
+        assertThatThrownBy(() -> authorizer.requireOperator(2L))
+                .isInstanceOf(UserException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.OPERATOR_REQUIRED);
+    }
+
+    @Test
+    @DisplayName("운영자 목록이 비어 있으면 아무도 통과하지 못한다")
+    void givenNoOperators_whenRequireOperator_thenForbidden() {
+        // Given
+        OperatorAuthorizer authorizer = new OperatorAuthorizer(new Long[0]);
+
+        // When & Then
+        assertThatThrownBy(() -> authorizer.requireOperator(1L)).isInstanceOf(UserException.class);
+        assertThatThrownBy(() -> authorizer.requireOperator(null)).isInstanceOf(UserException.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.chatapp.infrastructure.bus;
+
+import com.example.chatapp.config.KafkaConfig;
+import com.example.chatapp.infrastructure.kafka.consumer.AnalyticsConsumer;
+import com.example.chatapp.infrastructure.kafka.consumer.MessageDeliveryConsumer;
+import com.example.chatapp.infrastructure.kafka.consumer.MessagePersistenceConsumer;
+import com.example.chatapp.infrastructure.kafka.consumer.NotificationConsumer;
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.notification.NotificationFanout;
+import com.example.chatapp.infrastructure.websocket.WebSocketService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * spring.kafka.enabled=false(test 프로필)에서 Kafka 리스너 없이 컨텍스트가 뜨고
+ * 인메모리 이벤트 버스로 발행한 이벤트가 전달/알림 처리까지 가는지 확인
+ */
+@SpringBootTest(properties = "chat.notification.enabled=true")
+@ActiveProfiles("test")
+@DisplayName("Kafka 비활성화 시 인메모리 이벤트 버스 컨텍스트 테스트")
+class RingBufferChatEventBusContextTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ChatEventBus chatEventBus;
+
+    @MockitoBean
+    private WebSocketService webSocketService;
+
+    @MockitoBean
+    private NotificationFanout notificationFanout;
+
+    @Test
+    @DisplayName("Kafka 리스너 빈 없이 인메모리 이벤트 버스가 등록된다")
+    void givenKafkaDisabled_whenContextLoads_thenRingBufferBusWithoutListeners() {
+        // Then
+        assertThat(chatEventBus).isInstanceOf(RingBufferChatEventBus.class);
+        assertThat(applicationContext.getBeanNamesForType(MessageDeliveryConsumer.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(MessagePersistenceConsumer.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(NotificationConsumer.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(AnalyticsConsumer.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("발행한 메시지 이벤트는 채팅방 전달과 알림 팬아웃으로 간다")
+    void givenKafkaDisabled_whenSendRecord_thenDeliveredAndFannedOut() throws Exception {
+        // Given
+        ChatEvent event = ChatEvent.messageEvent(1L, "안녕하세요", 10L, 2L, "tester");
+
+        // When
+        chatEventBus.sendRecord(KafkaConfig.CHAT_MESSAGES_TOPIC, ChatEventBus.roomKey(10L), event).get();
+
+        // Then
+        verify(webSocketService, timeout(2_000)).broadcastToRoom(10L, event);
+        verify(notificationFanout, timeout(2_000)).fanOut(event);
+    }
+}
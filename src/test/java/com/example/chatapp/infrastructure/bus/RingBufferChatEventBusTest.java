@@ -0,0 +1,102 @@
+package com.example.chatapp.infrastructure.bus;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.notification.NotificationFanout;
+import com.example.chatapp.infrastructure.websocket.RoomEventDelivery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("인메모리 링 버퍼 이벤트 버스 테스트")
+class RingBufferChatEventBusTest {
+
+    @Mock
+    private RoomEventDelivery roomEventDelivery;
+
+    @Mock
+    private NotificationFanout notificationFanout;
+
+    private RingBufferChatEventBus eventBus;
+
+    @BeforeEach
+    void setUp() {
+        // 링보다 많은 이벤트를 발행해 한 바퀴 이상 도는 경우까지 확인
+        eventBus = new RingBufferChatEventBus(roomEventDelivery, notificationFanout, true, 8, 1_000);
+        eventBus.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventBus.stop();
+    }
+
+    @Test
+    @DisplayName("메시지 이벤트는 발행 순서대로 전달된다")
+    void givenMoreEventsThanRingSize_whenSendMessageEvent_thenDeliveredInOrder() {
+        // Given
+        List<ChatEvent> events = new ArrayList<>();
+        for (long i = 0; i < 50; i++) {
+            events.add(ChatEvent.messageEvent(i, "메시지 " + i, 1L, 2L, "tester"));
+        }
+
+        // When
+        events.forEach(eventBus::sendMessageEvent);
+
+        // Then
+        ArgumentCaptor<ChatEvent> captor = ArgumentCaptor.forClass(ChatEvent.class);
+        verify(roomEventDelivery, timeout(2_000).times(50)).deliverMessage(captor.capture());
+        assertThat(captor.getAllValues()).containsExactlyElementsOf(events);
+    }
+
+    @Test
+    @DisplayName("토픽별 처리기로만 전달된다")
+    void givenMixedTopics_whenSend_thenDispatchedToTopicHandler() {
+        // Given
+        ChatEvent roomEvent = ChatEvent.userJoinEvent(1L, 2L, "tester");
+        ChatEvent notification = ChatEvent.userLeaveEvent(1L, 2L, "tester");
+
+        // When
+        eventBus.sendChatRoomEvent(roomEvent);
+        eventBus.sendNotificationEvent(notification);
+
+        // Then
+        verify(roomEventDelivery, timeout(2_000)).deliverRoomEvent(roomEvent);
+        verify(notificationFanout, timeout(2_000)).fanOut(notification);
+        verify(roomEventDelivery, never()).deliverMessage(any());
+    }
+
+    @Test
+    @DisplayName("알림이 꺼져 있으면 전달만 하고 알림 팬아웃은 하지 않는다")
+    void givenNotificationDisabled_whenSendMessageEvent_thenDeliveredWithoutFanOut() {
+        // Given
+        RingBufferChatEventBus withoutNotification =
+                new RingBufferChatEventBus(roomEventDelivery, notificationFanout, false, 8, 1_000);
+        withoutNotification.start();
+        ChatEvent message = ChatEvent.messageEvent(1L, "메시지", 1L, 2L, "tester");
+
+        try {
+            // When
+            withoutNotification.sendMessageEvent(message);
+            withoutNotification.sendNotificationEvent(message);
+
+            // Then
+            verify(roomEventDelivery, timeout(2_000)).deliverMessage(message);
+        } finally {
+            withoutNotification.stop();
+        }
+        verify(notificationFanout, never()).fanOut(any());
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.chatapp.infrastructure.event;
+
+import com.example.chatapp.infrastructure.bus.ChatEventBus;
+import com.example.chatapp.infrastructure.outbox.EventOutbox;
+import com.example.chatapp.infrastructure.roomstate.RoomStateProducer;
+import com.example.chatapp.repository.ChatRoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("채팅방 상태 발행 테스트")
+class ChatEventPublisherServiceTest {
+
+    private static final Long ROOM_ID = 1L;
+
+    @Mock
+    private ChatEventBus chatEventBus;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private EventOutbox eventOutbox;
+
+    @Mock
+    private ObjectProvider<RoomStateProducer> roomStateProducerProvider;
+
+    @Mock
+    private RoomStateProducer roomStateProducer;
+
+    @Mock
+    private ChatRoomRepository chatRoomRepository;
+
+    private ChatEventPublisherService chatEventPublisherService;
+
+    @BeforeEach
+    void setUp() {
+        chatEventPublisherService = new ChatEventPublisherService(chatEventBus, applicationEventPublisher,
+                eventOutbox, roomStateProducerProvider, chatRoomRepository);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("구성 버전은 트랜잭션 안에서 올리고 스냅샷은 커밋된 뒤에 발행")
+    void givenActiveTransaction_whenPublishRoomState_thenVersionBumpedNowAndPublishedAfterCommit() {
+        // Given
+        when(roomStateProducerProvider.getIfAvailable()).thenReturn(roomStateProducer);
+
+        // When
+        chatEventPublisherService.publishRoomState(ROOM_ID);
+
+        // Then
+        verify(chatRoomRepository).incrementStateVersion(ROOM_ID);
+        verifyNoInteractions(roomStateProducer);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(roomStateProducer).publishCurrent(ROOM_ID);
+    }
+
+    @Test
+    @DisplayName("롤백되면 스냅샷을 발행하지 않음")
+    void givenRollback_whenPublishRoomState_thenNotPublished() {
+        // Given
+        when(roomStateProducerProvider.getIfAvailable()).thenReturn(roomStateProducer);
+
+        // When
+        chatEventPublisherService.publishRoomState(ROOM_ID);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        verifyNoInteractions(roomStateProducer);
+    }
+
+    @Test
+    @DisplayName("Kafka를 쓰지 않으면 구성 버전도 올리지 않음")
+    void givenNoProducer_whenPublishRoomState_thenNothingHappens() {
+        // Given
+        when(roomStateProducerProvider.getIfAvailable()).thenReturn(null);
+
+        // When
+        chatEventPublisherService.publishRoomState(ROOM_ID);
+
+        // Then
+        verifyNoInteractions(chatRoomRepository);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("삭제 톰스톤도 커밋된 뒤에 발행")
+    void givenActiveTransaction_whenPublishRoomStateDeleted_thenPublishedAfterCommit() {
+        // Given
+        when(roomStateProducerProvider.getIfAvailable()).thenReturn(roomStateProducer);
+
+        // When
+        chatEventPublisherService.publishRoomStateDeleted(ROOM_ID);
+
+        // Then
+        verifyNoInteractions(roomStateProducer);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(roomStateProducer).publishDeleted(ROOM_ID);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.chatapp.infrastructure.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("시간 순서 ID 생성기 테스트")
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    @DisplayName("한 스레드에서 발급한 ID는 단조 증가한다")
+    void givenSingleThread_whenNextId_thenStrictlyIncreasing() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+
+        // When & Then
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long current = generator.nextId();
+            assertThat(current).isGreaterThan(previous);
+            previous = current;
+        }
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 발급해도 ID가 중복되지 않는다")
+    void givenConcurrentThreads_whenNextId_thenAllUnique() throws Exception {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                long[] ids = new long[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    ids[i] = generator.nextId();
+                }
+                return ids;
+            }));
+        }
+        Set<Long> unique = new HashSet<>();
+        for (Future<long[]> future : futures) {
+            for (long id : future.get()) {
+                unique.add(id);
+            }
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(unique).hasSize(threads * perThread);
+    }
+
+    @Test
+    @DisplayName("ID에서 노드 ID와 발급 시각을 복원할 수 있다")
+    void givenId_whenDecompose_thenNodeAndTimestampRecovered() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(513);
+        long before = System.currentTimeMillis();
+
+        // When
+        long id = generator.nextId();
+
+        // Then
+        assertThat(SnowflakeIdGenerator.nodeIdOf(id)).isEqualTo(513);
+        assertThat(SnowflakeIdGenerator.timestampOf(id)).isBetween(before, System.currentTimeMillis() + 1);
+        assertThat(id).isGreaterThanOrEqualTo(SnowflakeIdGenerator.minIdAt(before));
+    }
+
+    @Test
+    @DisplayName("범위를 벗어난 노드 ID는 거부한다")
+    void givenOutOfRangeNodeId_whenCreate_thenThrowException() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -2,10 +2,12 @@ package com.example.chatapp.infrastructure.kafka;
 
 import com.example.chatapp.infrastructure.message.ChatEvent;
 import com.example.chatapp.infrastructure.message.ChatEventType;
+import com.example.chatapp.infrastructure.outbox.EventOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -23,9 +25,18 @@ class ChatEventProducerTest {
     @Mock
     private KafkaTemplate<String, ChatEvent> kafkaTemplate;
 
-    @InjectMocks
+    @Mock
+    private EventOutbox eventOutbox;
+
     private ChatEventProducer chatEventProducer;
 
+    @BeforeEach
+    void setUp() {
+        ProducerFlowControl flowControl = new ProducerFlowControl(new SimpleMeterRegistry(), 1, 0,
+                new String[]{"chat-notifications-v2"}, new String[]{"chat-events-v2"});
+        chatEventProducer = new ChatEventProducer(kafkaTemplate, flowControl, eventOutbox);
+    }
+
     @Test
     @DisplayName("메시지 이벤트 발송 성공")
     void givenMessageEvent_whenSendMessageEvent_thenEventSent() {
@@ -98,4 +109,57 @@ class ChatEventProducerTest {
         // Then
         verify(kafkaTemplate).send(eq("chat-notifications-v2"), eq("user-2"), eq(event));
     }
+
+    @Test
+    @DisplayName("in-flight 한도를 넘은 알림 이벤트는 버린다")
+    void givenSaturatedNotificationTopic_whenSendNotificationEvent_thenEventDropped() {
+        // Given
+        ChatEvent first = ChatEvent.userJoinEvent(1L, 2L, "testuser");
+        ChatEvent second = ChatEvent.userJoinEvent(1L, 3L, "testuser2");
+        when(kafkaTemplate.send(anyString(), anyString(), any(ChatEvent.class))).thenReturn(new CompletableFuture<>());
+
+        // When
+        chatEventProducer.sendNotificationEvent(first);
+        chatEventProducer.sendNotificationEvent(second);
+
+        // Then
+        verify(kafkaTemplate).send(eq("chat-notifications-v2"), eq("user-2"), eq(first));
+        verify(kafkaTemplate, never()).send(anyString(), eq("user-3"), any(ChatEvent.class));
+        verifyNoInteractions(eventOutbox);
+    }
+
+    @Test
+    @DisplayName("in-flight 한도를 넘은 채팅방 이벤트는 아웃박스로 넘긴다")
+    void givenSaturatedEventsTopic_whenSendChatRoomEvent_thenEventSpilledToOutbox() {
+        // Given
+        ChatEvent first = ChatEvent.userJoinEvent(1L, 2L, "testuser");
+        ChatEvent second = ChatEvent.userLeaveEvent(1L, 2L, "testuser");
+        when(kafkaTemplate.send(anyString(), anyString(), any(ChatEvent.class))).thenReturn(new CompletableFuture<>());
+
+        // When
+        chatEventProducer.sendChatRoomEvent(first);
+        chatEventProducer.sendChatRoomEvent(second);
+
+        // Then
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any(ChatEvent.class));
+        verify(eventOutbox).spill("chat-events-v2", "room-1", second);
+    }
+
+    @Test
+    @DisplayName("발송이 완료되면 in-flight 허가를 반납한다")
+    void givenCompletedSend_whenSendAgain_thenPermitReused() {
+        // Given
+        ChatEvent first = ChatEvent.userJoinEvent(1L, 2L, "testuser");
+        ChatEvent second = ChatEvent.userLeaveEvent(1L, 2L, "testuser");
+        when(kafkaTemplate.send(anyString(), anyString(), any(ChatEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        chatEventProducer.sendChatRoomEvent(first);
+        chatEventProducer.sendChatRoomEvent(second);
+
+        // Then
+        verify(kafkaTemplate, times(2)).send(anyString(), anyString(), any(ChatEvent.class));
+        verifyNoInteractions(eventOutbox);
+    }
 }
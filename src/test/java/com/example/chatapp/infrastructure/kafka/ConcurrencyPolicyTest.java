@@ -0,0 +1,83 @@
+package com.example.chatapp.infrastructure.kafka;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("리스너 동시성 결정 규칙 테스트")
+class ConcurrencyPolicyTest {
+
+    private ConcurrencyPolicy policy;
+    private ConcurrencyPolicy.GroupState state;
+
+    @BeforeEach
+    void setUp() {
+        // min 1, max 6, 확장 lag 1000, 축소 lag 100, 목표 처리 시간 10초, 확장 2회/축소 3회 연속, 쿨다운 30초
+        policy = new ConcurrencyPolicy(1, 6, 1_000, 100, 10_000, 2, 3, 30_000);
+        state = new ConcurrencyPolicy.GroupState();
+    }
+
+    @Test
+    @DisplayName("lag을 목표 시간 안에 처리하지 못하는 상태가 이어지면 필요한 만큼 늘리되 파티션 수를 넘지 않는다")
+    void givenSustainedLag_whenDecide_thenScaleUpCappedByPartitions() {
+        // Given
+        int first = policy.decide(state, 2, 6, 5_000, 0, 0);
+
+        // When
+        // 5초 동안 500건 처리 (0.1건/ms) -> lag 5000건 처리에 50초 예상, 목표 10초면 동시성 5배 필요
+        int second = policy.decide(state, 2, 4, 5_000, 500, 5_000);
+
+        // Then
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("lag이 커도 목표 시간 안에 처리할 속도면 늘리지 않는다")
+    void givenFastDrain_whenDecide_thenKeepConcurrency() {
+        // Given
+        policy.decide(state, 2, 6, 5_000, 0, 0);
+
+        // When
+        // 5초 동안 10,000건 처리 -> lag 5000건은 2.5초면 처리
+        int decided = policy.decide(state, 2, 6, 5_000, 10_000, 5_000);
+        int again = policy.decide(state, 2, 6, 5_000, 20_000, 10_000);
+
+        // Then
+        assertThat(decided).isEqualTo(2);
+        assertThat(again).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("조정 직후에는 쿨다운 동안 바꾸지 않고, 한가한 상태가 이어지면 하나씩 줄인다")
+    void givenCooldownThenIdle_whenDecide_thenScaleDownOneStep() {
+        // Given
+        policy.decide(state, 2, 6, 5_000, 0, 0);
+        int scaled = policy.decide(state, 2, 6, 5_000, 500, 5_000);
+
+        // When
+        int duringCooldown = policy.decide(state, scaled, 6, 0, 10_000, 10_000);
+        int idle1 = policy.decide(state, scaled, 6, 0, 20_000, 40_000);
+        int idle2 = policy.decide(state, scaled, 6, 0, 20_000, 45_000);
+        int idle3 = policy.decide(state, scaled, 6, 0, 20_000, 50_000);
+
+        // Then
+        assertThat(scaled).isEqualTo(6);
+        assertThat(duringCooldown).isEqualTo(6);
+        assertThat(idle1).isEqualTo(6);
+        assertThat(idle2).isEqualTo(6);
+        assertThat(idle3).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("현재 동시성이 파티션 수보다 많으면 바로 파티션 수로 줄인다")
+    void givenConcurrencyAbovePartitions_whenDecide_thenCapped() {
+        // When
+        int decided = policy.decide(state, 6, 3, 0, 0, 0);
+
+        // Then
+        assertThat(decided).isEqualTo(3);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.chatapp.infrastructure.kafka;
+
+import com.example.chatapp.infrastructure.kafka.DeadLetterReplayService.DeadLetterGroup;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterReplayServiceTest {
+
+    private static final String SOURCE_TOPIC = "chat-messages-v2";
+    private static final String DLT_TOPIC = SOURCE_TOPIC + "-dlt";
+
+    @Mock
+    private ConsumerFactory<String, byte[]> deadLetterConsumerFactory;
+
+    @Mock
+    private Consumer<String, byte[]> consumer;
+
+    @Mock
+    private KafkaTemplate<String, Object> retryKafkaTemplate;
+
+    private DeadLetterReplayService deadLetterReplayService;
+
+    @BeforeEach
+    void setUp() {
+        deadLetterReplayService = new DeadLetterReplayService(deadLetterConsumerFactory, retryKafkaTemplate);
+        lenient().when(deadLetterConsumerFactory.createConsumer()).thenReturn(consumer);
+    }
+
+    @Test
+    @DisplayName("원본 헤더는 옮기고 DLT/재시도 헤더만 빼서 원본 토픽으로 다시 발행")
+    void givenDeadLetterWithHeaders_whenReplay_thenOriginalHeadersKept() {
+        // Given
+        ConsumerRecord<String, byte[]> record = record(0, "room-1");
+        record.headers().add("chat-event-types", new byte[]{1});
+        record.headers().add("kafka_dlt-exception-message", bytes("boom"));
+        record.headers().add("retry_topic-attempts", new byte[]{3});
+        when(consumer.poll(any(Duration.class))).thenReturn(batch(record), ConsumerRecords.empty());
+        when(retryKafkaTemplate.send(any(ProducerRecord.class))).thenReturn(sent());
+
+        // When
+        int replayed = deadLetterReplayService.replay(SOURCE_TOPIC, DeadLetterGroup.DELIVERY, 10);
+
+        // Then
+        assertThat(replayed).isEqualTo(1);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(retryKafkaTemplate).send(captor.capture());
+        ProducerRecord<String, Object> resent = captor.getValue();
+        assertThat(resent.topic()).isEqualTo(SOURCE_TOPIC);
+        assertThat(resent.key()).isEqualTo("room-1");
+        assertThat(resent.headers().lastHeader("chat-event-types")).isNotNull();
+        assertThat(resent.headers().lastHeader("kafka_dlt-exception-message")).isNull();
+        assertThat(resent.headers().lastHeader("retry_topic-attempts")).isNull();
+        verify(consumer).commitSync(Map.of(new TopicPartition(DLT_TOPIC, 0), new OffsetAndMetadata(1)));
+    }
+
+    @Test
+    @DisplayName("발행이 도중에 실패하면 그 배치에서 성공한 레코드까지만 커밋하고 예외를 던짐")
+    void givenSendFailsMidBatch_whenReplay_thenCommitsSentRecordsAndThrows() {
+        // Given
+        ConsumerRecord<String, byte[]> first = record(0, "room-1");
+        ConsumerRecord<String, byte[]> second = record(1, "room-1");
+        when(consumer.poll(any(Duration.class))).thenReturn(batch(first, second));
+        when(retryKafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(sent())
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // When & Then
+        assertThatThrownBy(() -> deadLetterReplayService.replay(SOURCE_TOPIC, DeadLetterGroup.DELIVERY, 10))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("dltOffset=1");
+        verify(consumer).commitSync(Map.of(new TopicPartition(DLT_TOPIC, 0), new OffsetAndMetadata(1)));
+        verify(consumer).close();
+    }
+
+    @Test
+    @DisplayName("분석 그룹 DLT는 분석 재시도 토픽으로 재주입해 다른 그룹에 다시 전달하지 않음")
+    void givenAnalyticsGroup_whenReplay_thenSentToAnalyticsRetryTopic() {
+        // Given
+        String analyticsDlt = SOURCE_TOPIC + "-analytics-dlt";
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(analyticsDlt, 0, 0, "room-1", bytes("payload"));
+        when(consumer.poll(any(Duration.class))).thenReturn(
+                new ConsumerRecords<>(Map.of(new TopicPartition(analyticsDlt, 0), List.of(record))),
+                ConsumerRecords.empty());
+        when(retryKafkaTemplate.send(any(ProducerRecord.class))).thenReturn(sent());
+
+        // When
+        deadLetterReplayService.replay(SOURCE_TOPIC, DeadLetterGroup.ANALYTICS, 10);
+
+        // Then
+        verify(consumer).subscribe(List.of(analyticsDlt));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(retryKafkaTemplate).send(captor.capture());
+        assertThat(captor.getValue().topic()).isEqualTo(SOURCE_TOPIC + "-analytics-retry-0");
+    }
+
+    @Test
+    @DisplayName("그룹이 읽지 않는 토픽은 재주입 거부")
+    void givenTopicNotReadByGroup_whenReplay_thenThrows() {
+        // When & Then
+        assertThatThrownBy(() -> deadLetterReplayService.replay("chat-notifications-v2", DeadLetterGroup.ANALYTICS, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(deadLetterConsumerFactory);
+    }
+
+    private static ConsumerRecord<String, byte[]> record(long offset, String key) {
+        return new ConsumerRecord<>(DLT_TOPIC, 0, offset, key, bytes("payload-" + offset));
+    }
+
+    @SafeVarargs
+    private static ConsumerRecords<String, byte[]> batch(ConsumerRecord<String, byte[]>... records) {
+        return new ConsumerRecords<>(Map.of(new TopicPartition(DLT_TOPIC, 0), List.of(records)));
+    }
+
+    private static CompletableFuture<SendResult<String, Object>> sent() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.chatapp.infrastructure.kafka;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("컨슈머 중복 이벤트 필터 테스트")
+class EventDeduplicatorTest {
+
+    private static final String GROUP = "test-group";
+    private static final String TOPIC = "test-topic";
+
+    private final AtomicLong clock = new AtomicLong();
+    private MeterRegistry meterRegistry;
+    private EventDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        deduplicator = new EventDeduplicator(meterRegistry, 1_000, 64, clock::get);
+    }
+
+    @Test
+    @DisplayName("같은 그룹, 같은 파티션에서 다시 받은 이벤트만 중복으로 본다")
+    void givenRedeliveredEvent_whenFirstSeen_thenDuplicateOnlyInSameGroupAndPartition() {
+        // Given
+        deduplicator.firstSeen(GROUP, TOPIC, 0, "1");
+
+        // When & Then
+        assertThat(deduplicator.firstSeen(GROUP, TOPIC, 0, "1")).isFalse();
+        assertThat(deduplicator.firstSeen(GROUP, TOPIC, 1, "1")).isTrue();
+        assertThat(deduplicator.firstSeen("other-group", TOPIC, 0, "1")).isTrue();
+        assertThat(meterRegistry.get("chat.kafka.dedup").tags("group", GROUP, "result", "hit").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("창 시간이 지나면 이벤트를 잊고 교체된 수를 기록한다")
+    void givenWindowElapsed_whenFirstSeen_thenForgottenAndEvictionCounted() {
+        // Given
+        deduplicator.firstSeen(GROUP, TOPIC, 0, "1");
+
+        // When
+        clock.set(600);
+        boolean withinWindow = deduplicator.firstSeen(GROUP, TOPIC, 0, "1");
+        clock.set(1_200);
+        boolean afterWindow = deduplicator.firstSeen(GROUP, TOPIC, 0, "1");
+
+        // Then
+        assertThat(withinWindow).isFalse();
+        assertThat(afterWindow).isTrue();
+        assertThat(meterRegistry.get("chat.kafka.dedup.evictions").tag("group", GROUP).counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("봉투 레코드에서 처음 보는 이벤트만 순서대로 남긴다")
+    void givenEnvelopeWithSeenEvent_whenFilterFirstSeen_thenOnlyNewEventsInOrder() {
+        // Given
+        ChatEvent first = ChatEvent.messageEvent(1L, "a", 10L, 1L, "u");
+        ChatEvent seen = ChatEvent.messageEvent(2L, "b", 10L, 1L, "u");
+        ChatEvent last = ChatEvent.messageEvent(3L, "c", 10L, 1L, "u");
+        deduplicator.firstSeen(GROUP, TOPIC, 0, seen.getEventId());
+
+        // When
+        List<ChatEvent> fresh = deduplicator.filterFirstSeen(GROUP, TOPIC, 0,
+                ChatEvent.envelope(10L, List.of(first, seen, last)));
+
+        // Then
+        assertThat(fresh).containsExactly(first, last);
+    }
+
+    @Test
+    @DisplayName("확인만 한 이벤트는 기록하기 전까지 중복으로 보지 않는다")
+    void givenCheckedButNotMarked_whenIsDuplicate_thenFalseUntilMarked() {
+        // When & Then
+        assertThat(deduplicator.isDuplicate(GROUP, TOPIC, 0, "1")).isFalse();
+        assertThat(deduplicator.isDuplicate(GROUP, TOPIC, 0, "1")).isFalse();
+
+        deduplicator.markSeen(GROUP, TOPIC, 0, "1");
+        assertThat(deduplicator.isDuplicate(GROUP, TOPIC, 0, "1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("실패해서 다시 받은 봉투 레코드는 처리에 성공한 이벤트만 거른다")
+    void givenPartiallyProcessedEnvelope_whenFilterUnseen_thenOnlyUnmarkedEventsRemain() {
+        // Given
+        ChatEvent first = ChatEvent.messageEvent(1L, "a", 10L, 1L, "u");
+        ChatEvent failed = ChatEvent.messageEvent(2L, "b", 10L, 1L, "u");
+        ChatEvent envelope = ChatEvent.envelope(10L, List.of(first, failed));
+        deduplicator.filterUnseen(GROUP, TOPIC, 0, envelope);
+        deduplicator.markSeen(GROUP, TOPIC, 0, first.getEventId());
+
+        // When
+        List<ChatEvent> unseen = deduplicator.filterUnseen(GROUP, TOPIC, 0, envelope);
+
+        // Then
+        assertThat(unseen).containsExactly(failed);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.chatapp.infrastructure.kafka.consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("키 순서 병렬 실행기 테스트")
+class KeyOrderedExecutorTest {
+
+    @Test
+    @DisplayName("같은 키의 작업은 제출 순서대로 실행된다")
+    void givenManyKeys_whenSubmit_thenEachKeyKeepsOrder() throws Exception {
+        // Given
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(workers);
+        int keys = 16;
+        int perKey = 500;
+        Map<Long, List<Integer>> executed = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(keys * perKey);
+
+        // When
+        for (int i = 0; i < perKey; i++) {
+            for (long key = 0; key < keys; key++) {
+                int sequence = i;
+                long roomId = key;
+                executor.submit(roomId, () -> {
+                    executed.computeIfAbsent(roomId, k -> Collections.synchronizedList(new ArrayList<>())).add(sequence);
+                    done.countDown();
+                });
+            }
+        }
+
+        // Then
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        for (long key = 0; key < keys; key++) {
+            assertThat(executed.get(key)).hasSize(perKey).isSorted();
+        }
+        workers.shutdown();
+    }
+
+    @Test
+    @DisplayName("한 키가 막혀 있어도 다른 키의 작업은 실행된다")
+    void givenBlockedKey_whenSubmitOtherKey_thenOtherKeyRuns() throws Exception {
+        // Given
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(workers);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blockedSecond = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(1);
+
+        executor.submit(1L, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.submit(1L, blockedSecond::countDown);
+
+        // When
+        executor.submit(2L, otherDone::countDown);
+
+        // Then
+        assertThat(otherDone.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(blockedSecond.getCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(blockedSecond.await(5, TimeUnit.SECONDS)).isTrue();
+        workers.shutdown();
+    }
+
+    @Test
+    @DisplayName("작업이 예외를 던져도 같은 키의 다음 작업은 실행된다")
+    void givenFailingTask_whenSubmitNext_thenNextRuns() throws Exception {
+        // Given
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(workers);
+        CountDownLatch next = new CountDownLatch(1);
+
+        // When
+        executor.submit(7L, () -> {
+            throw new IllegalStateException("전송 실패");
+        });
+        executor.submit(7L, next::countDown);
+
+        // Then
+        assertThat(next.await(5, TimeUnit.SECONDS)).isTrue();
+        workers.shutdown();
+    }
+}
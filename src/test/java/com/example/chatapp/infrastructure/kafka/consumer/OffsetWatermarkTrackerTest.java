@@ -0,0 +1,80 @@
+package com.example.chatapp.infrastructure.kafka.consumer;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("파티션별 커밋 워터마크 추적기 테스트")
+class OffsetWatermarkTrackerTest {
+
+    private static final TopicPartition P0 = new TopicPartition("chat-messages-v2", 0);
+    private static final TopicPartition P1 = new TopicPartition("chat-messages-v2", 1);
+
+    @Test
+    @DisplayName("앞 레코드가 끝나지 않으면 뒤 레코드가 완료돼도 커밋하지 않는다")
+    void givenOutOfOrderCompletion_whenAdvance_thenCommitOnlyContiguousPrefix() {
+        // Given
+        OffsetWatermarkTracker tracker = new OffsetWatermarkTracker();
+        for (long offset = 10; offset < 14; offset++) {
+            tracker.register(P0, offset);
+        }
+
+        // When
+        tracker.complete(P0, 11);
+        tracker.complete(P0, 12);
+        Map<TopicPartition, OffsetAndMetadata> blocked = tracker.advance(List.of(P0));
+        tracker.complete(P0, 10);
+        Map<TopicPartition, OffsetAndMetadata> released = tracker.advance(List.of(P0));
+
+        // Then
+        assertThat(blocked).isEmpty();
+        assertThat(released.get(P0).offset()).isEqualTo(13);
+        assertThat(tracker.pending(List.of(P0))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("오프셋 사이에 빈 번호가 있어도 등록 순서대로 워터마크를 올린다")
+    void givenGapsInOffsets_whenAdvance_thenFollowRegistrationOrder() {
+        // Given
+        OffsetWatermarkTracker tracker = new OffsetWatermarkTracker();
+        tracker.register(P0, 5);
+        tracker.register(P0, 9);
+        tracker.register(P1, 100);
+
+        // When
+        tracker.complete(P0, 5);
+        tracker.complete(P0, 9);
+        tracker.complete(P1, 100);
+        Map<TopicPartition, OffsetAndMetadata> commits = tracker.advance(List.of(P0, P1));
+
+        // Then
+        assertThat(commits.get(P0).offset()).isEqualTo(10);
+        assertThat(commits.get(P1).offset()).isEqualTo(101);
+        assertThat(tracker.advance(List.of(P0, P1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("회수한 파티션의 늦은 완료는 무시하고 가진 파티션만 커밋한다")
+    void givenRevokedPartition_whenCompleteLate_thenIgnored() {
+        // Given
+        OffsetWatermarkTracker tracker = new OffsetWatermarkTracker();
+        tracker.register(P0, 1);
+        tracker.register(P1, 1);
+        tracker.forget(List.of(P1));
+
+        // When
+        tracker.complete(P1, 1);
+        tracker.complete(P0, 1);
+        Map<TopicPartition, OffsetAndMetadata> commits = tracker.advance(List.of(P0, P1));
+
+        // Then
+        assertThat(commits).containsOnlyKeys(P0);
+        assertThat(tracker.pending(List.of(P0, P1))).isZero();
+    }
+}
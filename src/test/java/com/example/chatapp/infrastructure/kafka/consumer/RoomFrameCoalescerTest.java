@@ -0,0 +1,57 @@
+package com.example.chatapp.infrastructure.kafka.consumer;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("채팅방별 프레임 묶음 테스트")
+class RoomFrameCoalescerTest {
+
+    @Test
+    @DisplayName("poll 안의 이벤트를 채팅방별로 묶고 방 안의 순서를 유지한다")
+    void givenInterleavedRooms_whenCoalesce_thenOneFramePerRoomInOrder() {
+        // Given
+        ChatEvent first = ChatEvent.messageEvent(1L, "a", 10L, 1L, "u");
+        ChatEvent other = ChatEvent.messageEvent(2L, "b", 20L, 1L, "u");
+        ChatEvent second = ChatEvent.messageEvent(3L, "c", 10L, 1L, "u");
+        ChatEvent third = ChatEvent.messageEvent(4L, "d", 10L, 1L, "u");
+        ChatEvent envelope = ChatEvent.envelope(10L, List.of(second, third));
+
+        // When
+        List<RoomFrameCoalescer.RoomFrame> frames =
+                RoomFrameCoalescer.coalesce(List.of(first, other, envelope), 100, 1_000_000);
+
+        // Then
+        assertThat(frames).hasSize(2);
+        assertThat(frames.get(0).getRoomId()).isEqualTo(10L);
+        assertThat(frames.get(0).getEvents()).containsExactly(first, second, third);
+        assertThat(frames.get(1).getRoomId()).isEqualTo(20L);
+        assertThat(frames.get(1).getEvents()).containsExactly(other);
+    }
+
+    @Test
+    @DisplayName("최대 이벤트 수나 크기를 넘으면 같은 방의 프레임을 순서대로 나눈다")
+    void givenFrameLimits_whenCoalesce_thenSplitInOrder() {
+        // Given
+        ChatEvent e1 = ChatEvent.messageEvent(1L, "a", 10L, 1L, "u");
+        ChatEvent e2 = ChatEvent.messageEvent(2L, "b", 10L, 1L, "u");
+        ChatEvent e3 = ChatEvent.messageEvent(3L, "c", 10L, 1L, "u");
+        ChatEvent large = ChatEvent.messageEvent(4L, "x".repeat(1_000), 10L, 1L, "u");
+
+        // When
+        List<RoomFrameCoalescer.RoomFrame> byCount =
+                RoomFrameCoalescer.coalesce(List.of(e1, e2, e3), 2, 1_000_000);
+        List<RoomFrameCoalescer.RoomFrame> bySize =
+                RoomFrameCoalescer.coalesce(List.of(e1, large, e2), 100, 1_000);
+
+        // Then
+        assertThat(byCount).extracting(RoomFrameCoalescer.RoomFrame::getEvents)
+                .containsExactly(List.of(e1, e2), List.of(e3));
+        assertThat(bySize).extracting(RoomFrameCoalescer.RoomFrame::getEvents)
+                .containsExactly(List.of(e1), List.of(large), List.of(e2));
+    }
+}
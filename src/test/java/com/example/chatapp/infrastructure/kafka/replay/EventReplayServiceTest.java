@@ -0,0 +1,263 @@
+package com.example.chatapp.infrastructure.kafka.replay;
+
+import com.example.chatapp.config.KafkaConfig;
+import com.example.chatapp.infrastructure.analytics.ActivityRollupWriter;
+import com.example.chatapp.infrastructure.analytics.ActivityWindowAggregator;
+import com.example.chatapp.infrastructure.kafka.EventDeduplicator;
+import com.example.chatapp.infrastructure.kafka.ListenerConcurrencyController;
+import com.example.chatapp.infrastructure.kafka.consumer.DeliveryGroups;
+import com.example.chatapp.infrastructure.kafka.serialization.ChatEventSerializer;
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.notification.NotificationFanout;
+import com.example.chatapp.infrastructure.persistence.MessageBatchWriter;
+import com.example.chatapp.infrastructure.websocket.RoomEventDelivery;
+import com.example.chatapp.repository.MessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("시간 구간 재처리 서비스 테스트")
+class EventReplayServiceTest {
+
+    private static final String TOPIC = KafkaConfig.CHAT_MESSAGES_TOPIC;
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    @Mock
+    private ConsumerFactory<String, byte[]> replayConsumerFactory;
+
+    @Mock
+    private Consumer<String, byte[]> consumer;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private RoomEventDelivery roomEventDelivery;
+
+    @Mock
+    private ActivityWindowAggregator activityWindowAggregator;
+
+    @Mock
+    private ActivityRollupWriter activityRollupWriter;
+
+    @Mock
+    private NotificationFanout notificationFanout;
+
+    @Mock
+    private MessageBatchWriter messageBatchWriter;
+
+    @Mock
+    private ObjectProvider<ListenerConcurrencyController> concurrencyController;
+
+    private EventDeduplicator eventDeduplicator;
+    private EventReplayService eventReplayService;
+
+    @BeforeEach
+    void setUp() {
+        eventDeduplicator = new EventDeduplicator(new SimpleMeterRegistry(), 300_000, 8192);
+        eventReplayService = service(new DeliveryGroups("shared"));
+    }
+
+    private EventReplayService service(DeliveryGroups deliveryGroups) {
+        return new EventReplayService(replayConsumerFactory, messageRepository, eventDeduplicator,
+                roomEventDelivery, deliveryGroups, activityWindowAggregator, activityRollupWriter,
+                notificationFanout, messageBatchWriter, concurrencyController, new SimpleMeterRegistry(),
+                1_000_000, 200, 5000, 10000);
+    }
+
+    @Test
+    @DisplayName("분석 재처리는 구간 롤업을 먼저 비우고, 라이브가 처리한 메시지도 구간 안이면 다시 집계")
+    void givenAnalyticsTarget_whenReplay_thenRollupsResetAndInRangeMessagesRecounted() throws InterruptedException {
+        // Given
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(2);
+        LocalDateTime to = from.plusHours(1);
+        ChatEvent inRange = message(from.plusMinutes(10));
+        ChatEvent beforeRange = message(from.minusSeconds(1));
+        ChatEvent joined = ChatEvent.userJoinEvent(1L, 2L, "tester");
+        joined.setTimestamp(from.plusMinutes(20));
+        eventDeduplicator.markSeen(ReplayTarget.ANALYTICS.getGroupId(), TOPIC, 0, inRange.getEventId());
+        givenPartitionWith(from, inRange, beforeRange, joined);
+
+        // When
+        ReplayJob job = await(eventReplayService.start(ReplayTarget.ANALYTICS, TOPIC, from, to));
+
+        // Then
+        assertThat(job.getState()).isEqualTo(ReplayJob.State.COMPLETED);
+        assertThat(job.getReplayed()).isEqualTo(1);
+        InOrder inOrder = inOrder(activityRollupWriter, activityWindowAggregator);
+        inOrder.verify(activityRollupWriter).resetMessageCounts(from, to);
+        inOrder.verify(activityWindowAggregator).record(argThat(event -> inRange.getEventId().equals(event.getEventId())));
+        verifyNoMoreInteractions(activityWindowAggregator);
+    }
+
+    @Test
+    @DisplayName("전달 재처리는 라이브 그룹이 이미 처리한 이벤트를 건너뛰고 처리한 이벤트를 기록")
+    void givenDeliveryTarget_whenReplay_thenSeenEventsSkipped() throws InterruptedException {
+        // Given
+        LocalDateTime from = LocalDateTime.now().minusMinutes(30);
+        LocalDateTime to = from.plusMinutes(10);
+        ChatEvent seen = message(from.plusMinutes(1));
+        ChatEvent unseen = message(from.plusMinutes(2));
+        eventDeduplicator.markSeen(DeliveryGroups.MESSAGE_GROUP, TOPIC, 0, seen.getEventId());
+        givenPartitionWith(from, seen, unseen);
+
+        // When
+        ReplayJob job = await(eventReplayService.start(ReplayTarget.DELIVERY, TOPIC, from, to));
+
+        // Then
+        assertThat(job.getState()).isEqualTo(ReplayJob.State.COMPLETED);
+        assertThat(job.getReplayed()).isEqualTo(1);
+        assertThat(job.getSkipped()).isEqualTo(1);
+        verify(roomEventDelivery).deliverMessage(argThat(event -> unseen.getEventId().equals(event.getEventId())));
+        verifyNoMoreInteractions(roomEventDelivery);
+        assertThat(eventDeduplicator.isDuplicate(DeliveryGroups.MESSAGE_GROUP, TOPIC, 0, unseen.getEventId())).isTrue();
+        verifyNoInteractions(activityRollupWriter);
+    }
+
+    @Test
+    @DisplayName("node 모드 전달 재처리는 이 노드의 전달 그룹 중복 필터를 사용")
+    void givenNodeFanout_whenReplayDelivery_thenNodeGroupDedupUsed() throws InterruptedException {
+        // Given
+        DeliveryGroups deliveryGroups = new DeliveryGroups("node");
+        EventReplayService nodeReplayService = service(deliveryGroups);
+        LocalDateTime from = LocalDateTime.now().minusMinutes(30);
+        ChatEvent seen = message(from.plusMinutes(1));
+        eventDeduplicator.markSeen(deliveryGroups.getMessageGroup(), TOPIC, 0, seen.getEventId());
+        givenPartitionWith(from, seen);
+
+        // When
+        ReplayJob job = await(nodeReplayService.start(ReplayTarget.DELIVERY, TOPIC, from, from.plusMinutes(10)));
+
+        // Then
+        assertThat(job.getState()).isEqualTo(ReplayJob.State.COMPLETED);
+        assertThat(job.getSkipped()).isEqualTo(1);
+        verifyNoInteractions(roomEventDelivery);
+    }
+
+    @Test
+    @DisplayName("분석 재처리는 정시 단위 구간만 허용")
+    void givenAnalyticsRangeNotOnTheHour_whenStart_thenThrows() {
+        // Given
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(2).plusMinutes(30);
+
+        // When & Then
+        assertThatThrownBy(() -> eventReplayService.start(ReplayTarget.ANALYTICS, TOPIC, from, from.plusHours(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(replayConsumerFactory, activityRollupWriter);
+    }
+
+    @Test
+    @DisplayName("분석 재처리는 롤업 기록이 끝나지 않은 구간과 이벤트 토픽을 거부")
+    void givenOpenWindowOrEventsTopic_whenStartAnalytics_thenThrows() {
+        // Given
+        LocalDateTime to = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        LocalDateTime from = to.minusHours(1);
+
+        // When & Then
+        assertThatThrownBy(() -> eventReplayService.start(ReplayTarget.ANALYTICS, TOPIC, from, to))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> eventReplayService.start(ReplayTarget.ANALYTICS, KafkaConfig.CHAT_EVENTS_TOPIC,
+                from.minusHours(2), to.minusHours(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(replayConsumerFactory, activityRollupWriter);
+    }
+
+    @Test
+    @DisplayName("실행 중인 작업이 있으면 새 작업 시작을 거부")
+    void givenRunningJob_whenStart_thenThrowsIllegalState() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(replayConsumerFactory.createConsumer()).thenReturn(consumer);
+        when(consumer.partitionsFor(TOPIC)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        LocalDateTime from = LocalDateTime.now().minusMinutes(30);
+        ReplayJob running = eventReplayService.start(ReplayTarget.DELIVERY, TOPIC, from, from.plusMinutes(10));
+
+        // When & Then
+        try {
+            assertThatThrownBy(() -> eventReplayService.start(ReplayTarget.DELIVERY, TOPIC, from, from.plusMinutes(10)))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(eventReplayService.current()).contains(running);
+        } finally {
+            release.countDown();
+        }
+        assertThat(await(running).getState()).isEqualTo(ReplayJob.State.COMPLETED);
+    }
+
+    private void givenPartitionWith(LocalDateTime from, ChatEvent... events) {
+        long fromMillis = from.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+        ChatEventSerializer serializer = new ChatEventSerializer();
+        for (ChatEvent event : events) {
+            RecordHeaders headers = new RecordHeaders();
+            byte[] value = serializer.serialize(TOPIC, headers, event);
+            ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(TOPIC, 0, records.size(), "room-1", value);
+            headers.forEach(header -> record.headers().add(header));
+            records.add(record);
+        }
+        long end = records.size();
+
+        when(replayConsumerFactory.createConsumer()).thenReturn(consumer);
+        when(consumer.partitionsFor(TOPIC)).thenReturn(List.of(new PartitionInfo(TOPIC, 0, null, null, null)));
+        when(consumer.beginningOffsets(any())).thenReturn(Map.of(PARTITION, 0L));
+        when(consumer.endOffsets(any())).thenReturn(Map.of(PARTITION, end));
+        // 구간 시작 시각에는 첫 오프셋, 끝 시각 이후에는 레코드가 없음 (현재 끝 오프셋까지 읽음)
+        when(consumer.offsetsForTimes(anyMap())).thenAnswer(invocation -> {
+            Map<TopicPartition, Long> timestamps = invocation.getArgument(0);
+            return timestamps.get(PARTITION) == fromMillis
+                    ? Map.of(PARTITION, new OffsetAndTimestamp(0, fromMillis))
+                    : Map.of();
+        });
+        when(consumer.poll(any(Duration.class)))
+                .thenReturn(new ConsumerRecords<>(Map.of(PARTITION, records)), ConsumerRecords.empty());
+        when(consumer.position(PARTITION)).thenReturn(end);
+    }
+
+    private static ChatEvent message(LocalDateTime timestamp) {
+        ChatEvent event = ChatEvent.messageEvent(10L, "본문", 1L, 2L, "tester");
+        event.setTimestamp(timestamp);
+        return event;
+    }
+
+    private static ReplayJob await(ReplayJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (job.getState() == ReplayJob.State.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.chatapp.infrastructure.kafka.replay;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("재처리 속도 제한 테스트")
+class ReplayRateLimiterTest {
+
+    private long now;
+    private ReplayRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        // 기다리는 대신 가짜 시계를 앞으로 돌림
+        limiter = new ReplayRateLimiter(100, () -> now, nanos -> now += nanos);
+    }
+
+    @Test
+    @DisplayName("빈 버킷에서 시작하므로 첫 요청도 한도에 맞춰 기다린다")
+    void givenEmptyBucket_whenAcquire_thenWaitForPermits() throws InterruptedException {
+        // When
+        long waited = limiter.acquire(50);
+
+        // Then
+        assertThat(waited).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(now).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    @DisplayName("연속 요청은 초당 한도를 넘지 않는다")
+    void givenConsecutiveRequests_whenAcquire_thenRateLimited() throws InterruptedException {
+        // When
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(30);
+        }
+
+        // Then: 300개 = 3초
+        assertThat(now).isEqualTo(TimeUnit.SECONDS.toNanos(3));
+    }
+
+    @Test
+    @DisplayName("오래 쉬어도 1초 분량까지만 쌓인다")
+    void givenLongIdle_whenAcquire_thenBurstCappedAtOneSecond() throws InterruptedException {
+        // Given
+        now += TimeUnit.SECONDS.toNanos(10);
+
+        // When
+        long burst = limiter.acquire(100);
+        long waited = limiter.acquire(100);
+
+        // Then
+        assertThat(burst).isZero();
+        assertThat(waited).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    @DisplayName("한도보다 큰 요청도 받아들이고 모자란 만큼 기다린다")
+    void givenRequestLargerThanRate_whenAcquire_thenWaitProportionally() throws InterruptedException {
+        // When
+        long waited = limiter.acquire(250);
+
+        // Then
+        assertThat(waited).isEqualTo(TimeUnit.MILLISECONDS.toNanos(2500));
+    }
+
+    @Test
+    @DisplayName("초당 한도가 1 미만이면 거부한다")
+    void givenNonPositiveRate_whenCreate_thenThrowException() {
+        assertThatThrownBy(() -> new ReplayRateLimiter(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.chatapp.infrastructure.kafka.serialization;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.message.ChatEventType;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ChatEvent 바이너리 코덱 테스트")
+class ChatEventBinaryCodecTest {
+
+    private static final String MESSAGES_TOPIC = "chat-messages-v2";
+    private static final String EVENTS_TOPIC = "chat-events-v2";
+
+    @Test
+    @DisplayName("메시지 이벤트를 인코딩 후 디코딩하면 원본과 같다")
+    void givenMessageEvent_whenEncodeAndDecode_thenRoundTrip() {
+        // Given
+        ChatEvent event = ChatEvent.builder()
+                .eventId("evt-1")
+                .eventType(ChatEventType.MESSAGE_SENT)
+                .chatRoomId(42L)
+                .userId(7L)
+                .username("테스터")
+                .messageId(123456789L)
+                .messageContent("안녕하세요 😀 hello")
+                .messageStatus("SENT")
+                .timestamp(LocalDateTime.of(2024, 12, 27, 10, 0, 0, 123_456_000))
+                .build();
+
+        // When
+        byte[] encoded = ChatEventBinaryCodec.encode(event);
+        ChatEvent decoded = ChatEventBinaryCodec.decode(encoded);
+
+        // Then
+        assertThat(encoded[0]).isEqualTo(ChatEventBinaryCodec.MAGIC);
+        assertThat(encoded[1]).isEqualTo((byte) 1); // 봉투가 아닌 레코드는 v1로 기록
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("봉투 레코드는 담긴 이벤트 순서를 유지한 채 왕복된다")
+    void givenEnvelope_whenEncodeAndDecode_thenEventsPreservedInOrder() {
+        // Given
+        ChatEvent first = ChatEvent.messageEvent(1L, "첫 번째", 5L, 1L, "a");
+        ChatEvent second = ChatEvent.messageEvent(2L, "두 번째", 5L, 2L, "b");
+        first.setTimestamp(LocalDateTime.of(2024, 12, 27, 10, 0));
+        second.setTimestamp(LocalDateTime.of(2024, 12, 27, 10, 1));
+        ChatEvent envelope = ChatEvent.envelope(5L, List.of(first, second));
+        envelope.setTimestamp(LocalDateTime.of(2024, 12, 27, 10, 1));
+
+        // When
+        byte[] encoded = ChatEventBinaryCodec.encode(envelope);
+        ChatEvent decoded = ChatEventBinaryCodec.decode(encoded);
+
+        // Then
+        assertThat(encoded[1]).isEqualTo((byte) 3); // 숫자형 이벤트 ID까지 쓰므로 v3
+        assertThat(decoded.isEnvelope()).isTrue();
+        assertThat(decoded.unpack()).containsExactly(first, second);
+    }
+
+    @Test
+    @DisplayName("숫자형 이벤트 ID는 v3 varlong으로, 정규형이 아닌 숫자 문자열은 그대로 기록된다")
+    void givenNumericEventId_whenEncode_thenWrittenAsVarLong() {
+        // Given
+        ChatEvent numeric = ChatEvent.builder().eventId(ChatEvent.newEventId()).build();
+        ChatEvent padded = ChatEvent.builder().eventId("007").build();
+
+        // When
+        byte[] numericEncoded = ChatEventBinaryCodec.encode(numeric);
+        byte[] paddedEncoded = ChatEventBinaryCodec.encode(padded);
+
+        // Then
+        assertThat(numericEncoded[1]).isEqualTo((byte) 3);
+        assertThat(numericEncoded.length).isLessThan(2 + 2 + numeric.getEventId().length());
+        assertThat(ChatEventBinaryCodec.decode(numericEncoded)).isEqualTo(numeric);
+        assertThat(paddedEncoded[1]).isEqualTo((byte) 1);
+        assertThat(ChatEventBinaryCodec.decode(paddedEncoded).getEventId()).isEqualTo("007");
+    }
+
+    @Test
+    @DisplayName("채팅방 순번이 있는 레코드는 v4로 기록되고 순번이 보존된다")
+    void givenSeq_whenEncodeAndDecode_thenWrittenAsV4() {
+        // Given
+        ChatEvent withSeq = ChatEvent.messageEvent(10L, 42L, "본문", 1L, 2L, "tester");
+        ChatEvent withoutSeq = ChatEvent.messageEvent(11L, "본문", 1L, 2L, "tester");
+
+        // When
+        byte[] withSeqEncoded = ChatEventBinaryCodec.encode(withSeq);
+        byte[] withoutSeqEncoded = ChatEventBinaryCodec.encode(withoutSeq);
+
+        // Then
+        assertThat(withSeqEncoded[1]).isEqualTo(ChatEventBinaryCodec.VERSION);
+        assertThat(ChatEventBinaryCodec.decode(withSeqEncoded)).isEqualTo(withSeq);
+        assertThat(withoutSeqEncoded[1]).isEqualTo((byte) 3);
+        assertThat(ChatEventBinaryCodec.decode(withoutSeqEncoded).getSeq()).isNull();
+    }
+
+    @Test
+    @DisplayName("메타데이터 값은 타입별로 보존된다")
+    void givenMetadata_whenEncodeAndDecode_thenValuesPreserved() {
+        // Given
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("count", 3L);
+        metadata.put("ratio", 0.5);
+        metadata.put("pinned", true);
+        metadata.put("label", "공지");
+        metadata.put("empty", null);
+
+        ChatEvent event = ChatEvent.builder()
+                .eventId("evt-2")
+                .eventType(ChatEventType.ROOM_UPDATED)
+                .chatRoomId(1L)
+                .content("변경")
+                .metadata(metadata)
+                .build();
+
+        // When
+        ChatEvent decoded = ChatEventBinaryCodec.decode(ChatEventBinaryCodec.encode(event));
+
+        // Then
+        assertThat(decoded.getMetadata()).containsExactlyEntriesOf(metadata);
+    }
+
+    @Test
+    @DisplayName("content와 messageContent가 같으면 본문은 한 번만 기록된다")
+    void givenDuplicatedContent_whenEncode_thenBodyWrittenOnce() {
+        // Given
+        String body = "중복 본문".repeat(20);
+        ChatEvent shared = ChatEvent.builder()
+                .eventType(ChatEventType.MESSAGE_SENT)
+                .content(body)
+                .messageContent(body)
+                .build();
+        ChatEvent single = ChatEvent.builder()
+                .eventType(ChatEventType.MESSAGE_SENT)
+                .messageContent(body)
+                .build();
+
+        // When
+        byte[] sharedEncoded = ChatEventBinaryCodec.encode(shared);
+        ChatEvent decoded = ChatEventBinaryCodec.decode(sharedEncoded);
+
+        // Then
+        assertThat(sharedEncoded.length).isEqualTo(ChatEventBinaryCodec.encode(single).length);
+        assertThat(decoded.getContent()).isEqualTo(body);
+        assertThat(decoded.getMessageContent()).isEqualTo(body);
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 버전이면 예외가 발생한다")
+    void givenUnknownVersion_whenDecode_thenThrowException() {
+        // Given
+        byte[] data = {ChatEventBinaryCodec.MAGIC, 99, 0};
+
+        // When & Then
+        assertThatThrownBy(() -> ChatEventBinaryCodec.decode(data))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("버전");
+    }
+
+    @Test
+    @DisplayName("직렬화기는 설정된 토픽만 바이너리로, 나머지는 JSON으로 기록한다")
+    void givenBinaryTopicConfig_whenSerialize_thenFormatSelectedPerTopic() {
+        // Given
+        ChatEventSerializer serializer = new ChatEventSerializer();
+        serializer.configure(Map.of(ChatEventSerializer.BINARY_TOPICS_CONFIG, MESSAGES_TOPIC), false);
+        ChatEvent event = ChatEvent.userJoinEvent(1L, 2L, "tester");
+
+        // When
+        byte[] binary = serializer.serialize(MESSAGES_TOPIC, event);
+        byte[] json = serializer.serialize(EVENTS_TOPIC, event);
+
+        // Then
+        assertThat(ChatEventBinaryCodec.isBinary(binary)).isTrue();
+        assertThat(new String(json, StandardCharsets.UTF_8)).startsWith("{");
+    }
+
+    @Test
+    @DisplayName("역직렬화기는 바이너리와 JSON 레코드를 모두 읽는다")
+    void givenMixedFormats_whenDeserialize_thenBothReadable() {
+        // Given
+        ChatEventSerializer serializer = new ChatEventSerializer();
+        serializer.configure(Map.of(ChatEventSerializer.BINARY_TOPICS_CONFIG, MESSAGES_TOPIC), false);
+        ChatEventDeserializer deserializer = new ChatEventDeserializer();
+        ChatEvent event = ChatEvent.messageEvent(10L, "본문", 1L, 2L, "tester");
+        event.setTimestamp(LocalDateTime.of(2024, 12, 27, 10, 0));
+
+        // When
+        ChatEvent fromBinary = deserializer.deserialize(MESSAGES_TOPIC, serializer.serialize(MESSAGES_TOPIC, event));
+        ChatEvent fromJson = deserializer.deserialize(EVENTS_TOPIC, serializer.serialize(EVENTS_TOPIC, event));
+
+        // Then
+        assertThat(fromBinary).isEqualTo(event);
+        assertThat(fromJson).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("역직렬화기는 읽을 수 없는 레코드에 예외를 던진다")
+    void givenCorruptedPayload_whenDeserialize_thenThrowSerializationException() {
+        // Given
+        ChatEventDeserializer deserializer = new ChatEventDeserializer();
+        byte[] corrupted = "{not-json".getBytes(StandardCharsets.UTF_8);
+
+        // When & Then
+        assertThatThrownBy(() -> deserializer.deserialize(EVENTS_TOPIC, corrupted))
+                .isInstanceOf(SerializationException.class);
+    }
+}
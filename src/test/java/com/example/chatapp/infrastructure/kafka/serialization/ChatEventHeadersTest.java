@@ -0,0 +1,135 @@
+package com.example.chatapp.infrastructure.kafka.serialization;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.message.ChatEventType;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ChatEvent 라우팅 헤더 테스트")
+class ChatEventHeadersTest {
+
+    private static final String MESSAGES_TOPIC = "chat-messages-v2";
+    private static final String EVENTS_TOPIC = "chat-events-v2";
+
+    @Test
+    @DisplayName("직렬화기는 이벤트 타입, 채팅방/사용자 ID, 스키마 버전을 헤더로 기록한다")
+    void givenEvent_whenSerializeWithHeaders_thenRoutingHeadersWritten() {
+        // Given
+        ChatEventSerializer serializer = new ChatEventSerializer();
+        serializer.configure(Map.of(ChatEventSerializer.BINARY_TOPICS_CONFIG, MESSAGES_TOPIC), false);
+        ChatEvent event = ChatEvent.messageEvent(10L, "본문", 1L, 2L, "tester");
+        Headers binaryHeaders = new RecordHeaders();
+        Headers jsonHeaders = new RecordHeaders();
+
+        // When
+        serializer.serialize(MESSAGES_TOPIC, binaryHeaders, event);
+        serializer.serialize(EVENTS_TOPIC, jsonHeaders, event);
+
+        // Then
+        assertThat(header(binaryHeaders, ChatEventHeaders.EVENT_TYPE)).isEqualTo("MESSAGE_SENT");
+        assertThat(header(binaryHeaders, ChatEventHeaders.ROOM_ID)).isEqualTo("1");
+        assertThat(header(binaryHeaders, ChatEventHeaders.USER_ID)).isEqualTo("2");
+        assertThat(header(binaryHeaders, ChatEventHeaders.SCHEMA_VERSION)).isEqualTo("binary/" + ChatEventBinaryCodec.VERSION);
+        assertThat(header(jsonHeaders, ChatEventHeaders.SCHEMA_VERSION)).isEqualTo("json/1");
+        assertThat(ChatEventHeaders.readTypeMask(binaryHeaders))
+                .isEqualTo(ChatEventHeaders.typeMask(List.of(ChatEventType.MESSAGE_SENT)));
+    }
+
+    @Test
+    @DisplayName("봉투의 타입 마스크는 담긴 이벤트 타입을 모두 포함하고, 다시 기록해도 헤더가 중복되지 않는다")
+    void givenEnvelope_whenSerializeTwice_thenMaskCoversNestedTypesOnce() {
+        // Given
+        ChatEventSerializer serializer = new ChatEventSerializer();
+        ChatEvent envelope = ChatEvent.envelope(1L, List.of(
+                ChatEvent.messageEvent(10L, "본문", 1L, 2L, "tester"),
+                ChatEvent.userLeaveEvent(1L, 3L, "other")));
+        Headers headers = new RecordHeaders();
+
+        // When
+        serializer.serialize(MESSAGES_TOPIC, headers, envelope);
+        serializer.serialize(MESSAGES_TOPIC, headers, envelope);
+
+        // Then
+        assertThat(headers.headers(ChatEventHeaders.EVENT_TYPES)).hasSize(1);
+        assertThat(header(headers, ChatEventHeaders.EVENT_TYPE)).isEqualTo("EVENT_BATCH");
+        assertThat(ChatEventHeaders.readTypeMask(headers))
+                .isEqualTo(ChatEventHeaders.typeMask(EnumSet.of(ChatEventType.MESSAGE_SENT, ChatEventType.USER_LEFT)));
+    }
+
+    @Test
+    @DisplayName("받지 않는 타입은 본문을 읽지 않고 건너뛰고, 받는 타입과 헤더 없는 레코드는 읽는다")
+    void givenAcceptedTypes_whenDeserialize_thenSkipOnlyUnacceptedTypes() {
+        // Given
+        ChatEventSerializer serializer = new ChatEventSerializer();
+        ChatEventDeserializer deserializer = new ChatEventDeserializer();
+        deserializer.configure(Map.of(ChatEventDeserializer.ACCEPTED_TYPES_CONFIG, "MESSAGE_SENT, USER_JOINED"), false);
+
+        ChatEvent typing = ChatEvent.builder()
+                .eventId("evt-typing")
+                .eventType(ChatEventType.TYPING_START)
+                .chatRoomId(5L)
+                .userId(9L)
+                .build();
+        ChatEvent joined = ChatEvent.userJoinEvent(5L, 9L, "tester");
+        joined.setTimestamp(LocalDateTime.of(2024, 12, 27, 10, 0));
+        Headers typingHeaders = new RecordHeaders();
+        Headers joinedHeaders = new RecordHeaders();
+        byte[] typingPayload = serializer.serialize(EVENTS_TOPIC, typingHeaders, typing);
+        byte[] joinedPayload = serializer.serialize(EVENTS_TOPIC, joinedHeaders, joined);
+
+        // When
+        ChatEvent skipped = deserializer.deserialize(EVENTS_TOPIC, typingHeaders, typingPayload);
+        ChatEvent read = deserializer.deserialize(EVENTS_TOPIC, joinedHeaders, joinedPayload);
+        ChatEvent withoutHeaders = deserializer.deserialize(EVENTS_TOPIC, new RecordHeaders(), typingPayload);
+
+        // Then
+        assertThat(skipped).isInstanceOf(SkippedChatEvent.class);
+        assertThat(skipped.getEventType()).isEqualTo(ChatEventType.TYPING_START);
+        assertThat(skipped.getChatRoomId()).isEqualTo(5L);
+        assertThat(skipped.unpack()).isEmpty();
+        assertThat(read).isEqualTo(joined);
+        assertThat(withoutHeaders).isEqualTo(typing);
+    }
+
+    @Test
+    @DisplayName("이벤트 타입 code(마스크 비트/바이너리 타입 값)는 이미 쓰인 값에서 바뀌지 않는다")
+    void givenEventTypes_whenReadCode_thenCodesArePinned() {
+        // Given
+        Map<ChatEventType, Integer> pinned = Map.ofEntries(
+                Map.entry(ChatEventType.MESSAGE_SENT, 0),
+                Map.entry(ChatEventType.MESSAGE_UPDATED, 1),
+                Map.entry(ChatEventType.MESSAGE_DELETED, 2),
+                Map.entry(ChatEventType.USER_JOINED, 3),
+                Map.entry(ChatEventType.USER_LEFT, 4),
+                Map.entry(ChatEventType.ROOM_CREATED, 5),
+                Map.entry(ChatEventType.ROOM_UPDATED, 6),
+                Map.entry(ChatEventType.ROOM_DELETED, 7),
+                Map.entry(ChatEventType.TYPING_START, 8),
+                Map.entry(ChatEventType.TYPING_STOP, 9),
+                Map.entry(ChatEventType.USER_STATUS_CHANGED, 10),
+                Map.entry(ChatEventType.EVENT_BATCH, 11));
+
+        // When & Then
+        assertThat(pinned).hasSize(ChatEventType.values().length);
+        pinned.forEach((type, code) -> {
+            assertThat(type.code()).as(type.name()).isEqualTo(code);
+            assertThat(ChatEventType.fromCode(code)).isEqualTo(type);
+        });
+        assertThat(ChatEventHeaders.typeMask(List.of(ChatEventType.USER_JOINED, ChatEventType.USER_LEFT)))
+                .isEqualTo((1L << 3) | (1L << 4));
+    }
+
+    private String header(Headers headers, String key) {
+        return new String(headers.lastHeader(key).value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.chatapp.infrastructure.notification;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.roomstate.RoomMembershipIndex;
+import com.example.chatapp.repository.ChatRoomParticipantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("알림 팬아웃 테스트")
+class NotificationFanoutTest {
+
+    private static final long WINDOW_MS = 10_000L;
+
+    private long now;
+    private ChatRoomParticipantRepository participantRepository;
+    private final List<NotificationDigest> sent = new ArrayList<>();
+    private NotificationCoalescer coalescer;
+    private NotificationFanout fanout;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        participantRepository = mock(ChatRoomParticipantRepository.class);
+        NotificationRecipientIndex index = new NotificationRecipientIndex(participantRepository, new RoomMembershipIndex(),
+                60_000L, 100, () -> now);
+        coalescer = new NotificationCoalescer(sent::add, new SimpleMeterRegistry(), WINDOW_MS, () -> now);
+        fanout = new NotificationFanout(index, coalescer);
+    }
+
+    @Test
+    @DisplayName("메시지가 몰려도 수신자마다 창당 묶음 하나만 발송하고 발신자는 제외한다")
+    void givenBurstInRooms_whenWindowEnds_thenOneDigestPerRecipient() {
+        // Given
+        when(participantRepository.findNotificationRecipientIds(1L)).thenReturn(List.of(10L, 20L, 30L));
+        when(participantRepository.findNotificationRecipientIds(2L)).thenReturn(List.of(10L, 20L, 40L));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            fanout.fanOut(message(1L, 20L, "메시지 " + i));
+        }
+        fanout.fanOut(message(2L, 40L, "다른 방"));
+        int beforeWindow = coalescer.flush(now + WINDOW_MS - 1);
+        int afterWindow = coalescer.flush(now + WINDOW_MS);
+
+        // Then
+        assertThat(beforeWindow).isZero();
+        assertThat(afterWindow).isEqualTo(3);
+        assertThat(sent).extracting(NotificationDigest::getUserId).containsExactlyInAnyOrder(10L, 30L, 20L);
+
+        NotificationDigest both = digestOf(10L);
+        assertThat(both.getMessageCount()).isEqualTo(11);
+        assertThat(both.getMessagesByRoom()).isEqualTo(Map.of(1L, 10, 2L, 1));
+        assertThat(both.getSummary()).isEqualTo("2개 채팅방에 새 메시지 11개");
+        assertThat(digestOf(20L).getSummary()).isEqualTo("user40: 다른 방");
+        assertThat(digestOf(30L).getSummary()).isEqualTo("새 메시지 10개");
+
+        // 채팅방 수신자는 메시지마다가 아니라 한 번만 조회
+        verify(participantRepository, times(1)).findNotificationRecipientIds(1L);
+    }
+
+    @Test
+    @DisplayName("입장/퇴장 이벤트를 받으면 채팅방 수신자를 다시 조회한다")
+    void givenMembershipChange_whenNextMessage_thenRecipientsReloaded() {
+        // Given
+        when(participantRepository.findNotificationRecipientIds(1L))
+                .thenReturn(List.of(10L, 20L))
+                .thenReturn(List.of(10L, 20L, 30L));
+        fanout.fanOut(message(1L, 10L, "입장 전"));
+
+        // When
+        fanout.fanOut(ChatEvent.userJoinEvent(1L, 30L, "user30"));
+        fanout.fanOut(message(1L, 10L, "입장 후"));
+        coalescer.flush(now + WINDOW_MS);
+
+        // Then
+        assertThat(sent).extracting(NotificationDigest::getUserId).containsExactlyInAnyOrder(20L, 30L);
+        assertThat(digestOf(20L).getMessageCount()).isEqualTo(2);
+        assertThat(digestOf(30L).getMessageCount()).isEqualTo(1);
+    }
+
+    private NotificationDigest digestOf(long userId) {
+        return sent.stream().filter(digest -> digest.getUserId() == userId).findFirst().orElseThrow();
+    }
+
+    private static ChatEvent message(Long roomId, Long senderId, String content) {
+        return ChatEvent.messageEvent(1L, content, roomId, senderId, "user" + senderId);
+    }
+}
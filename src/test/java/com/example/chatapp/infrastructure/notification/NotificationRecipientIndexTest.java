@@ -0,0 +1,91 @@
+package com.example.chatapp.infrastructure.notification;
+
+import com.example.chatapp.infrastructure.roomstate.RoomMembershipIndex;
+import com.example.chatapp.repository.ChatRoomParticipantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("알림 수신자 조회 테스트")
+class NotificationRecipientIndexTest {
+
+    private static final long TTL_MS = 60_000L;
+
+    @Mock
+    private ChatRoomParticipantRepository participantRepository;
+
+    @Mock
+    private RoomMembershipIndex roomMembershipIndex;
+
+    private long now;
+    private NotificationRecipientIndex recipientIndex;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        recipientIndex = new NotificationRecipientIndex(participantRepository, roomMembershipIndex, TTL_MS, 100, () -> now);
+    }
+
+    @Test
+    @DisplayName("채팅방 상태 인덱스가 채팅방을 알면 DB를 조회하지 않는다")
+    void givenIndexedRoom_whenRecipients_thenNoDatabaseQuery() {
+        // Given
+        when(roomMembershipIndex.notificationRecipients(1L)).thenReturn(new long[]{10L, 30L});
+
+        // When
+        long[] recipients = recipientIndex.recipients(1L);
+
+        // Then
+        assertThat(recipients).containsExactly(10L, 30L);
+        verify(participantRepository, never()).findNotificationRecipientIds(anyLong());
+    }
+
+    @Test
+    @DisplayName("인덱스 준비 전이거나 모르는 채팅방이면 DB로 조회하고 TTL 동안 재사용한다")
+    void givenRoomNotIndexed_whenRecipients_thenDatabaseQueryCached() {
+        // Given
+        when(roomMembershipIndex.notificationRecipients(1L)).thenReturn(null);
+        when(participantRepository.findNotificationRecipientIds(1L)).thenReturn(List.of(10L, 20L));
+
+        // When
+        long[] first = recipientIndex.recipients(1L);
+        now += TTL_MS - 1;
+        long[] second = recipientIndex.recipients(1L);
+        now += 1;
+        recipientIndex.recipients(1L);
+
+        // Then
+        assertThat(first).containsExactly(10L, 20L);
+        assertThat(second).containsExactly(10L, 20L);
+        verify(participantRepository, times(2)).findNotificationRecipientIds(1L);
+    }
+
+    @Test
+    @DisplayName("인덱스가 준비되면 DB 캐시보다 인덱스를 먼저 쓴다")
+    void givenIndexBecomesReady_whenRecipients_thenIndexPreferred() {
+        // Given
+        when(roomMembershipIndex.notificationRecipients(1L))
+                .thenReturn(null)
+                .thenReturn(new long[]{10L, 20L, 30L});
+        when(participantRepository.findNotificationRecipientIds(1L)).thenReturn(List.of(10L, 20L));
+
+        // When
+        long[] beforeReady = recipientIndex.recipients(1L);
+        long[] afterReady = recipientIndex.recipients(1L);
+
+        // Then
+        assertThat(beforeReady).containsExactly(10L, 20L);
+        assertThat(afterReady).containsExactly(10L, 20L, 30L);
+        verify(participantRepository, times(1)).findNotificationRecipientIds(1L);
+    }
+}
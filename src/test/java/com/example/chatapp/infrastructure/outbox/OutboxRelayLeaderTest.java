@@ -0,0 +1,102 @@
+package com.example.chatapp.infrastructure.outbox;
+
+import com.example.chatapp.repository.OutboxRelayLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("아웃박스 릴레이 리더 임대 테스트")
+class OutboxRelayLeaderTest {
+
+    private static final long LEASE_MS = 10_000;
+
+    @Mock
+    private OutboxRelayLeaseRepository leaseRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private OutboxRelayLeader leader;
+
+    @BeforeEach
+    void setUp() {
+        leader = new OutboxRelayLeader(leaseRepository, new TransactionTemplate(transactionManager), LEASE_MS, now::get);
+    }
+
+    @Test
+    @DisplayName("임대 행이 없으면 만들면서 리더가 되고, 남은 시간이 절반 넘게 남아 있으면 다시 쓰지 않는다")
+    void givenNoLease_whenAcquire_thenCreatedAndNotRenewedUntilHalf() {
+        // Given
+        when(leaseRepository.tryAcquire(eq(OutboxRelayLeader.LEASE_NAME), anyString(), any(), any())).thenReturn(0);
+        when(leaseRepository.existsById(OutboxRelayLeader.LEASE_NAME)).thenReturn(false);
+
+        // When
+        boolean first = leader.acquire();
+        now.addAndGet(LEASE_MS / 2 - 1);
+        boolean second = leader.acquire();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        verify(leaseRepository).insert(eq(OutboxRelayLeader.LEASE_NAME), anyString(), any());
+        verify(leaseRepository, times(1)).tryAcquire(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("다른 노드가 쥔 임대가 만료되지 않았으면 리더가 아니다")
+    void givenLeaseHeldByOther_whenAcquire_thenFalse() {
+        // Given
+        when(leaseRepository.tryAcquire(eq(OutboxRelayLeader.LEASE_NAME), anyString(), any(), any())).thenReturn(0);
+        when(leaseRepository.existsById(OutboxRelayLeader.LEASE_NAME)).thenReturn(true);
+
+        // When & Then
+        assertThat(leader.acquire()).isFalse();
+        verify(leaseRepository, never()).insert(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("동시에 임대 행을 만들다 키 중복이 나면 리더가 아니다")
+    void givenConcurrentCreate_whenAcquire_thenFalse() {
+        // Given
+        when(leaseRepository.tryAcquire(eq(OutboxRelayLeader.LEASE_NAME), anyString(), any(), any())).thenReturn(0);
+        when(leaseRepository.existsById(OutboxRelayLeader.LEASE_NAME)).thenReturn(false);
+        when(leaseRepository.insert(eq(OutboxRelayLeader.LEASE_NAME), anyString(), any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When & Then
+        assertThat(leader.acquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("연장에 실패하면 리더를 잃는다")
+    void givenRenewRejected_whenAcquire_thenLeadershipLost() {
+        // Given
+        when(leaseRepository.tryAcquire(eq(OutboxRelayLeader.LEASE_NAME), anyString(), any(), any())).thenReturn(1, 0);
+        when(leaseRepository.existsById(OutboxRelayLeader.LEASE_NAME)).thenReturn(true);
+
+        // When
+        boolean first = leader.acquire();
+        now.addAndGet(LEASE_MS / 2);
+        boolean second = leader.acquire();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+    }
+}
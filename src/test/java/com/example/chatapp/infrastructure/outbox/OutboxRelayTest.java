@@ -0,0 +1,133 @@
+package com.example.chatapp.infrastructure.outbox;
+
+import com.example.chatapp.infrastructure.bus.ChatEventBus;
+import com.example.chatapp.infrastructure.kafka.serialization.ChatEventBinaryCodec;
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("아웃박스 릴레이 테스트")
+class OutboxRelayTest {
+
+    private static final String TOPIC = "chat-messages-v2";
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ChatEventBus chatEventBus;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OutboxRelayLeader relayLeader;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, chatEventBus, transactionTemplate, relayLeader);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 200);
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 3);
+        lenient().when(relayLeader.acquire()).thenReturn(true);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("릴레이 리더가 아니면 레코드를 조회하지 않는다")
+    void givenNotLeader_whenRelay_thenNothingRead() {
+        // Given
+        when(relayLeader.acquire()).thenReturn(false);
+
+        // When
+        outboxRelay.relayPending();
+
+        // Then
+        verifyNoInteractions(outboxEventRepository, chatEventBus);
+    }
+
+    @Test
+    @DisplayName("밀린 배치를 이어 처리하다 리더를 잃으면 다음 배치는 조회하지 않는다")
+    void givenLeadershipLost_whenRelayingBacklog_thenStops() {
+        // Given
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 1);
+        when(relayLeader.acquire()).thenReturn(true, false);
+        when(outboxEventRepository.findPendingForUpdate(any())).thenReturn(List.of(record(1L, "room-1", 0)));
+        when(chatEventBus.sendRecord(eq(TOPIC), eq("room-1"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        outboxRelay.relayPending();
+
+        // Then
+        verify(outboxEventRepository, times(1)).findPendingForUpdate(any());
+        verify(outboxEventRepository).markSent(eq(List.of(1L)), any());
+    }
+
+    @Test
+    @DisplayName("한 키의 발송이 실패하면 같은 배치에서 그 키의 뒤 레코드는 보내지 않는다")
+    void givenFailedKey_whenRelay_thenLaterRecordsOfKeySkipped() {
+        // Given
+        OutboxEvent failed = record(1L, "room-1", 0);
+        OutboxEvent other = record(2L, "room-2", 0);
+        OutboxEvent skipped = record(3L, "room-1", 0);
+        when(outboxEventRepository.findPendingForUpdate(any())).thenReturn(List.of(failed, other, skipped));
+        when(chatEventBus.sendRecord(eq(TOPIC), eq("room-1"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(chatEventBus.sendRecord(eq(TOPIC), eq("room-2"), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        outboxRelay.relayPending();
+
+        // Then
+        verify(chatEventBus, times(1)).sendRecord(eq(TOPIC), eq("room-1"), any());
+        verify(outboxEventRepository).markSent(eq(List.of(2L)), any());
+        verify(outboxEventRepository).incrementAttempts(List.of(1L));
+        verify(outboxEventRepository, never()).markParked(any(), any());
+    }
+
+    @Test
+    @DisplayName("시도 횟수가 max-attempts에 이른 레코드는 릴레이 대상에서 뺀다")
+    void givenMaxAttemptsReached_whenRelayFails_thenParked() {
+        // Given
+        OutboxEvent poisoned = record(1L, "room-1", 2);
+        when(outboxEventRepository.findPendingForUpdate(any())).thenReturn(List.of(poisoned));
+        when(chatEventBus.sendRecord(eq(TOPIC), eq("room-1"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("record too large")));
+
+        // When
+        outboxRelay.relayPending();
+
+        // Then
+        verify(outboxEventRepository).markParked(eq(List.of(1L)), any());
+        verify(outboxEventRepository, never()).incrementAttempts(any());
+        verify(outboxEventRepository, never()).markSent(any(), any());
+    }
+
+    private static OutboxEvent record(Long id, String key, int attempts) {
+        ChatEvent event = ChatEvent.messageEvent(id, "메시지 " + id, 1L, 2L, "tester");
+        OutboxEvent record = OutboxEvent.of(TOPIC, key, ChatEventBinaryCodec.encode(event));
+        ReflectionTestUtils.setField(record, "id", id);
+        ReflectionTestUtils.setField(record, "attempts", attempts);
+        return record;
+    }
+}
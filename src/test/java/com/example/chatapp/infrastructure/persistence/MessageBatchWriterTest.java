@@ -0,0 +1,97 @@
+package com.example.chatapp.infrastructure.persistence;
+
+import com.example.chatapp.domain.ChatRoom;
+import com.example.chatapp.domain.ChatRoomType;
+import com.example.chatapp.domain.Message;
+import com.example.chatapp.domain.User;
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.repository.MessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MySQL 전용 다중 행 INSERT ... ON DUPLICATE KEY UPDATE가 실제 DB에서 멱등한지 확인 (H2 MySQL 호환 모드)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:message-batch-writer;MODE=MySQL")
+@Import(MessageBatchWriter.class)
+@DisplayName("메시지 다중 행 INSERT 쓰기 테스트")
+class MessageBatchWriterTest {
+
+    @Autowired
+    private MessageBatchWriter messageBatchWriter;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User sender;
+    private ChatRoom chatRoom;
+
+    @BeforeEach
+    void setUp() {
+        sender = User.create("writer", "encoded_password");
+        entityManager.persist(sender);
+        chatRoom = ChatRoom.create("Writer Room", ChatRoomType.GROUP, sender);
+        entityManager.persist(chatRoom);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("같은 이벤트를 다시 기록해도 행이 늘거나 바뀌지 않는다")
+    void givenWrittenEvents_whenWrittenAgain_thenIdempotent() {
+        // Given
+        ChatEvent first = message(1_001L, 1L, "첫 메시지");
+        ChatEvent second = message(1_002L, 2L, "두 번째 메시지");
+        int inserted = messageBatchWriter.write(List.of(first, second));
+
+        // When
+        ChatEvent third = message(1_003L, 3L, "세 번째 메시지");
+        messageBatchWriter.write(List.of(first, second, third));
+        entityManager.clear();
+
+        // Then
+        assertThat(inserted).isEqualTo(2);
+        assertThat(messageRepository.count()).isEqualTo(3);
+        Message stored = messageRepository.findById(1_001L).orElseThrow();
+        assertThat(stored.getEventId()).isEqualTo(first.getEventId());
+        assertThat(stored.getSeq()).isEqualTo(1L);
+        assertThat(stored.getContent()).isEqualTo("첫 메시지");
+    }
+
+    @Test
+    @DisplayName("한 건씩 다시 기록해도 이미 있는 행은 건너뛰지 않고 그대로 둔다")
+    void givenWrittenEvent_whenWriteEachAgain_thenNoSkipAndNoDuplicate() {
+        // Given
+        ChatEvent event = message(2_001L, 1L, "메시지");
+        messageBatchWriter.write(List.of(event));
+
+        // When
+        int skipped = messageBatchWriter.writeEach(List.of(event));
+        entityManager.clear();
+
+        // Then
+        assertThat(skipped).isZero();
+        assertThat(messageRepository.count()).isEqualTo(1);
+    }
+
+    private ChatEvent message(Long messageId, Long seq, String content) {
+        return ChatEvent.messageEvent(messageId, seq, content, chatRoom.getId(), sender.getId(), sender.getUsername());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.chatapp.infrastructure.roomstate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("채팅방 참여자 인덱스 테스트")
+class RoomMembershipIndexTest {
+
+    @Test
+    @DisplayName("시작 시 따라잡기가 끝나기 전에는 알림 수신자를 알려주지 않는다")
+    void givenNotReady_whenNotificationRecipients_thenNull() {
+        // Given
+        RoomMembershipIndex index = new RoomMembershipIndex();
+        index.apply(snapshot(1L, List.of(10L, 20L), List.of(), 1L));
+
+        // When
+        long[] before = index.notificationRecipients(1L);
+        index.markReady();
+        long[] after = index.notificationRecipients(1L);
+
+        // Then
+        assertThat(before).isNull();
+        assertThat(after).containsExactly(10L, 20L);
+        assertThat(index.notificationRecipients(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("알림을 끈 참여자는 알림 수신자에서 뺀다")
+    void givenMutedMember_whenNotificationRecipients_thenExcluded() {
+        // Given
+        RoomMembershipIndex index = new RoomMembershipIndex();
+        index.markReady();
+
+        // When
+        index.apply(snapshot(1L, List.of(30L, 10L, 20L), List.of(20L), 1L));
+
+        // Then
+        assertThat(index.members(1L)).containsExactly(10L, 20L, 30L);
+        assertThat(index.notificationRecipients(1L)).containsExactly(10L, 30L);
+    }
+
+    @Test
+    @DisplayName("알림 설정이 없는 예전 스냅샷이면 알림 수신자를 알려주지 않는다")
+    void givenLegacySnapshot_whenNotificationRecipients_thenNull() {
+        // Given
+        RoomMembershipIndex index = new RoomMembershipIndex();
+        index.markReady();
+
+        // When
+        index.apply(snapshot(1L, List.of(10L), null, 1L));
+
+        // Then
+        assertThat(index.members(1L)).containsExactly(10L);
+        assertThat(index.notificationRecipients(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("더 낮은 버전의 스냅샷은 무시한다")
+    void givenOlderSnapshot_whenApply_thenIgnored() {
+        // Given
+        RoomMembershipIndex index = new RoomMembershipIndex();
+        index.markReady();
+        index.apply(snapshot(1L, List.of(30L, 10L), List.of(), 5L));
+
+        // When
+        boolean applied = index.apply(snapshot(1L, List.of(10L), List.of(), 3L));
+
+        // Then
+        assertThat(applied).isFalse();
+        assertThat(index.members(1L)).containsExactly(10L, 30L);
+        assertThat(index.notificationRecipients(1L)).containsExactly(10L, 30L);
+    }
+
+    @Test
+    @DisplayName("삭제된 채팅방은 인덱스에서 지운다")
+    void givenTombstone_whenRemove_thenRoomUnknown() {
+        // Given
+        RoomMembershipIndex index = new RoomMembershipIndex();
+        index.markReady();
+        index.apply(snapshot(1L, List.of(10L), List.of(), 1L));
+
+        // When
+        index.remove(1L);
+
+        // Then
+        assertThat(index.notificationRecipients(1L)).isNull();
+        assertThat(index.members(1L)).isNull();
+        assertThat(index.size()).isZero();
+    }
+
+    private RoomStateSnapshot snapshot(Long roomId, List<Long> memberIds, List<Long> mutedIds, long version) {
+        return new RoomStateSnapshot(roomId, "room-" + roomId, "GROUP", memberIds, List.of(), mutedIds, version);
+    }
+}
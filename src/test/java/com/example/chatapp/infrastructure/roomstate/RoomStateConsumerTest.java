@@ -0,0 +1,110 @@
+package com.example.chatapp.infrastructure.roomstate;
+
+import com.example.chatapp.config.KafkaConfig;
+import com.example.chatapp.infrastructure.notification.NotificationRecipientIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("채팅방 상태 컨슈머 테스트")
+class RoomStateConsumerTest {
+
+    @Mock
+    private NotificationRecipientIndex notificationRecipientIndex;
+
+    private RoomMembershipIndex roomMembershipIndex;
+    private RoomStateConsumer roomStateConsumer;
+
+    @BeforeEach
+    void setUp() {
+        roomMembershipIndex = new RoomMembershipIndex();
+        roomMembershipIndex.markReady();
+        roomStateConsumer = new RoomStateConsumer(roomMembershipIndex, notificationRecipientIndex,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("스냅샷을 받으면 인덱스에 반영하고 알림 수신자 캐시를 무효화")
+    void givenSnapshot_whenHandle_thenAppliedAndRecipientsInvalidated() {
+        // Given
+        RoomStateSnapshot snapshot = new RoomStateSnapshot(1L, "room", "GROUP", List.of(10L, 20L), List.of(10L), List.of(), 3L);
+
+        // When
+        roomStateConsumer.handleRoomState(record("room-1", RoomStateCodec.encode(snapshot)));
+
+        // Then
+        assertThat(roomMembershipIndex.members(1L)).containsExactly(10L, 20L);
+        verify(notificationRecipientIndex).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("톰스톤을 받으면 인덱스에서 채팅방을 지움")
+    void givenTombstone_whenHandle_thenRoomRemoved() {
+        // Given
+        roomMembershipIndex.apply(new RoomStateSnapshot(1L, "room", "GROUP", List.of(10L), List.of(), List.of(), 1L));
+
+        // When
+        roomStateConsumer.handleRoomState(record("room-1", null));
+
+        // Then
+        assertThat(roomMembershipIndex.members(1L)).isNull();
+        verify(notificationRecipientIndex).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("버전 필드가 없던 예전 스냅샷은 0으로 읽혀 새 스냅샷에 덮임")
+    void givenLegacySnapshotWithoutStateVersion_whenHandle_thenOverwrittenByNewer() {
+        // Given
+        byte[] legacy = "{\"roomId\":1,\"name\":\"room\",\"type\":\"GROUP\",\"memberIds\":[10],\"adminIds\":[],\"version\":1700000000000}"
+                .getBytes(StandardCharsets.UTF_8);
+        RoomStateSnapshot current = new RoomStateSnapshot(1L, "room", "GROUP", List.of(10L, 30L), List.of(), List.of(), 1L);
+
+        // When
+        roomStateConsumer.handleRoomState(record("room-1", legacy));
+        roomStateConsumer.handleRoomState(record("room-1", RoomStateCodec.encode(current)));
+
+        // Then
+        assertThat(roomMembershipIndex.members(1L)).containsExactly(10L, 30L);
+    }
+
+    @Test
+    @DisplayName("해석할 수 없는 값은 그 채팅방을 인덱스에서 지움")
+    void givenCorruptValue_whenHandle_thenRoomRemoved() {
+        // Given
+        roomMembershipIndex.apply(new RoomStateSnapshot(1L, "room", "GROUP", List.of(10L), List.of(), List.of(), 1L));
+
+        // When
+        roomStateConsumer.handleRoomState(record("room-1", "not-json".getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertThat(roomMembershipIndex.members(1L)).isNull();
+        verify(notificationRecipientIndex).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("키를 해석할 수 없으면 건너뜀")
+    void givenInvalidKey_whenHandle_thenSkipped() {
+        // When
+        roomStateConsumer.handleRoomState(record("user-1", null));
+
+        // Then
+        assertThat(roomMembershipIndex.size()).isZero();
+        verifyNoInteractions(notificationRecipientIndex);
+    }
+
+    private static ConsumerRecord<String, byte[]> record(String key, byte[] value) {
+        return new ConsumerRecord<>(KafkaConfig.ROOM_STATE_TOPIC, 0, 0L, key, value);
+    }
+}
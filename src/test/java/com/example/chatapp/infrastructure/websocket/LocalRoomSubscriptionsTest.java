@@ -0,0 +1,174 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("노드 채팅방 구독 인덱스 테스트")
+class LocalRoomSubscriptionsTest {
+
+    private MeterRegistry meterRegistry;
+    private RoomReplayBuffer replayBuffer;
+    private LocalRoomSubscriptions subscriptions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        replayBuffer = new RoomReplayBuffer(16, 100);
+        subscriptions = new LocalRoomSubscriptions(meterRegistry, replayBuffer, 2);
+    }
+
+    @Test
+    @DisplayName("채팅방 목적지를 구독하면 구독자가 있는 채팅방이 된다")
+    void givenRoomSubscription_whenHasSubscribers_thenTrue() {
+        // When
+        subscriptions.subscribe("s1", "sub-0", "/topic/room/10");
+
+        // Then
+        assertThat(subscriptions.hasSubscribers(10L)).isTrue();
+        assertThat(subscriptions.hasSubscribers(11L)).isFalse();
+        assertThat(subscriptions.roomCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("채팅방이 아닌 목적지 구독은 무시한다")
+    void givenOtherDestination_whenSubscribe_thenIgnored() {
+        // When
+        subscriptions.subscribe("s1", "sub-0", "/topic/notifications/10");
+        subscriptions.subscribe("s1", "sub-1", "/topic/room/abc");
+
+        // Then
+        assertThat(subscriptions.roomCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("마지막 구독이 해지되어야 구독자가 없는 채팅방이 된다")
+    void givenTwoSessions_whenOneUnsubscribes_thenRoomStillSubscribed() {
+        // Given
+        subscriptions.subscribe("s1", "sub-0", "/topic/room/10");
+        subscriptions.subscribe("s2", "sub-0", "/topic/room/10");
+
+        // When
+        subscriptions.unsubscribe("s1", "sub-0");
+
+        // Then
+        assertThat(subscriptions.hasSubscribers(10L)).isTrue();
+
+        // When
+        subscriptions.unsubscribe("s2", "sub-0");
+
+        // Then
+        assertThat(subscriptions.hasSubscribers(10L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("연결이 끊기면 그 세션의 구독이 모두 해지된다")
+    void givenSessionWithSubscriptions_whenDisconnect_thenAllRemoved() {
+        // Given
+        subscriptions.subscribe("s1", "sub-0", "/topic/room/10");
+        subscriptions.subscribe("s1", "sub-1", "/topic/room/20");
+        subscriptions.subscribe("s2", "sub-0", "/topic/room/20");
+
+        // When
+        subscriptions.disconnect("s1");
+
+        // Then
+        assertThat(subscriptions.hasSubscribers(10L)).isFalse();
+        assertThat(subscriptions.hasSubscribers(20L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("같은 구독 ID로 다시 구독하면 이전 채팅방 구독을 대체한다")
+    void givenSameSubscriptionId_whenResubscribe_thenPreviousRoomReleased() {
+        // Given
+        subscriptions.subscribe("s1", "sub-0", "/topic/room/10");
+
+        // When
+        subscriptions.subscribe("s1", "sub-0", "/topic/room/20");
+
+        // Then
+        assertThat(subscriptions.hasSubscribers(10L)).isFalse();
+        assertThat(subscriptions.hasSubscribers(20L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("알 수 없는 세션의 해지와 연결 종료는 무시한다")
+    void givenUnknownSession_whenUnsubscribeOrDisconnect_thenNoChange() {
+        // Given
+        subscriptions.subscribe("s1", "sub-0", "/topic/room/10");
+
+        // When
+        subscriptions.unsubscribe("s9", "sub-0");
+        subscriptions.disconnect("s9");
+
+        // Then
+        assertThat(subscriptions.hasSubscribers(10L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("채팅방별 구독 세션과 구독 ID를 조회할 수 있다")
+    void givenSubscriptions_whenForEachSubscription_thenSessionAndSubscriptionIds() {
+        // Given
+        subscriptions.subscribe("s1", "sub-0", "/topic/room/10");
+        subscriptions.subscribe("s1", "sub-1", "/topic/room/10");
+        subscriptions.subscribe("s2", "sub-0", "/topic/room/10");
+
+        // When
+        List<String> visited = new ArrayList<>();
+        subscriptions.forEachSubscription(10L, (sessionId, subscriptionId) -> visited.add(sessionId + "/" + subscriptionId));
+
+        // Then
+        assertThat(subscriptions.subscriberCount(10L)).isEqualTo(2);
+        assertThat(visited).containsExactlyInAnyOrder("s1/sub-0", "s1/sub-1", "s2/sub-0");
+        assertThat(subscriptions.subscriptionIds("s1", 10L)).containsExactlyInAnyOrder("sub-0", "sub-1");
+        assertThat(subscriptions.subscriptionIds("s3", 10L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("채팅방의 마지막 구독이 사라지면 재전송 버퍼를 비운다")
+    void givenLastSubscriptionRemoved_whenUnsubscribe_thenReplayBufferReset() {
+        // Given
+        subscriptions.subscribe("s1", "sub-0", "/topic/room/10");
+        subscriptions.subscribe("s2", "sub-0", "/topic/room/10");
+        replayBuffer.append(10L, new ChatEventPayload(null, "MESSAGE_SENT", 10L, 1L, "u", null,
+                1L, 1L, "a", "SENT", null));
+
+        // When
+        subscriptions.unsubscribe("s1", "sub-0");
+        List<ChatEventPayload> whileSubscribed = replayBuffer.after(10L, 0, 10);
+        subscriptions.disconnect("s2");
+
+        // Then
+        assertThat(whileSubscribed).hasSize(1);
+        assertThat(replayBuffer.after(10L, 0, 10)).isNull();
+    }
+
+    @Test
+    @DisplayName("구독 수 메트릭은 상위 채팅방만 room 태그로 내보낸다")
+    void givenManyRooms_whenPublishTopRooms_thenOnlyTopRoomsTagged() {
+        // Given
+        subscriptions.subscribe("s1", "sub-0", "/topic/room/10");
+        subscriptions.subscribe("s1", "sub-1", "/topic/room/20");
+        subscriptions.subscribe("s2", "sub-0", "/topic/room/20");
+        subscriptions.subscribe("s1", "sub-2", "/topic/room/30");
+        subscriptions.subscribe("s2", "sub-1", "/topic/room/30");
+        subscriptions.subscribe("s3", "sub-0", "/topic/room/30");
+
+        // When
+        subscriptions.publishTopRooms();
+
+        // Then
+        assertThat(meterRegistry.get("chat.websocket.room.subscribers").tag("room", "30").gauge().value()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("chat.websocket.room.subscribers").tag("room", "20").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.find("chat.websocket.room.subscribers").tag("room", "10").gauge()).isNull();
+        assertThat(meterRegistry.get("chat.websocket.local.rooms").gauge().value()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("chat.websocket.local.sessions").gauge().value()).isEqualTo(3.0);
+    }
+}
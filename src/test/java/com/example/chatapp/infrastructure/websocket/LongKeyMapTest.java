@@ -0,0 +1,94 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("long 키 해시 맵 테스트")
+class LongKeyMapTest {
+
+    private LongKeyMap<String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new LongKeyMap<>();
+    }
+
+    @Test
+    @DisplayName("저장한 값을 조회하고 덮어쓰면 이전 값을 돌려준다")
+    void givenEntry_whenPutAgain_thenPreviousValueReturned() {
+        // Given
+        map.put(10L, "a");
+
+        // When
+        String previous = map.put(10L, "b");
+
+        // Then
+        assertThat(previous).isEqualTo("a");
+        assertThat(map.get(10L)).isEqualTo("b");
+        assertThat(map.get(11L)).isNull();
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("삭제한 키는 조회되지 않고 다시 넣으면 조회된다")
+    void givenRemovedKey_whenPutAgain_thenVisible() {
+        // Given
+        map.put(10L, "a");
+        map.put(-3L, "b");
+
+        // When
+        String removed = map.remove(10L);
+
+        // Then
+        assertThat(removed).isEqualTo("a");
+        assertThat(map.get(10L)).isNull();
+        assertThat(map.remove(10L)).isNull();
+        assertThat(map.size()).isEqualTo(1);
+
+        // When
+        map.put(10L, "c");
+
+        // Then
+        assertThat(map.get(10L)).isEqualTo("c");
+        assertThat(map.get(-3L)).isEqualTo("b");
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("테이블이 커지거나 묘비가 쌓여도 살아 있는 항목은 그대로 조회된다")
+    void givenManyPutsAndRemoves_whenRebuild_thenLiveEntriesKept() {
+        // Given
+        Map<Long, String> expected = new HashMap<>();
+
+        // When: 삽입과 삭제를 섞어 여러 번 재구성되게 함
+        for (long key = 1; key <= 5_000; key++) {
+            map.put(key, "v" + key);
+            expected.put(key, "v" + key);
+            if (key % 3 == 0) {
+                map.remove(key - 1);
+                expected.remove(key - 1);
+            }
+        }
+
+        // Then
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+        Map<Long, String> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertThat(visited).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("빈 칸 표시 값은 키로 쓸 수 없다")
+    void givenReservedKey_whenPut_thenThrowException() {
+        assertThatThrownBy(() -> map.put(Long.MIN_VALUE, "a"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("세션 송신 대기열 테스트")
+class OutboundQueueTest {
+
+    @Test
+    @DisplayName("보존 항목은 넣은 순서대로 나오고 병합 항목보다 먼저 나온다")
+    void givenRetainedAndLatest_whenPoll_thenRetainedFirstInOrder() {
+        // Given
+        OutboundQueue<String> queue = new OutboundQueue<>(10, 1000);
+        queue.offerLatest("typing:1", "typing", 10);
+        queue.offer("m1", 10, 1, 101, 101);
+        queue.offer("m2", 10, 1, 102, 102);
+
+        // When
+        List<String> polled = drain(queue);
+
+        // Then
+        assertThat(polled).containsExactly("m1", "m2", "typing");
+        assertThat(queue.depth()).isZero();
+        assertThat(queue.queuedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 키의 병합 항목은 최신 값 하나만 남는다")
+    void givenSameKey_whenOfferLatest_thenOnlyLatestKept() {
+        // Given
+        OutboundQueue<String> queue = new OutboundQueue<>(10, 1000);
+
+        // When
+        queue.offerLatest("typing:1", "start", 10);
+        queue.offerLatest("status:2", "online", 10);
+        queue.offerLatest("typing:1", "stop", 10);
+
+        // Then
+        assertThat(drain(queue)).containsExactly("online", "stop");
+        assertThat(queue.dropped()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("보존 항목이 메시지 수나 바이트 예산을 넘으면 받지 않는다")
+    void givenBudgetExceeded_whenOffer_thenRejected() {
+        // Given
+        OutboundQueue<String> byCount = new OutboundQueue<>(2, 1000);
+        OutboundQueue<String> byBytes = new OutboundQueue<>(10, 25);
+
+        // When & Then
+        assertThat(byCount.offer("m1", 10, 1, 1, 1)).isTrue();
+        assertThat(byCount.offer("m2", 10, 1, 2, 2)).isTrue();
+        assertThat(byCount.offer("m3", 10, 1, 3, 3)).isFalse();
+
+        assertThat(byBytes.offer("m1", 10, 1, 1, 1)).isTrue();
+        assertThat(byBytes.offer("m2", 10, 1, 2, 2)).isTrue();
+        assertThat(byBytes.offer("m3", 10, 1, 3, 3)).isFalse();
+        assertThat(byBytes.depth()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("대기 중인 보존 항목이 없으면 바이트 예산보다 큰 항목도 하나는 받는다")
+    void givenEmptyQueue_whenOfferOversized_thenAcceptedOnce() {
+        // Given
+        OutboundQueue<String> queue = new OutboundQueue<>(10, 25);
+
+        // When & Then
+        assertThat(queue.offer("resume", 100, 1, 1, 50)).isTrue();
+        assertThat(queue.offer("m51", 10, 1, 51, 51)).isFalse();
+        assertThat(queue.depth()).isEqualTo(1);
+
+        // 보내고 나면 다시 받음
+        queue.written(queue.poll());
+        assertThat(queue.offer("m51", 10, 1, 51, 51)).isTrue();
+    }
+
+    @Test
+    @DisplayName("병합 항목이 예산을 넘으면 가장 오래된 키부터 버린다")
+    void givenLatestOverBudget_whenOfferLatest_thenOldestDropped() {
+        // Given
+        OutboundQueue<String> queue = new OutboundQueue<>(2, 1000);
+
+        // When
+        queue.offerLatest("typing:1", "a", 10);
+        queue.offerLatest("typing:2", "b", 10);
+        queue.offerLatest("typing:3", "c", 10);
+
+        // Then
+        assertThat(drain(queue)).containsExactly("b", "c");
+        assertThat(queue.dropped()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("이어받기 기준은 채팅방별로 마지막에 쓴 메시지, 없으면 보내지 못한 첫 메시지 직전이다")
+    void givenPartiallyWritten_whenResumePoints_thenPerRoomBoundary() {
+        // Given
+        OutboundQueue<String> queue = new OutboundQueue<>(10, 1000);
+        queue.offer("r1-m1", 10, 1, 101, 101);
+        queue.offer("r1-m2", 10, 1, 102, 102);
+        queue.offer("r2-batch", 10, 2, 201, 205);
+        queue.offer("heartbeat", 1, 0, 0, 0);
+        queue.written(queue.poll());
+        queue.poll(); // r1-m2 전송 중
+        queue.reject(3, 301);
+
+        // When & Then
+        assertThat(queue.resumePoints())
+                .containsEntry(1L, 101L)
+                .containsEntry(2L, 200L)
+                .containsEntry(3L, 300L)
+                .hasSize(3);
+    }
+
+    @Test
+    @DisplayName("대기열을 비우면 버린 항목 수를 센다")
+    void givenQueued_whenClear_thenDroppedCounted() {
+        // Given
+        OutboundQueue<String> queue = new OutboundQueue<>(10, 1000);
+        queue.offer("m1", 10, 1, 1, 1);
+        queue.offerLatest("typing:1", "a", 10);
+
+        // When
+        int discarded = queue.clear();
+
+        // Then
+        assertThat(discarded).isEqualTo(2);
+        assertThat(queue.dropped()).isEqualTo(2);
+        assertThat(queue.poll()).isNull();
+    }
+
+    @Test
+    @DisplayName("예산이 1 미만이면 거부한다")
+    void givenNonPositiveBudget_whenCreate_thenThrowException() {
+        assertThatThrownBy(() -> new OutboundQueue<String>(0, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> drain(OutboundQueue<String> queue) {
+        List<String> polled = new ArrayList<>();
+        OutboundQueue.Entry<String> entry;
+        while ((entry = queue.poll()) != null) {
+            polled.add(entry.message());
+            queue.written(entry);
+        }
+        return polled;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("이어받기 토큰 테스트")
+class ResumeTokensTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final ResumeTokens resumeTokens = new ResumeTokens(100, now::get);
+
+    @Test
+    @DisplayName("발급받은 사용자는 채팅방별 이어받기 순번을 조회한다")
+    void givenIssuedToken_whenFindBySameUser_thenResumePointsReturned() {
+        // Given
+        String token = resumeTokens.issue(1L, Map.of(10L, 41L));
+
+        // When
+        Map<Long, Long> resumePoints = resumeTokens.find(token, 1L);
+
+        // Then
+        assertThat(resumePoints).containsExactly(Map.entry(10L, 41L));
+    }
+
+    @Test
+    @DisplayName("다른 사용자에게는 없는 토큰과 같다")
+    void givenIssuedToken_whenFindByOtherUser_thenNull() {
+        // Given
+        String token = resumeTokens.issue(1L, Map.of(10L, 41L));
+
+        // When & Then
+        assertThat(resumeTokens.find(token, 2L)).isNull();
+        assertThat(resumeTokens.find(token, null)).isNull();
+    }
+
+    @Test
+    @DisplayName("사용자 없이 발급한 토큰은 아무도 조회할 수 없다")
+    void givenTokenWithoutUser_whenFind_thenNull() {
+        // Given
+        String token = resumeTokens.issue(null, Map.of(10L, 41L));
+
+        // When & Then
+        assertThat(resumeTokens.find(token, null)).isNull();
+        assertThat(resumeTokens.find(token, 1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("유효 시간이 지나면 조회되지 않고 정리된다")
+    void givenExpiredToken_whenFind_thenNull() {
+        // Given
+        String token = resumeTokens.issue(1L, Map.of(10L, 41L));
+
+        // When
+        now.addAndGet(100);
+        resumeTokens.evictExpired();
+
+        // Then
+        assertThat(resumeTokens.find(token, 1L)).isNull();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("채팅방 재전송 버퍼 테스트")
+class RoomReplayBufferTest {
+
+    @Test
+    @DisplayName("마지막으로 받은 순번 다음부터 순서대로 돌려준다")
+    void givenContiguous_whenAfter_thenGapInOrder() {
+        // Given
+        RoomReplayBuffer buffer = new RoomReplayBuffer(8, 10);
+        for (long seq = 1; seq <= 5; seq++) {
+            buffer.append(1L, message(seq));
+        }
+
+        // When
+        List<ChatEventPayload> gap = buffer.after(1L, 2, 10);
+
+        // Then
+        assertThat(gap).extracting(ChatEventPayload::seq).containsExactly(3L, 4L, 5L);
+        assertThat(buffer.after(1L, 0, 2)).extracting(ChatEventPayload::seq).containsExactly(1L, 2L);
+        assertThat(buffer.after(1L, 5, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("용량을 넘어 밀려난 구간이나 보관하지 않은 채팅방은 null을 돌려준다")
+    void givenEvictedOrUnknown_whenAfter_thenNull() {
+        // Given
+        RoomReplayBuffer buffer = new RoomReplayBuffer(4, 10);
+        for (long seq = 1; seq <= 10; seq++) {
+            buffer.append(1L, message(seq));
+        }
+
+        // When & Then
+        assertThat(buffer.after(1L, 5, 10)).isNull();
+        assertThat(buffer.after(1L, 6, 10)).extracting(ChatEventPayload::seq).containsExactly(7L, 8L, 9L, 10L);
+        assertThat(buffer.after(2L, 0, 10)).isNull();
+    }
+
+    @Test
+    @DisplayName("순번이 건너뛰면 그 순번부터 새로 시작하고 지난 순번은 버린다")
+    void givenSkippedSeq_whenAppend_thenRestartFromSkipped() {
+        // Given
+        RoomReplayBuffer buffer = new RoomReplayBuffer(8, 10);
+        buffer.append(1L, message(1));
+        buffer.append(1L, message(2));
+
+        // When
+        buffer.append(1L, message(5));
+        buffer.append(1L, message(4)); // 늦게 도착
+        buffer.append(1L, message(6));
+
+        // Then
+        assertThat(buffer.after(1L, 2, 10)).isNull();
+        assertThat(buffer.after(1L, 4, 10)).extracting(ChatEventPayload::seq).containsExactly(5L, 6L);
+    }
+
+    @Test
+    @DisplayName("순번 없는 이벤트는 무시하고, 비우면 다시 DB 조회 대상이 된다")
+    void givenNoSeqAndReset_whenAfter_thenIgnoredAndNull() {
+        // Given
+        RoomReplayBuffer buffer = new RoomReplayBuffer(8, 10);
+        buffer.append(1L, message(1));
+        buffer.append(1L, typing());
+
+        // When & Then
+        assertThat(buffer.after(1L, 0, 10)).hasSize(1);
+        buffer.reset(1L);
+        assertThat(buffer.after(1L, 0, 10)).isNull();
+        assertThat(buffer.roomCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("최대 채팅방 수를 넘으면 새 채팅방은 보관하지 않는다")
+    void givenMaxRooms_whenAppendNewRoom_thenNotBuffered() {
+        // Given
+        RoomReplayBuffer buffer = new RoomReplayBuffer(8, 1);
+        buffer.append(1L, message(1));
+
+        // When
+        buffer.append(2L, message(1));
+
+        // Then
+        assertThat(buffer.roomCount()).isEqualTo(1);
+        assertThat(buffer.after(2L, 0, 10)).isNull();
+    }
+
+    @Test
+    @DisplayName("버퍼 크기가 1 미만이면 거부한다")
+    void givenNonPositiveCapacity_whenCreate_thenThrowException() {
+        assertThatThrownBy(() -> new RoomReplayBuffer(0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ChatEventPayload message(long seq) {
+        return new ChatEventPayload(null, "MESSAGE_SENT", 1L, 2L, "tester", null,
+                100L + seq, seq, "메시지 " + seq, "SENT", null);
+    }
+
+    private static ChatEventPayload typing() {
+        return new ChatEventPayload(null, "TYPING_START", 1L, 2L, "tester", null,
+                null, null, null, null, null);
+    }
+}
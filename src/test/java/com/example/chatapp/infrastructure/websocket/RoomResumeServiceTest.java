@@ -0,0 +1,217 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import com.example.chatapp.domain.ChatRoom;
+import com.example.chatapp.domain.Message;
+import com.example.chatapp.domain.MessageStatus;
+import com.example.chatapp.domain.User;
+import com.example.chatapp.exception.ChatRoomException;
+import com.example.chatapp.repository.ChatRoomParticipantRepository;
+import com.example.chatapp.repository.MessageRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.socket.TextMessage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("재연결 이어받기 서비스 테스트")
+class RoomResumeServiceTest {
+
+    private static final String SESSION_ID = "s1";
+    private static final long USER_ID = 1L;
+    private static final long ROOM_ID = 10L;
+
+    @Mock
+    private LocalRoomSubscriptions localRoomSubscriptions;
+
+    @Mock
+    private WebSocketSessionRegistry webSocketSessionRegistry;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private ChatRoomParticipantRepository chatRoomParticipantRepository;
+
+    private final RoomReplayBuffer roomReplayBuffer = new RoomReplayBuffer(16, 100);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private RoomResumeService roomResumeService;
+
+    @AfterEach
+    void tearDown() {
+        if (roomResumeService != null) {
+            roomResumeService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("버퍼에 있는 구간은 DB를 조회하지 않고 구독으로 보내며, 순번 범위를 이어받기 기준으로 넘긴다")
+    void givenBufferedRange_whenResume_thenSentFromBuffer() throws Exception {
+        // Given
+        roomResumeService = service(500, 262_144);
+        givenParticipating(ROOM_ID);
+        givenSubscribed(ROOM_ID, "sub-0");
+        for (long seq = 1; seq <= 5; seq++) {
+            roomReplayBuffer.append(ROOM_ID, payload(seq, "m" + seq));
+        }
+
+        // When
+        int sent = roomResumeService.resume(SESSION_ID, USER_ID, Map.of(ROOM_ID, 2L)).get();
+
+        // Then
+        assertThat(sent).isEqualTo(3);
+        ArgumentCaptor<TextMessage> frame = ArgumentCaptor.forClass(TextMessage.class);
+        verify(webSocketSessionRegistry).send(eq(SESSION_ID), frame.capture(), anyInt(), eq(ROOM_ID), eq(3L), eq(5L));
+        assertThat(frame.getValue().getPayload())
+                .contains("subscription:sub-0")
+                .contains("\"type\":\"RESUME\"")
+                .contains("\"hasMore\":false");
+        verifyNoInteractions(messageRepository);
+    }
+
+    @Test
+    @DisplayName("버퍼 범위 밖이면 DB에서 순번으로 조회한다")
+    void givenRangeOutsideBuffer_whenMissed_thenLoadedFromDb() {
+        // Given
+        roomResumeService = service(500, 262_144);
+        Message stored = message(3L, "저장된 메시지");
+        when(messageRepository.findByChatRoomIdAfterSeq(ROOM_ID, 2L, PageRequest.of(0, 501))).thenReturn(List.of(stored));
+
+        // When
+        RoomResumePayload payload = roomResumeService.missed(ROOM_ID, 2L);
+
+        // Then
+        assertThat(payload.count()).isEqualTo(1);
+        assertThat(payload.messages().get(0).seq()).isEqualTo(3L);
+        assertThat(payload.messages().get(0).content()).isEqualTo("저장된 메시지");
+        assertThat(payload.hasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("빠진 메시지가 max-messages보다 많으면 잘라서 hasMore로 알린다")
+    void givenMoreThanMaxMessages_whenMissed_thenTruncatedWithHasMore() {
+        // Given
+        roomResumeService = service(2, 262_144);
+        for (long seq = 1; seq <= 5; seq++) {
+            roomReplayBuffer.append(ROOM_ID, payload(seq, "m" + seq));
+        }
+
+        // When
+        RoomResumePayload payload = roomResumeService.missed(ROOM_ID, 0L);
+
+        // Then
+        assertThat(payload.messages()).extracting(ChatEventPayload::seq).containsExactly(1L, 2L);
+        assertThat(payload.hasMore()).isTrue();
+    }
+
+    @Test
+    @DisplayName("추정 크기가 max-bytes를 넘으면 앞쪽만 보내고 hasMore로 알린다 (최소 1개)")
+    void givenLargeMessages_whenMissed_thenTruncatedByBytes() {
+        // Given: 메시지 하나의 추정 크기는 256 + 3 * (300 + 5) = 1171바이트
+        roomResumeService = service(500, 2_000);
+        String content = "가".repeat(300);
+        for (long seq = 1; seq <= 3; seq++) {
+            roomReplayBuffer.append(ROOM_ID, payload(seq, content));
+        }
+
+        // When
+        RoomResumePayload payload = roomResumeService.missed(ROOM_ID, 0L);
+        RoomResumeService tiny = service(500, 10);
+        RoomResumePayload single = tiny.missed(ROOM_ID, 0L);
+        tiny.shutdown();
+
+        // Then
+        assertThat(payload.messages()).extracting(ChatEventPayload::seq).containsExactly(1L);
+        assertThat(payload.hasMore()).isTrue();
+        assertThat(single.count()).isEqualTo(1);
+        assertThat(single.hasMore()).isTrue();
+    }
+
+    @Test
+    @DisplayName("참여하지 않은 채팅방이 하나라도 있으면 조회와 전송 없이 예외를 던진다")
+    void givenNonParticipatingRoom_whenResume_thenThrows() {
+        // Given
+        roomResumeService = service(500, 262_144);
+        givenParticipating(ROOM_ID);
+
+        // When & Then
+        assertThatThrownBy(() -> roomResumeService.resume(SESSION_ID, USER_ID, Map.of(ROOM_ID, 0L, 11L, 0L)))
+                .isInstanceOf(ChatRoomException.class);
+        verifyNoInteractions(messageRepository, webSocketSessionRegistry, localRoomSubscriptions);
+    }
+
+    @Test
+    @DisplayName("구독하지 않은 채팅방은 건너뛴다")
+    void givenUnsubscribedRoom_whenResume_thenSkipped() throws Exception {
+        // Given
+        roomResumeService = service(500, 262_144);
+        givenParticipating(ROOM_ID);
+        when(localRoomSubscriptions.subscriptionIds(SESSION_ID, ROOM_ID)).thenReturn(Set.of());
+
+        // When
+        int sent = roomResumeService.resume(SESSION_ID, USER_ID, Map.of(ROOM_ID, 0L)).get();
+
+        // Then
+        assertThat(sent).isZero();
+        verifyNoInteractions(messageRepository);
+        verify(webSocketSessionRegistry, never()).send(any(), any(), anyInt(), anyLong(), anyLong(), anyLong());
+    }
+
+    private RoomResumeService service(int maxMessages, long maxBytes) {
+        return new RoomResumeService(roomReplayBuffer, localRoomSubscriptions, webSocketSessionRegistry,
+                messageRepository, chatRoomParticipantRepository, objectMapper, new SimpleMeterRegistry(),
+                maxMessages, maxBytes, 2);
+    }
+
+    private void givenParticipating(Long... roomIds) {
+        when(chatRoomParticipantRepository.findParticipatingChatRoomIds(eq(USER_ID), any()))
+                .thenReturn(new ArrayList<>(List.of(roomIds)));
+    }
+
+    private void givenSubscribed(long roomId, String subscriptionId) {
+        when(localRoomSubscriptions.subscriptionIds(SESSION_ID, roomId)).thenReturn(Set.of(subscriptionId));
+    }
+
+    private static ChatEventPayload payload(long seq, String content) {
+        return new ChatEventPayload("event-" + seq, "MESSAGE_SENT", ROOM_ID, 2L, "alice",
+                null, 1000L + seq, seq, content, "SENT", null);
+    }
+
+    private static Message message(long seq, String content) {
+        User sender = mock(User.class);
+        when(sender.getId()).thenReturn(2L);
+        when(sender.getUsername()).thenReturn("alice");
+        ChatRoom chatRoom = mock(ChatRoom.class);
+        when(chatRoom.getId()).thenReturn(ROOM_ID);
+        Message message = mock(Message.class);
+        when(message.getEventId()).thenReturn("event-" + seq);
+        when(message.getChatRoom()).thenReturn(chatRoom);
+        when(message.getSender()).thenReturn(sender);
+        when(message.getTimestamp()).thenReturn(LocalDateTime.of(2026, 10, 17, 12, 0));
+        when(message.getId()).thenReturn(1000L + seq);
+        when(message.getSeq()).thenReturn(seq);
+        when(message.getContent()).thenReturn(content);
+        when(message.getStatus()).thenReturn(MessageStatus.SENT);
+        return message;
+    }
+}
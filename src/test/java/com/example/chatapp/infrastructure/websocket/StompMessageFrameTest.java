@@ -0,0 +1,80 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("STOMP MESSAGE 프레임 인코딩 테스트")
+class StompMessageFrameTest {
+
+    private static final byte[] JSON = "{\"type\":\"MESSAGE_SENT\",\"content\":\"안녕\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("구독 헤더를 끼운 완성 프레임을 만든다")
+    void givenFrame_whenForSubscription_thenCompleteStompFrame() {
+        // Given
+        StompMessageFrame frame = StompMessageFrame.of("/topic/room/10", JSON);
+
+        // When
+        String encoded = frame.forSubscription("sub-0").message().getPayload();
+
+        // Then
+        assertThat(encoded).startsWith("MESSAGE\n"
+                + "destination:/topic/room/10\n"
+                + "content-type:application/json\n"
+                + "content-length:" + JSON.length + "\n"
+                + "subscription:sub-0\n"
+                + "message-id:");
+        assertThat(encoded).endsWith("-sub-0\n\n{\"type\":\"MESSAGE_SENT\",\"content\":\"안녕\"}\0");
+    }
+
+    @Test
+    @DisplayName("같은 프레임은 구독마다 헤더만 다르고 본문과 메시지 ID 앞부분은 같다")
+    void givenFrame_whenForTwoSubscriptions_thenOnlySubscriptionHeadersDiffer() {
+        // Given
+        StompMessageFrame frame = StompMessageFrame.of("/topic/room/10", JSON);
+
+        // When
+        String first = frame.forSubscription("a").message().getPayload();
+        String second = frame.forSubscription("b").message().getPayload();
+
+        // Then
+        assertThat(first.replace("subscription:a", "subscription:b").replace("-a\n\n", "-b\n\n")).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("프레임마다 다른 메시지 ID를 쓴다")
+    void givenTwoFrames_whenForSubscription_thenDifferentMessageIds() {
+        // When
+        String first = StompMessageFrame.of("/topic/room/10", JSON).forSubscription("a").message().getPayload();
+        String second = StompMessageFrame.of("/topic/room/10", JSON).forSubscription("a").message().getPayload();
+
+        // Then
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("미리 계산한 바이트 수는 완성 프레임의 UTF-8 길이와 같다")
+    void givenNonAsciiSubscription_whenForSubscription_thenBytesMatchUtf8Length() {
+        // Given
+        StompMessageFrame frame = StompMessageFrame.of("/topic/room/10", JSON);
+
+        // When
+        StompMessageFrame.Encoded ascii = frame.forSubscription("sub-0");
+        StompMessageFrame.Encoded escaped = frame.forSubscription("구독:1");
+
+        // Then
+        assertThat(ascii.bytes()).isEqualTo(ascii.message().getPayload().getBytes(StandardCharsets.UTF_8).length);
+        assertThat(escaped.bytes()).isEqualTo(escaped.message().getPayload().getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    @DisplayName("구독 ID의 헤더 특수 문자는 STOMP 규칙으로 이스케이프한다")
+    void givenSpecialCharacters_whenEscape_thenStompEscaped() {
+        assertThat(StompMessageFrame.escape("sub-0")).isEqualTo("sub-0");
+        assertThat(StompMessageFrame.escape("a:b\\c\nd\re")).isEqualTo("a\\cb\\\\c\\nd\\re");
+    }
+}
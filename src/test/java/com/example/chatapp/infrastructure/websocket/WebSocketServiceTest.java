@@ -0,0 +1,125 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import com.example.chatapp.infrastructure.message.ChatEvent;
+import com.example.chatapp.infrastructure.message.ChatEventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.web.socket.TextMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WebSocket 채팅방 브로드캐스트 테스트")
+class WebSocketServiceTest {
+
+    private static final long ROOM_ID = 10L;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private WebSocketSessionRegistry webSocketSessionRegistry;
+
+    @Mock
+    private RoomReplayBuffer roomReplayBuffer;
+
+    private LocalRoomSubscriptions localRoomSubscriptions;
+    private WebSocketService webSocketService;
+
+    @BeforeEach
+    void setUp() {
+        localRoomSubscriptions = new LocalRoomSubscriptions(new SimpleMeterRegistry(), roomReplayBuffer, 2);
+        webSocketService = new WebSocketService(messagingTemplate, localRoomSubscriptions,
+                webSocketSessionRegistry, roomReplayBuffer, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    @DisplayName("구독 ID가 같은 세션들은 같은 메시지 객체를 받고, 바이트 수는 페이로드 길이와 같다")
+    void givenSessionsSharingSubscriptionId_whenBroadcast_thenSameMessageShared() {
+        // Given
+        localRoomSubscriptions.subscribe("s1", "sub-0", "/topic/room/" + ROOM_ID);
+        localRoomSubscriptions.subscribe("s2", "sub-0", "/topic/room/" + ROOM_ID);
+        localRoomSubscriptions.subscribe("s3", "sub-1", "/topic/room/" + ROOM_ID);
+        when(webSocketSessionRegistry.send(anyString(), any(), anyInt(), anyLong(), anyLong(), anyLong()))
+                .thenReturn(true);
+
+        // When
+        webSocketService.broadcastToRoom(ROOM_ID, messageSent(7L, "안녕하세요"));
+
+        // Then
+        ArgumentCaptor<TextMessage> first = ArgumentCaptor.forClass(TextMessage.class);
+        ArgumentCaptor<TextMessage> second = ArgumentCaptor.forClass(TextMessage.class);
+        ArgumentCaptor<TextMessage> other = ArgumentCaptor.forClass(TextMessage.class);
+        ArgumentCaptor<Integer> bytes = ArgumentCaptor.forClass(Integer.class);
+        verify(webSocketSessionRegistry).send(eq("s1"), first.capture(), bytes.capture(), eq(ROOM_ID), eq(3L), eq(3L));
+        verify(webSocketSessionRegistry).send(eq("s2"), second.capture(), anyInt(), eq(ROOM_ID), eq(3L), eq(3L));
+        verify(webSocketSessionRegistry).send(eq("s3"), other.capture(), anyInt(), eq(ROOM_ID), eq(3L), eq(3L));
+
+        assertThat(second.getValue()).isSameAs(first.getValue());
+        assertThat(other.getValue()).isNotSameAs(first.getValue());
+
+        String payload = first.getValue().getPayload();
+        assertThat(payload).contains("subscription:sub-0").contains("안녕하세요");
+        assertThat(other.getValue().getPayload()).contains("subscription:sub-1");
+        assertThat(bytes.getValue()).isEqualTo(payload.getBytes(StandardCharsets.UTF_8).length);
+        verify(roomReplayBuffer).append(eq(ROOM_ID), any(ChatEventPayload.class));
+    }
+
+    @Test
+    @DisplayName("입력 중 이벤트는 구독과 사용자별 병합 키로 최신 값만 남긴다")
+    void givenTypingEvent_whenBroadcast_thenSentAsLatest() {
+        // Given
+        localRoomSubscriptions.subscribe("s1", "sub-0", "/topic/room/" + ROOM_ID);
+        ChatEvent typing = ChatEvent.builder()
+                .eventType(ChatEventType.TYPING_START)
+                .chatRoomId(ROOM_ID)
+                .userId(2L)
+                .build();
+
+        // When
+        webSocketService.broadcastToRoom(ROOM_ID, typing);
+
+        // Then
+        verify(webSocketSessionRegistry).sendLatest(eq("s1"), eq("sub-0|typing:2"), any(TextMessage.class), anyInt());
+        verify(webSocketSessionRegistry, never()).send(anyString(), any(), anyInt(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("이 노드에 구독 세션이 없는 채팅방은 직렬화하지 않고 건너뛴다")
+    void givenNoSubscribers_whenBroadcast_thenNothingQueued() {
+        // When
+        webSocketService.broadcastToRoom(ROOM_ID, messageSent(7L, "hello"));
+
+        // Then
+        verifyNoInteractions(webSocketSessionRegistry);
+        verify(roomReplayBuffer, never()).append(anyLong(), any());
+    }
+
+    private static ChatEvent messageSent(long messageId, String content) {
+        return ChatEvent.builder()
+                .eventType(ChatEventType.MESSAGE_SENT)
+                .chatRoomId(ROOM_ID)
+                .userId(1L)
+                .username("alice")
+                .messageId(messageId)
+                .seq(3L)
+                .messageContent(content)
+                .build();
+    }
+}
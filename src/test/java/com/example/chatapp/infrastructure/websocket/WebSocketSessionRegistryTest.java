@@ -0,0 +1,106 @@
+package com.example.chatapp.infrastructure.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WebSocket 세션 레지스트리 테스트")
+class WebSocketSessionRegistryTest {
+
+    @Mock
+    private WebSocketHandler handler;
+
+    @Mock
+    private WebSocketSession session;
+
+    private WebSocketSessionRegistry registry;
+    private WebSocketHandler decorated;
+
+    @BeforeEach
+    void setUp() {
+        registry = new WebSocketSessionRegistry(new SimpleMeterRegistry(), new ResumeTokens(60_000), 100, 64 * 1024, 10_000);
+        decorated = registry.decorate(handler);
+        lenient().when(session.getId()).thenReturn("s1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    @DisplayName("연결되면 송신 대기열을 가진 세션으로 감싸 원래 핸들러에 넘긴다")
+    void givenConnection_whenEstablished_thenHandlerReceivesQueuedSession() throws Exception {
+        // When
+        decorated.afterConnectionEstablished(session);
+
+        // Then
+        ArgumentCaptor<WebSocketSession> captor = ArgumentCaptor.forClass(WebSocketSession.class);
+        verify(handler).afterConnectionEstablished(captor.capture());
+        assertThat(captor.getValue()).isInstanceOf(QueuedWebSocketSession.class);
+        assertThat(captor.getValue().getId()).isEqualTo("s1");
+        assertThat(registry.sessionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("직접 전송한 메시지와 브로커 경로 메시지 모두 대기열을 거쳐 원래 세션에 쓴다")
+    void givenEstablishedSession_whenSend_thenWrittenToDelegate() throws Exception {
+        // Given
+        decorated.afterConnectionEstablished(session);
+        ArgumentCaptor<WebSocketSession> captor = ArgumentCaptor.forClass(WebSocketSession.class);
+        verify(handler).afterConnectionEstablished(captor.capture());
+        TextMessage direct = new TextMessage("direct");
+        TextMessage brokered = new TextMessage("brokered");
+
+        // When
+        boolean queued = registry.send("s1", direct, direct.getPayloadLength(), 10L, 1L, 1L);
+        captor.getValue().sendMessage(brokered);
+
+        // Then
+        assertThat(queued).isTrue();
+        verify(session, timeout(1000)).sendMessage(direct);
+        verify(session, timeout(1000)).sendMessage(brokered);
+    }
+
+    @Test
+    @DisplayName("연결이 끊기면 레지스트리에서 빠지고 이후 전송은 거부한다")
+    void givenClosedSession_whenSend_thenRejected() throws Exception {
+        // Given
+        decorated.afterConnectionEstablished(session);
+        TextMessage message = new TextMessage("late");
+
+        // When
+        decorated.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+        // Then
+        verify(handler).afterConnectionClosed(session, CloseStatus.NORMAL);
+        assertThat(registry.sessionCount()).isZero();
+        assertThat(registry.send("s1", message, message.getPayloadLength(), 10L, 1L, 1L)).isFalse();
+        assertThat(registry.sendLatest("s1", "sub-0|typing:1", message, message.getPayloadLength())).isFalse();
+        verify(session, never()).sendMessage(any());
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 세션으로 보내면 false")
+    void givenUnknownSession_whenSend_thenFalse() {
+        // Given
+        TextMessage message = new TextMessage("payload");
+
+        // When & Then
+        assertThat(registry.send("unknown", message, message.getPayloadLength(), 10L, 1L, 1L)).isFalse();
+    }
+}
@@ -4,6 +4,7 @@ import com.example.chatapp.domain.*;
 import com.example.chatapp.domain.service.MessageDomainService;
 import com.example.chatapp.dto.request.MessageCreateRequest;
 import com.example.chatapp.dto.response.MessageResponse;
+import com.example.chatapp.dto.response.MissedMessagesResponse;
 import com.example.chatapp.dto.response.UserResponse;
 import com.example.chatapp.exception.ChatRoomException;
 import com.example.chatapp.exception.MessageException;
@@ -14,6 +15,7 @@ import com.example.chatapp.mapper.MessageMapper;
 import com.example.chatapp.repository.MessageRepository;
 import com.example.chatapp.repository.UserRepository;
 import com.example.chatapp.repository.ChatRoomRepository;
+import com.example.chatapp.repository.ChatRoomParticipantRepository;
 import com.example.chatapp.service.impl.MessageServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -31,6 +33,7 @@ import org.springframework.data.domain.Pageable;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -67,6 +70,9 @@ class MessageServiceTest {
     @Mock
     private ChatEventPublisherService eventPublisher;
 
+    @Mock
+    private ChatRoomParticipantRepository chatRoomParticipantRepository;
+
     @InjectMocks
     private MessageServiceImpl messageService;
 
@@ -206,6 +212,7 @@ class MessageServiceTest {
             // Given
             when(userRepository.findById(USER_ID)).thenReturn(Optional.of(testUser));
             when(chatRoomRepository.findById(CHAT_ROOM_ID)).thenReturn(Optional.of(testChatRoom));
+            when(chatRoomRepository.nextMessageSeq(CHAT_ROOM_ID)).thenReturn(7L);
             when(messageRepository.save(any(Message.class))).thenReturn(testMessage);
 
             // When
@@ -214,7 +221,7 @@ class MessageServiceTest {
             // Then - void 메서드이므로 리턴값 검증 대신 동작 검증
             verify(userRepository).findById(USER_ID);
             verify(chatRoomRepository).findById(CHAT_ROOM_ID);
-            verify(messageRepository).save(any(Message.class));
+            verify(messageRepository).save(argThat(message -> message.getSeq() == 7L));
             verify(eventPublisher).publishMessageEvent(any(Message.class), eq(testUser));
         }
 
@@ -253,6 +260,37 @@ class MessageServiceTest {
             verify(messageRepository, never()).save(any(Message.class));
             verify(eventPublisher, never()).publishMessageEvent(any(), any());
         }
+
+        @Test
+        @DisplayName("givenParticipant_whenPublishMessage_thenEventPublishedWithoutSave")
+        void givenParticipant_whenPublishMessage_thenEventPublishedWithoutSave() {
+            // Given
+            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(testUser));
+            when(chatRoomParticipantRepository.existsByUserIdAndChatRoomId(USER_ID, CHAT_ROOM_ID)).thenReturn(true);
+            when(chatRoomRepository.nextMessageSeq(CHAT_ROOM_ID)).thenReturn(7L);
+
+            // When
+            messageService.publishMessage(validMessageRequest, USER_ID);
+
+            // Then - 미리 발급한 ID와 순번으로 발행만 하고 저장은 하지 않음
+            verify(eventPublisher).publishUnsavedMessageEvent(
+                    anyLong(), eq(7L), eq(TEST_MESSAGE_CONTENT), eq(CHAT_ROOM_ID), eq(testUser));
+            verify(messageRepository, never()).save(any(Message.class));
+        }
+
+        @Test
+        @DisplayName("givenNonParticipant_whenPublishMessage_thenThrowChatRoomException")
+        void givenNonParticipant_whenPublishMessage_thenThrowChatRoomException() {
+            // Given
+            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(testUser));
+            when(chatRoomParticipantRepository.existsByUserIdAndChatRoomId(USER_ID, CHAT_ROOM_ID)).thenReturn(false);
+
+            // When & Then
+            assertThatThrownBy(() -> messageService.publishMessage(validMessageRequest, USER_ID))
+                    .isInstanceOf(ChatRoomException.class);
+
+            verify(eventPublisher, never()).publishUnsavedMessageEvent(any(), any(), any(), any(), any());
+        }
     }
 
     @Nested
@@ -380,6 +418,89 @@ class MessageServiceTest {
 
             verify(messageRepository, never()).findTopByChatRoomIdWithSenderAndRoomOrderByTimestampDesc(anyLong(), anyInt());
         }
+
+        @Test
+        @DisplayName("givenParticipant_whenFindChatRoomMessagesAfter_thenQueriedBySeqWithClampedLimit")
+        void givenParticipant_whenFindChatRoomMessagesAfter_thenQueriedBySeqWithClampedLimit() {
+            // Given
+            when(chatRoomRepository.existsById(CHAT_ROOM_ID)).thenReturn(true);
+            when(chatRoomParticipantRepository.existsByUserIdAndChatRoomId(USER_ID, CHAT_ROOM_ID)).thenReturn(true);
+            when(messageRepository.findByChatRoomIdAfterSeq(CHAT_ROOM_ID, 41L, PageRequest.of(0, 500)))
+                    .thenReturn(List.of(testMessage));
+            when(messageMapper.toResponse(testMessage)).thenReturn(messageResponse);
+
+            // When
+            List<MessageResponse> result = messageService.findChatRoomMessagesAfter(CHAT_ROOM_ID, USER_ID, 41L, 10_000);
+
+            // Then
+            assertThat(result).containsExactly(messageResponse);
+        }
+
+        @Test
+        @DisplayName("givenNonExistentChatRoom_whenFindChatRoomMessagesAfter_thenThrowChatRoomException")
+        void givenNonExistentChatRoom_whenFindChatRoomMessagesAfter_thenThrowChatRoomException() {
+            // Given
+            when(chatRoomRepository.existsById(NONEXISTENT_ID)).thenReturn(false);
+
+            // When & Then
+            assertThatThrownBy(() -> messageService.findChatRoomMessagesAfter(NONEXISTENT_ID, USER_ID, 0L, 10))
+                    .isInstanceOf(ChatRoomException.class)
+                    .hasMessageContaining("채팅방을 찾을 수 없습니다");
+
+            verify(messageRepository, never()).findByChatRoomIdAfterSeq(anyLong(), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("givenNonParticipant_whenFindChatRoomMessagesAfter_thenThrowChatRoomException")
+        void givenNonParticipant_whenFindChatRoomMessagesAfter_thenThrowChatRoomException() {
+            // Given
+            when(chatRoomRepository.existsById(CHAT_ROOM_ID)).thenReturn(true);
+            when(chatRoomParticipantRepository.existsByUserIdAndChatRoomId(USER_ID, CHAT_ROOM_ID)).thenReturn(false);
+
+            // When & Then
+            assertThatThrownBy(() -> messageService.findChatRoomMessagesAfter(CHAT_ROOM_ID, USER_ID, 0L, 10))
+                    .isInstanceOf(ChatRoomException.class)
+                    .hasMessageContaining("채팅방 참여자가 아닙니다");
+
+            verify(messageRepository, never()).findByChatRoomIdAfterSeq(anyLong(), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("givenZeroLimit_whenFindChatRoomMessagesAfter_thenThrowIllegalArgumentException")
+        void givenZeroLimit_whenFindChatRoomMessagesAfter_thenThrowIllegalArgumentException() {
+            // Given
+            when(chatRoomRepository.existsById(CHAT_ROOM_ID)).thenReturn(true);
+            when(chatRoomParticipantRepository.existsByUserIdAndChatRoomId(USER_ID, CHAT_ROOM_ID)).thenReturn(true);
+
+            // When & Then
+            assertThatThrownBy(() -> messageService.findChatRoomMessagesAfter(CHAT_ROOM_ID, USER_ID, 0L, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("givenResumePoints_whenFindMissedMessages_thenRoomsLeftSkippedAndHasMoreSet")
+        void givenResumePoints_whenFindMissedMessages_thenRoomsLeftSkippedAndHasMoreSet() {
+            // Given
+            Long leftRoomId = 2L;
+            Message next = createTestMessageWithoutValidation(2L, "다음 메시지", testUser, testChatRoom);
+            when(chatRoomParticipantRepository.existsByUserIdAndChatRoomId(USER_ID, CHAT_ROOM_ID)).thenReturn(true);
+            when(chatRoomParticipantRepository.existsByUserIdAndChatRoomId(USER_ID, leftRoomId)).thenReturn(false);
+            when(messageRepository.findByChatRoomIdAfterSeq(CHAT_ROOM_ID, 10L, PageRequest.of(0, 2)))
+                    .thenReturn(List.of(testMessage, next));
+            when(messageMapper.toResponse(any(Message.class))).thenReturn(messageResponse);
+
+            // When
+            List<MissedMessagesResponse> result = messageService.findMissedMessages(
+                    USER_ID, Map.of(CHAT_ROOM_ID, 10L, leftRoomId, 5L), 1);
+
+            // Then: 하나 더 읽어 남은 메시지가 있는지 판단, 나간 채팅방은 조회하지 않음
+            assertThat(result).hasSize(1);
+            assertThat(result.get(0).getRoomId()).isEqualTo(CHAT_ROOM_ID);
+            assertThat(result.get(0).getAfterSeq()).isEqualTo(10L);
+            assertThat(result.get(0).getMessages()).hasSize(1);
+            assertThat(result.get(0).isHasMore()).isTrue();
+            verify(messageRepository, never()).findByChatRoomIdAfterSeq(eq(leftRoomId), anyLong(), any());
+        }
     }
 
     @Nested